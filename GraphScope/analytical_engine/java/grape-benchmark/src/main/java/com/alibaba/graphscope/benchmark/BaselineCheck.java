@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare two jmh json results, i.e. a recorded baseline and the current run, and exit with 1 if
+ * any benchmark regresses more than the threshold. A regression is a lower throughput (or a higher
+ * time for the time based modes), or more bytes allocated per operation when both runs are
+ * profiled with {@code -prof gc}.
+ *
+ * <p>Usage: {@code BaselineCheck <baseline.json> <current.json> [threshold, default 0.1]}
+ */
+public class BaselineCheck {
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+    // allocations below this are noise of the harness.
+    private static final double MIN_ALLOC_BYTES = 64.0;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineCheck <baseline.json> <current.json> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.1;
+        Map<String, JSONObject> baseline = load(args[0]);
+        Map<String, JSONObject> current = load(args[1]);
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JSONObject> entry : current.entrySet()) {
+            JSONObject base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.println("[new] " + entry.getKey());
+                continue;
+            }
+            String regression = compare(entry.getKey(), base, entry.getValue(), threshold);
+            if (regression != null) {
+                regressions.add(regression);
+            }
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.println("[missing] " + key);
+            }
+        }
+        if (!regressions.isEmpty()) {
+            regressions.forEach(System.out::println);
+            System.exit(1);
+        }
+        System.out.println("No regression beyond " + threshold * 100 + "%");
+    }
+
+    private static String compare(
+            String key, JSONObject baseline, JSONObject current, double threshold) {
+        double baseScore = baseline.getJSONObject("primaryMetric").getDoubleValue("score");
+        double curScore = current.getJSONObject("primaryMetric").getDoubleValue("score");
+        // larger is better for throughput, smaller is better for the others
+        boolean throughput = "thrpt".equals(current.getString("mode"));
+        double change = (curScore - baseScore) / baseScore;
+        System.out.printf("%s: %.3f -> %.3f (%+.1f%%)%n", key, baseScore, curScore, change * 100);
+        if (throughput ? change < -threshold : change > threshold) {
+            return String.format("[regression] %s: score %.3f -> %.3f", key, baseScore, curScore);
+        }
+        Double baseAlloc = allocPerOp(baseline);
+        Double curAlloc = allocPerOp(current);
+        if (baseAlloc != null
+                && curAlloc != null
+                && curAlloc > MIN_ALLOC_BYTES
+                && curAlloc > baseAlloc * (1 + threshold)) {
+            return String.format(
+                    "[regression] %s: allocated bytes/op %.1f -> %.1f", key, baseAlloc, curAlloc);
+        }
+        return null;
+    }
+
+    private static Double allocPerOp(JSONObject result) {
+        JSONObject metrics = result.getJSONObject("secondaryMetrics");
+        if (metrics == null) {
+            return null;
+        }
+        // the key is prefixed with a middle dot by jmh
+        for (String name : metrics.keySet()) {
+            if (name.endsWith(ALLOC_RATE_NORM)) {
+                return metrics.getJSONObject(name).getDouble("score");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return results keyed by the benchmark name and its params.
+     */
+    private static Map<String, JSONObject> load(String path) throws IOException {
+        String content = new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+        JSONArray results = JSON.parseArray(content);
+        Map<String, JSONObject> keyed = new TreeMap<>();
+        for (int i = 0; i < results.size(); ++i) {
+            JSONObject result = results.getJSONObject(i);
+            StringBuilder key = new StringBuilder(result.getString("benchmark"));
+            JSONObject params = result.getJSONObject("params");
+            if (params != null) {
+                key.append(new TreeMap<>(params.getInnerMap()));
+            }
+            keyed.put(key.toString(), result);
+        }
+        return keyed;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.benchmark;
+
+import com.alibaba.graphscope.serialization.FFIByteVectorInputStream;
+import com.alibaba.graphscope.serialization.FFIByteVectorOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading primitives through the streams over {@code std::vector<char>}, which carry all
+ * messages between the java and c++ side. Element-wise and bulk accesses are compared.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FFIByteVectorStreamBenchmark {
+
+    static {
+        System.loadLibrary("grape-jni");
+    }
+
+    @Param({"65536"})
+    public int length;
+
+    private long[] longs;
+    private long[] readBuffer;
+    private FFIByteVectorOutputStream outputStream;
+    private FFIByteVectorInputStream inputStream;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        longs = new long[length];
+        readBuffer = new long[length];
+        for (int i = 0; i < length; ++i) {
+            longs[i] = i * 31L;
+        }
+        outputStream = new FFIByteVectorOutputStream();
+        outputStream.resize(8L * length);
+        FFIByteVectorOutputStream filled = new FFIByteVectorOutputStream();
+        filled.writeLongs(longs, 0, length);
+        filled.finishSetting();
+        inputStream = new FFIByteVectorInputStream(filled.getVector());
+    }
+
+    @Benchmark
+    public long writeLong() throws IOException {
+        outputStream.reset();
+        for (int i = 0; i < length; ++i) {
+            outputStream.writeLong(longs[i]);
+        }
+        return outputStream.bytesWriten();
+    }
+
+    @Benchmark
+    public long writeLongs() throws IOException {
+        outputStream.reset();
+        outputStream.writeLongs(longs, 0, length);
+        return outputStream.bytesWriten();
+    }
+
+    @Benchmark
+    public long readLong() throws IOException {
+        inputStream.reset();
+        long sum = 0;
+        for (int i = 0; i < length; ++i) {
+            sum += inputStream.readLong();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long readLongs() throws IOException {
+        inputStream.reset();
+        inputStream.readLongs(readBuffer, 0, length);
+        return readBuffer[length - 1];
+    }
+}
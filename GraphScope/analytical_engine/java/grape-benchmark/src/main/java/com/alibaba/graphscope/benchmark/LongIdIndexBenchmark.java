@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.benchmark;
+
+import com.alibaba.graphscope.utils.LongIdIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The oid index of {@link com.alibaba.graphscope.graph.impl.PrimitiveVertexIdManagerImpl} against
+ * a boxed {@link HashMap}, without the conversion of writables in {@link VertexIdManagerBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LongIdIndexBenchmark {
+
+    private static final long STRIDE = VertexIdManagerBenchmark.STRIDE;
+
+    @Param({"1000000"})
+    public int vertexNum;
+
+    private LongIdIndex index;
+    private Map<Long, Long> map;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        index = new LongIdIndex(vertexNum);
+        map = new HashMap<>(vertexNum);
+        for (int lid = 0; lid < vertexNum; ++lid) {
+            index.setKey(lid, lid * STRIDE);
+            index.insert(lid);
+            map.put(lid * STRIDE, (long) lid);
+        }
+    }
+
+    @Benchmark
+    public long build() {
+        LongIdIndex newIndex = new LongIdIndex(vertexNum);
+        for (int lid = 0; lid < vertexNum; ++lid) {
+            newIndex.setKey(lid, lid * STRIDE);
+            newIndex.insert(lid);
+        }
+        return newIndex.size();
+    }
+
+    @Benchmark
+    public long longIdIndexGet() {
+        long sum = 0;
+        for (int i = 0; i < vertexNum; ++i) {
+            sum += index.get(i * STRIDE);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long hashMapGet() {
+        long sum = 0;
+        for (int i = 0; i < vertexNum; ++i) {
+            sum += map.get(i * STRIDE);
+        }
+        return sum;
+    }
+}
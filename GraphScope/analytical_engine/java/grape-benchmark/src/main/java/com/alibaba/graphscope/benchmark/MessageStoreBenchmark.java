@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.graphscope.fragment.IFragment;
+import com.alibaba.graphscope.parallel.message.DefaultMessageStore;
+import com.alibaba.graphscope.parallel.message.MessageStore;
+import com.alibaba.graphscope.parallel.message.SpillableMessageStore;
+
+import org.apache.giraph.conf.ImmutableClassesGiraphConfiguration;
+import org.apache.hadoop.io.LongWritable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Receiving one round of messages and consuming them in lid order with the giraph message stores.
+ * The fragment and configuration are mocked since the stores only need the number of inner vertices
+ * and the vid type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageStoreBenchmark {
+
+    static {
+        System.loadLibrary("grape-jni");
+    }
+
+    @Param({"100000"})
+    public int vertexNum;
+
+    @Param({"10"})
+    public int messagesPerVertex;
+
+    @Param({"default", "spillable"})
+    public String storeType;
+
+    /**
+     * Spill threshold in bytes of the spillable store.
+     */
+    @Param({"67108864"})
+    public long spillThreshold;
+
+    private File spillDir;
+    private MessageStore<LongWritable, LongWritable, Integer> store;
+    private LongWritable[] messages;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        IFragment fragment = mock(IFragment.class);
+        when(fragment.getInnerVerticesNum()).thenReturn((long) vertexNum);
+        ImmutableClassesGiraphConfiguration conf = mock(ImmutableClassesGiraphConfiguration.class);
+        when(conf.getGrapeVidClass()).thenReturn((Class) Integer.class);
+        when(conf.getIncomingMessageValueClass()).thenReturn((Class) LongWritable.class);
+        spillDir = Files.createTempDirectory("message-store-benchmark").toFile();
+        if (storeType.equals("default")) {
+            store = new DefaultMessageStore<>(fragment, conf);
+        } else if (storeType.equals("spillable")) {
+            store =
+                    new SpillableMessageStore<>(
+                            fragment, conf, spillThreshold, spillDir.getAbsolutePath());
+        } else {
+            throw new IllegalArgumentException("Unknown store type " + storeType);
+        }
+        messages = new LongWritable[messagesPerVertex];
+        for (int i = 0; i < messagesPerVertex; ++i) {
+            messages[i] = new LongWritable(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.clearAll();
+        try (Stream<Path> paths = Files.walk(spillDir.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public long addAndGetMessages() {
+        store.clearAll();
+        for (int i = 0; i < messagesPerVertex; ++i) {
+            for (int lid = 0; lid < vertexNum; ++lid) {
+                store.addLidMessage(lid, messages[i]);
+            }
+        }
+        long sum = 0;
+        for (long lid = 0; lid < vertexNum; ++lid) {
+            for (LongWritable msg : store.getMessages(lid)) {
+                sum += msg.get();
+            }
+        }
+        return sum;
+    }
+}
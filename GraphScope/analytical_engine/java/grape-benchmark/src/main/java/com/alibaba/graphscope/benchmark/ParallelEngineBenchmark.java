@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.benchmark;
+
+import com.alibaba.graphscope.ds.Vertex;
+import com.alibaba.graphscope.ds.VertexRange;
+import com.alibaba.graphscope.parallel.ParallelEngine;
+import com.alibaba.graphscope.utils.FFITypeFactoryhelper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Iterating vertices with {@link ParallelEngine#forEachVertex}, which is the outer loop of most
+ * parallel apps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelEngineBenchmark implements ParallelEngine {
+
+    static {
+        System.loadLibrary("grape-jni");
+    }
+
+    @Param({"1000000"})
+    public int vertexNum;
+
+    @Param({"1", "4"})
+    public int threadNum;
+
+    private VertexRange<Long> vertices;
+    private ExecutorService executor;
+    private AtomicLongArray sums;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        vertices = FFITypeFactoryhelper.newVertexRangeLong();
+        vertices.SetRange(0L, (long) vertexNum);
+        executor = Executors.newFixedThreadPool(threadNum);
+        sums = new AtomicLongArray(threadNum);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public long forEachVertex() {
+        forEachVertex(
+                vertices,
+                threadNum,
+                executor,
+                (Vertex<Long> vertex, Integer finalTid) ->
+                        sums.lazySet(finalTid, sums.get(finalTid) + vertex.getValue()));
+        return sums.get(0);
+    }
+}
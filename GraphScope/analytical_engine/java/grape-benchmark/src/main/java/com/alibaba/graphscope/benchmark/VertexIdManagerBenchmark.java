@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.graphscope.ds.Vertex;
+import com.alibaba.graphscope.ds.VertexRange;
+import com.alibaba.graphscope.fragment.IFragment;
+import com.alibaba.graphscope.graph.GiraphVertexIdManager;
+import com.alibaba.graphscope.graph.impl.GiraphVertexIdManagerImpl;
+import com.alibaba.graphscope.graph.impl.PrimitiveVertexIdManagerImpl;
+import com.alibaba.graphscope.utils.FFITypeFactoryhelper;
+
+import org.apache.giraph.conf.GiraphConstants;
+import org.apache.giraph.conf.ImmutableClassesGiraphConfiguration;
+import org.apache.hadoop.io.LongWritable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translating ids between giraph oids and grape lids, with the generic writable based manager and
+ * the primitive one backed by {@link com.alibaba.graphscope.utils.LongIdIndex}. The fragment is mocked to return {@code lid *
+ * stride} as the oid of each vertex.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VertexIdManagerBenchmark {
+
+    static {
+        System.loadLibrary("grape-jni");
+    }
+
+    static final long STRIDE = 7L;
+
+    @Param({"1000000"})
+    public int vertexNum;
+
+    @Param({"giraph", "primitive"})
+    public String managerType;
+
+    private GiraphVertexIdManager<Long, LongWritable> idManager;
+    private LongWritable[] oids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        VertexRange<Long> vertices = FFITypeFactoryhelper.newVertexRangeLong();
+        vertices.SetRange(0L, (long) vertexNum);
+        IFragment fragment = mock(IFragment.class);
+        when(fragment.vertices()).thenReturn(vertices);
+        when(fragment.getId(any(Vertex.class)))
+                .thenAnswer(
+                        invocation ->
+                                ((Vertex<Long>) invocation.getArgument(0)).getValue() * STRIDE);
+        ImmutableClassesGiraphConfiguration conf = mock(ImmutableClassesGiraphConfiguration.class);
+        when(conf.getGrapeVidClass()).thenReturn((Class) Long.class);
+        when(conf.getGrapeOidClass()).thenReturn((Class) Long.class);
+        when(conf.getVertexIdClass()).thenReturn((Class) LongWritable.class);
+        when(conf.createVertexId()).thenAnswer(invocation -> new LongWritable());
+        when(conf.getInt(eq(GiraphConstants.VERTEX_ID_INDEX_THREADS.getKey()), anyInt()))
+                .thenReturn(Runtime.getRuntime().availableProcessors());
+        if (managerType.equals("giraph")) {
+            idManager = new GiraphVertexIdManagerImpl<>(fragment, vertexNum, conf);
+        } else if (managerType.equals("primitive")) {
+            idManager = new PrimitiveVertexIdManagerImpl<>(fragment, vertexNum, conf);
+        } else {
+            throw new IllegalArgumentException("Unknown manager type " + managerType);
+        }
+        oids = new LongWritable[vertexNum];
+        for (int i = 0; i < vertexNum; ++i) {
+            oids[i] = new LongWritable(i * STRIDE);
+        }
+    }
+
+    @Benchmark
+    public long oid2Lid() {
+        long sum = 0;
+        for (int i = 0; i < vertexNum; ++i) {
+            sum += idManager.oid2Lid(oids[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long lid2Oid() {
+        long sum = 0;
+        for (long lid = 0; lid < vertexNum; ++lid) {
+            sum += idManager.lid2Oid(lid).get();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.benchmark;
+
+import com.alibaba.graphscope.ds.VertexSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations on {@link VertexSet}, i.e. the c++ bitset used for active vertices of every round.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VertexSetBenchmark {
+
+    static {
+        System.loadLibrary("grape-jni");
+    }
+
+    @Param({"1000000"})
+    public int vertexNum;
+
+    private VertexSet vertexSet;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        vertexSet = new VertexSet(0, vertexNum);
+        for (int i = 0; i < vertexNum; i += 3) {
+            vertexSet.set(i);
+        }
+    }
+
+    @Benchmark
+    public void set() {
+        for (int i = 0; i < vertexNum; i += 3) {
+            vertexSet.set(i);
+        }
+    }
+
+    @Benchmark
+    public int get() {
+        int cnt = 0;
+        for (int i = 0; i < vertexNum; ++i) {
+            if (vertexSet.get(i)) {
+                cnt += 1;
+            }
+        }
+        return cnt;
+    }
+
+    @Benchmark
+    public long count() {
+        return vertexSet.count();
+    }
+
+    @Benchmark
+    public boolean partialEmpty() {
+        return vertexSet.partialEmpty(1, vertexNum / 2);
+    }
+
+    @Benchmark
+    public long clearAndSet() {
+        vertexSet.clear();
+        for (int i = 0; i < vertexNum; i += 3) {
+            vertexSet.set(i);
+        }
+        return vertexSet.count();
+    }
+}
@@ -21,8 +21,7 @@ import com.alibaba.graphscope.communication.Communicator;
 import com.alibaba.graphscope.context.ParallelContextBase;
 import com.alibaba.graphscope.ds.Vertex;
 import com.alibaba.graphscope.ds.VertexRange;
-import com.alibaba.graphscope.ds.adaptor.AdjList;
-import com.alibaba.graphscope.ds.adaptor.Nbr;
+import com.alibaba.graphscope.ds.adaptor.NbrCursor;
 import com.alibaba.graphscope.fragment.IFragment;
 import com.alibaba.graphscope.parallel.ParallelEngine;
 import com.alibaba.graphscope.parallel.ParallelMessageManager;
@@ -122,9 +121,10 @@ public class PageRank extends Communicator
                         ctx.nextResult.set(vertex, base);
                     } else {
                         double cur = 0.0;
-                        AdjList<Long, Double> nbrs = fragment.getIncomingAdjList(vertex);
-                        for (Nbr<Long, Double> nbr : nbrs.iterable()) {
-                            cur += ctx.pagerank.get(nbr.neighbor());
+                        NbrCursor nbrs = ctx.cursors[finalTid];
+                        fragment.getIncomingNbrs(vertex, nbrs);
+                        while (nbrs.next()) {
+                            cur += ctx.pagerank.get(nbrs.lid());
                         }
                         cur = (cur * ctx.alpha + base) / ctx.degree.get(vertex);
                         ctx.nextResult.set(vertex, cur);
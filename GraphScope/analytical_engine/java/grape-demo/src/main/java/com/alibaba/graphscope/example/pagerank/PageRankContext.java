@@ -21,6 +21,7 @@ import com.alibaba.graphscope.context.ParallelContextBase;
 import com.alibaba.graphscope.context.VertexDataContext;
 import com.alibaba.graphscope.ds.Vertex;
 import com.alibaba.graphscope.ds.VertexRange;
+import com.alibaba.graphscope.ds.adaptor.NbrCursor;
 import com.alibaba.graphscope.fragment.IFragment;
 import com.alibaba.graphscope.parallel.MessageInBuffer;
 import com.alibaba.graphscope.parallel.ParallelMessageManager;
@@ -51,6 +52,7 @@ public class PageRankContext extends VertexDataContext<IFragment<Long, Long, Lon
     public DoubleArrayWrapper pagerank;
     public DoubleArrayWrapper nextResult;
     public IntArrayWrapper degree;
+    public NbrCursor[] cursors;
     public int thread_num;
     public ExecutorService executor;
     public MessageInBuffer.Factory bufferFactory;
@@ -96,6 +98,10 @@ public class PageRankContext extends VertexDataContext<IFragment<Long, Long, Lon
         nextResult = new DoubleArrayWrapper((int) frag.getInnerVerticesNum(), 0.0);
         degree = new IntArrayWrapper((int) frag.getInnerVerticesNum(), 0);
         executor = Executors.newFixedThreadPool(thread_num());
+        cursors = new NbrCursor[thread_num];
+        for (int i = 0; i < thread_num; ++i) {
+            cursors[i] = new NbrCursor();
+        }
         chunkSize = 1024;
         danglingVNum = 0;
     }
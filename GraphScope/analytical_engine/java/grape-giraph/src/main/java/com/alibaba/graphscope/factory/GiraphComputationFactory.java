@@ -24,6 +24,7 @@ import com.alibaba.graphscope.graph.GiraphVertexIdManager;
 import com.alibaba.graphscope.graph.VertexDataManager;
 import com.alibaba.graphscope.graph.impl.DefaultImmutableEdgeManager;
 import com.alibaba.graphscope.graph.impl.GiraphVertexIdManagerImpl;
+import com.alibaba.graphscope.graph.impl.PrimitiveVertexIdManagerImpl;
 import com.alibaba.graphscope.graph.impl.VertexDataManagerImpl;
 
 import org.apache.giraph.conf.ImmutableClassesGiraphConfiguration;
@@ -153,6 +154,11 @@ public class GiraphComputationFactory {
                     IFragment fragment,
                     long vertexNum,
                     ImmutableClassesGiraphConfiguration conf) {
+        if (PrimitiveVertexIdManagerImpl.isSupported(oidClass, grapeOidClass)) {
+            return new PrimitiveVertexIdManagerImpl<
+                    OID_T, GRAPE_OID_T, GRAPE_VID_T, GRAPE_VDATA_T, GRAPE_EDATA_T>(
+                    fragment, vertexNum, conf);
+        }
         return new GiraphVertexIdManagerImpl<
                 OID_T, GRAPE_OID_T, GRAPE_VID_T, GRAPE_VDATA_T, GRAPE_EDATA_T>(
                 fragment, vertexNum, conf);
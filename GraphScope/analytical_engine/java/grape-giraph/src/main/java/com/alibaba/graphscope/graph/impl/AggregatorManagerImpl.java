@@ -39,9 +39,9 @@ import org.slf4j.LoggerFactory;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.TreeMap;
 
 public class AggregatorManagerImpl
         implements AggregatorManager, WorkerAggregatorUsage, WorkerGlobalCommUsage {
@@ -65,7 +65,7 @@ public class AggregatorManagerImpl
      */
     FFIByteVector received = (FFIByteVector) FFIByteVectorFactory.INSTANCE.create();
 
-    private HashMap<String, AggregatorWrapper<Writable>> aggregators;
+    private TreeMap<String, AggregatorWrapper<Writable>> aggregators;
     private int workerId;
     private int workerNum;
     /**
@@ -76,7 +76,7 @@ public class AggregatorManagerImpl
     public AggregatorManagerImpl(
             ImmutableClassesGiraphConfiguration<?, ?, ?> conf, int workerId, int workerNum) {
         this.conf = conf;
-        aggregators = new HashMap<>();
+        aggregators = new TreeMap<>();
         this.workerId = workerId;
         this.workerNum = workerNum;
     }
@@ -258,10 +258,8 @@ public class AggregatorManagerImpl
     public void preSuperstep() {
         for (Entry<String, AggregatorWrapper<Writable>> entry : aggregators.entrySet()) {
             if (!entry.getValue().isPersistent()) {
-                logger.info(
-                        "Aggregator: "
-                                + entry.getKey()
-                                + " is not persistent, reset before superstep");
+                logger.debug(
+                        "Aggregator: {} is not persistent, reset before superstep", entry.getKey());
                 entry.getValue()
                         .setCurrentValue(entry.getValue().getReduceOp().createInitialValue());
             }
@@ -269,120 +267,97 @@ public class AggregatorManagerImpl
     }
 
     /**
-     * Synchronize aggregator values between workers after superstep.
+     * Synchronize aggregator values between workers after superstep. Values of all aggregators are
+     * packed into one buffer, reduced to worker 0 along a binomial tree and broadcast back along
+     * the same tree, which takes 2 * ceil(log2(workerNum)) rounds instead of one round trip per
+     * aggregator and worker.
      */
     @Override
     public void postSuperstep() {
-        // for each aggregator, let master node receive all data, then master distribute to all
-        // other
-        // node. in byte vector.
+        if (workerNum <= 1) {
+            logger.debug("only one worker, skip aggregating..");
+            return;
+        }
+        if (aggregators.isEmpty()) {
+            return;
+        }
         for (Entry<String, AggregatorWrapper<Writable>> entry : aggregators.entrySet()) {
-            String aggregatorKey = entry.getKey();
-            Writable value = entry.getValue().getCurrentValue();
-            if (value == null) {
+            if (entry.getValue().getCurrentValue() == null) {
                 logger.error("aggregator wrapper is null for " + entry.getKey());
                 return;
             }
-            Preconditions.checkState(value != null);
+        }
+        try {
+            reduceToMaster();
+            broadcastFromMaster();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 
-            outputStream.reset();
-            inputStream.clear();
-
-            try {
-                if (workerNum > 1) {
-                    value.write(outputStream);
-                    outputStream.finishSetting();
-                    if (workerId == 0) {
-                        inputStream.digestVector(outputStream.getVector());
-                        for (int src_worker = 1; src_worker < workerNum; ++src_worker) {
-                            communicator.receiveFrom(src_worker, received);
-                            logger.info(
-                                    "Receive from src_worker: "
-                                            + src_worker
-                                            + ", size : "
-                                            + received.size());
-                            inputStream.digestVector(received);
-                        }
-
-                        // Reset
-                        AggregatorWrapper wrapper = entry.getValue();
-                        wrapper.setCurrentValue(wrapper.getReduceOp().createInitialValue());
-
-                        // digest input stream
-                        logger.info(
-                                "master: "
-                                        + workerId
-                                        + " aggregator: "
-                                        + aggregatorKey
-                                        + " ,receive msg: "
-                                        + inputStream.longAvailable());
-                        Writable msg =
-                                ReflectionUtils.newInstance(wrapper.getCurrentValue().getClass());
-                        logger.info("Parse aggregation msg in " + msg.getClass().getName());
-                        // parse to writables
-                        while (inputStream.longAvailable() > 0) {
-                            msg.readFields(inputStream);
-                            // apply aggregator on received writables.
-                            wrapper.reduce(msg);
-                            logger.info(
-                                    "worker: "
-                                            + workerId
-                                            + "aggregator: "
-                                            + aggregatorKey
-                                            + " reduce: "
-                                            + msg
-                                            + ", to"
-                                            + wrapper.getCurrentValue());
-                        }
-                        logger.info(
-                                "server: "
-                                        + workerId
-                                        + "aggregator: "
-                                        + aggregatorKey
-                                        + " after aggregation: "
-                                        + wrapper.getCurrentValue());
-                        // Wrap result in output stream
-                        outputStream.reset();
-                        wrapper.currentValue.write(outputStream);
-
-                        // Send what received to all worker
-                        for (int dstWorker = 1; dstWorker < workerNum; ++dstWorker) {
-                            communicator.sendTo(dstWorker, outputStream.getVector());
-                        }
-                    } else {
-                        logger.info(
-                                "worker: "
-                                        + workerId
-                                        + " sending size: "
-                                        + outputStream.getVector().size()
-                                        + " to worker 0");
-                        communicator.sendTo(0, outputStream.getVector());
-
-                        communicator.receiveFrom(0, received);
-                        inputStream.digestVector(received);
-                        logger.info(
-                                "worker: "
-                                        + workerId
-                                        + " receive size: "
-                                        + inputStream.longAvailable()
-                                        + " from worker 0");
-                        AggregatorWrapper wrapper = entry.getValue();
-                        Writable msg =
-                                ReflectionUtils.newInstance(wrapper.getCurrentValue().getClass());
-                        msg.readFields(inputStream);
-                        logger.info("Worker " + workerId + " ] received final value: " + msg);
-                        wrapper.setCurrentValue(msg);
-                    }
-                } else {
-                    logger.info("only one worker, skip aggregating..");
+    /**
+     * In the round of mask, the worker with the bit set sends its partial values to the one
+     * without and quits, so worker 0 owns the reduced values after all rounds.
+     */
+    private void reduceToMaster() throws IOException {
+        for (int mask = 1; mask < workerNum; mask <<= 1) {
+            if ((workerId & mask) != 0) {
+                communicator.sendTo(workerId - mask, packValues());
+                return;
+            }
+            if (workerId + mask < workerNum) {
+                communicator.receiveFrom(workerId + mask, received);
+                digestReceived();
+                for (AggregatorWrapper<Writable> wrapper : aggregators.values()) {
+                    wrapper.reduce(readValue(wrapper));
                 }
+            }
+        }
+        logger.debug("master {} reduced aggregators {}", workerId, aggregators.keySet());
+    }
 
-            } catch (IOException e) {
-                e.printStackTrace();
+    /**
+     * Reverse of {@link #reduceToMaster()}, a worker receives the reduced values in the round of
+     * its lowest set bit, and then forwards them in the following rounds.
+     */
+    private void broadcastFromMaster() throws IOException {
+        FFIByteVector packed = (workerId == 0) ? packValues() : null;
+        for (int mask = Integer.highestOneBit(workerNum - 1); mask > 0; mask >>= 1) {
+            int pos = workerId & (2 * mask - 1);
+            if (pos == 0 && workerId + mask < workerNum) {
+                communicator.sendTo(workerId + mask, packed);
+            } else if (pos == mask) {
+                communicator.receiveFrom(workerId - mask, received);
+                digestReceived();
+                for (AggregatorWrapper<Writable> wrapper : aggregators.values()) {
+                    wrapper.setCurrentValue(readValue(wrapper));
+                }
+                packed = received;
             }
         }
     }
 
+    // values are written in the order of aggregator names, which is the same on all workers
+    private FFIByteVector packValues() throws IOException {
+        outputStream.reset();
+        for (AggregatorWrapper<Writable> wrapper : aggregators.values()) {
+            wrapper.getCurrentValue().write(outputStream);
+        }
+        outputStream.finishSetting();
+        return outputStream.getVector();
+    }
+
+    private void digestReceived() {
+        inputStream.clear();
+        inputStream.digestVector(received);
+    }
+
+    private Writable readValue(AggregatorWrapper<Writable> wrapper) throws IOException {
+        Writable value = ReflectionUtils.newInstance(wrapper.getCurrentValue().getClass());
+        value.readFields(inputStream);
+        return value;
+    }
+
     public void postMasterCompute() {
         // broadcast what master set, or if it didn't broadcast reduced value
         // register reduce with the same value
@@ -487,9 +462,7 @@ public class AggregatorManagerImpl
         }
 
         public void reduce(A value) {
-            logger.info("Before reduce: " + currentValue + ", " + value);
             currentValue = reduceOp.reduce(currentValue, value);
-            logger.info("After reduce: " + currentValue);
         }
 
         @Override
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *   	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.alibaba.graphscope.graph.impl;
+
+import static org.apache.giraph.conf.GiraphConstants.VERTEX_ID_INDEX_THREADS;
+
+import com.alibaba.graphscope.ds.Vertex;
+import com.alibaba.graphscope.fragment.IFragment;
+import com.alibaba.graphscope.graph.GiraphVertexIdManager;
+import com.alibaba.graphscope.utils.FFITypeFactoryhelper;
+import com.alibaba.graphscope.utils.LongIdIndex;
+
+import org.apache.giraph.conf.ImmutableClassesGiraphConfiguration;
+import org.apache.hadoop.io.DoubleWritable;
+import org.apache.hadoop.io.FloatWritable;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.WritableComparable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * VertexId management for primitive vertex ids, i.e. giraph id being LongWritable, IntWritable,
+ * DoubleWritable or FloatWritable with the same grape oid type. Oids are encoded as long keys in a
+ * {@link LongIdIndex}, which is built by multiple threads reading oids from the fragment directly.
+ * Other id types are managed by {@link GiraphVertexIdManagerImpl}.
+ *
+ * @param <OID_T>         giraph vertex id type
+ * @param <GRAPE_OID_T>   grape vertex oid
+ * @param <GRAPE_VID_T>   grape vertex vid
+ * @param <GRAPE_VDATA_T> grape vertex data
+ * @param <GRAPE_EDATA_T> grape edge data
+ */
+public class PrimitiveVertexIdManagerImpl<
+                OID_T extends WritableComparable,
+                GRAPE_OID_T,
+                GRAPE_VID_T,
+                GRAPE_VDATA_T,
+                GRAPE_EDATA_T>
+        implements GiraphVertexIdManager<GRAPE_VID_T, OID_T> {
+
+    private static Logger logger = LoggerFactory.getLogger(PrimitiveVertexIdManagerImpl.class);
+
+    private final IFragment<GRAPE_OID_T, GRAPE_VID_T, GRAPE_VDATA_T, GRAPE_EDATA_T> fragment;
+    private final OidType oidType;
+    private final boolean longVid;
+    private final LongIdIndex index;
+
+    public PrimitiveVertexIdManagerImpl(
+            IFragment<GRAPE_OID_T, GRAPE_VID_T, GRAPE_VDATA_T, GRAPE_EDATA_T> fragment,
+            long vertexNum,
+            ImmutableClassesGiraphConfiguration<OID_T, ?, ?> conf) {
+        this.fragment = fragment;
+        this.oidType = OidType.of(conf.getVertexIdClass(), conf.getGrapeOidClass());
+        if (oidType == null) {
+            throw new IllegalArgumentException(
+                    "Not primitive vertex id: "
+                            + conf.getVertexIdClass().getName()
+                            + ", "
+                            + conf.getGrapeOidClass().getName());
+        }
+        this.longVid = conf.getGrapeVidClass().equals(Long.class);
+        this.index = new LongIdIndex((int) vertexNum);
+        long startTime = System.nanoTime();
+        build(VERTEX_ID_INDEX_THREADS.get(conf));
+        logger.info(
+                "Built oid index of {} vertices in {} ms",
+                vertexNum,
+                (System.nanoTime() - startTime) / 1000000);
+    }
+
+    /**
+     * Whether the ids can be managed by this class.
+     */
+    public static boolean isSupported(Class<?> vertexIdClass, Class<?> grapeOidClass) {
+        return OidType.of(vertexIdClass, grapeOidClass) != null;
+    }
+
+    private void build(int threadNum) {
+        int size = index.size();
+        int chunkSize = (size + threadNum - 1) / threadNum;
+        ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < threadNum; ++i) {
+            int begin = Math.min(size, chunkSize * i);
+            int end = Math.min(size, begin + chunkSize);
+            futures.add(executor.submit(() -> buildRange(begin, end)));
+        }
+        int duplicated = 0;
+        try {
+            for (Future<Integer> future : futures) {
+                duplicated += future.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("Fail to build oid index", e);
+        } finally {
+            executor.shutdown();
+        }
+        if (duplicated > 0) {
+            logger.warn("Found {} duplicated oids, the first lid is kept", duplicated);
+        }
+    }
+
+    private int buildRange(int begin, int end) {
+        Vertex<GRAPE_VID_T> vertex =
+                longVid
+                        ? (Vertex<GRAPE_VID_T>) FFITypeFactoryhelper.newVertexLong()
+                        : (Vertex<GRAPE_VID_T>) FFITypeFactoryhelper.newVertexInt();
+        int duplicated = 0;
+        for (int lid = begin; lid < end; ++lid) {
+            vertex.setValue(
+                    longVid ? (GRAPE_VID_T) (Long) (long) lid : (GRAPE_VID_T) (Integer) lid);
+            index.setKey(lid, oidType.grapeOidToKey(fragment.getId(vertex)));
+            if (!index.insert(lid)) {
+                duplicated += 1;
+            }
+        }
+        return duplicated;
+    }
+
+    @Override
+    public OID_T lid2Oid(GRAPE_VID_T lid) {
+        return (OID_T) oidType.keyToOid(index.getKey(((Number) lid).intValue()));
+    }
+
+    @Override
+    public GRAPE_VID_T oid2Lid(OID_T oid) {
+        int lid = index.get(oidType.oidToKey(oid));
+        if (lid < 0) {
+            return null;
+        }
+        return longVid ? (GRAPE_VID_T) (Long) (long) lid : (GRAPE_VID_T) (Integer) lid;
+    }
+
+    /**
+     * Encoding of the supported id types to long keys.
+     */
+    private enum OidType {
+        LONG {
+            long grapeOidToKey(Object oid) {
+                return (Long) oid;
+            }
+
+            long oidToKey(WritableComparable oid) {
+                return ((LongWritable) oid).get();
+            }
+
+            WritableComparable keyToOid(long key) {
+                return new LongWritable(key);
+            }
+        },
+        INT {
+            long grapeOidToKey(Object oid) {
+                return (Integer) oid;
+            }
+
+            long oidToKey(WritableComparable oid) {
+                return ((IntWritable) oid).get();
+            }
+
+            WritableComparable keyToOid(long key) {
+                return new IntWritable((int) key);
+            }
+        },
+        DOUBLE {
+            long grapeOidToKey(Object oid) {
+                return Double.doubleToLongBits((Double) oid);
+            }
+
+            long oidToKey(WritableComparable oid) {
+                return Double.doubleToLongBits(((DoubleWritable) oid).get());
+            }
+
+            WritableComparable keyToOid(long key) {
+                return new DoubleWritable(Double.longBitsToDouble(key));
+            }
+        },
+        FLOAT {
+            long grapeOidToKey(Object oid) {
+                return Float.floatToIntBits((Float) oid);
+            }
+
+            long oidToKey(WritableComparable oid) {
+                return Float.floatToIntBits(((FloatWritable) oid).get());
+            }
+
+            WritableComparable keyToOid(long key) {
+                return new FloatWritable(Float.intBitsToFloat((int) key));
+            }
+        };
+
+        abstract long grapeOidToKey(Object oid);
+
+        abstract long oidToKey(WritableComparable oid);
+
+        abstract WritableComparable keyToOid(long key);
+
+        static OidType of(Class<?> vertexIdClass, Class<?> grapeOidClass) {
+            if (vertexIdClass.equals(LongWritable.class) && grapeOidClass.equals(Long.class)) {
+                return LONG;
+            } else if (vertexIdClass.equals(IntWritable.class)
+                    && grapeOidClass.equals(Integer.class)) {
+                return INT;
+            } else if (vertexIdClass.equals(DoubleWritable.class)
+                    && grapeOidClass.equals(Double.class)) {
+                return DOUBLE;
+            } else if (vertexIdClass.equals(FloatWritable.class)
+                    && grapeOidClass.equals(Float.class)) {
+                return FLOAT;
+            }
+            return null;
+        }
+    }
+}
@@ -45,6 +45,8 @@ public class VertexDataManagerImpl<
         implements VertexDataManager<VDATA_T> {
 
     private static Logger logger = LoggerFactory.getLogger(VertexDataManagerImpl.class);
+    // primitive vdata are buffered and copied into the stream in chunks of this size.
+    private static final int BULK_WRITE_CHUNK_SIZE = 4096;
 
     private IFragment<GRAPE_OID_T, GRAPE_VID_T, GRAPE_VDATA_T, GRAPE_EDATA_T> fragment;
     private List<VDATA_T> vertexDataList;
@@ -119,20 +121,38 @@ public class VertexDataManagerImpl<
                         "No recognizable vid" + conf.getGrapeVidClass().getName());
             }
             if (conf.getGrapeVdataClass().equals(Long.class)) {
+                long[] chunk = new long[BULK_WRITE_CHUNK_SIZE];
+                int cnt = 0;
                 for (Vertex<GRAPE_VID_T> vertex : iterable) {
-                    Long value = (Long) fragment.getData(vertex);
-                    outputStream.writeLong(value);
+                    chunk[cnt++] = (Long) fragment.getData(vertex);
+                    if (cnt == chunk.length) {
+                        outputStream.writeLongs(chunk, 0, cnt);
+                        cnt = 0;
+                    }
                 }
+                outputStream.writeLongs(chunk, 0, cnt);
             } else if (conf.getGrapeVdataClass().equals(Integer.class)) {
+                int[] chunk = new int[BULK_WRITE_CHUNK_SIZE];
+                int cnt = 0;
                 for (Vertex<GRAPE_VID_T> vertex : iterable) {
-                    Integer value = (Integer) fragment.getData(vertex);
-                    outputStream.writeInt(value);
+                    chunk[cnt++] = (Integer) fragment.getData(vertex);
+                    if (cnt == chunk.length) {
+                        outputStream.writeInts(chunk, 0, cnt);
+                        cnt = 0;
+                    }
                 }
+                outputStream.writeInts(chunk, 0, cnt);
             } else if (conf.getGrapeVdataClass().equals(Double.class)) {
+                double[] chunk = new double[BULK_WRITE_CHUNK_SIZE];
+                int cnt = 0;
                 for (Vertex<GRAPE_VID_T> vertex : iterable) {
-                    Double value = (Double) fragment.getData(vertex);
-                    outputStream.writeDouble(value);
+                    chunk[cnt++] = (Double) fragment.getData(vertex);
+                    if (cnt == chunk.length) {
+                        outputStream.writeDoubles(chunk, 0, cnt);
+                        cnt = 0;
+                    }
                 }
+                outputStream.writeDoubles(chunk, 0, cnt);
             } else if (conf.getGrapeVdataClass().equals(Float.class)) {
                 for (Vertex<GRAPE_VID_T> vertex : iterable) {
                     Float value = (Float) fragment.getData(vertex);
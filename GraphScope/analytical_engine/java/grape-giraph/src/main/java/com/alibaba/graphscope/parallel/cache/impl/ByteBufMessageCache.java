@@ -22,6 +22,7 @@ import static org.apache.giraph.utils.ByteUtils.SIZE_OF_INT;
 import com.alibaba.graphscope.parallel.cache.SendMessageCache;
 import com.alibaba.graphscope.parallel.message.DefaultMessageStore;
 import com.alibaba.graphscope.parallel.message.MessageStore;
+import com.alibaba.graphscope.parallel.message.SpillableMessageStore;
 import com.alibaba.graphscope.parallel.netty.NettyClient;
 import com.alibaba.graphscope.parallel.netty.request.impl.ByteBufRequest;
 
@@ -116,10 +117,10 @@ public class ByteBufMessageCache<I extends WritableComparable, M extends Writabl
     public void removeMessageToSelf(MessageStore<I, M, GS_VID_T> nextIncomingMessages) {
         // move toSelf msg to messageStore
         if (cache[fragId].readableBytes() > 0) {
-            if (nextIncomingMessages instanceof DefaultMessageStore) {
-                DefaultMessageStore messageStore = (DefaultMessageStore) nextIncomingMessages;
+            if (nextIncomingMessages instanceof DefaultMessageStore
+                    || nextIncomingMessages instanceof SpillableMessageStore) {
                 // DoubleMessageStore should copy this memory.
-                messageStore.digestByteBuffer(cache[fragId], true);
+                nextIncomingMessages.digestByteBuffer(cache[fragId], true);
             } else {
                 throw new IllegalStateException("Not supported now");
             }
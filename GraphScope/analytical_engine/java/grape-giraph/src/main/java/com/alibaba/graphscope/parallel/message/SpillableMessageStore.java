@@ -0,0 +1,426 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.parallel.message;
+
+import com.alibaba.graphscope.ds.Vertex;
+import com.alibaba.graphscope.fragment.IFragment;
+import com.alibaba.graphscope.serialization.FFIByteVectorInputStream;
+import com.alibaba.graphscope.stdcxx.FFIByteVector;
+import com.alibaba.graphscope.utils.FFITypeFactoryhelper;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+
+import org.apache.giraph.conf.ImmutableClassesGiraphConfiguration;
+import org.apache.giraph.utils.ReflectionUtils;
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableComparable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A message store which keeps the received messages serialized, and spills them to local files
+ * once they exceed a memory threshold, so that supersteps with more messages than the worker memory
+ * run slower instead of running out of memory.
+ *
+ * <p>Each message is stored as a record of [lid: long][length: int][message bytes]. A spilled run
+ * is sorted by lid and memory-mapped when reading. Vertices are computed in lid order, so {@link
+ * #getMessages} merges the runs with one cursor per run, which only moves forward unless the lids
+ * are queried out of order.
+ */
+public class SpillableMessageStore<
+                OID_T extends WritableComparable, MSG_T extends Writable, GS_VID_T>
+        implements MessageStore<OID_T, MSG_T, GS_VID_T> {
+
+    private static Logger logger = LoggerFactory.getLogger(SpillableMessageStore.class);
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final int INIT_BUFFER_SIZE = 4096;
+
+    private IFragment<?, GS_VID_T, ?, ?> fragment;
+    private ImmutableClassesGiraphConfiguration<OID_T, ?, ?> conf;
+    private Vertex<GS_VID_T> vertex;
+    private int vid_t;
+    private final long spillThreshold;
+    private final File spillDir;
+
+    private Runs runs;
+
+    public SpillableMessageStore(
+            IFragment<?, GS_VID_T, ?, ?> fragment,
+            ImmutableClassesGiraphConfiguration<OID_T, ?, ?> conf,
+            long spillThreshold,
+            String spillDir) {
+        this.fragment = fragment;
+        this.conf = conf;
+        if (conf.getGrapeVidClass().equals(Long.class)) {
+            vid_t = 0;
+        } else if (conf.getGrapeVidClass().equals(Integer.class)) {
+            vid_t = 1;
+        } else {
+            throw new IllegalStateException("Grape vid should be long or integer");
+        }
+        if (spillThreshold <= 0 || spillThreshold > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid spill threshold " + spillThreshold);
+        }
+        this.spillThreshold = spillThreshold;
+        this.spillDir = new File(spillDir);
+        if (!this.spillDir.exists() && !this.spillDir.mkdirs()) {
+            throw new IllegalStateException("Can not create spill dir " + spillDir);
+        }
+        this.runs = new Runs((int) fragment.getInnerVerticesNum());
+    }
+
+    @Override
+    public synchronized void addLidMessage(GS_VID_T lid, MSG_T writable) {
+        try {
+            runs.add(((Number) lid).longValue(), writable);
+            if (runs.bufferedBytes() >= spillThreshold) {
+                runs.spill(spillDir);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to add message to " + lid, e);
+        }
+    }
+
+    @Override
+    public void addGidMessages(Iterator<GS_VID_T> gids, Iterator<MSG_T> writables) {
+        int cnt = 0;
+        while (gids.hasNext() && writables.hasNext()) {
+            addGidMessage(gids.next(), writables.next());
+            cnt += 1;
+        }
+        logger.info("worker [{}] messages to self cnt: {}", fragment.fid(), cnt);
+    }
+
+    @Override
+    public synchronized void addGidMessage(GS_VID_T gid, MSG_T writable) {
+        if (vertex == null) {
+            vertex = (Vertex<GS_VID_T>) FFITypeFactoryhelper.newVertex(conf.getGrapeVidClass());
+        }
+        if (!fragment.innerVertexGid2Vertex(gid, vertex)) {
+            throw new IllegalStateException("gid to vertex conversion failed: " + gid);
+        }
+        addLidMessage(vertex.getValue(), writable);
+    }
+
+    @Override
+    public synchronized void swap(MessageStore<OID_T, MSG_T, GS_VID_T> other) {
+        if (other instanceof SpillableMessageStore) {
+            SpillableMessageStore<OID_T, MSG_T, GS_VID_T> otherStore =
+                    (SpillableMessageStore<OID_T, MSG_T, GS_VID_T>) other;
+            if (!this.fragment.equals(otherStore.fragment)) {
+                logger.error("fragment not the same");
+                return;
+            }
+            synchronized (otherStore) {
+                Runs tmp = this.runs;
+                this.runs = otherStore.runs;
+                otherStore.runs = tmp;
+            }
+        } else {
+            logger.error("Can not swap with a non-SpillableMessageStore obj");
+        }
+    }
+
+    @Override
+    public synchronized void clearAll() {
+        runs.clear();
+    }
+
+    @Override
+    public synchronized boolean anyMessageReceived() {
+        return runs.messageCount > 0;
+    }
+
+    @Override
+    public synchronized boolean messageAvailable(GS_VID_T lid) {
+        return runs.receivedLids.get(((Number) lid).intValue());
+    }
+
+    @Override
+    public synchronized boolean messageAvailable(Long lid) {
+        return runs.receivedLids.get(lid.intValue());
+    }
+
+    @Override
+    public synchronized Iterable<MSG_T> getMessages(GS_VID_T lid) {
+        return getMessages(((Number) lid).longValue());
+    }
+
+    @Override
+    public synchronized Iterable<MSG_T> getMessages(Long lid) {
+        if (!runs.receivedLids.get(lid.intValue())) {
+            return () -> Collections.emptyIterator();
+        }
+        List<MSG_T> result = new ArrayList<>();
+        try {
+            runs.read(lid, result);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read messages of " + lid, e);
+        }
+        return result;
+    }
+
+    public synchronized int spilledRunCount() {
+        return runs.spilled.size();
+    }
+
+    @Override
+    public void digest(FFIByteVector vector) {
+        FFIByteVectorInputStream inputStream = new FFIByteVectorInputStream(vector);
+        int size = (int) vector.size();
+        if (size <= 0) {
+            return;
+        }
+        try {
+            long expectSize = inputStream.readLong();
+            if (expectSize != inputStream.longAvailable()) {
+                throw new IllegalStateException(
+                        "Expect bytes "
+                                + expectSize
+                                + " available: "
+                                + inputStream.longAvailable());
+            }
+            while (inputStream.longAvailable() > 0) {
+                addGidMessage(readGid(inputStream), readMessage(inputStream));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        if (inputStream.longAvailable() != 0) {
+            throw new IllegalStateException(
+                    "still " + inputStream.longAvailable() + " remains in stream");
+        }
+    }
+
+    @Override
+    public void digestByteBuffer(ByteBuf buf, boolean fromSelf) {
+        ByteBufInputStream inputStream = new ByteBufInputStream(buf);
+        if (fromSelf) {
+            buf.skipBytes(5);
+        }
+        try {
+            while (buf.readableBytes() > 8) {
+                addGidMessage(readGid(inputStream), readMessage(inputStream));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        if (buf.readableBytes() != 0) {
+            throw new IllegalStateException("readable bytes no subtracted by 16");
+        }
+    }
+
+    private GS_VID_T readGid(DataInput input) throws IOException {
+        switch (vid_t) {
+            case 0:
+                return (GS_VID_T) (Long) input.readLong();
+            case 1:
+                return (GS_VID_T) (Integer) input.readInt();
+            default:
+                throw new IllegalStateException("Unknown flag " + vid_t);
+        }
+    }
+
+    private MSG_T readMessage(DataInput input) throws IOException {
+        MSG_T msg = ReflectionUtils.newInstance(conf.getIncomingMessageValueClass());
+        msg.readFields(input);
+        return msg;
+    }
+
+    /**
+     * Messages received in one superstep, i.e. the in-memory run and the spilled runs.
+     */
+    private class Runs {
+        private final BitSet receivedLids;
+        private long messageCount;
+        private ByteBuf buffer;
+        private ByteBufOutputStream bufferOutput;
+        // (lid << 32 | offset) of the records in buffer, sorted before reading.
+        private long[] keys;
+        private int keyCount;
+        private final List<SpillFile> spilled;
+        // the last lid read, and the cursor of the in-memory run.
+        private long lastLid;
+        private int keyCursor;
+        private boolean sealed;
+
+        private Runs(int innerVerticesNum) {
+            receivedLids = new BitSet(innerVerticesNum);
+            buffer = Unpooled.buffer(INIT_BUFFER_SIZE);
+            bufferOutput = new ByteBufOutputStream(buffer);
+            keys = new long[INIT_BUFFER_SIZE];
+            spilled = new ArrayList<>();
+            lastLid = -1;
+        }
+
+        private void add(long lid, MSG_T msg) throws IOException {
+            if (lid < 0 || lid > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid lid " + lid);
+            }
+            sealed = false;
+            int offset = buffer.writerIndex();
+            bufferOutput.writeLong(lid);
+            bufferOutput.writeInt(0);
+            msg.write(bufferOutput);
+            buffer.setInt(offset + 8, buffer.writerIndex() - offset - RECORD_HEADER_SIZE);
+            if (keyCount == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[keyCount++] = (lid << 32) | offset;
+            receivedLids.set((int) lid);
+            messageCount += 1;
+        }
+
+        private long bufferedBytes() {
+            return buffer.writerIndex();
+        }
+
+        /** Write the in-memory records sorted by lid to a new spill file. */
+        private void spill(File dir) throws IOException {
+            Arrays.sort(keys, 0, keyCount);
+            File file = File.createTempFile("giraph-msg-" + fragment.fid() + "-", ".spill", dir);
+            file.deleteOnExit();
+            try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file))) {
+                for (int i = 0; i < keyCount; ++i) {
+                    int offset = (int) keys[i];
+                    int length = buffer.getInt(offset + 8) + RECORD_HEADER_SIZE;
+                    buffer.getBytes(offset, output, length);
+                }
+            }
+            SpillFile spillFile = new SpillFile(file);
+            spilled.add(spillFile);
+            logger.info(
+                    "Frag [{}] spilled {} messages of {} bytes to {}",
+                    fragment.fid(),
+                    keyCount,
+                    spillFile.data.capacity(),
+                    file);
+            buffer.clear();
+            keyCount = 0;
+        }
+
+        /** Collect the messages of lid from all runs. */
+        private void read(long lid, List<MSG_T> result) throws IOException {
+            if (!sealed) {
+                Arrays.sort(keys, 0, keyCount);
+                sealed = true;
+                rewind();
+            }
+            if (lid < lastLid) {
+                // queried out of lid order, restart the cursors.
+                rewind();
+            }
+            lastLid = lid;
+            for (SpillFile spillFile : spilled) {
+                spillFile.read(lid, result);
+            }
+            while (keyCursor < keyCount && (keys[keyCursor] >>> 32) < lid) {
+                keyCursor += 1;
+            }
+            while (keyCursor < keyCount && (keys[keyCursor] >>> 32) == lid) {
+                int offset = (int) keys[keyCursor];
+                int length = buffer.getInt(offset + 8);
+                result.add(
+                        readMessage(
+                                new ByteBufInputStream(
+                                        buffer.slice(offset + RECORD_HEADER_SIZE, length))));
+                keyCursor += 1;
+            }
+        }
+
+        private void rewind() {
+            keyCursor = 0;
+            lastLid = -1;
+            for (SpillFile spillFile : spilled) {
+                spillFile.cursor = 0;
+            }
+        }
+
+        private void clear() {
+            for (SpillFile spillFile : spilled) {
+                spillFile.delete();
+            }
+            spilled.clear();
+            receivedLids.clear();
+            messageCount = 0;
+            buffer.clear();
+            keyCount = 0;
+            rewind();
+            sealed = false;
+        }
+    }
+
+    /** A memory-mapped spill file, records are sorted by lid. */
+    private class SpillFile {
+        private final File file;
+        private final ByteBuf data;
+        private int cursor;
+
+        private SpillFile(File file) throws IOException {
+            this.file = file;
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                    FileChannel channel = raf.getChannel()) {
+                MappedByteBuffer mapped =
+                        channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                this.data = Unpooled.wrappedBuffer(mapped);
+            }
+            this.cursor = 0;
+        }
+
+        private void read(long lid, List<MSG_T> result) throws IOException {
+            while (data.capacity() - cursor >= RECORD_HEADER_SIZE) {
+                long recordLid = data.getLong(cursor);
+                if (recordLid > lid) {
+                    return;
+                }
+                int length = data.getInt(cursor + 8);
+                if (recordLid == lid) {
+                    result.add(
+                            readMessage(
+                                    new ByteBufInputStream(
+                                            data.slice(cursor + RECORD_HEADER_SIZE, length))));
+                }
+                cursor += RECORD_HEADER_SIZE + length;
+            }
+        }
+
+        private void delete() {
+            // the mapping is released when data is garbage collected.
+            if (!file.delete()) {
+                logger.warn("Failed to delete spill file {}", file);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.parallel.message;
+
+import static org.apache.giraph.conf.GiraphConstants.MESSAGE_STORE_SPILL_DIR;
+import static org.apache.giraph.conf.GiraphConstants.MESSAGE_STORE_SPILL_THRESHOLD;
+
+import com.alibaba.graphscope.fragment.IFragment;
+
+import org.apache.giraph.conf.ImmutableClassesGiraphConfiguration;
+import org.apache.giraph.conf.MessageClasses;
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableComparable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates {@link SpillableMessageStore}, enabled by setting giraph.messageStoreFactoryClass to this
+ * class.
+ */
+public class SpillableMessageStoreFactory<
+                I extends WritableComparable, M extends Writable, GS_VID_T>
+        implements MessageStoreFactory<I, M, MessageStore<I, M, GS_VID_T>> {
+
+    private static Logger logger = LoggerFactory.getLogger(SpillableMessageStoreFactory.class);
+
+    private IFragment<?, GS_VID_T, ?, ?> fragment;
+    private ImmutableClassesGiraphConfiguration<I, ?, ?> conf;
+
+    @Override
+    public MessageStore<I, M, GS_VID_T> newStore(MessageClasses<I, M> messageClasses) {
+        long threshold = MESSAGE_STORE_SPILL_THRESHOLD.get(conf);
+        String spillDir = MESSAGE_STORE_SPILL_DIR.get(conf);
+        logger.info("Using spillable message store, threshold {} dir {}", threshold, spillDir);
+        return new SpillableMessageStore<I, M, GS_VID_T>(fragment, conf, threshold, spillDir);
+    }
+
+    @Override
+    public void initialize(IFragment fragment, ImmutableClassesGiraphConfiguration<I, ?, ?> conf) {
+        this.fragment = fragment;
+        this.conf = conf;
+    }
+}
@@ -17,6 +17,9 @@ package com.alibaba.graphscope.parallel.mm.impl;
 
 import static org.apache.giraph.conf.GiraphConstants.MAX_CONN_TRY_ATTEMPTS;
 import static org.apache.giraph.conf.GiraphConstants.MAX_IPC_PORT_BIND_ATTEMPTS;
+import static org.apache.giraph.conf.GiraphConstants.SHM_DIR;
+import static org.apache.giraph.conf.GiraphConstants.SHM_LOCAL_DELIVERY;
+import static org.apache.giraph.conf.GiraphConstants.SHM_RING_CAPACITY;
 
 import com.alibaba.graphscope.communication.FFICommunicator;
 import com.alibaba.graphscope.ds.adaptor.Nbr;
@@ -24,9 +27,12 @@ import com.alibaba.graphscope.fragment.IFragment;
 import com.alibaba.graphscope.graph.impl.VertexImpl;
 import com.alibaba.graphscope.parallel.DefaultMessageManager;
 import com.alibaba.graphscope.parallel.cache.SendMessageCache;
+import com.alibaba.graphscope.parallel.message.LongMsg;
 import com.alibaba.graphscope.parallel.message.MessageStore;
 import com.alibaba.graphscope.parallel.netty.NettyClient;
 import com.alibaba.graphscope.parallel.netty.NettyServer;
+import com.alibaba.graphscope.parallel.shm.ShmMessageReceiver;
+import com.alibaba.graphscope.parallel.shm.ShmRing;
 import com.alibaba.graphscope.parallel.utils.NetworkMap;
 
 import org.apache.giraph.conf.ImmutableClassesGiraphConfiguration;
@@ -45,6 +51,10 @@ import org.slf4j.LoggerFactory;
  *
  * <p>Has similar role with WorkerClientRequestProcessor in Giraph.
  *
+ * <p>Messages to workers on the same host are delivered through shared memory rings if {@link
+ * org.apache.giraph.conf.GiraphConstants#SHM_LOCAL_DELIVERY} is enabled, skipping the tcp stack
+ * and netty encoding.
+ *
  * @param <OID_T>     original id
  * @param <VDATA_T>   vertex data
  * @param <EDATA_T>   edge data
@@ -69,6 +79,7 @@ public class GiraphNettyMessageManager<
     private SendMessageCache<OID_T, OUT_MSG_T, GS_VID_T> outMessageCache;
     private NettyClient client;
     private NettyServer<OID_T, GS_VID_T> server;
+    private ShmMessageReceiver<OID_T, GS_VID_T> shmReceiver;
 
     /**
      * The constructor is the preApplication.
@@ -95,6 +106,20 @@ public class GiraphNettyMessageManager<
     }
 
     public void initNetty() {
+        String shmDir = SHM_DIR.get(getConf());
+        int shmRingCapacity = SHM_RING_CAPACITY.get(getConf());
+        boolean useShm =
+                SHM_LOCAL_DELIVERY.get(getConf()) && isShmAvailable(shmDir, shmRingCapacity);
+        if (useShm) {
+            // Rings must be ready before server starts, peers open them after connected.
+            shmReceiver =
+                    new ShmMessageReceiver<>(
+                            networkMap,
+                            shmDir,
+                            shmRingCapacity,
+                            (MessageStore<OID_T, Writable, GS_VID_T>) nextIncomingMessageStore);
+            shmReceiver.start();
+        }
         logger.info(
                 "Creating server on "
                         + networkMap.getSelfWorkerId()
@@ -122,6 +147,9 @@ public class GiraphNettyMessageManager<
                         networkMap,
                         (Thread t, Throwable e) -> logger.error(t.getId() + ": " + e.toString()));
         client.connectToAllAddress();
+        if (useShm) {
+            client.openShmRings(shmDir, shmRingCapacity);
+        }
         logger.info(
                 "Worker ["
                         + networkMap.getSelfWorkerId()
@@ -131,6 +159,38 @@ public class GiraphNettyMessageManager<
                         + client.toString());
     }
 
+    /**
+     * Shared memory is used only if every worker can create its rings, since a worker on either
+     * end of a missing ring would wait for it forever. Each worker on a host creates one ring for
+     * every other local worker, all in the same directory, so the space needed for the host is
+     * checked.
+     */
+    private boolean isShmAvailable(String shmDir, int capacity) {
+        int localWorkers = 0;
+        for (int i = 0; i < networkMap.getWorkerNum(); ++i) {
+            if (networkMap.isSameHost(i)) {
+                localWorkers += 1;
+            }
+        }
+        boolean available =
+                ShmRing.isAvailable(shmDir, capacity, localWorkers * (localWorkers - 1));
+        if (!available) {
+            logger.warn(
+                    "Worker [{}]: not enough space in {} for shm rings of {} local workers",
+                    networkMap.getSelfWorkerId(),
+                    shmDir,
+                    localWorkers);
+        }
+        LongMsg msgIn = LongMsg.factory.create(available ? 1L : 0L);
+        LongMsg msgOut = LongMsg.factory.create();
+        getCommunicator().min(msgIn, msgOut);
+        if (msgOut.getData() == 0L) {
+            logger.info("Shm local delivery is unavailable on some workers, fall back to netty");
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Called by our framework, to deserialize the messages from c++ to java. Must be called before
      * getMessages
@@ -193,9 +253,12 @@ public class GiraphNettyMessageManager<
     @Override
     public void finishMessageSending() {
         outMessageCache.flushMessage();
+        client.finishShmRound();
         /** Add to self cache, IN_MSG_T must be same as OUT_MSG_T */
-        outMessageCache.removeMessageToSelf(
-                (MessageStore<OID_T, OUT_MSG_T, GS_VID_T>) nextIncomingMessageStore);
+        synchronized (nextIncomingMessageStore) {
+            outMessageCache.removeMessageToSelf(
+                    (MessageStore<OID_T, OUT_MSG_T, GS_VID_T>) nextIncomingMessageStore);
+        }
     }
 
     @Override
@@ -207,9 +270,15 @@ public class GiraphNettyMessageManager<
     public void postSuperstep() {
         // First wait all message arrived.
         client.postSuperStep();
+        if (shmReceiver != null) {
+            shmReceiver.awaitRound();
+        }
         outMessageCache.clear();
         currentIncomingMessageStore.swap(nextIncomingMessageStore);
         nextIncomingMessageStore.clearAll();
+        if (shmReceiver != null) {
+            shmReceiver.nextRound();
+        }
     }
 
     @Override
@@ -218,5 +287,8 @@ public class GiraphNettyMessageManager<
         client.close();
         logger.info("Closing Server...");
         server.close();
+        if (shmReceiver != null) {
+            shmReceiver.close();
+        }
     }
 }
@@ -25,11 +25,14 @@ import static org.apache.giraph.utils.ByteUtils.SIZE_OF_INT;
 
 import com.alibaba.graphscope.parallel.netty.handler.NettyClientHandler;
 import com.alibaba.graphscope.parallel.netty.request.WritableRequest;
+import com.alibaba.graphscope.parallel.netty.request.impl.ByteBufRequest;
 import com.alibaba.graphscope.parallel.netty.request.serialization.WritableRequestEncoder;
+import com.alibaba.graphscope.parallel.shm.ShmRing;
 import com.alibaba.graphscope.parallel.utils.NetworkMap;
 import com.google.common.collect.MapMaker;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
@@ -37,9 +40,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.FixedLengthFrameDecoder;
 
 import org.apache.giraph.conf.GiraphConstants;
@@ -48,12 +49,13 @@ import org.apache.giraph.utils.ThreadUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.net.InetSocketAddress;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 public class NettyClient {
 
@@ -96,14 +98,21 @@ public class NettyClient {
     private Channel[] channels;
 
     private NettyClientHandler[] handlers;
+    /**
+     * Shared memory rings to workers on the same host, [index] = null for remote workers.
+     */
+    private ShmRing[] shmRings;
+
     //    private Map<Integer, LinkedList<ChannelFuture>> pendingRequests;
     /**
-     * Map between dst frag id -> number of requests sent.
+     * dst frag id -> number of requests sent.
      */
-    private Map<Integer, Integer> pendingRequests;
+    private AtomicIntegerArray pendingRequests;
 
     private NetworkMap networkMap;
 
+    private NettyTransport transport;
+
     private EventLoopGroup workGroup;
 
     private Bootstrap bootstrap;
@@ -130,11 +139,8 @@ public class NettyClient {
         connections = new Connection[networkMap.getWorkerNum()];
         channels = new Channel[networkMap.getWorkerNum()];
         handlers = new NettyClientHandler[networkMap.getWorkerNum()];
-        pendingRequests = new HashMap<>();
-        for (int i = 0; i < networkMap.getWorkerNum(); ++i) {
-            //            pendingRequests.put(i, new LinkedList<ChannelFuture>());
-            pendingRequests.put(i, 0);
-        }
+        pendingRequests = new AtomicIntegerArray(networkMap.getWorkerNum());
+        transport = new NettyTransport(conf);
         /**
          * Start the client. connect to all address.
          */
@@ -142,8 +148,9 @@ public class NettyClient {
     }
 
     void startClient(final UncaughtExceptionHandler exceptionHandler) {
+        logger.info("NettyClient [{}]: using {}", workerId, transport);
         workGroup =
-                new NioEventLoopGroup(
+                transport.newEventLoopGroup(
                         1,
                         ThreadUtils.createThreadFactory(
                                 "netty-client-worker-" + networkMap.getSelfWorkerId() + "-%d",
@@ -158,12 +165,13 @@ public class NettyClient {
                 .option(ChannelOption.SO_RCVBUF, receiveBufferSize)
                 .option(ChannelOption.ALLOCATOR, conf.getNettyAllocator())
                 .group(workGroup)
-                .channel(NioSocketChannel.class)
+                .channel(transport.socketChannelClass())
                 .handler(
                         new ChannelInitializer<SocketChannel>() {
                             @Override
                             protected void initChannel(SocketChannel ch) throws Exception {
                                 ChannelPipeline p = ch.pipeline();
+                                transport.addFlushConsolidation(p);
                                 p.addLast(new FixedLengthFrameDecoder(RESPONSE_BYTES));
                                 p.addLast(new WritableRequestEncoder(conf));
                                 //                        p.addLast(new
@@ -184,6 +192,7 @@ public class NettyClient {
                                 // checkRequestsAfterChannelFailure(ctx.channel());
                             }
                         });
+        transport.applyOptions(bootstrap);
     }
 
     /**
@@ -213,6 +222,39 @@ public class NettyClient {
         logger.info("NettyClient [{}]: All connection established!", workerId);
     }
 
+    /**
+     * Open the shared memory rings created by the workers on the same host, should be called
+     * after connected, since the rings are created before the servers start.
+     *
+     * @param dir      directory of the rings
+     * @param capacity bytes of each ring
+     */
+    public void openShmRings(String dir, int capacity) {
+        shmRings = new ShmRing[networkMap.getWorkerNum()];
+        for (int dstWorkerId = 0; dstWorkerId < networkMap.getWorkerNum(); ++dstWorkerId) {
+            if (dstWorkerId == workerId || !networkMap.isSameHost(dstWorkerId)) {
+                continue;
+            }
+            try {
+                shmRings[dstWorkerId] =
+                        ShmRing.open(
+                                ShmRing.ringFile(
+                                        dir,
+                                        networkMap.getSelfPort(),
+                                        networkMap.getPortForWorker(dstWorkerId)),
+                                capacity);
+            } catch (IOException e) {
+                throw new IllegalStateException(
+                        "Fail to open shm ring to worker " + dstWorkerId, e);
+            }
+            logger.info(
+                    "NettyClient [{}]: send to worker {} through {}",
+                    workerId,
+                    dstWorkerId,
+                    shmRings[dstWorkerId]);
+        }
+    }
+
     /**
      * Wait for all connections established.
      */
@@ -340,17 +382,27 @@ public class NettyClient {
         if (dstFragId == workerId) {
             throw new IllegalStateException("Shouldn't reach here:" + dstFragId + ", " + workerId);
         }
+        if (shmRings != null && shmRings[dstFragId] != null && request instanceof ByteBufRequest) {
+            // Skip the header reserved for netty, the ring records the length itself.
+            ByteBuf buf = request.getBuffer();
+            shmRings[dstFragId].write(
+                    buf,
+                    buf.readerIndex() + SIZE_OF_INT + SIZE_OF_BYTE,
+                    buf.readableBytes() - SIZE_OF_INT - SIZE_OF_BYTE);
+            buf.release();
+            return;
+        }
         //        ChannelFuture requestFuture = channels[dstFragId].writeAndFlush(request);
         ChannelFuture requestFuture = channels[dstFragId].write(request);
         //        pendingRequests.get(dstFragId).offer(requestFuture);
         // Must already been initialized to 0 in presuperstep.
-        pendingRequests.put(dstFragId, pendingRequests.get(dstFragId) + 1);
+        int pending = pendingRequests.incrementAndGet(dstFragId);
         logger.debug(
                 "NettyClient [{}]: send msg {} to [{}], corresponding pending request: {}",
                 workerId,
                 request,
                 dstFragId,
-                pendingRequests.get(dstFragId));
+                pending);
     }
 
     /**
@@ -367,9 +419,23 @@ public class NettyClient {
         logger.debug("NettyClient [{}]: finish flushing messages", workerId);
     }
 
+    /**
+     * Tell the workers on the same host that no more messages are sent in this super step.
+     */
+    public void finishShmRound() {
+        if (shmRings == null) {
+            return;
+        }
+        for (ShmRing ring : shmRings) {
+            if (ring != null) {
+                ring.writeEndOfRound();
+            }
+        }
+    }
+
     public void postSuperStep() {
         for (int i = 0; i < networkMap.getWorkerNum(); ++i) {
-            pendingRequests.put(i, 0);
+            pendingRequests.set(i, 0);
             if (i != workerId) {
                 handlers[i].postSuperStep();
             }
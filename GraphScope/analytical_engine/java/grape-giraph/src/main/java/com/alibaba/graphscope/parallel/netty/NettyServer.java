@@ -37,9 +37,7 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.util.concurrent.ImmediateEventExecutor;
 
@@ -90,6 +88,7 @@ public class NettyServer<OID_T extends WritableComparable, GS_VID_T> {
     private final ChannelGroup accepted = new DefaultChannelGroup(ImmediateEventExecutor.INSTANCE);
 
     ServerBootstrap bootstrap;
+    private final NettyTransport transport;
     private int workerId;
     private int bossThreadSize;
     private int workerThreadSize;
@@ -126,14 +125,16 @@ public class NettyServer<OID_T extends WritableComparable, GS_VID_T> {
         // SO_BACKLOG controls  number of clients our server can simultaneously listen.
         tcpBacklog = conf.getWorkerNum();
 
+        transport = new NettyTransport(conf);
+        logger.info("NettyServer [{}]: using {}", workerId, transport);
         bossGroup =
-                new NioEventLoopGroup(
+                transport.newEventLoopGroup(
                         bossThreadSize,
                         ThreadUtils.createThreadFactory(
                                 "netty-server-boss-" + networkMap.getSelfWorkerId() + "-%d",
                                 exceptionHandler));
         workerGroup =
-                new NioEventLoopGroup(
+                transport.newEventLoopGroup(
                         workerThreadSize,
                         ThreadUtils.createThreadFactory(
                                 "netty-server-worker-" + networkMap.getSelfWorkerId() + "-%d",
@@ -144,7 +145,7 @@ public class NettyServer<OID_T extends WritableComparable, GS_VID_T> {
         bootstrap = new ServerBootstrap();
         bootstrap
                 .group(bossGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
+                .channel(transport.serverChannelClass())
                 .option(ChannelOption.SO_BACKLOG, tcpBacklog)
                 .option(ChannelOption.ALLOCATOR, conf.getNettyAllocator())
                 .childOption(ChannelOption.SO_KEEPALIVE, true)
@@ -161,6 +162,7 @@ public class NettyServer<OID_T extends WritableComparable, GS_VID_T> {
                             @Override
                             public void initChannel(SocketChannel ch) {
                                 ChannelPipeline p = ch.pipeline();
+                                transport.addFlushConsolidation(p);
                                 p.addLast(
                                         new ChannelInboundHandlerAdapter() {
                                             @Override
@@ -178,6 +180,7 @@ public class NettyServer<OID_T extends WritableComparable, GS_VID_T> {
                                 p.addLast("handler", getHandler());
                             }
                         });
+        transport.applyChildOptions(bootstrap);
         bindAddress();
     }
 
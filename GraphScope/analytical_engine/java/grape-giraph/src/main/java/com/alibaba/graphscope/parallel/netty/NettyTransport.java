@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.parallel.netty;
+
+import static org.apache.giraph.conf.GiraphConstants.NETTY_BUSY_POLL_MICROS;
+import static org.apache.giraph.conf.GiraphConstants.NETTY_FLUSH_CONSOLIDATION;
+import static org.apache.giraph.conf.GiraphConstants.NETTY_TCP_CORK;
+import static org.apache.giraph.conf.GiraphConstants.NETTY_USE_EPOLL;
+
+import io.netty.bootstrap.AbstractBootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+
+import org.apache.giraph.conf.ImmutableClassesGiraphConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Choose the netty transport shared by {@link NettyClient} and {@link NettyServer}: native epoll
+ * when it is enabled and available, i.e. on linux with the native library loadable, and nio
+ * otherwise.
+ */
+public class NettyTransport {
+
+    private static Logger logger = LoggerFactory.getLogger(NettyTransport.class);
+
+    private final boolean epoll;
+    private final boolean tcpCork;
+    private final int busyPollMicros;
+    private final int flushConsolidation;
+
+    public NettyTransport(ImmutableClassesGiraphConfiguration conf) {
+        boolean useEpoll = NETTY_USE_EPOLL.get(conf);
+        this.epoll = useEpoll && Epoll.isAvailable();
+        if (useEpoll && !epoll) {
+            logger.info(
+                    "Native epoll is not available, fall back to nio: {}",
+                    String.valueOf(Epoll.unavailabilityCause()));
+        }
+        this.tcpCork = NETTY_TCP_CORK.get(conf);
+        this.busyPollMicros = NETTY_BUSY_POLL_MICROS.get(conf);
+        this.flushConsolidation = NETTY_FLUSH_CONSOLIDATION.get(conf);
+    }
+
+    public boolean isEpoll() {
+        return epoll;
+    }
+
+    public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        return epoll
+                ? new EpollEventLoopGroup(threads, threadFactory)
+                : new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    public Class<? extends SocketChannel> socketChannelClass() {
+        return epoll ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    public Class<? extends ServerChannel> serverChannelClass() {
+        return epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    /**
+     * Apply epoll only options to the client bootstrap.
+     */
+    public void applyOptions(AbstractBootstrap<?, ?> bootstrap) {
+        if (!epoll) {
+            return;
+        }
+        bootstrap.option(EpollChannelOption.TCP_CORK, tcpCork);
+        if (busyPollMicros > 0) {
+            bootstrap.option(EpollChannelOption.SO_BUSY_POLL, busyPollMicros);
+        }
+    }
+
+    /**
+     * Apply epoll only options to the accepted channels of the server bootstrap.
+     */
+    public void applyChildOptions(ServerBootstrap bootstrap) {
+        if (!epoll) {
+            return;
+        }
+        bootstrap.childOption(EpollChannelOption.TCP_CORK, tcpCork);
+        if (busyPollMicros > 0) {
+            bootstrap.childOption(EpollChannelOption.SO_BUSY_POLL, busyPollMicros);
+        }
+    }
+
+    /**
+     * Coalesce the flushes of small requests into fewer syscalls, must be added before the
+     * encoder, i.e. closer to the socket.
+     */
+    public void addFlushConsolidation(ChannelPipeline pipeline) {
+        if (flushConsolidation > 0) {
+            pipeline.addLast(
+                    "flushConsolidation", new FlushConsolidationHandler(flushConsolidation, true));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NettyTransport(epoll="
+                + epoll
+                + ", tcpCork="
+                + tcpCork
+                + ", busyPollMicros="
+                + busyPollMicros
+                + ", flushConsolidation="
+                + flushConsolidation
+                + ")";
+    }
+}
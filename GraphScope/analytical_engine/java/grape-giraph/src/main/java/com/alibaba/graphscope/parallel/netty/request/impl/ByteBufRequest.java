@@ -17,6 +17,7 @@ package com.alibaba.graphscope.parallel.netty.request.impl;
 
 import com.alibaba.graphscope.parallel.message.DefaultMessageStore;
 import com.alibaba.graphscope.parallel.message.MessageStore;
+import com.alibaba.graphscope.parallel.message.SpillableMessageStore;
 import com.alibaba.graphscope.parallel.netty.request.RequestType;
 import com.alibaba.graphscope.parallel.netty.request.WritableRequest;
 
@@ -99,9 +100,9 @@ public class ByteBufRequest extends WritableRequest {
         if (Objects.isNull(buf)) {
             throw new IllegalStateException("try to do request on an empty byteBuf request");
         }
-        if (messageStore instanceof DefaultMessageStore) {
-            DefaultMessageStore messageStore1 = (DefaultMessageStore) messageStore;
-            messageStore1.digestByteBuffer(buf, false);
+        if (messageStore instanceof DefaultMessageStore
+                || messageStore instanceof SpillableMessageStore) {
+            messageStore.digestByteBuffer(buf, false);
 
             if (buf.readableBytes() != 0) {
                 logger.error(
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.parallel.shm;
+
+import com.alibaba.graphscope.parallel.message.MessageStore;
+import com.alibaba.graphscope.parallel.utils.NetworkMap;
+
+import io.netty.buffer.ByteBuf;
+
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableComparable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Consume the shared memory rings from the workers on the same host, and digest the messages into
+ * the next incoming message store.
+ *
+ * <p>A ring is not consumed after the end of current round is received from it, until this worker
+ * finishes the round, so that messages of the next super step never go into the store of current
+ * one. Digesting is synchronized on the message store, as messages to self are digested by the
+ * computing thread.
+ *
+ * @param <OID_T>    original id
+ * @param <GS_VID_T> gs vid
+ */
+public class ShmMessageReceiver<OID_T extends WritableComparable, GS_VID_T> implements Runnable {
+
+    private static Logger logger = LoggerFactory.getLogger(ShmMessageReceiver.class);
+    private static final int SPIN_TIMES = 1024;
+    private static final long PARK_NANOS = 50_000L;
+
+    private final int workerId;
+    private final ShmRing[] rings;
+    private final MessageStore<OID_T, Writable, GS_VID_T> nextIncomingMessages;
+    /**
+     * Number of rounds finished by each producer.
+     */
+    private final AtomicIntegerArray producerRounds;
+
+    private final Thread thread;
+    private volatile int round;
+    private volatile boolean running;
+    private volatile Throwable error;
+
+    /**
+     * Create the rings for all other workers on this host, must be called before netty server
+     * starts, since producers open the rings after connected.
+     */
+    public ShmMessageReceiver(
+            NetworkMap networkMap,
+            String dir,
+            int capacity,
+            MessageStore<OID_T, Writable, GS_VID_T> nextIncomingMessages) {
+        this.workerId = networkMap.getSelfWorkerId();
+        this.nextIncomingMessages = nextIncomingMessages;
+        this.rings = new ShmRing[networkMap.getWorkerNum()];
+        this.producerRounds = new AtomicIntegerArray(networkMap.getWorkerNum());
+        for (int i = 0; i < rings.length; ++i) {
+            if (i == workerId || !networkMap.isSameHost(i)) {
+                continue;
+            }
+            try {
+                rings[i] =
+                        ShmRing.create(
+                                ShmRing.ringFile(
+                                        dir,
+                                        networkMap.getPortForWorker(i),
+                                        networkMap.getSelfPort()),
+                                capacity);
+            } catch (IOException e) {
+                close();
+                throw new IllegalStateException("Fail to create shm ring from worker " + i, e);
+            }
+            logger.info(
+                    "ShmMessageReceiver [{}]: created ring {} for worker {}",
+                    workerId,
+                    rings[i],
+                    i);
+        }
+        this.round = 0;
+        this.thread = new Thread(this, "shm-receiver-" + workerId);
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        int idle = 0;
+        try {
+            while (running) {
+                if (consumeOnce()) {
+                    idle = 0;
+                } else if (++idle < SPIN_TIMES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        } catch (Throwable e) {
+            logger.error("ShmMessageReceiver [{}]: failed", workerId, e);
+            error = e;
+        }
+    }
+
+    private boolean consumeOnce() {
+        boolean progress = false;
+        int curRound = round;
+        for (int i = 0; i < rings.length; ++i) {
+            if (rings[i] == null || producerRounds.get(i) > curRound) {
+                continue;
+            }
+            ByteBuf buf;
+            while ((buf = rings[i].poll()) != null) {
+                progress = true;
+                if (buf == ShmRing.END_OF_ROUND) {
+                    producerRounds.incrementAndGet(i);
+                    break;
+                }
+                try {
+                    synchronized (nextIncomingMessages) {
+                        nextIncomingMessages.digestByteBuffer(buf, false);
+                    }
+                } finally {
+                    buf.release();
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Wait until all local producers have finished current round and all their messages are
+     * digested.
+     */
+    public void awaitRound() {
+        int curRound = round;
+        for (int i = 0; i < rings.length; ++i) {
+            while (rings[i] != null && producerRounds.get(i) <= curRound) {
+                if (error != null) {
+                    throw new IllegalStateException("Shm receiver failed", error);
+                }
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        logger.debug("ShmMessageReceiver [{}]: finish round {}", workerId, curRound);
+    }
+
+    /**
+     * Resume consuming after the message stores are swapped.
+     */
+    public void nextRound() {
+        round += 1;
+    }
+
+    public void close() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (int i = 0; i < rings.length; ++i) {
+            if (rings[i] != null) {
+                rings[i].delete();
+                rings[i] = null;
+            }
+        }
+        logger.info("ShmMessageReceiver [{}]: closed", workerId);
+    }
+}
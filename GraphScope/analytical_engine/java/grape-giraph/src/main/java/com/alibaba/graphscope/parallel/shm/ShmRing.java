@@ -0,0 +1,278 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.parallel.shm;
+
+import com.alibaba.fastffi.llvm4jni.runtime.JavaRuntime;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A single-producer single-consumer byte ring in a memory-mapped file, used to deliver message
+ * batches between two workers on the same host without going through the TCP stack.
+ *
+ * <p>The file starts with a header holding the write sequence and the read sequence, each on its
+ * own cache line, followed by the data region. Each record is a long length followed by the bytes,
+ * padded to 8 bytes so that the length never wraps around. A record larger than the ring is
+ * streamed, i.e. the producer waits for the consumer to free space chunk by chunk.
+ */
+public class ShmRing {
+
+    /**
+     * Returned by {@link #poll()} when the producer has finished one super step.
+     */
+    public static final ByteBuf END_OF_ROUND = Unpooled.unreleasableBuffer(Unpooled.EMPTY_BUFFER);
+
+    private static final String FILE_PREFIX = "giraph-shm-";
+    private static final int HEADER_BYTES = 128;
+    private static final int WRITE_SEQ_OFFSET = 0;
+    private static final int READ_SEQ_OFFSET = 64;
+    private static final long END_OF_ROUND_LENGTH = -1L;
+    private static final int SPIN_TIMES = 1024;
+    private static final long PARK_NANOS = 50_000L;
+
+    private final File file;
+    private final ByteBuf data;
+    private final long headerAddress;
+    private final int capacity;
+
+    /**
+     * Local copy of the sequence we own, the producer owns write sequence and the consumer owns
+     * read sequence.
+     */
+    private long localSeq;
+
+    /**
+     * Consumer side: record being received and the bytes still missing.
+     */
+    private ByteBuf pending;
+
+    private long pendingRemaining;
+
+    private ShmRing(File file, int capacity) throws IOException {
+        this.file = file;
+        this.capacity = capacity;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+                FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer mapped =
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + capacity);
+            ByteBuf buf = Unpooled.wrappedBuffer(mapped);
+            if (!buf.hasMemoryAddress()) {
+                throw new IOException("Can not get memory address of " + file);
+            }
+            this.headerAddress = buf.memoryAddress();
+            this.data = buf.slice(HEADER_BYTES, capacity);
+        }
+        this.localSeq = 0;
+    }
+
+    /**
+     * Whether the rings can be created in the directory, i.e. it is writable and there is enough
+     * space left for all of them.
+     *
+     * @param dir directory of the rings.
+     * @param capacity capacity of each ring.
+     * @param rings number of rings to create.
+     */
+    public static boolean isAvailable(String dir, int capacity, int rings) {
+        File file = new File(dir);
+        if (!file.isDirectory() || !file.canWrite()) {
+            return false;
+        }
+        try {
+            long usable = Files.getFileStore(file.toPath()).getUsableSpace();
+            return usable >= (HEADER_BYTES + (long) capacity) * rings;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * File of the ring from worker srcPort to worker dstPort, ports are unique among the workers
+     * on a host.
+     */
+    public static File ringFile(String dir, int srcPort, int dstPort) {
+        return new File(dir, FILE_PREFIX + srcPort + "-" + dstPort);
+    }
+
+    /**
+     * Called by the consumer, before the producer could connect to it.
+     */
+    public static ShmRing create(File file, int capacity) throws IOException {
+        checkCapacity(capacity);
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Fail to delete stale ring file " + file);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // new file is filled with zeros, i.e. both sequences are 0.
+            raf.setLength(HEADER_BYTES + capacity);
+        }
+        return new ShmRing(file, capacity);
+    }
+
+    /**
+     * Called by the producer, the file must have been created by the consumer.
+     */
+    public static ShmRing open(File file, int capacity) throws IOException {
+        checkCapacity(capacity);
+        if (!file.exists() || file.length() != HEADER_BYTES + capacity) {
+            throw new IOException(
+                    "Ring file " + file + " not found or created with a different capacity");
+        }
+        return new ShmRing(file, capacity);
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0 || capacity % 8 != 0) {
+            throw new IllegalArgumentException(
+                    "Ring capacity should be a positive multiple of 8: " + capacity);
+        }
+    }
+
+    /**
+     * Write [index, index + length) of buf as one record.
+     */
+    public void write(ByteBuf buf, int index, int length) {
+        putLength(length);
+        long written = 0;
+        while (written < length) {
+            int pos = (int) (localSeq % capacity);
+            int chunk = (int) Math.min(Math.min(length - written, awaitSpace(1)), capacity - pos);
+            data.setBytes(pos, buf, index + (int) written, chunk);
+            written += chunk;
+            localSeq += chunk;
+            publish(WRITE_SEQ_OFFSET, localSeq);
+        }
+        localSeq += padding(length);
+        publish(WRITE_SEQ_OFFSET, localSeq);
+    }
+
+    /**
+     * Mark the end of messages sent in current super step.
+     */
+    public void writeEndOfRound() {
+        putLength(END_OF_ROUND_LENGTH);
+        publish(WRITE_SEQ_OFFSET, localSeq);
+    }
+
+    /**
+     * Receive as many bytes as available.
+     *
+     * @return a complete record, {@link #END_OF_ROUND}, or null if no complete record yet.
+     */
+    public ByteBuf poll() {
+        long available =
+                JavaRuntime.UNSAFE.getLongVolatile(null, headerAddress + WRITE_SEQ_OFFSET)
+                        - localSeq;
+        if (pending == null) {
+            if (available < 8) {
+                return null;
+            }
+            long length = data.getLong((int) (localSeq % capacity));
+            available -= 8;
+            localSeq += 8;
+            if (length == END_OF_ROUND_LENGTH) {
+                publish(READ_SEQ_OFFSET, localSeq);
+                return END_OF_ROUND;
+            }
+            pending = Unpooled.buffer((int) length);
+            pendingRemaining = length;
+        }
+        while (pendingRemaining > 0 && available > 0) {
+            int pos = (int) (localSeq % capacity);
+            int chunk = (int) Math.min(Math.min(pendingRemaining, available), capacity - pos);
+            pending.writeBytes(data, pos, chunk);
+            pendingRemaining -= chunk;
+            available -= chunk;
+            localSeq += chunk;
+        }
+        if (pendingRemaining > 0 || available < padding(pending.writerIndex())) {
+            publish(READ_SEQ_OFFSET, localSeq);
+            return null;
+        }
+        localSeq += padding(pending.writerIndex());
+        publish(READ_SEQ_OFFSET, localSeq);
+        ByteBuf res = pending;
+        pending = null;
+        return res;
+    }
+
+    /**
+     * Delete the file, mapped memory is released once the ring is collected.
+     */
+    public void delete() {
+        if (pending != null) {
+            pending.release();
+            pending = null;
+        }
+        file.delete();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    private void putLength(long length) {
+        awaitSpace(8);
+        data.setLong((int) (localSeq % capacity), length);
+        localSeq += 8;
+    }
+
+    /**
+     * Wait until at least expected bytes are free, spin first since the consumer is usually
+     * running, then park.
+     *
+     * @return number of free bytes.
+     */
+    private long awaitSpace(long expected) {
+        int spins = 0;
+        long free;
+        while ((free =
+                        capacity
+                                - (localSeq
+                                        - JavaRuntime.UNSAFE.getLongVolatile(
+                                                null, headerAddress + READ_SEQ_OFFSET)))
+                < expected) {
+            if (++spins < SPIN_TIMES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        return free;
+    }
+
+    private void publish(int offset, long seq) {
+        JavaRuntime.UNSAFE.putOrderedLong(null, headerAddress + offset, seq);
+    }
+
+    private static int padding(long length) {
+        return (int) ((8 - (length & 7)) & 7);
+    }
+
+    @Override
+    public String toString() {
+        return "ShmRing(" + file + ", capacity=" + capacity + ")";
+    }
+}
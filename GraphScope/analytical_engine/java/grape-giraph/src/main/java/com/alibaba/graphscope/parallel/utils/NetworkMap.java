@@ -75,4 +75,11 @@ public class NetworkMap {
         }
         return allPorts[dstWorkerId];
     }
+
+    /**
+     * Whether the worker runs on the same host with self, judged by the host names or ips.
+     */
+    public boolean isSameHost(int dstWorkerId) {
+        return getHostNameForWorker(dstWorkerId).equals(getSelfHostNameOrIp());
+    }
 }
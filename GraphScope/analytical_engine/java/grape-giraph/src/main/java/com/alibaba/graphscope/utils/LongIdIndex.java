@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *   	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.alibaba.graphscope.utils;
+
+import com.alibaba.fastffi.llvm4jni.runtime.JavaRuntime;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing index from long keys to lids, the keys are kept in a flat array indexed by lid,
+ * and the table only stores lids, so there is no object per entry.
+ *
+ * <p>{@link #insert(int)} can be called by multiple threads concurrently, with slots claimed by
+ * CAS. Lookups must happen after all insertions, e.g. after joining the inserting threads.
+ */
+public class LongIdIndex {
+    private static final int EMPTY = -1;
+    private static final long INT_ARRAY_BASE = JavaRuntime.UNSAFE.arrayBaseOffset(int[].class);
+    private static final long INT_ARRAY_SCALE = JavaRuntime.UNSAFE.arrayIndexScale(int[].class);
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final long[] keys;
+    private final int[] slots;
+    private final int mask;
+
+    /**
+     * @param size number of keys, keys are filled by {@link #setKey(int, long)}.
+     */
+    public LongIdIndex(int size) {
+        if (size > MAX_CAPACITY / 2) {
+            throw new IllegalArgumentException("Too many keys for one index: " + size);
+        }
+        this.keys = new long[size];
+        // load factor at most 0.5
+        int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(slots, EMPTY);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public void setKey(int lid, long key) {
+        keys[lid] = key;
+    }
+
+    public long getKey(int lid) {
+        return keys[lid];
+    }
+
+    /**
+     * Index the key of lid, which must have been set by the calling thread.
+     *
+     * @return false if the key is already indexed by another lid.
+     */
+    public boolean insert(int lid) {
+        long key = keys[lid];
+        int slot = hash(key) & mask;
+        while (true) {
+            long offset = INT_ARRAY_BASE + slot * INT_ARRAY_SCALE;
+            int cur = JavaRuntime.UNSAFE.getIntVolatile(slots, offset);
+            if (cur == EMPTY) {
+                if (JavaRuntime.UNSAFE.compareAndSwapInt(slots, offset, EMPTY, lid)) {
+                    return true;
+                }
+                // claimed by others, check it again.
+                continue;
+            }
+            if (keys[cur] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @return lid of the key, -1 if not found.
+     */
+    public int get(long key) {
+        int slot = hash(key) & mask;
+        int cur;
+        while ((cur = slots[slot]) != EMPTY) {
+            if (keys[cur] == key) {
+                return cur;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Finalizer of murmur3, so that sequential ids don't cluster in the table.
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -362,6 +362,58 @@ public interface GiraphConstants {
     IntConfOption NETTY_SERVER_WORKER_THREADS =
             new IntConfOption("giraph.nettyServerWorkerThreads", 16, "Netty server worker threads");
 
+    /**
+     * Use native epoll transport for netty if available.
+     */
+    BooleanConfOption NETTY_USE_EPOLL =
+            new BooleanConfOption(
+                    "giraph.nettyUseEpoll", true, "Use native epoll transport if available");
+
+    /**
+     * Set TCP_CORK on netty channels, only for epoll transport.
+     */
+    BooleanConfOption NETTY_TCP_CORK =
+            new BooleanConfOption(
+                    "giraph.nettyTcpCork", false, "Set TCP_CORK on epoll netty channels");
+
+    /**
+     * SO_BUSY_POLL in microseconds on netty channels, only for epoll transport, 0 to disable.
+     */
+    IntConfOption NETTY_BUSY_POLL_MICROS =
+            new IntConfOption(
+                    "giraph.nettyBusyPollMicros", 0, "SO_BUSY_POLL on epoll netty channels");
+
+    /**
+     * Max number of flushes consolidated into one, 0 to flush every request.
+     */
+    IntConfOption NETTY_FLUSH_CONSOLIDATION =
+            new IntConfOption(
+                    "giraph.nettyFlushConsolidation",
+                    256,
+                    "Max number of netty flushes consolidated into one");
+
+    /**
+     * Deliver messages to workers on the same host through shared memory rings instead of netty.
+     */
+    BooleanConfOption SHM_LOCAL_DELIVERY =
+            new BooleanConfOption(
+                    "giraph.shmLocalDelivery",
+                    true,
+                    "Deliver messages to workers on the same host through shared memory");
+
+    /**
+     * Directory to put the shared memory rings, should be a tmpfs.
+     */
+    StrConfOption SHM_DIR =
+            new StrConfOption("giraph.shmDir", "/dev/shm", "Directory of shared memory rings");
+
+    /**
+     * Bytes of each shared memory ring, batches larger than it are streamed.
+     */
+    IntConfOption SHM_RING_CAPACITY =
+            new IntConfOption(
+                    "giraph.shmRingCapacity", 64 * ONE_MB, "Bytes of each shared memory ring");
+
     /**
      * Use the execution handler in netty on the client?
      */
@@ -521,6 +573,22 @@ public interface GiraphConstants {
                     MessageStoreFactory.class,
                     "Message Store Factory Class that is to be used");
 
+    /**
+     * Spill received messages to disk once they exceed this size, used by
+     * SpillableMessageStoreFactory.
+     */
+    LongConfOption MESSAGE_STORE_SPILL_THRESHOLD =
+            new LongConfOption(
+                    "giraph.messageStoreSpillThreshold",
+                    256L * 1024 * 1024,
+                    "Bytes of received messages kept in memory before spilling to disk");
+
+    StrConfOption MESSAGE_STORE_SPILL_DIR =
+            new StrConfOption(
+                    "giraph.messageStoreSpillDir",
+                    System.getProperty("java.io.tmpdir"),
+                    "Local directory to put the spilled messages");
+
     BooleanConfOption USE_PRIMITIVE_MESSAGE_STORE =
             new BooleanConfOption(
                     "giraph.userPrimitiveMessageStore",
@@ -1310,6 +1378,15 @@ public interface GiraphConstants {
             new IntConfOption(
                     "giraph.numComputeThreads", 1, "Number of threads for vertex computation");
 
+    /**
+     * Number of threads for building the oid to lid index of primitive vertex ids
+     */
+    IntConfOption VERTEX_ID_INDEX_THREADS =
+            new IntConfOption(
+                    "giraph.vertexIdIndexThreads",
+                    Runtime.getRuntime().availableProcessors(),
+                    "Number of threads for building the oid to lid index");
+
     /**
      * Number of threads for input split loading
      */
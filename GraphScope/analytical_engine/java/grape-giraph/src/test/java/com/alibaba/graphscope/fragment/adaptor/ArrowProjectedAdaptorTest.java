@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.fragment.adaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.alibaba.fastffi.llvm4jni.runtime.JavaRuntime;
+import com.alibaba.graphscope.ds.PropertyNbrUnit;
+import com.alibaba.graphscope.ds.Vertex;
+import com.alibaba.graphscope.ds.adaptor.NbrCursor;
+import com.alibaba.graphscope.fragment.BaseArrowProjectedFragment;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lays out the csr of an arrow projected fragment in native memory, i.e. an array of
+ * property_graph_utils::NbrUnit and the begin/end offsets of inner vertices, and iterates it through
+ * the adaptor with a NbrCursor.
+ */
+public class ArrowProjectedAdaptorTest {
+    // sizeof(NbrUnit<VID_T, int64_t>) is 16 for both uint32_t and uint64_t
+    private static final long NBR_SIZE = 16;
+    private static final long[][] NBRS = {{1, 2}, {}, {0, 1, 3, 0xfffffffeL}};
+    // lid 3 is an outer vertex
+    private static final int TOTAL_VERTICES = 4;
+
+    private final List<Long> allocated = new ArrayList<>();
+
+    @After
+    public void free() {
+        for (long address : allocated) {
+            JavaRuntime.free(address);
+        }
+        allocated.clear();
+    }
+
+    @Test
+    public void testIterateLongVid() {
+        checkNbrs(mockAdaptor(Long.class, false), false);
+    }
+
+    @Test
+    public void testIterateIntVid() {
+        checkNbrs(mockAdaptor(Integer.class, true), true);
+    }
+
+    private <VID_T> void checkNbrs(
+            AbstractArrowProjectedAdaptor<Long, VID_T, Long, Long> adaptor, boolean intVid) {
+        Vertex<VID_T> vertex = mockVertex();
+        NbrCursor cursor = new NbrCursor();
+        for (int i = 0; i < TOTAL_VERTICES; ++i) {
+            vertex.setValue(toVid(i, intVid));
+            long[] nbrs = i < NBRS.length ? NBRS[i] : new long[0];
+            for (int dir = 0; dir < 2; ++dir) {
+                if (dir == 0) {
+                    adaptor.getOutgoingNbrs(vertex, cursor);
+                } else {
+                    adaptor.getIncomingNbrs(vertex, cursor);
+                }
+                Assert.assertEquals(nbrs.length, cursor.size());
+                int cnt = 0;
+                while (cursor.next()) {
+                    Assert.assertEquals(nbrs[cnt], cursor.lid());
+                    Assert.assertEquals(nbrs[cnt] * 10, JavaRuntime.getLong(cursor.address() + 8));
+                    cnt++;
+                }
+                Assert.assertEquals(nbrs.length, cnt);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <VID_T> AbstractArrowProjectedAdaptor<Long, VID_T, Long, Long> mockAdaptor(
+            Class<VID_T> vidClass, boolean intVid) {
+        int total = 0;
+        for (long[] nbrs : NBRS) {
+            total += nbrs.length;
+        }
+        long nbrArray = allocate(total * NBR_SIZE);
+        long offsetsBegin = allocate(NBRS.length * 8L);
+        long offsetsEnd = allocate(NBRS.length * 8L);
+        long offset = 0;
+        for (int i = 0; i < NBRS.length; ++i) {
+            JavaRuntime.putLong(offsetsBegin + i * 8L, offset);
+            for (long nbr : NBRS[i]) {
+                long cur = nbrArray + offset * NBR_SIZE;
+                if (intVid) {
+                    JavaRuntime.putInt(cur, (int) nbr);
+                } else {
+                    JavaRuntime.putLong(cur, nbr);
+                }
+                JavaRuntime.putLong(cur + 8, nbr * 10);
+                offset++;
+            }
+            JavaRuntime.putLong(offsetsEnd + i * 8L, offset);
+        }
+        PropertyNbrUnit<VID_T> nbrUnit = mock(PropertyNbrUnit.class);
+        when(nbrUnit.getAddress()).thenReturn(nbrArray);
+        when(nbrUnit.elementSize()).thenReturn(NBR_SIZE);
+        BaseArrowProjectedFragment<Long, VID_T, Long, Long> fragment =
+                mock(BaseArrowProjectedFragment.class);
+        when(fragment.getInnerVerticesNum()).thenReturn((long) NBRS.length);
+        when(fragment.getOutEdgesPtr()).thenReturn(nbrUnit);
+        when(fragment.getInEdgesPtr()).thenReturn(nbrUnit);
+        when(fragment.getOEOffsetsBeginPtr()).thenReturn(offsetsBegin);
+        when(fragment.getOEOffsetsEndPtr()).thenReturn(offsetsEnd);
+        when(fragment.getIEOffsetsBeginPtr()).thenReturn(offsetsBegin);
+        when(fragment.getIEOffsetsEndPtr()).thenReturn(offsetsEnd);
+        return mock(
+                AbstractArrowProjectedAdaptor.class,
+                withSettings()
+                        .useConstructor(fragment, Long.class, vidClass, Long.class, Long.class)
+                        .defaultAnswer(Mockito.CALLS_REAL_METHODS));
+    }
+
+    private static <VID_T> Vertex<VID_T> mockVertex() {
+        Vertex<VID_T> vertex = mock(Vertex.class);
+        Object[] value = new Object[1];
+        when(vertex.getValue()).thenAnswer(invocation -> value[0]);
+        doAnswer(
+                        invocation -> {
+                            value[0] = invocation.getArgument(0);
+                            return null;
+                        })
+                .when(vertex)
+                .setValue(any());
+        return vertex;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <VID_T> VID_T toVid(int lid, boolean intVid) {
+        return intVid ? (VID_T) Integer.valueOf(lid) : (VID_T) Long.valueOf(lid);
+    }
+
+    private long allocate(long size) {
+        long address = JavaRuntime.allocate(Math.max(size, 1));
+        allocated.add(address);
+        return address;
+    }
+}
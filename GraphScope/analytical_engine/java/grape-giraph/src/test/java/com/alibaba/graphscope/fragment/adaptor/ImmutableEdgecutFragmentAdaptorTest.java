@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.fragment.adaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.fastffi.llvm4jni.runtime.JavaRuntime;
+import com.alibaba.graphscope.ds.GrapeAdjList;
+import com.alibaba.graphscope.ds.Vertex;
+import com.alibaba.graphscope.ds.adaptor.NbrCursor;
+import com.alibaba.graphscope.fragment.ImmutableEdgecutFragment;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lays out a grape::ImmutableCSR in native memory, i.e. the nbrs of all vertices in one
+ * contiguous array of grape::Nbr, and iterates it through the adaptor with a NbrCursor.
+ */
+public class ImmutableEdgecutFragmentAdaptorTest {
+    // sizeof(grape::Nbr<VID_T, double>) is 16 for both uint32_t and uint64_t
+    private static final long NBR_SIZE = 16;
+    private static final long[][] NBRS = {{1, 2}, {}, {0, 1, 2, 0xfffffffeL}};
+
+    private final List<Long> allocated = new ArrayList<>();
+
+    @After
+    public void free() {
+        for (long address : allocated) {
+            JavaRuntime.free(address);
+        }
+        allocated.clear();
+    }
+
+    @Test
+    public void testIterateLongVid() {
+        ImmutableEdgecutFragment<Long, Long, Long, Double> fragment = mockFragment(false);
+        ImmutableEdgecutFragmentAdaptor<Long, Long, Long, Double> adaptor =
+                new ImmutableEdgecutFragmentAdaptor<>(
+                        fragment, Long.class, Long.class, Long.class, Double.class);
+        checkNbrs(adaptor, mockVertex(), false);
+    }
+
+    @Test
+    public void testIterateIntVid() {
+        ImmutableEdgecutFragment<Long, Integer, Long, Double> fragment = mockFragment(true);
+        ImmutableEdgecutFragmentAdaptor<Long, Integer, Long, Double> adaptor =
+                new ImmutableEdgecutFragmentAdaptor<>(
+                        fragment, Long.class, Integer.class, Long.class, Double.class);
+        checkNbrs(adaptor, mockVertex(), true);
+    }
+
+    private <VID_T> void checkNbrs(
+            ImmutableEdgecutFragmentAdaptor<Long, VID_T, Long, Double> adaptor,
+            Vertex<VID_T> vertex,
+            boolean intVid) {
+        NbrCursor cursor = new NbrCursor();
+        // twice, the second round goes through the cached offsets only
+        for (int round = 0; round < 2; ++round) {
+            for (int i = 0; i < NBRS.length; ++i) {
+                vertex.setValue(toVid(i, intVid));
+                adaptor.getOutgoingNbrs(vertex, cursor);
+                Assert.assertEquals(NBRS[i].length, cursor.size());
+                int cnt = 0;
+                while (cursor.next()) {
+                    Assert.assertEquals(NBRS[i][cnt], cursor.lid());
+                    Assert.assertEquals(
+                            NBRS[i][cnt] * 0.5, JavaRuntime.getDouble(cursor.address() + 8), 0);
+                    cnt++;
+                }
+                Assert.assertEquals(NBRS[i].length, cnt);
+            }
+        }
+        // offsets are built once for all inner vertices
+        verify(adaptor.getImmutableFragment(), times(NBRS.length)).getOutgoingAdjList(any());
+    }
+
+    private <VID_T> ImmutableEdgecutFragment<Long, VID_T, Long, Double> mockFragment(
+            boolean intVid) {
+        int total = 0;
+        for (long[] nbrs : NBRS) {
+            total += nbrs.length;
+        }
+        long nbrArray = allocate(total * NBR_SIZE);
+        ImmutableEdgecutFragment<Long, VID_T, Long, Double> fragment =
+                mock(ImmutableEdgecutFragment.class);
+        when(fragment.getInnerVerticesNum()).thenReturn((long) NBRS.length);
+        List<GrapeAdjList<VID_T, Double>> adjLists = new ArrayList<>();
+        long cur = nbrArray;
+        for (long[] nbrs : NBRS) {
+            // grape::AdjList is a pair of pointers to grape::Nbr
+            long adjListAddress = allocate(16);
+            JavaRuntime.putLong(adjListAddress, cur);
+            for (long nbr : nbrs) {
+                if (intVid) {
+                    JavaRuntime.putInt(cur, (int) nbr);
+                } else {
+                    JavaRuntime.putLong(cur, nbr);
+                }
+                JavaRuntime.putDouble(cur + 8, nbr * 0.5);
+                cur += NBR_SIZE;
+            }
+            JavaRuntime.putLong(adjListAddress + 8, cur);
+            GrapeAdjList<VID_T, Double> adjList = mock(GrapeAdjList.class);
+            when(adjList.getAddress()).thenReturn(adjListAddress);
+            when(adjList.size()).thenReturn((long) nbrs.length);
+            adjLists.add(adjList);
+        }
+        when(fragment.getOutgoingAdjList(any()))
+                .thenAnswer(
+                        invocation -> {
+                            Vertex<VID_T> vertex = invocation.getArgument(0);
+                            return adjLists.get(((Number) vertex.getValue()).intValue());
+                        });
+        return fragment;
+    }
+
+    private static <VID_T> Vertex<VID_T> mockVertex() {
+        Vertex<VID_T> vertex = mock(Vertex.class);
+        Object[] value = new Object[1];
+        when(vertex.getValue()).thenAnswer(invocation -> value[0]);
+        doAnswer(
+                        invocation -> {
+                            value[0] = invocation.getArgument(0);
+                            return null;
+                        })
+                .when(vertex)
+                .setValue(any());
+        when(vertex.copy()).thenAnswer(invocation -> mockVertex());
+        return vertex;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <VID_T> VID_T toVid(int lid, boolean intVid) {
+        return intVid ? (VID_T) Integer.valueOf(lid) : (VID_T) Long.valueOf(lid);
+    }
+
+    private long allocate(long size) {
+        long address = JavaRuntime.allocate(Math.max(size, 1));
+        allocated.add(address);
+        return address;
+    }
+}
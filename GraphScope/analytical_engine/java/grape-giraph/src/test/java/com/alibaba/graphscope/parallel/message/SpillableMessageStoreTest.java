@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.parallel.message;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.graphscope.fragment.IFragment;
+
+import org.apache.giraph.conf.ImmutableClassesGiraphConfiguration;
+import org.apache.hadoop.io.LongWritable;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SpillableMessageStoreTest {
+    private static final int VERTICES_NUM = 1000;
+
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private IFragment fragment;
+    private ImmutableClassesGiraphConfiguration conf;
+    private String spillDir;
+
+    @Before
+    public void init() throws Exception {
+        fragment = mock(IFragment.class);
+        when(fragment.getInnerVerticesNum()).thenReturn((long) VERTICES_NUM);
+        conf = mock(ImmutableClassesGiraphConfiguration.class);
+        when(conf.getGrapeVidClass()).thenReturn((Class) Integer.class);
+        when(conf.getIncomingMessageValueClass()).thenReturn((Class) LongWritable.class);
+        spillDir = tempFolder.newFolder("spill-test").getPath();
+    }
+
+    @Test
+    public void testSpillAndReadInLidOrder() {
+        // small enough to spill several runs
+        SpillableMessageStore<LongWritable, LongWritable, Integer> store =
+                new SpillableMessageStore<>(fragment, conf, 4096, spillDir);
+        long[] expectedSum = new long[VERTICES_NUM];
+        int[] expectedCnt = new int[VERTICES_NUM];
+        for (int i = 0; i < 10000; ++i) {
+            int lid = (i * 7919) % VERTICES_NUM;
+            if (lid % 3 == 0) {
+                continue;
+            }
+            store.addLidMessage(lid, new LongWritable(i));
+            expectedSum[lid] += i;
+            expectedCnt[lid] += 1;
+        }
+        Assert.assertTrue(store.spilledRunCount() > 1);
+        Assert.assertTrue(store.anyMessageReceived());
+
+        for (int pass = 0; pass < 2; ++pass) {
+            // the second pass restarts the cursors
+            for (long lid = 0; lid < VERTICES_NUM; ++lid) {
+                Assert.assertEquals(expectedCnt[(int) lid] > 0, store.messageAvailable(lid));
+                long sum = 0;
+                int cnt = 0;
+                for (LongWritable msg : store.getMessages(lid)) {
+                    sum += msg.get();
+                    cnt += 1;
+                }
+                Assert.assertEquals(expectedCnt[(int) lid], cnt);
+                Assert.assertEquals(expectedSum[(int) lid], sum);
+            }
+        }
+
+        store.clearAll();
+        Assert.assertFalse(store.anyMessageReceived());
+        Assert.assertEquals(0, store.spilledRunCount());
+    }
+
+    @Test
+    public void testSwap() {
+        SpillableMessageStore<LongWritable, LongWritable, Integer> current =
+                new SpillableMessageStore<>(fragment, conf, 1 << 20, spillDir);
+        SpillableMessageStore<LongWritable, LongWritable, Integer> next =
+                new SpillableMessageStore<>(fragment, conf, 1 << 20, spillDir);
+        next.addLidMessage(5, new LongWritable(1));
+        next.addLidMessage(5, new LongWritable(2));
+        current.swap(next);
+        next.clearAll();
+
+        List<Long> received = new ArrayList<>();
+        for (LongWritable msg : current.getMessages(5L)) {
+            received.add(msg.get());
+        }
+        Assert.assertEquals(2, received.size());
+        Assert.assertEquals(3L, received.get(0) + received.get(1));
+        Assert.assertFalse(next.anyMessageReceived());
+    }
+}
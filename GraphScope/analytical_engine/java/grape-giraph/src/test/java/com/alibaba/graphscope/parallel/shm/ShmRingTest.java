@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.parallel.shm;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+public class ShmRingTest {
+    private static final int CAPACITY = 1024;
+    // the last one is larger than the ring, and has to be streamed.
+    private static final int[] RECORD_SIZES = {0, 13, 16, 500, 1000, 1021, 4099};
+
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testWrapAroundAndStreaming() throws Exception {
+        String dir = tempFolder.newFolder("shm-test").getPath();
+        File file = ShmRing.ringFile(dir, 1, 2);
+        ShmRing consumer = ShmRing.create(file, CAPACITY);
+        ShmRing producer = ShmRing.open(file, CAPACITY);
+        int rounds = 5;
+
+        Thread thread =
+                new Thread(
+                        () -> {
+                            for (int round = 0; round < rounds; ++round) {
+                                for (int size : RECORD_SIZES) {
+                                    ByteBuf buf = Unpooled.buffer(size + 3);
+                                    buf.writeZero(3);
+                                    for (int i = 0; i < size; ++i) {
+                                        buf.writeByte(round + size + i);
+                                    }
+                                    producer.write(buf, 3, size);
+                                }
+                                producer.writeEndOfRound();
+                            }
+                        });
+        thread.start();
+
+        for (int round = 0; round < rounds; ++round) {
+            for (int size : RECORD_SIZES) {
+                ByteBuf buf = pollBlocking(consumer);
+                Assert.assertNotSame(ShmRing.END_OF_ROUND, buf);
+                Assert.assertEquals(size, buf.readableBytes());
+                for (int i = 0; i < size; ++i) {
+                    Assert.assertEquals((byte) (round + size + i), buf.readByte());
+                }
+                buf.release();
+            }
+            Assert.assertSame(ShmRing.END_OF_ROUND, pollBlocking(consumer));
+        }
+        thread.join();
+        Assert.assertNull(consumer.poll());
+        consumer.delete();
+        Assert.assertFalse(file.exists());
+    }
+
+    @Test
+    public void testFallbackWithoutSpace() throws Exception {
+        String dir = tempFolder.newFolder("shm-test").getPath();
+        long usable = Files.getFileStore(new File(dir).toPath()).getUsableSpace();
+        Assert.assertTrue(ShmRing.isAvailable(dir, CAPACITY, 2));
+        // rings of all local workers together exceed the space of the directory
+        int rings = (int) Math.min(Integer.MAX_VALUE, usable / Integer.MAX_VALUE + 1);
+        Assert.assertFalse(ShmRing.isAvailable(dir, Integer.MAX_VALUE - 7, rings));
+        Assert.assertFalse(ShmRing.isAvailable(new File(dir, "missing").getPath(), CAPACITY, 2));
+    }
+
+    private static ByteBuf pollBlocking(ShmRing ring) {
+        ByteBuf buf;
+        while ((buf = ring.poll()) == null) {
+            Thread.yield();
+        }
+        return buf;
+    }
+}
@@ -23,6 +23,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 public class FFIByteVectorStreamTest {
 
@@ -107,6 +108,41 @@ public class FFIByteVectorStreamTest {
         }
     }
 
+    @Test
+    public void testBulkPrimitives() throws IOException {
+        outputStream.reset();
+        long[] longs = new long[50];
+        double[] doubles = new double[50];
+        for (int i = 0; i < 50; ++i) {
+            longs[i] = i * 1000000007L;
+            doubles[i] = i / 3.0;
+        }
+        outputStream.writeLongs(longs, 10, 40);
+        outputStream.writeInt(7);
+        outputStream.writeDoubles(doubles, 0, 50);
+        outputStream.write(ByteBuffer.wrap("123456".getBytes()));
+        outputStream.finishSetting();
+        inputStream.setVector(outputStream.getVector());
+
+        // bulk writes are readable by single reads and vice versa
+        Assert.assertEquals(longs[10], inputStream.readLong());
+        long[] longsRes = new long[39];
+        inputStream.readLongs(longsRes, 0, 39);
+        for (int i = 0; i < 39; ++i) {
+            Assert.assertEquals(longs[i + 11], longsRes[i]);
+        }
+        int[] intsRes = new int[1];
+        inputStream.readInts(intsRes, 0, 1);
+        Assert.assertEquals(7, intsRes[0]);
+        double[] doublesRes = new double[50];
+        inputStream.readDoubles(doublesRes, 0, 50);
+        Assert.assertArrayEquals(doubles, doublesRes, 0.0);
+        byte[] bytesRes = new byte[6];
+        inputStream.readFully(bytesRes);
+        Assert.assertEquals("123456", new String(bytesRes));
+        Assert.assertEquals(0, inputStream.longAvailable());
+    }
+
     @Test
     public void testOutPutStream() throws IOException {
         outputStream.reset();
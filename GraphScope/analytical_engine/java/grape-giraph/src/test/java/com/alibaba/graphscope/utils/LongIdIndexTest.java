@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LongIdIndexTest {
+    private static final int SIZE = 100000;
+    private static final int THREADS = 4;
+
+    @Test
+    public void testConcurrentInsert() throws Exception {
+        LongIdIndex index = new LongIdIndex(SIZE);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        int chunk = SIZE / THREADS;
+        try {
+            for (int t = 0; t < THREADS; ++t) {
+                int begin = t * chunk;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int lid = begin; lid < begin + chunk; ++lid) {
+                                        // sparse and negative keys.
+                                        index.setKey(lid, (lid - SIZE / 2) * 1000003L);
+                                        Assert.assertTrue(index.insert(lid));
+                                    }
+                                }));
+            }
+            // rethrows assertion failures of the workers on the test thread.
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int lid = 0; lid < SIZE; ++lid) {
+            Assert.assertEquals(lid, index.get((lid - SIZE / 2) * 1000003L));
+        }
+        Assert.assertEquals(-1, index.get(7L));
+    }
+
+    @Test
+    public void testDuplicatedKey() {
+        LongIdIndex index = new LongIdIndex(2);
+        index.setKey(0, 42L);
+        index.setKey(1, 42L);
+        Assert.assertTrue(index.insert(0));
+        Assert.assertFalse(index.insert(1));
+        Assert.assertEquals(0, index.get(42L));
+    }
+}
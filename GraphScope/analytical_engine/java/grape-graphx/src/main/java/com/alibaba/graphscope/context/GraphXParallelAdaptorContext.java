@@ -168,6 +168,14 @@ public class GraphXParallelAdaptorContext<VDATA_T, EDATA_T, MSG>
         int splitSize = (numPart + fnum - 1) / fnum;
         int myParallelism = calcMyParallelism(numPart, splitSize, frag.fid());
         logger.info("frag {} parallelism {}", frag.fid(), myParallelism);
+        // optional hint, one of sum, min and max, to merge primitive messages atomically
+        conf.setMergeOp(GraphXConf.MergeOp.fromString(jsonObject.getString("msg_merge_op")));
+        if (jsonObject.containsKey("frontier_sparse_ratio")) {
+            conf.setSparseRatio(jsonObject.getDouble("frontier_sparse_ratio"));
+        }
+        if (jsonObject.containsKey("frontier_pull_ratio")) {
+            conf.setPullRatio(jsonObject.getDouble("frontier_pull_ratio"));
+        }
         String workerIdToFidStr = jsonObject.getString("worker_id_to_fid");
         if (workerIdToFidStr == null || workerIdToFidStr.isEmpty()) {
             throw new IllegalStateException("expect worker id to fid mapping");
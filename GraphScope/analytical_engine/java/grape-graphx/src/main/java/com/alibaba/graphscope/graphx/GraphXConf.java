@@ -21,6 +21,24 @@ import java.util.HashSet;
 import java.util.Set;
 
 public class GraphXConf<VD, ED, MSG> {
+    /**
+     * The merge function of primitive messages, if known to be one of sum, min or max, message
+     * stores merge with a single atomic update instead of calling the scala function in a CAS loop.
+     */
+    public enum MergeOp {
+        CUSTOM,
+        SUM,
+        MIN,
+        MAX;
+
+        public static MergeOp fromString(String str) {
+            if (str == null || str.isEmpty()) {
+                return CUSTOM;
+            }
+            return MergeOp.valueOf(str.toUpperCase());
+        }
+    }
+
     private Set<Class<?>> primitiveClasses =
             new HashSet<Class<?>>(
                     Arrays.asList(
@@ -33,6 +51,11 @@ public class GraphXConf<VD, ED, MSG> {
     private Class<? extends VD> vdClass;
     private Class<? extends ED> edClass;
     private Class<? extends MSG> msgClass;
+    private MergeOp mergeOp = MergeOp.CUSTOM;
+    // rounds with fewer active vertices than this ratio iterate a list of the active vertices.
+    private double sparseRatio = 0.05;
+    // rounds with more active vertices than this ratio pull messages along in-edges.
+    private double pullRatio = 0.5;
 
     public GraphXConf(
             Class<? extends VD> vdClass,
@@ -63,6 +86,30 @@ public class GraphXConf<VD, ED, MSG> {
         return msgClass;
     }
 
+    public void setMergeOp(MergeOp mergeOp) {
+        this.mergeOp = mergeOp;
+    }
+
+    public MergeOp getMergeOp() {
+        return mergeOp;
+    }
+
+    public void setSparseRatio(double sparseRatio) {
+        this.sparseRatio = sparseRatio;
+    }
+
+    public double getSparseRatio() {
+        return sparseRatio;
+    }
+
+    public void setPullRatio(double pullRatio) {
+        this.pullRatio = pullRatio;
+    }
+
+    public double getPullRatio() {
+        return pullRatio;
+    }
+
     public Class<? extends VD> getVdClass() {
         return vdClass;
     }
@@ -64,6 +64,20 @@ public class GraphXParallelPIE<VD, ED, MSG_T> {
 
     private static Logger logger = LoggerFactory.getLogger(GraphXParallelPIE.class.getName());
     private static int BATCH_SIZE = 8192;
+    private static int SPARSE_BATCH_SIZE = 256;
+
+    /**
+     * How the active vertices of a round are iterated. SPARSE walks a list of the active vertices,
+     * so that the cost of a round is proportional to the frontier rather than the fragment. DENSE
+     * walks curSet and pushes messages along out-edges. PULL walks all vertices and pulls
+     * messages from the active sources in their in-edges, so that all messages to a vertex are sent
+     * by one thread in a row and combined before touching the message store.
+     */
+    private enum FrontierMode {
+        SPARSE,
+        DENSE,
+        PULL
+    }
 
     /**
      * User vertex program: vprog: (VertexId, VD, A) => VD
@@ -101,6 +115,10 @@ public class GraphXParallelPIE<VD, ED, MSG_T> {
 
     private int innerVerticesNum, verticesNum;
     private ThreadSafeBitSet curSet, nextSet;
+    // active lids in ascending order, valid in SPARSE mode.
+    private int[] frontier;
+    private int frontierSize, innerFrontierSize;
+    private FrontierMode frontierMode;
     private EdgeDirection direction;
     private long[] lid2Oid;
     private PrimitiveTypedArray<Long> outerLid2Gid;
@@ -232,74 +250,178 @@ public class GraphXParallelPIE<VD, ED, MSG_T> {
         for (int lid = curSet.nextSetBit(startLid);
                 lid >= 0 && lid < endLid;
                 lid = curSet.nextSetBit(lid + 1)) {
-            long oid = lid2Oid[lid];
-            VD originalVD = newVdataArray.get(lid);
-            // if (originalVD == null){
-            // null indicate the vertex is inactive.
-            //  continue ;
-            // }
-            if (firstRound) {
-                if (oid == 1) {
-                    logger.info(
-                            "frag {} oid 1 lid {},ivnum {} vd {}",
-                            iFragment.fid(),
-                            lid,
-                            innerVerticesNum,
-                            originalVD);
-                }
-                newVdataArray.set(lid, vprog.apply(oid, originalVD, initialMessage));
-            } else {
-                newVdataArray.set(lid, vprog.apply(oid, originalVD, messageStore.get(lid)));
-            }
+            runVProg(lid, firstRound);
+        }
+    }
+
+    private void runVProgSparse(int begin, int end, boolean firstRound) {
+        for (int i = begin; i < end; ++i) {
+            runVProg(frontier[i], firstRound);
+        }
+    }
+
+    private void runVProg(int lid, boolean firstRound) {
+        long oid = lid2Oid[lid];
+        VD originalVD = newVdataArray.get(lid);
+        if (firstRound) {
+            newVdataArray.set(lid, vprog.apply(oid, originalVD, initialMessage));
+        } else {
+            newVdataArray.set(lid, vprog.apply(oid, originalVD, messageStore.get(lid)));
         }
     }
 
     private void iterateEdge(int startLid, int endLid, int threadId) throws InterruptedException {
         GSEdgeTripletImpl<VD, ED> edgeTriplet = new GSEdgeTripletImpl<>();
-        long beginOffset, endOffset;
         for (int lid = curSet.nextSetBit(startLid);
                 lid >= 0 && lid < endLid;
                 lid = curSet.nextSetBit(lid + 1)) {
-            if (newVdataArray.get(lid) == null) {
-                throw new IllegalStateException("received null vertex data");
+            pushOutEdges(lid, edgeTriplet, threadId);
+        }
+        messageStore.flushCombinedMessages(threadId);
+    }
+
+    private void iterateEdgeSparse(int begin, int end, int threadId) throws InterruptedException {
+        GSEdgeTripletImpl<VD, ED> edgeTriplet = new GSEdgeTripletImpl<>();
+        for (int i = begin; i < end; ++i) {
+            pushOutEdges(frontier[i], edgeTriplet, threadId);
+        }
+        messageStore.flushCombinedMessages(threadId);
+    }
+
+    private void pushOutEdges(int lid, GSEdgeTripletImpl<VD, ED> edgeTriplet, int threadId)
+            throws InterruptedException {
+        if (newVdataArray.get(lid) == null) {
+            throw new IllegalStateException("received null vertex data");
+        }
+        edgeTriplet.setSrcOid(lid2Oid[lid], newVdataArray.get(lid));
+
+        long beginOffset = oeOffsetBeginArray.get(lid);
+        long endOffset = oeOffsetEndArray.get(lid);
+        long address = oeBeginAddress + (beginOffset << 4);
+        while (beginOffset < endOffset) {
+            int nbrVid = (int) JavaRuntime.getLong(address);
+            int eid = (int) JavaRuntime.getLong(address + 8);
+            VD dstAttr = newVdataArray.get(nbrVid);
+            if (dstAttr != null) {
+                edgeTriplet.setDstOid(getId(nbrVid), dstAttr);
+                edgeTriplet.setAttr(newEdataArray.get(eid));
+                Iterator<Tuple2<Long, MSG_T>> msgs = sendMsg.apply(edgeTriplet);
+                if (msgs.nonEmpty()) {
+                    messageStore.addMessages(msgs, threadId, edgeTriplet, iFragment, lid, nbrVid);
+                }
             }
-            edgeTriplet.setSrcOid(lid2Oid[lid], newVdataArray.get(lid));
+            address += 16;
+            beginOffset += 1;
+        }
+    }
 
-            beginOffset = oeOffsetBeginArray.get(lid);
-            endOffset = oeOffsetEndArray.get(lid);
-            long address = oeBeginAddress + (beginOffset << 4);
+    /**
+     * Visit the same triplets as {@link #iterateEdge}, i.e. edges from active inner vertices, but
+     * from the side of the destination. In-edges of outer vertices are the ones from inner
+     * vertices, so iterating all vertices covers all out-edges of inner vertices.
+     */
+    private void pullInEdges(int startLid, int endLid, int threadId) throws InterruptedException {
+        GSEdgeTripletImpl<VD, ED> edgeTriplet = new GSEdgeTripletImpl<>();
+        for (int lid = startLid; lid < endLid; ++lid) {
+            VD dstAttr = newVdataArray.get(lid);
+            if (dstAttr == null) {
+                continue;
+            }
+            long beginOffset = ieOffsetBeginArray.get(lid);
+            long endOffset = ieOffsetEndArray.get(lid);
+            long address = ieBeginAddress + (beginOffset << 4);
             while (beginOffset < endOffset) {
                 int nbrVid = (int) JavaRuntime.getLong(address);
-                int eid = (int) JavaRuntime.getLong(address + 8);
-                VD dstAttr = newVdataArray.get(nbrVid);
-                if (dstAttr != null) {
-                    edgeTriplet.setDstOid(getId(nbrVid), dstAttr);
+                if (nbrVid < innerVerticesNum && curSet.get(nbrVid)) {
+                    int eid = (int) JavaRuntime.getLong(address + 8);
+                    VD srcAttr = newVdataArray.get(nbrVid);
+                    if (srcAttr == null) {
+                        throw new IllegalStateException("received null vertex data");
+                    }
+                    edgeTriplet.setSrcOid(lid2Oid[nbrVid], srcAttr);
+                    edgeTriplet.setDstOid(getId(lid), dstAttr);
                     edgeTriplet.setAttr(newEdataArray.get(eid));
                     Iterator<Tuple2<Long, MSG_T>> msgs = sendMsg.apply(edgeTriplet);
-                    //                    logger.info("visiting edge {}->{}, {}, result msg {}",
-                    // edgeTriplet.srcId(), edgeTriplet.dstId(), edgeTriplet.attr(),
-                    // msgs.isEmpty());
                     if (msgs.nonEmpty()) {
-                        //                        logger.info("msg to send when visiting edge
-                        // {}->{}, {}"
-                        //                            ,edgeTriplet.srcId(), edgeTriplet.dstId(),
-                        // edgeTriplet.attr());
-                        //                        if (nbrVid >= innerVerticesNum){
-                        //                            logger.info("inner vertex {} has msg to or
-                        // from dst {}", lid, nbrVid);
-                        //                        }
                         messageStore.addMessages(
-                                msgs, threadId, edgeTriplet, iFragment, lid, nbrVid);
+                                msgs, threadId, edgeTriplet, iFragment, nbrVid, lid);
                     }
                 }
                 address += 16;
                 beginOffset += 1;
             }
         }
+        messageStore.flushCombinedMessages(threadId);
+    }
+
+    /**
+     * Choose the frontier mode by the number of active vertices, and collect the active vertices
+     * in SPARSE mode.
+     */
+    private void prepareFrontier() {
+        int activeNum = curSet.cardinality();
+        if (activeNum < verticesNum * conf.getSparseRatio()) {
+            frontierMode = FrontierMode.SPARSE;
+            if (frontier == null || frontier.length < activeNum) {
+                frontier = new int[Math.max(activeNum, 1024)];
+            }
+            frontierSize = 0;
+            innerFrontierSize = 0;
+            for (int lid = curSet.nextSetBit(0);
+                    lid >= 0 && lid < verticesNum;
+                    lid = curSet.nextSetBit(lid + 1)) {
+                frontier[frontierSize++] = lid;
+                if (lid < innerVerticesNum) {
+                    innerFrontierSize = frontierSize;
+                }
+            }
+        } else if (activeNum >= verticesNum * conf.getPullRatio()) {
+            frontierMode = FrontierMode.PULL;
+        } else {
+            frontierMode = FrontierMode.DENSE;
+        }
+        logger.debug(
+                "Frag [{}] round {}: {} active vertices, frontier mode {}",
+                fid,
+                round,
+                activeNum,
+                frontierMode);
+    }
+
+    private void runVProgInParallel(boolean firstRound) {
+        if (frontierMode == FrontierMode.SPARSE) {
+            parallelExecute(
+                    (begin, end, threadId) -> runVProgSparse(begin, end, firstRound),
+                    frontierSize,
+                    SPARSE_BATCH_SIZE);
+        } else {
+            parallelExecute(
+                    (begin, end, threadId) -> runVProg(begin, end, firstRound), verticesNum);
+        }
+    }
+
+    private void iterateEdgeInParallel() {
+        switch (frontierMode) {
+            case SPARSE:
+                parallelExecute(this::iterateEdgeSparse, innerFrontierSize, SPARSE_BATCH_SIZE);
+                break;
+            case PULL:
+                parallelExecute(this::pullInEdges, verticesNum);
+                break;
+            default:
+                parallelExecute(this::iterateEdge, innerVerticesNum);
+        }
     }
 
     public void parallelExecute(
             InterruptibleTriConsumer<Integer, Integer, Integer> function, int limit) {
+        parallelExecute(function, limit, BATCH_SIZE);
+    }
+
+    public void parallelExecute(
+            InterruptibleTriConsumer<Integer, Integer, Integer> function,
+            int limit,
+            int batchSize) {
         AtomicInteger getter = new AtomicInteger(0);
         CountDownLatch countDownLatch = new CountDownLatch(numCores);
         for (int tid = 0; tid < numCores; ++tid) {
@@ -308,8 +430,8 @@ public class GraphXParallelPIE<VD, ED, MSG_T> {
                     () -> {
                         int begin, end;
                         while (true) {
-                            begin = Math.min(getter.getAndAdd(BATCH_SIZE), limit);
-                            end = Math.min(begin + BATCH_SIZE, limit);
+                            begin = Math.min(getter.getAndAdd(batchSize), limit);
+                            end = Math.min(begin + batchSize, limit);
                             if (begin >= end) {
                                 break;
                             }
@@ -365,14 +487,15 @@ public class GraphXParallelPIE<VD, ED, MSG_T> {
         // This will set received outer vertices to active, but shouldn't affect us.
         receiveTime += System.nanoTime();
 
+        prepareFrontier();
         vprogTime -= System.nanoTime();
         // We need to update outer vertex message to vd array, otherwise, we will send out message
         // infinitely.
-        parallelExecute((begin, end, threadId) -> runVProg(begin, end, true), verticesNum);
+        runVProgInParallel(true);
         vprogTime += System.nanoTime();
 
         msgSendTime -= System.nanoTime();
-        parallelExecute(this::iterateEdge, innerVerticesNum);
+        iterateEdgeInParallel();
         msgSendTime += System.nanoTime();
         logger.info("[PEval] Finish iterate edges for frag {}", projectedFragment.fid());
         flushTime -= System.nanoTime();
@@ -412,12 +535,13 @@ public class GraphXParallelPIE<VD, ED, MSG_T> {
                     round,
                     projectedFragment.fid(),
                     curSet.cardinality());
+            prepareFrontier();
             vprogTime -= System.nanoTime();
-            parallelExecute((begin, end, threadId) -> runVProg(begin, end, false), verticesNum);
+            runVProgInParallel(false);
             vprogTime += System.nanoTime();
 
             msgSendTime -= System.nanoTime();
-            parallelExecute(this::iterateEdge, innerVerticesNum);
+            iterateEdgeInParallel();
             msgSendTime += System.nanoTime();
             logger.debug(
                     "[IncEval {}] Finish iterate edges for frag {}",
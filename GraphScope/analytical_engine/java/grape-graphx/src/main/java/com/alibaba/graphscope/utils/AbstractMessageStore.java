@@ -37,11 +37,32 @@ import scala.collection.Iterator;
 
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.Arrays;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Messages to the same vertex are merged lock-free. The first message of a vertex in each phase,
+ * i.e. sending along edges or digesting received messages, is written by the thread which claims
+ * the vertex for the phase, the following ones are merged with CAS loops by {@link #mergeAndSet}.
+ * Besides, each thread combines the messages it sends in a small direct-mapped cache, so that
+ * messages to the same vertex, e.g. those sent to the source vertex when iterating its edges, touch
+ * the shared array only once. The values of the cache are kept by the subclasses, in primitive
+ * arrays for primitive messages.
+ */
 public abstract class AbstractMessageStore<T> implements MessageStore<T> {
     Logger logger = LoggerFactory.getLogger(AbstractMessageStore.class.getName());
+    private static final int LOG2_COMBINE_CACHE_SIZE = 8;
+    private static final int COMBINE_CACHE_MASK = (1 << LOG2_COMBINE_CACHE_SIZE) - 1;
+    static final int COMBINE_CACHE_SIZE = 1 << LOG2_COMBINE_CACHE_SIZE;
+    // a claiming thread publishes the first message within a few instructions, spin shortly
+    // before parking, and fail rather than hang if it never shows up.
+    private static final int MAX_SPINS = 128;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long CLAIM_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
 
     protected Vertex<Long> tmpVertex[];
     protected ThreadSafeBitSet nextSet;
@@ -49,16 +70,43 @@ public abstract class AbstractMessageStore<T> implements MessageStore<T> {
     protected FFIByteVectorOutputStream[] outputStream;
     protected GraphXConf<?, ?, ?> conf;
     protected int ivnum;
+    // the phase in which the vertex is claimed, a phase is identified by the number of rounds
+    // flushed and whether it is sending or digesting messages.
+    private AtomicIntegerArray claims;
+    private volatile int flushedRounds;
+    private int[][] combinedLids;
 
+    /** Set the first message of the vertex in this phase, only called by the claiming thread. */
     abstract void threadSafeSet(int ind, T value);
 
+    /** Atomically merge the message into the vertex, must be safe to call concurrently. */
     abstract void mergeAndSet(int ind, T value);
 
+    /** Put the message into the slot of the thread's combine cache. */
+    abstract void setCached(int threadId, int slot, T value);
+
+    /** Merge the message into the one in the slot of the thread's combine cache. */
+    abstract void mergeCached(int threadId, int slot, T value);
+
+    /** Add the message in the slot of the thread's combine cache to the vertex, then clear it. */
+    abstract void flushCached(int threadId, int slot, int lid, int epoch);
+
     abstract void writeMessageToStream(IFragment<Long, Long, ?, ?> fragment) throws IOException;
 
     public AbstractMessageStore(
-            int fnum, int numCores, ThreadSafeBitSet nextSet, GraphXConf<?, ?, ?> conf, int ivnum) {
+            int len,
+            int fnum,
+            int numCores,
+            ThreadSafeBitSet nextSet,
+            GraphXConf<?, ?, ?> conf,
+            int ivnum) {
         this.ivnum = ivnum;
+        claims = new AtomicIntegerArray(len);
+        flushedRounds = 0;
+        combinedLids = new int[numCores][COMBINE_CACHE_SIZE];
+        for (int i = 0; i < numCores; ++i) {
+            Arrays.fill(combinedLids[i], -1);
+        }
         tmpVertex = new Vertex[numCores];
         for (int i = 0; i < numCores; ++i) {
             tmpVertex[i] = FFITypeFactoryhelper.newVertexLong();
@@ -144,12 +192,7 @@ public abstract class AbstractMessageStore<T> implements MessageStore<T> {
                 }
                 lid = Math.toIntExact(vertex.getValue());
             }
-            if (nextSet.get(lid)) {
-                mergeAndSet(lid, msg._2());
-            } else {
-                threadSafeSet(lid, msg._2());
-                nextSet.set(lid);
-            }
+            combineMessage(lid, msg._2(), threadId);
             if (lid > ivnum) {
                 logger.info(
                         "add message to outer vertex {}, ivnum {}, msg {}", lid, ivnum, msg._2());
@@ -157,6 +200,93 @@ public abstract class AbstractMessageStore<T> implements MessageStore<T> {
         }
     }
 
+    @Override
+    public void flushCombinedMessages(int threadId) {
+        int[] lids = combinedLids[threadId];
+        int epoch = sendingEpoch();
+        for (int i = 0; i < lids.length; ++i) {
+            if (lids[i] >= 0) {
+                flushCached(threadId, i, lids[i], epoch);
+                lids[i] = -1;
+            }
+        }
+    }
+
+    void combineMessage(int lid, T value, int threadId) {
+        int[] lids = combinedLids[threadId];
+        int slot = lid & COMBINE_CACHE_MASK;
+        if (lids[slot] == lid) {
+            mergeCached(threadId, slot, value);
+            return;
+        }
+        if (lids[slot] >= 0) {
+            flushCached(threadId, slot, lids[slot], sendingEpoch());
+        }
+        lids[slot] = lid;
+        setCached(threadId, slot, value);
+    }
+
+    /**
+     * Add a message to the vertex, the vertex holds a valid message iff it is set in validSet.
+     *
+     * @param validSet nextSet when sending messages, curSet when digesting received ones.
+     * @param lid vertex.
+     * @param value message.
+     * @param epoch the current phase.
+     */
+    void addMessage(ThreadSafeBitSet validSet, int lid, T value, int epoch) {
+        if (claim(validSet, lid, epoch)) {
+            threadSafeSet(lid, value);
+            validSet.set(lid);
+        } else {
+            mergeAndSet(lid, value);
+        }
+    }
+
+    /**
+     * Claim the vertex for the phase if it holds no valid message yet.
+     *
+     * @return true if the caller should write the first message and then set the vertex in
+     *     validSet, false if a valid message is visible and the caller should merge into it.
+     */
+    boolean claim(ThreadSafeBitSet validSet, int lid, int epoch) {
+        if (validSet.get(lid)) {
+            return false;
+        }
+        int claim = claims.get(lid);
+        if (claim != epoch && claims.compareAndSet(lid, claim, epoch)) {
+            return true;
+        }
+        // the claiming thread is writing the first message, wait until it is visible.
+        for (int i = 0; i < MAX_SPINS; ++i) {
+            if (validSet.get(lid)) {
+                return false;
+            }
+        }
+        long deadline = System.nanoTime() + CLAIM_TIMEOUT_NANOS;
+        while (!validSet.get(lid)) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException(
+                        "The first message of vertex " + lid + " is claimed but never set");
+            }
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return false;
+    }
+
+    int sendingEpoch() {
+        return 2 * flushedRounds + 2;
+    }
+
+    int digestingEpoch() {
+        return 2 * flushedRounds + 1;
+    }
+
+    /** Should be called when the messages of this round are flushed. */
+    void finishRound() {
+        flushedRounds += 1;
+    }
+
     @Override
     public void flushMessages(
             ThreadSafeBitSet nextSet,
@@ -192,5 +322,6 @@ public abstract class AbstractMessageStore<T> implements MessageStore<T> {
             e.printStackTrace();
             executorService.shutdown();
         }
+        finishRound();
     }
 }
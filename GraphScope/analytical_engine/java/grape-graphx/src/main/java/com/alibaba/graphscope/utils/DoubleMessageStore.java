@@ -37,7 +37,9 @@ public class DoubleMessageStore extends AbstractMessageStore<Double> {
 
     private AtomicDoubleArrayWrapper values;
     private Function2<Double, Double, Double> mergeMessage;
+    private GraphXConf.MergeOp mergeOp;
     protected DoubleMsg[] msgWrappers;
+    private double[][] combinedValues;
 
     public DoubleMessageStore(
             int len,
@@ -47,9 +49,11 @@ public class DoubleMessageStore extends AbstractMessageStore<Double> {
             Function2<Double, Double, Double> function2,
             ThreadSafeBitSet nextSet,
             GraphXConf<?, ?, ?> conf) {
-        super(fnum, numCores, nextSet, conf, ivnum);
+        super(len, fnum, numCores, nextSet, conf, ivnum);
         values = new AtomicDoubleArrayWrapper(len);
         mergeMessage = function2;
+        mergeOp = conf.getMergeOp();
+        combinedValues = new double[numCores][COMBINE_CACHE_SIZE];
         msgWrappers = new DoubleMsg[numCores];
         for (int i = 0; i < numCores; ++i) {
             msgWrappers[i] = DoubleMsg.factory.create();
@@ -73,14 +77,70 @@ public class DoubleMessageStore extends AbstractMessageStore<Double> {
 
     @Override
     void threadSafeSet(int ind, Double value) {
-        values.compareAndSet(ind, value);
+        values.set(ind, value);
     }
 
     @Override
     void mergeAndSet(int ind, Double value) {
-        double original = get(ind);
-        double newValue = mergeMessage.apply(original, value);
-        values.compareAndSet(ind, newValue);
+        mergeAndSet(ind, (double) value);
+    }
+
+    private void mergeAndSet(int ind, double msg) {
+        switch (mergeOp) {
+            case SUM:
+                values.getAndAdd(ind, msg);
+                return;
+            case MIN:
+                values.compareAndSetMin(ind, msg);
+                return;
+            case MAX:
+                values.compareAndSetMax(ind, msg);
+                return;
+            default:
+                double original, newValue;
+                do {
+                    original = values.get(ind);
+                    newValue = mergeMessage.apply(original, msg);
+                } while (!values.compareAndSet(ind, original, newValue));
+        }
+    }
+
+    void addMessage(ThreadSafeBitSet validSet, int lid, double value, int epoch) {
+        if (claim(validSet, lid, epoch)) {
+            values.set(lid, value);
+            validSet.set(lid);
+        } else {
+            mergeAndSet(lid, value);
+        }
+    }
+
+    private double merge(double a, double b) {
+        switch (mergeOp) {
+            case SUM:
+                return a + b;
+            case MIN:
+                return Math.min(a, b);
+            case MAX:
+                return Math.max(a, b);
+            default:
+                return mergeMessage.apply(a, b);
+        }
+    }
+
+    @Override
+    void setCached(int threadId, int slot, Double value) {
+        combinedValues[threadId][slot] = value;
+    }
+
+    @Override
+    void mergeCached(int threadId, int slot, Double value) {
+        double[] cache = combinedValues[threadId];
+        cache[slot] = merge(cache[slot], (double) value);
+    }
+
+    @Override
+    void flushCached(int threadId, int slot, int lid, int epoch) {
+        addMessage(nextSet, lid, combinedValues[threadId][slot], epoch);
     }
 
     @Override
@@ -118,6 +178,7 @@ public class DoubleMessageStore extends AbstractMessageStore<Double> {
         }
 
         Vertex<Long> vertex = tmpVertex[threadId];
+        int epoch = digestingEpoch();
         try {
             while (inputStream.available() > 0) {
                 long gid = inputStream.readLong();
@@ -133,12 +194,7 @@ public class DoubleMessageStore extends AbstractMessageStore<Double> {
                 }
                 int lid = Math.toIntExact(vertex.getValue());
                 double msg = inputStream.readDouble();
-                if (curSet.get(lid)) {
-                    values.set(lid, mergeMessage.apply(values.get(lid), msg));
-                } else {
-                    values.set(lid, msg);
-                    curSet.set(lid);
-                }
+                addMessage(curSet, lid, msg, epoch);
             }
         } catch (Exception e) {
             e.printStackTrace();
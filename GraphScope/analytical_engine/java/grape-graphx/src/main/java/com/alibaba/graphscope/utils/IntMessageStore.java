@@ -37,7 +37,9 @@ public class IntMessageStore extends AbstractMessageStore<Integer> {
 
     private AtomicIntegerArrayWrapper values;
     private Function2<Integer, Integer, Integer> mergeMessage;
+    private GraphXConf.MergeOp mergeOp;
     protected IntMsg[] msgWrappers;
+    private int[][] combinedValues;
 
     public IntMessageStore(
             int len,
@@ -47,9 +49,11 @@ public class IntMessageStore extends AbstractMessageStore<Integer> {
             Function2<Integer, Integer, Integer> function2,
             ThreadSafeBitSet nextSet,
             GraphXConf<?, ?, ?> conf) {
-        super(fnum, numCores, nextSet, conf, ivnum);
+        super(len, fnum, numCores, nextSet, conf, ivnum);
         values = new AtomicIntegerArrayWrapper(len);
         mergeMessage = function2;
+        mergeOp = conf.getMergeOp();
+        combinedValues = new int[numCores][COMBINE_CACHE_SIZE];
         msgWrappers = new IntMsg[numCores];
         for (int i = 0; i < numCores; ++i) {
             msgWrappers[i] = IntMsg.factory.create();
@@ -73,14 +77,70 @@ public class IntMessageStore extends AbstractMessageStore<Integer> {
 
     @Override
     void threadSafeSet(int ind, Integer value) {
-        values.compareAndSet(ind, value);
+        values.set(ind, value);
     }
 
     @Override
     void mergeAndSet(int ind, Integer value) {
-        int original = get(ind);
-        int newValue = mergeMessage.apply(original, value);
-        values.compareAndSet(ind, newValue);
+        mergeAndSet(ind, (int) value);
+    }
+
+    private void mergeAndSet(int ind, int msg) {
+        switch (mergeOp) {
+            case SUM:
+                values.getAndAdd(ind, msg);
+                return;
+            case MIN:
+                values.compareAndSetMin(ind, msg);
+                return;
+            case MAX:
+                values.compareAndSetMax(ind, msg);
+                return;
+            default:
+                int original, newValue;
+                do {
+                    original = values.get(ind);
+                    newValue = mergeMessage.apply(original, msg);
+                } while (!values.compareAndSet(ind, original, newValue));
+        }
+    }
+
+    void addMessage(ThreadSafeBitSet validSet, int lid, int value, int epoch) {
+        if (claim(validSet, lid, epoch)) {
+            values.set(lid, value);
+            validSet.set(lid);
+        } else {
+            mergeAndSet(lid, value);
+        }
+    }
+
+    private int merge(int a, int b) {
+        switch (mergeOp) {
+            case SUM:
+                return a + b;
+            case MIN:
+                return Math.min(a, b);
+            case MAX:
+                return Math.max(a, b);
+            default:
+                return mergeMessage.apply(a, b);
+        }
+    }
+
+    @Override
+    void setCached(int threadId, int slot, Integer value) {
+        combinedValues[threadId][slot] = value;
+    }
+
+    @Override
+    void mergeCached(int threadId, int slot, Integer value) {
+        int[] cache = combinedValues[threadId];
+        cache[slot] = merge(cache[slot], (int) value);
+    }
+
+    @Override
+    void flushCached(int threadId, int slot, int lid, int epoch) {
+        addMessage(nextSet, lid, combinedValues[threadId][slot], epoch);
     }
 
     void writeMessageToStream(IFragment<Long, Long, ?, ?> fragment) throws IOException {
@@ -114,6 +174,7 @@ public class IntMessageStore extends AbstractMessageStore<Integer> {
         }
 
         Vertex<Long> vertex = tmpVertex[threadId];
+        int epoch = digestingEpoch();
         try {
             while (inputStream.available() > 0) {
                 long gid = inputStream.readLong();
@@ -122,12 +183,7 @@ public class IntMessageStore extends AbstractMessageStore<Integer> {
                 }
                 int lid = Math.toIntExact(vertex.getValue());
                 int msg = inputStream.readInt();
-                if (curSet.get(lid)) {
-                    values.set(lid, mergeMessage.apply(values.get(lid), msg));
-                } else {
-                    values.set(lid, msg);
-                    curSet.set(lid);
-                }
+                addMessage(curSet, lid, msg, epoch);
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -37,7 +37,9 @@ public class LongMessageStore extends AbstractMessageStore<Long> {
 
     private AtomicLongArrayWrapper values;
     private Function2<Long, Long, Long> mergeMessage;
+    private GraphXConf.MergeOp mergeOp;
     private LongMsg[] msgWrappers;
+    private long[][] combinedValues;
 
     public LongMessageStore(
             int len,
@@ -47,9 +49,11 @@ public class LongMessageStore extends AbstractMessageStore<Long> {
             Function2<Long, Long, Long> mergeMessage,
             ThreadSafeBitSet nextSet,
             GraphXConf<?, ?, ?> conf) {
-        super(fnum, numCores, nextSet, conf, ivnum);
+        super(len, fnum, numCores, nextSet, conf, ivnum);
         values = new AtomicLongArrayWrapper(len);
         this.mergeMessage = mergeMessage;
+        mergeOp = conf.getMergeOp();
+        combinedValues = new long[numCores][COMBINE_CACHE_SIZE];
         msgWrappers = new LongMsg[numCores];
         for (int i = 0; i < numCores; ++i) {
             msgWrappers[i] = LongMsg.factory.create();
@@ -73,14 +77,70 @@ public class LongMessageStore extends AbstractMessageStore<Long> {
 
     @Override
     void threadSafeSet(int ind, Long value) {
-        values.compareAndSet(ind, value);
+        values.set(ind, value);
     }
 
     @Override
     void mergeAndSet(int ind, Long value) {
-        long original = get(ind);
-        long newValue = mergeMessage.apply(original, value);
-        values.compareAndSet(ind, newValue);
+        mergeAndSet(ind, (long) value);
+    }
+
+    private void mergeAndSet(int ind, long msg) {
+        switch (mergeOp) {
+            case SUM:
+                values.getAndAdd(ind, msg);
+                return;
+            case MIN:
+                values.compareAndSetMin(ind, msg);
+                return;
+            case MAX:
+                values.compareAndSetMax(ind, msg);
+                return;
+            default:
+                long original, newValue;
+                do {
+                    original = values.get(ind);
+                    newValue = mergeMessage.apply(original, msg);
+                } while (!values.compareAndSet(ind, original, newValue));
+        }
+    }
+
+    void addMessage(ThreadSafeBitSet validSet, int lid, long value, int epoch) {
+        if (claim(validSet, lid, epoch)) {
+            values.set(lid, value);
+            validSet.set(lid);
+        } else {
+            mergeAndSet(lid, value);
+        }
+    }
+
+    private long merge(long a, long b) {
+        switch (mergeOp) {
+            case SUM:
+                return a + b;
+            case MIN:
+                return Math.min(a, b);
+            case MAX:
+                return Math.max(a, b);
+            default:
+                return mergeMessage.apply(a, b);
+        }
+    }
+
+    @Override
+    void setCached(int threadId, int slot, Long value) {
+        combinedValues[threadId][slot] = value;
+    }
+
+    @Override
+    void mergeCached(int threadId, int slot, Long value) {
+        long[] cache = combinedValues[threadId];
+        cache[slot] = merge(cache[slot], (long) value);
+    }
+
+    @Override
+    void flushCached(int threadId, int slot, int lid, int epoch) {
+        addMessage(nextSet, lid, combinedValues[threadId][slot], epoch);
     }
 
     @Override
@@ -114,6 +174,7 @@ public class LongMessageStore extends AbstractMessageStore<Long> {
         }
         Vertex<Long> vertex = tmpVertex[threadId];
 
+        int epoch = digestingEpoch();
         try {
             while (inputStream.available() > 0) {
                 long gid = inputStream.readLong();
@@ -122,12 +183,7 @@ public class LongMessageStore extends AbstractMessageStore<Long> {
                 }
                 int lid = Math.toIntExact(vertex.getValue());
                 long msg = inputStream.readLong();
-                if (curSet.get(lid)) {
-                    values.set(lid, mergeMessage.apply(values.get(lid), msg));
-                } else {
-                    values.set(lid, msg);
-                    curSet.set(lid);
-                }
+                addMessage(curSet, lid, msg, epoch);
             }
         } catch (Exception e) {
             e.printStackTrace();
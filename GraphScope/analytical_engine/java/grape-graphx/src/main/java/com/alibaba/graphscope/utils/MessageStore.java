@@ -55,6 +55,9 @@ public interface MessageStore<T> extends PrimitiveArray<T> {
             int dstLid)
             throws InterruptedException;
 
+    /** Add the messages combined locally by the thread, called when it finishes sending. */
+    void flushCombinedMessages(int threadId);
+
     void flushMessages(
             ThreadSafeBitSet nextSet,
             ParallelMessageManager messageManager,
@@ -42,6 +42,7 @@ public class ObjectMessageStore<T> extends AbstractMessageStore<T> {
     private Class<? extends T> clz;
     private Function2<T, T, T> mergeMessage;
     private ObjectOutputStream[] objectOutputStreams;
+    private Object[][] combinedValues;
 
     public ObjectMessageStore(
             int len,
@@ -52,10 +53,11 @@ public class ObjectMessageStore<T> extends AbstractMessageStore<T> {
             Function2<T, T, T> function2,
             ThreadSafeBitSet nextSet,
             GraphXConf<?, ?, ?> conf) {
-        super(fnum, numCores, nextSet, conf, ivnum);
+        super(len, fnum, numCores, nextSet, conf, ivnum);
         this.clz = clz;
         values = new AtomicObjectArrayWrapper<>(len);
         mergeMessage = function2;
+        combinedValues = new Object[numCores][COMBINE_CACHE_SIZE];
         objectOutputStreams = new ObjectOutputStream[fnum];
         for (int i = 0; i < fnum; ++i) {
             try {
@@ -83,14 +85,34 @@ public class ObjectMessageStore<T> extends AbstractMessageStore<T> {
 
     @Override
     void threadSafeSet(int ind, T value) {
-        values.compareAndSet(ind, value);
+        values.set(ind, value);
     }
 
     @Override
     void mergeAndSet(int ind, T value) {
-        T original = get(ind);
-        T newValue = mergeMessage.apply(original, value);
-        values.compareAndSet(ind, newValue);
+        T original, newValue;
+        do {
+            original = values.get(ind);
+            newValue = mergeMessage.apply(original, value);
+        } while (!values.compareAndSet(ind, original, newValue));
+    }
+
+    @Override
+    void setCached(int threadId, int slot, T value) {
+        combinedValues[threadId][slot] = value;
+    }
+
+    @Override
+    void mergeCached(int threadId, int slot, T value) {
+        Object[] cache = combinedValues[threadId];
+        cache[slot] = mergeMessage.apply((T) cache[slot], value);
+    }
+
+    @Override
+    void flushCached(int threadId, int slot, int lid, int epoch) {
+        Object[] cache = combinedValues[threadId];
+        addMessage(nextSet, lid, (T) cache[slot], epoch);
+        cache[slot] = null;
     }
 
     @Override
@@ -152,6 +174,7 @@ public class ObjectMessageStore<T> extends AbstractMessageStore<T> {
         }
 
         Vertex<Long> vertex = tmpVertex[threadId];
+        int epoch = digestingEpoch();
         try {
             while (inputStream.available() > 0) {
                 long gid = inputStream.readLong();
@@ -160,12 +183,7 @@ public class ObjectMessageStore<T> extends AbstractMessageStore<T> {
                 }
                 int lid = Math.toIntExact(vertex.getValue());
                 T msg = (T) inputStream.readObject();
-                if (curSet.get(lid)) {
-                    values.set(lid, mergeMessage.apply(values.get(lid), msg));
-                } else {
-                    values.set(lid, msg);
-                    curSet.set(lid);
-                }
+                addMessage(curSet, lid, msg, epoch);
             }
         } catch (Exception e) {
             e.printStackTrace();
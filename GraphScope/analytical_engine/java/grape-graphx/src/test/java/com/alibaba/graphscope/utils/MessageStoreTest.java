@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.utils;
+
+import com.alibaba.graphscope.graphx.GraphXConf;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import scala.runtime.AbstractFunction2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class MessageStoreTest {
+    private static final int THREADS = 8;
+    private static final int MESSAGES_PER_THREAD = 100000;
+    private static final int VERTICES = 1024;
+    // all threads hit this vertex for every other message
+    private static final int HOT_VERTEX = 3;
+
+    @Test
+    public void testConcurrentSum() throws Exception {
+        GraphXConf<Long, Long, Long> conf = new GraphXConf<>(Long.class, Long.class, Long.class);
+        conf.setMergeOp(GraphXConf.MergeOp.SUM);
+        ThreadSafeBitSet nextSet = new ThreadSafeBitSet();
+        LongMessageStore store =
+                new LongMessageStore(VERTICES, 1, THREADS, VERTICES, new LongSum(), nextSet, conf);
+        run((tid, i) -> store.combineMessage(lidOf(i), 1L + tid, tid), store);
+        checkSums(nextSet, lid -> (double) store.get(lid));
+    }
+
+    @Test
+    public void testConcurrentCustomMerge() throws Exception {
+        GraphXConf<Double, Double, Double> conf =
+                new GraphXConf<>(Double.class, Double.class, Double.class);
+        ThreadSafeBitSet nextSet = new ThreadSafeBitSet();
+        DoubleMessageStore store =
+                new DoubleMessageStore(
+                        VERTICES, 1, THREADS, VERTICES, new DoubleSum(), nextSet, conf);
+        run((tid, i) -> store.combineMessage(lidOf(i), 1.0 + tid, tid), store);
+        checkSums(nextSet, store::get);
+    }
+
+    // messages to the hot vertex interleave with others mapping to the same cache slot, so that
+    // both the cache and the shared array merge concurrently.
+    private static int lidOf(int i) {
+        return (i & 1) == 0 ? HOT_VERTEX : (HOT_VERTEX + (i % 4 + 1) * 256) % VERTICES;
+    }
+
+    private static void run(ThreadTask task, MessageStore<?> store) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; ++t) {
+                final int tid = t;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < MESSAGES_PER_THREAD; ++i) {
+                                        task.send(tid, i);
+                                    }
+                                    store.flushCombinedMessages(tid);
+                                }));
+            }
+            // rethrow failures of the workers
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void checkSums(ThreadSafeBitSet nextSet, LidToValue values) {
+        double[] expected = new double[VERTICES];
+        for (int t = 0; t < THREADS; ++t) {
+            for (int i = 0; i < MESSAGES_PER_THREAD; ++i) {
+                expected[lidOf(i)] += 1 + t;
+            }
+        }
+        for (int lid = 0; lid < VERTICES; ++lid) {
+            if (expected[lid] == 0) {
+                Assert.assertFalse(nextSet.get(lid));
+            } else {
+                Assert.assertTrue(nextSet.get(lid));
+                Assert.assertEquals(expected[lid], values.get(lid), 0);
+            }
+        }
+    }
+
+    private interface ThreadTask {
+        void send(int tid, int i);
+    }
+
+    private interface LidToValue {
+        double get(int lid);
+    }
+
+    private static class LongSum extends AbstractFunction2<Long, Long, Long> {
+        @Override
+        public Long apply(Long a, Long b) {
+            return a + b;
+        }
+    }
+
+    private static class DoubleSum extends AbstractFunction2<Double, Double, Double> {
+        @Override
+        public Double apply(Double a, Double b) {
+            return a + b;
+        }
+    }
+}
@@ -24,10 +24,12 @@ import com.alibaba.graphscope.fragment.ArrowFragment;
 import com.alibaba.graphscope.stdcxx.StdVector;
 import com.alibaba.graphscope.utils.CppClassName;
 import com.alibaba.graphscope.utils.FFITypeFactoryhelper;
+import com.alibaba.graphscope.utils.VertexArrayUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 public abstract class LabeledVertexDataContext<OID_T, DATA_T> {
@@ -36,6 +38,7 @@ public abstract class LabeledVertexDataContext<OID_T, DATA_T> {
     private long ffiContextAddress;
     private FFILabeledVertexDataContext<ArrowFragment<OID_T>, DATA_T> ffiLabeledVertexDataContext;
     private FFILabeledVertexDataContext.Factory factory;
+    private Class<?> dataClass;
 
     /**
      * ust be called by jni, to create ffi context.
@@ -46,6 +49,7 @@ public abstract class LabeledVertexDataContext<OID_T, DATA_T> {
      */
     protected void createFFIContext(
             ArrowFragment<OID_T> fragment, Class<?> oidClass, Class<?> dataClass) {
+        this.dataClass = dataClass;
         String fragmentTemplateStr = FFITypeFactoryhelper.getForeignName(fragment);
         String contextName =
                 FFITypeFactoryhelper.makeParameterize(
@@ -72,4 +76,20 @@ public abstract class LabeledVertexDataContext<OID_T, DATA_T> {
         }
         return ffiLabeledVertexDataContext.data();
     }
+
+    /**
+     * Get an off-heap view over the data of vertices with the label without copying, only
+     * available for primitive data types.
+     *
+     * @param labelId vertex label id.
+     * @return byte buffer in native order.
+     */
+    public ByteBuffer dataBuffer(int labelId) {
+        if (Objects.isNull(ffiLabeledVertexDataContext)) {
+            return null;
+        }
+        return VertexArrayUtils.asByteBuffer(
+                ffiLabeledVertexDataContext.data().get(labelId),
+                VertexArrayUtils.elementSize(dataClass));
+    }
 }
@@ -22,10 +22,12 @@ import com.alibaba.graphscope.ds.GSVertexArray;
 import com.alibaba.graphscope.fragment.IFragment;
 import com.alibaba.graphscope.utils.CppClassName;
 import com.alibaba.graphscope.utils.FFITypeFactoryhelper;
+import com.alibaba.graphscope.utils.VertexArrayUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 public abstract class VertexDataContext<FRAG_T extends IFragment, DATA_T> {
@@ -64,6 +66,20 @@ public abstract class VertexDataContext<FRAG_T extends IFragment, DATA_T> {
         return ffiVertexDataContext.data();
     }
 
+    /**
+     * Get an off-heap view over the data of all vertices without copying, only available for
+     * primitive data types.
+     *
+     * @return byte buffer in native order.
+     */
+    public ByteBuffer dataBuffer() {
+        GSVertexArray<DATA_T> data = data();
+        if (Objects.isNull(data)) {
+            return null;
+        }
+        return VertexArrayUtils.asByteBuffer(data, VertexArrayUtils.elementSize(dataClass));
+    }
+
     public Class<? extends DATA_T> getDataClass() {
         return dataClass;
     }
@@ -25,10 +25,12 @@ import com.alibaba.graphscope.context.ffi.FFIVertexPropertyContext;
 import com.alibaba.graphscope.fragment.IFragment;
 import com.alibaba.graphscope.utils.CppClassName;
 import com.alibaba.graphscope.utils.FFITypeFactoryhelper;
+import com.alibaba.graphscope.utils.VertexArrayUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /** VertexPropertyContext only compatible with simple graph, i.e. ArrowProjectedFragment @FRAG_T */
@@ -120,4 +122,29 @@ public abstract class VertexPropertyContext<FRAG_T extends IFragment> {
         logger.error("ffi vertex context empty ");
         return null;
     }
+
+    /**
+     * Get an off-heap view over the data of the column without copying.
+     *
+     * @param name column name.
+     * @param contextDataType the type of the column, kInt32, kInt64 or kDouble.
+     * @return byte buffer in native order.
+     */
+    public ByteBuffer getColumnBuffer(String name, ContextDataType contextDataType) {
+        if (Objects.isNull(ffiVertexPropertyContext)) {
+            logger.error("ffi vertex context empty ");
+            return null;
+        }
+        switch (contextDataType) {
+            case kInt32:
+                return VertexArrayUtils.asByteBuffer(getIntColumn(name).data(), 4);
+            case kInt64:
+                return VertexArrayUtils.asByteBuffer(getLongColumn(name).data(), 8);
+            case kDouble:
+                return VertexArrayUtils.asByteBuffer(getDoubleColumn(name).data(), 8);
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported column type for buffer view: " + contextDataType);
+        }
+    }
 }
@@ -128,6 +128,15 @@ public interface GSVertexArray<T> extends FFIPointer, CXXPointer {
     @FFINameAlias("size")
     long size();
 
+    /**
+     * Inherited from grape::Array, the address of the first element. Data of the vertices in
+     * {@link #GetVertexRange()} are stored contiguously from here.
+     *
+     * @return the address of underlying data.
+     */
+    @FFINameAlias("data")
+    long data();
+
     /**
      * Factory GSVertexArray.
      *
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.alibaba.graphscope.ds.adaptor;
+
+import com.alibaba.fastffi.llvm4jni.runtime.JavaRuntime;
+
+/**
+ * A cursor over the neighbors of a vertex, which reads the local ids of neighbors from the nbr
+ * array of the fragment by address and stride. Unlike {@link AdjList#iterable()}, no object is
+ * created during iteration, so one cursor per thread can be reused for all vertices.
+ *
+ * <pre>{@code
+ * fragment.getOutgoingNbrs(vertex, cursor);
+ * while (cursor.next()) {
+ *     long lid = cursor.lid();
+ * }
+ * }</pre>
+ */
+public class NbrCursor {
+    private long beginAddress;
+    private long endAddress;
+    private long stride;
+    private long curAddress;
+    private long nextAddress;
+    private boolean intVid;
+
+    /**
+     * Position the cursor before the first nbr, the local id of a nbr is expected to be stored as
+     * a 64-bit integer at the beginning of each element.
+     *
+     * @param beginAddress address of the first nbr.
+     * @param endAddress address past the last nbr.
+     * @param stride size of each nbr element.
+     */
+    public void reset(long beginAddress, long endAddress, long stride) {
+        reset(beginAddress, endAddress, stride, false);
+    }
+
+    /**
+     * Position the cursor before the first nbr.
+     *
+     * @param beginAddress address of the first nbr.
+     * @param endAddress address past the last nbr.
+     * @param stride size of each nbr element.
+     * @param intVid true if the local id of a nbr is stored as an unsigned 32-bit integer, i.e.
+     *     VID_T is uint32_t, otherwise a 64-bit integer.
+     */
+    public void reset(long beginAddress, long endAddress, long stride, boolean intVid) {
+        this.beginAddress = beginAddress;
+        this.endAddress = endAddress;
+        this.stride = stride;
+        this.intVid = intVid;
+        this.curAddress = 0;
+        this.nextAddress = beginAddress;
+    }
+
+    /**
+     * Move to the next nbr.
+     *
+     * @return false if all nbrs have been visited.
+     */
+    public boolean next() {
+        if (nextAddress >= endAddress) {
+            return false;
+        }
+        curAddress = nextAddress;
+        nextAddress += stride;
+        return true;
+    }
+
+    /**
+     * Get the local id of current nbr.
+     *
+     * @return local id.
+     */
+    public long lid() {
+        if (intVid) {
+            return JavaRuntime.getInt(curAddress) & 0xffffffffL;
+        }
+        return JavaRuntime.getLong(curAddress);
+    }
+
+    /**
+     * Get the address of current nbr, from which other fields of the nbr, i.e. edge data for
+     * ImmutableEdgecutFragment or edge id for ArrowProjectedFragment, can be read.
+     *
+     * @return address of current nbr.
+     */
+    public long address() {
+        return curAddress;
+    }
+
+    /**
+     * Number of nbrs, regardless of the position of cursor.
+     *
+     * @return size.
+     */
+    public long size() {
+        return stride == 0 ? 0 : (endAddress - beginAddress) / stride;
+    }
+
+    /**
+     * Copy the local ids of the remaining nbrs into the buffer.
+     *
+     * @param buf output buffer.
+     * @return number of local ids copied, at most the length of buffer.
+     */
+    public int copyLids(long[] buf) {
+        int cnt = 0;
+        while (cnt < buf.length && next()) {
+            buf[cnt++] = lid();
+        }
+        return cnt;
+    }
+}
@@ -23,6 +23,7 @@ import com.alibaba.fastffi.FFIPointer;
 import com.alibaba.graphscope.ds.Vertex;
 import com.alibaba.graphscope.ds.VertexRange;
 import com.alibaba.graphscope.ds.adaptor.AdjList;
+import com.alibaba.graphscope.ds.adaptor.NbrCursor;
 
 import java.io.Serializable;
 
@@ -257,6 +258,24 @@ public interface IFragment<OID_T, VID_T, VDATA_T, EDATA_T> extends Serializable
     @CXXValue
     AdjList<VID_T, EDATA_T> getOutgoingAdjList(@CXXReference Vertex<VID_T> vertex);
 
+    /**
+     * Position the cursor at the incoming neighbors of a vertex. Compared with {@link
+     * #getIncomingAdjList(Vertex)}, no iterator or nbr wrappers are created.
+     *
+     * @param vertex querying vertex.
+     * @param cursor cursor to reset.
+     */
+    void getIncomingNbrs(@CXXReference Vertex<VID_T> vertex, NbrCursor cursor);
+
+    /**
+     * Position the cursor at the outgoing neighbors of a vertex. Compared with {@link
+     * #getOutgoingAdjList(Vertex)}, no iterator or nbr wrappers are created.
+     *
+     * @param vertex querying vertex.
+     * @param cursor cursor to reset.
+     */
+    void getOutgoingNbrs(@CXXReference Vertex<VID_T> vertex, NbrCursor cursor);
+
     /**
      * Get the data on vertex.
      *
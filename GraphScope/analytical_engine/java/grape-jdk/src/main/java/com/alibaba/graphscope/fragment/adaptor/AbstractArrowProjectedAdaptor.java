@@ -2,10 +2,13 @@ package com.alibaba.graphscope.fragment.adaptor;
 
 import com.alibaba.fastffi.CXXReference;
 import com.alibaba.fastffi.FFIPointer;
+import com.alibaba.graphscope.ds.PropertyNbrUnit;
 import com.alibaba.graphscope.ds.Vertex;
 import com.alibaba.graphscope.ds.VertexRange;
+import com.alibaba.graphscope.ds.adaptor.NbrCursor;
 import com.alibaba.graphscope.fragment.BaseArrowProjectedFragment;
 import com.alibaba.graphscope.fragment.IFragment;
+import com.alibaba.graphscope.utils.LongPointerAccessor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +24,15 @@ public abstract class AbstractArrowProjectedAdaptor<OID_T, VID_T, VDATA_T, EDATA
     private Class<? extends VID_T> vidClass;
     private Class<? extends VDATA_T> vdataClass;
     private Class<? extends EDATA_T> edataClass;
+    // csr of the fragment, read by NbrCursor directly. The offsets only cover inner vertices,
+    // outer vertices have no edges in a projected fragment.
+    private long oeBeginAddress, ieBeginAddress, nbrUnitSize;
+    private long innerVerticesNum;
+    private boolean intVid;
+    private LongPointerAccessor oeOffsetsBeginAccessor,
+            oeOffsetsEndAccessor,
+            ieOffsetsBeginAccessor,
+            ieOffsetsEndAccessor;
 
     @Override
     public Class<? extends OID_T> getOidClass() {
@@ -53,6 +65,16 @@ public abstract class AbstractArrowProjectedAdaptor<OID_T, VID_T, VDATA_T, EDATA
         this.vidClass = vidClass;
         this.vdataClass = vdataClass;
         this.edataClass = edataClass;
+        PropertyNbrUnit<VID_T> oeNbrUnit = frag.getOutEdgesPtr();
+        this.nbrUnitSize = oeNbrUnit.elementSize();
+        this.oeBeginAddress = oeNbrUnit.getAddress();
+        this.ieBeginAddress = frag.getInEdgesPtr().getAddress();
+        this.oeOffsetsBeginAccessor = new LongPointerAccessor(frag.getOEOffsetsBeginPtr());
+        this.oeOffsetsEndAccessor = new LongPointerAccessor(frag.getOEOffsetsEndPtr());
+        this.ieOffsetsBeginAccessor = new LongPointerAccessor(frag.getIEOffsetsBeginPtr());
+        this.ieOffsetsEndAccessor = new LongPointerAccessor(frag.getIEOffsetsEndPtr());
+        this.innerVerticesNum = frag.getInnerVerticesNum();
+        this.intVid = Integer.class.equals(vidClass);
     }
 
     public BaseArrowProjectedFragment<OID_T, VID_T, VDATA_T, EDATA_T>
@@ -215,6 +237,34 @@ public abstract class AbstractArrowProjectedAdaptor<OID_T, VID_T, VDATA_T, EDATA
         return baseFragment.getInnerVertexGid(vertex);
     }
 
+    @Override
+    public void getIncomingNbrs(Vertex<VID_T> vertex, NbrCursor cursor) {
+        long lid = ((Number) vertex.getValue()).longValue();
+        if (lid >= innerVerticesNum) {
+            cursor.reset(ieBeginAddress, ieBeginAddress, nbrUnitSize, intVid);
+            return;
+        }
+        cursor.reset(
+                ieBeginAddress + ieOffsetsBeginAccessor.get(lid) * nbrUnitSize,
+                ieBeginAddress + ieOffsetsEndAccessor.get(lid) * nbrUnitSize,
+                nbrUnitSize,
+                intVid);
+    }
+
+    @Override
+    public void getOutgoingNbrs(Vertex<VID_T> vertex, NbrCursor cursor) {
+        long lid = ((Number) vertex.getValue()).longValue();
+        if (lid >= innerVerticesNum) {
+            cursor.reset(oeBeginAddress, oeBeginAddress, nbrUnitSize, intVid);
+            return;
+        }
+        cursor.reset(
+                oeBeginAddress + oeOffsetsBeginAccessor.get(lid) * nbrUnitSize,
+                oeBeginAddress + oeOffsetsEndAccessor.get(lid) * nbrUnitSize,
+                nbrUnitSize,
+                intVid);
+    }
+
     /**
      * Update vertex data with a new value.
      *
@@ -18,10 +18,13 @@ package com.alibaba.graphscope.fragment.adaptor;
 
 import com.alibaba.fastffi.CXXReference;
 import com.alibaba.fastffi.FFIPointer;
+import com.alibaba.fastffi.llvm4jni.runtime.JavaRuntime;
+import com.alibaba.graphscope.ds.GrapeAdjList;
 import com.alibaba.graphscope.ds.Vertex;
 import com.alibaba.graphscope.ds.VertexRange;
 import com.alibaba.graphscope.ds.adaptor.AdjList;
 import com.alibaba.graphscope.ds.adaptor.GrapeAdjListAdaptor;
+import com.alibaba.graphscope.ds.adaptor.NbrCursor;
 import com.alibaba.graphscope.fragment.FragmentType;
 import com.alibaba.graphscope.fragment.IFragment;
 import com.alibaba.graphscope.fragment.ImmutableEdgecutFragment;
@@ -34,6 +37,13 @@ public class ImmutableEdgecutFragmentAdaptor<OID_T, VID_T, VDATA_T, EDATA_T>
     private Class<? extends VID_T> vidClass;
     private Class<? extends VDATA_T> vdataClass;
     private Class<? extends EDATA_T> edataClass;
+    // local ids are read by NbrCursor as uint32_t if VID_T is Integer, otherwise as uint64_t.
+    private final boolean intVid;
+    // grape::ImmutableCSR keeps the nbrs of consecutive vertices contiguous, so the nbr list of
+    // inner vertex i lies in [offsets[i], offsets[i + 1]). Built on first use, so that NbrCursor
+    // never needs to go through the @CXXValue adj list getters.
+    private volatile long[] ieOffsets, oeOffsets;
+    private long nbrUnitSize;
 
     public Class<? extends OID_T> getOidClass() {
         return oidClass;
@@ -62,6 +72,7 @@ public class ImmutableEdgecutFragmentAdaptor<OID_T, VID_T, VDATA_T, EDATA_T>
         this.vidClass = vidClass;
         this.vdataClass = vdataClass;
         this.edataClass = edataClass;
+        this.intVid = Integer.class.equals(vidClass);
     }
 
     public ImmutableEdgecutFragment<OID_T, VID_T, VDATA_T, EDATA_T> getImmutableFragment() {
@@ -238,6 +249,85 @@ public class ImmutableEdgecutFragmentAdaptor<OID_T, VID_T, VDATA_T, EDATA_T>
         return new GrapeAdjListAdaptor<>(fragment.getOutgoingAdjList(vertex));
     }
 
+    @Override
+    public void getIncomingNbrs(Vertex<VID_T> vertex, NbrCursor cursor) {
+        long[] offsets = ieOffsets;
+        if (offsets == null) {
+            offsets = buildOffsets(vertex, true);
+        }
+        resetCursor(vertex, offsets, cursor, true);
+    }
+
+    @Override
+    public void getOutgoingNbrs(Vertex<VID_T> vertex, NbrCursor cursor) {
+        long[] offsets = oeOffsets;
+        if (offsets == null) {
+            offsets = buildOffsets(vertex, false);
+        }
+        resetCursor(vertex, offsets, cursor, false);
+    }
+
+    private void resetCursor(
+            Vertex<VID_T> vertex, long[] offsets, NbrCursor cursor, boolean incoming) {
+        long lid = ((Number) vertex.getValue()).longValue();
+        if (lid + 1 < offsets.length) {
+            int index = (int) lid;
+            cursor.reset(offsets[index], offsets[index + 1], nbrUnitSize, intVid);
+        } else {
+            // outer vertices are not cached, fall back to the adj list.
+            GrapeAdjList<VID_T, EDATA_T> adjList =
+                    incoming
+                            ? fragment.getIncomingAdjList(vertex)
+                            : fragment.getOutgoingAdjList(vertex);
+            long begin = beginAddress(adjList);
+            long end = endAddress(adjList);
+            long size = adjList.size();
+            cursor.reset(begin, end, size == 0 ? 0 : (end - begin) / size, intVid);
+        }
+    }
+
+    private synchronized long[] buildOffsets(Vertex<VID_T> vertex, boolean incoming) {
+        long[] offsets = incoming ? ieOffsets : oeOffsets;
+        if (offsets != null) {
+            return offsets;
+        }
+        int innerVerticesNum = (int) fragment.getInnerVerticesNum();
+        offsets = new long[innerVerticesNum + 1];
+        Vertex<VID_T> cur = vertex.copy();
+        for (int i = 0; i < innerVerticesNum; ++i) {
+            cur.setValue(toVid(i));
+            GrapeAdjList<VID_T, EDATA_T> adjList =
+                    incoming ? fragment.getIncomingAdjList(cur) : fragment.getOutgoingAdjList(cur);
+            offsets[i] = beginAddress(adjList);
+            offsets[i + 1] = endAddress(adjList);
+            long size = adjList.size();
+            if (nbrUnitSize == 0 && size > 0) {
+                nbrUnitSize = (offsets[i + 1] - offsets[i]) / size;
+            }
+        }
+        if (incoming) {
+            ieOffsets = offsets;
+        } else {
+            oeOffsets = offsets;
+        }
+        return offsets;
+    }
+
+    @SuppressWarnings("unchecked")
+    private VID_T toVid(long lid) {
+        return intVid ? (VID_T) Integer.valueOf((int) lid) : (VID_T) Long.valueOf(lid);
+    }
+
+    // grape::AdjList consists of the begin and end pointers of grape::Nbr, whose first field is
+    // the neighbor vertex.
+    private static long beginAddress(GrapeAdjList<?, ?> adjList) {
+        return JavaRuntime.getLong(adjList.getAddress());
+    }
+
+    private static long endAddress(GrapeAdjList<?, ?> adjList) {
+        return JavaRuntime.getLong(adjList.getAddress() + 8);
+    }
+
     /**
      * Get the data on vertex.
      *
@@ -625,7 +625,65 @@ public class FFIByteVectorInputStream extends InputStream implements DataInput {
         return num;
     }
 
-    private void ensureRemaining(int requiredBytes) throws IOException {
+    /**
+     * Reads <code>len</code> ints written by
+     * {@link FFIByteVectorOutputStream#writeInts(int[], int, int)} or <code>writeInt</code>, with
+     * one memory copy.
+     *
+     * @param dst the buffer into which the data is read.
+     * @param off the start index in the buffer.
+     * @param len the number of ints to read.
+     * @throws IOException if there are less than <code>len</code> ints remaining.
+     */
+    public void readInts(int[] dst, int off, int len) throws IOException {
+        checkBounds(dst.length, off, len);
+        ensureRemaining((long) len << 2);
+        vector.getRawInts(dst, off, offset, len);
+        offset += (long) len << 2;
+    }
+
+    /**
+     * Reads <code>len</code> longs written by
+     * {@link FFIByteVectorOutputStream#writeLongs(long[], int, int)} or <code>writeLong</code>,
+     * with one memory copy.
+     *
+     * @param dst the buffer into which the data is read.
+     * @param off the start index in the buffer.
+     * @param len the number of longs to read.
+     * @throws IOException if there are less than <code>len</code> longs remaining.
+     */
+    public void readLongs(long[] dst, int off, int len) throws IOException {
+        checkBounds(dst.length, off, len);
+        ensureRemaining((long) len << 3);
+        vector.getRawLongs(dst, off, offset, len);
+        offset += (long) len << 3;
+    }
+
+    /**
+     * Reads <code>len</code> doubles written by
+     * {@link FFIByteVectorOutputStream#writeDoubles(double[], int, int)} or
+     * <code>writeDouble</code>, with one memory copy.
+     *
+     * @param dst the buffer into which the data is read.
+     * @param off the start index in the buffer.
+     * @param len the number of doubles to read.
+     * @throws IOException if there are less than <code>len</code> doubles remaining.
+     */
+    public void readDoubles(double[] dst, int off, int len) throws IOException {
+        checkBounds(dst.length, off, len);
+        ensureRemaining((long) len << 3);
+        vector.getRawDoubles(dst, off, offset, len);
+        offset += (long) len << 3;
+    }
+
+    private static void checkBounds(int length, int off, int len) {
+        if (off < 0 || len < 0 || len > length - off) {
+            throw new IndexOutOfBoundsException(
+                    "off: " + off + ", len: " + len + ", array length: " + length);
+        }
+    }
+
+    private void ensureRemaining(long requiredBytes) throws IOException {
         if (readableLimit - offset < requiredBytes) {
             throw new IOException(
                     "ensureRemaining: Only "
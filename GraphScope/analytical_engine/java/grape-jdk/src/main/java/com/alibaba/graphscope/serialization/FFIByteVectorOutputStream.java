@@ -21,8 +21,11 @@ import com.alibaba.graphscope.stdcxx.FFIByteVectorFactory;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 public class FFIByteVectorOutputStream extends OutputStream implements DataOutput {
+    // chunk size to copy from direct byte buffers, which can't be copied by unsafe directly.
+    private static final int COPY_CHUNK_SIZE = 8192;
 
     private FFIByteVector vector;
     private long offset;
@@ -402,4 +405,103 @@ public class FFIByteVectorOutputStream extends OutputStream implements DataOutpu
         vector.setRawByte(offset, (byte) b);
         offset += 1;
     }
+
+    /**
+     * Writes <code>len</code> bytes from the specified byte array starting at offset
+     * <code>off</code> with one memory copy.
+     *
+     * @param b   the data.
+     * @param off the start offset in the data.
+     * @param len the number of bytes to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        checkBounds(b.length, off, len);
+        vector.ensure(offset, len);
+        vector.setRawBytes(offset, b, off, len);
+        offset += len;
+    }
+
+    /**
+     * Writes the remaining bytes of the buffer, the position of <code>src</code> is advanced to its
+     * limit.
+     *
+     * @param src the buffer to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(ByteBuffer src) throws IOException {
+        int len = src.remaining();
+        if (src.hasArray()) {
+            write(src.array(), src.arrayOffset() + src.position(), len);
+            src.position(src.limit());
+            return;
+        }
+        vector.ensure(offset, len);
+        byte[] chunk = new byte[Math.min(len, COPY_CHUNK_SIZE)];
+        while (src.hasRemaining()) {
+            int num = Math.min(src.remaining(), chunk.length);
+            src.get(chunk, 0, num);
+            vector.setRawBytes(offset, chunk, 0, num);
+            offset += num;
+        }
+    }
+
+    /**
+     * Writes <code>len</code> ints in native byte order with one memory copy, which can be read
+     * back by {@link FFIByteVectorInputStream#readInts(int[], int, int)} or by
+     * <code>readInt</code> one by one.
+     *
+     * @param src the data.
+     * @param off the start index in the data.
+     * @param len the number of ints to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeInts(int[] src, int off, int len) throws IOException {
+        checkBounds(src.length, off, len);
+        vector.ensure(offset, (long) len << 2);
+        vector.setRawInts(offset, src, off, len);
+        offset += (long) len << 2;
+    }
+
+    /**
+     * Writes <code>len</code> longs in native byte order with one memory copy, which can be read
+     * back by {@link FFIByteVectorInputStream#readLongs(long[], int, int)} or by
+     * <code>readLong</code> one by one.
+     *
+     * @param src the data.
+     * @param off the start index in the data.
+     * @param len the number of longs to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeLongs(long[] src, int off, int len) throws IOException {
+        checkBounds(src.length, off, len);
+        vector.ensure(offset, (long) len << 3);
+        vector.setRawLongs(offset, src, off, len);
+        offset += (long) len << 3;
+    }
+
+    /**
+     * Writes <code>len</code> doubles in native byte order with one memory copy, which can be read
+     * back by {@link FFIByteVectorInputStream#readDoubles(double[], int, int)} or by
+     * <code>readDouble</code> one by one.
+     *
+     * @param src the data.
+     * @param off the start index in the data.
+     * @param len the number of doubles to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeDoubles(double[] src, int off, int len) throws IOException {
+        checkBounds(src.length, off, len);
+        vector.ensure(offset, (long) len << 3);
+        vector.setRawDoubles(offset, src, off, len);
+        offset += (long) len << 3;
+    }
+
+    private static void checkBounds(int length, int off, int len) {
+        if (off < 0 || len < 0 || len > length - off) {
+            throw new IndexOutOfBoundsException(
+                    "off: " + off + ", len: " + len + ", array length: " + length);
+        }
+    }
 }
@@ -171,6 +171,57 @@ public class FFIByteVector extends FFIPointerImpl implements StdVector<Byte> {
                 size);
     }
 
+    /**
+     * Read several ints to an int array with one memory copy, in native byte order.
+     *
+     * @param b Receive data
+     * @param bOff first index to put
+     * @param offset offset in this buffer, from where we read now.
+     * @param size how many ints to read
+     */
+    public void getRawInts(int[] b, int bOff, long offset, int size) {
+        JavaRuntime.UNSAFE.copyMemory(
+                null,
+                objAddress + offset,
+                b,
+                JavaRuntime.UNSAFE.arrayBaseOffset(int[].class) + ((long) bOff << 2),
+                (long) size << 2);
+    }
+
+    /**
+     * Read several longs to a long array with one memory copy, in native byte order.
+     *
+     * @param b Receive data
+     * @param bOff first index to put
+     * @param offset offset in this buffer, from where we read now.
+     * @param size how many longs to read
+     */
+    public void getRawLongs(long[] b, int bOff, long offset, int size) {
+        JavaRuntime.UNSAFE.copyMemory(
+                null,
+                objAddress + offset,
+                b,
+                JavaRuntime.UNSAFE.arrayBaseOffset(long[].class) + ((long) bOff << 3),
+                (long) size << 3);
+    }
+
+    /**
+     * Read several doubles to a double array with one memory copy, in native byte order.
+     *
+     * @param b Receive data
+     * @param bOff first index to put
+     * @param offset offset in this buffer, from where we read now.
+     * @param size how many doubles to read
+     */
+    public void getRawDoubles(double[] b, int bOff, long offset, int size) {
+        JavaRuntime.UNSAFE.copyMemory(
+                null,
+                objAddress + offset,
+                b,
+                JavaRuntime.UNSAFE.arrayBaseOffset(double[].class) + ((long) bOff << 3),
+                (long) size << 3);
+    }
+
     /**
      * This function copy another vector's memory after this vector. Shall be used in InputStream.
      *
@@ -231,7 +282,7 @@ public class FFIByteVector extends FFIPointerImpl implements StdVector<Byte> {
      * @param offset offset to check
      * @param requiredSize additional spaced needed.
      */
-    public void ensure(long offset, int requiredSize) {
+    public void ensure(long offset, long requiredSize) {
         long minSize = requiredSize + offset;
         if (minSize <= size) {
             return;
@@ -280,6 +331,75 @@ public class FFIByteVector extends FFIPointerImpl implements StdVector<Byte> {
         JavaRuntime.putDouble(objAddress + arg0, arg1);
     }
 
+    /**
+     * Write several bytes from a byte array with one memory copy. The caller should ensure there
+     * is enough space after offset.
+     *
+     * @param offset offset in this buffer, from where we write now.
+     * @param b source data
+     * @param bOff first index to copy
+     * @param size how many bytes to write
+     */
+    public void setRawBytes(long offset, byte[] b, int bOff, int size) {
+        JavaRuntime.UNSAFE.copyMemory(
+                b,
+                JavaRuntime.UNSAFE.arrayBaseOffset(byte[].class) + bOff,
+                null,
+                objAddress + offset,
+                size);
+    }
+
+    /**
+     * Write several ints from an int array with one memory copy, in native byte order.
+     *
+     * @param offset offset in this buffer, from where we write now.
+     * @param b source data
+     * @param bOff first index to copy
+     * @param size how many ints to write
+     */
+    public void setRawInts(long offset, int[] b, int bOff, int size) {
+        JavaRuntime.UNSAFE.copyMemory(
+                b,
+                JavaRuntime.UNSAFE.arrayBaseOffset(int[].class) + ((long) bOff << 2),
+                null,
+                objAddress + offset,
+                (long) size << 2);
+    }
+
+    /**
+     * Write several longs from a long array with one memory copy, in native byte order.
+     *
+     * @param offset offset in this buffer, from where we write now.
+     * @param b source data
+     * @param bOff first index to copy
+     * @param size how many longs to write
+     */
+    public void setRawLongs(long offset, long[] b, int bOff, int size) {
+        JavaRuntime.UNSAFE.copyMemory(
+                b,
+                JavaRuntime.UNSAFE.arrayBaseOffset(long[].class) + ((long) bOff << 3),
+                null,
+                objAddress + offset,
+                (long) size << 3);
+    }
+
+    /**
+     * Write several doubles from a double array with one memory copy, in native byte order.
+     *
+     * @param offset offset in this buffer, from where we write now.
+     * @param b source data
+     * @param bOff first index to copy
+     * @param size how many doubles to write
+     */
+    public void setRawDoubles(long offset, double[] b, int bOff, int size) {
+        JavaRuntime.UNSAFE.copyMemory(
+                b,
+                JavaRuntime.UNSAFE.arrayBaseOffset(double[].class) + ((long) bOff << 3),
+                null,
+                objAddress + offset,
+                (long) size << 3);
+    }
+
     public void finishSetting(long offset) {
         if (offset > size) {
             logger.error("Impossible ");
@@ -178,7 +178,7 @@ public class FakeFFIByteVector extends FFIPointerImpl implements StdVector<Byte>
      * @param offset offset to check
      * @param requiredSize additional spaced needed.
      */
-    public void ensure(long offset, int requiredSize) {
+    public void ensure(long offset, long requiredSize) {
         throw new IllegalStateException("can not apply to fake vector");
     }
 
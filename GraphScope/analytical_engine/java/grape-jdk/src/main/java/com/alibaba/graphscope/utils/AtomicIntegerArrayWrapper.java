@@ -101,6 +101,29 @@ public class AtomicIntegerArrayWrapper {
         } while (preValue != newValue && !data.compareAndSet(ind, preValue, newValue));
     }
 
+    /**
+     * Atomically set the value to update if the current value equals expect.
+     *
+     * @return true if successful.
+     */
+    public boolean compareAndSet(int ind, int expect, int update) {
+        return data.compareAndSet(ind, expect, update);
+    }
+
+    public int getAndAdd(int ind, int delta) {
+        return data.getAndAdd(ind, delta);
+    }
+
+    /*
+     * we want to set the larger one to ind.
+     */
+    public void compareAndSetMax(int ind, int newValue) {
+        int preValue;
+        do {
+            preValue = data.get(ind);
+        } while (preValue < newValue && !data.compareAndSet(ind, preValue, newValue));
+    }
+
     public int getSize() {
         return size;
     }
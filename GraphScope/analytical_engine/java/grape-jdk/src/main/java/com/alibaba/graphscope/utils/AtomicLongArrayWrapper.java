@@ -130,6 +130,29 @@ public class AtomicLongArrayWrapper {
                 && !data.compareAndSet(vid, preValue, newValue));
     }
 
+    /**
+     * Atomically set the value to update if the current value equals expect.
+     *
+     * @return true if successful.
+     */
+    public boolean compareAndSet(int ind, long expect, long update) {
+        return data.compareAndSet(ind, expect, update);
+    }
+
+    public long getAndAdd(int ind, long delta) {
+        return data.getAndAdd(ind, delta);
+    }
+
+    /*
+     * we want to set the larger one to ind.
+     */
+    public void compareAndSetMax(int ind, long newValue) {
+        long preValue;
+        do {
+            preValue = data.get(ind);
+        } while (preValue < newValue && !data.compareAndSet(ind, preValue, newValue));
+    }
+
     public int getSize() {
         return size;
     }
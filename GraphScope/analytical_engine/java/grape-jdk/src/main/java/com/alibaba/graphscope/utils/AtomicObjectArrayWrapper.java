@@ -68,6 +68,15 @@ public class AtomicObjectArrayWrapper<T> {
         } while (!preValue.equals(newValue) && !data.compareAndSet(ind, preValue, newValue));
     }
 
+    /**
+     * Atomically set the value to update if the current value is the same object as expect.
+     *
+     * @return true if successful.
+     */
+    public boolean compareAndSet(int ind, T expect, T update) {
+        return data.compareAndSet(ind, expect, update);
+    }
+
     public int getSize() {
         return size;
     }
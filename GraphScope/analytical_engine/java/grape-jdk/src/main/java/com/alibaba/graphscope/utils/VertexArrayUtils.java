@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.utils;
+
+import com.alibaba.fastffi.llvm4jni.runtime.JavaRuntime;
+import com.alibaba.graphscope.ds.GSVertexArray;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Bulk access to the data of {@link GSVertexArray}, i.e. the results in vertex data contexts, so
+ * that consumers can stream them out without calling {@link GSVertexArray#get} for each vertex.
+ */
+public class VertexArrayUtils {
+    /**
+     * Get the element size in bytes of the primitive data class.
+     *
+     * @param dataClass Integer, Long, Double, Float or Boolean.
+     * @return element size.
+     */
+    public static int elementSize(Class<?> dataClass) {
+        if (dataClass.equals(Long.class) || dataClass.equals(Double.class)) {
+            return 8;
+        } else if (dataClass.equals(Integer.class) || dataClass.equals(Float.class)) {
+            return 4;
+        } else if (dataClass.equals(Boolean.class)) {
+            return 1;
+        }
+        throw new IllegalArgumentException("Not a primitive data class: " + dataClass.getName());
+    }
+
+    /**
+     * Create a read-write view in native byte order over the data of the vertex array, no data is
+     * copied. The view is valid only as long as the vertex array is alive and not resized.
+     *
+     * <p>The buffer doesn't own the memory and keeps no reference to the array. The data of a
+     * vertex array is owned by the C++ side, e.g. the context holding the results, and holding the
+     * java wrapper doesn't keep it alive, so the buffer must not be used after the context is
+     * released.
+     *
+     * @param array vertex array.
+     * @param elementSize size of each element in bytes.
+     * @return direct byte buffer.
+     */
+    public static ByteBuffer asByteBuffer(GSVertexArray<?> array, int elementSize) {
+        return asByteBuffer(array, elementSize, 0, array.size());
+    }
+
+    /**
+     * Create a view over the data of [begin, begin + length) elements, for arrays exceeding 2GB.
+     *
+     * @param array vertex array.
+     * @param elementSize size of each element in bytes.
+     * @param begin index of the first element, i.e. the offset to the begin of vertex range.
+     * @param length number of elements.
+     * @return direct byte buffer.
+     */
+    public static ByteBuffer asByteBuffer(
+            GSVertexArray<?> array, int elementSize, long begin, long length) {
+        if (begin < 0 || length < 0 || begin + length > array.size()) {
+            throw new IndexOutOfBoundsException(
+                    "begin: " + begin + ", length: " + length + ", size: " + array.size());
+        }
+        long bytes = length * elementSize;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Can not view " + bytes + " bytes in one buffer, view it by ranges.");
+        }
+        ByteBuffer buffer = nativeNewDirectByteBuffer(array.data() + begin * elementSize, bytes);
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+
+    // JNI NewDirectByteBuffer, implemented in grape-runtime/src/main/native/vertex_array_utils.cc
+    private static native ByteBuffer nativeNewDirectByteBuffer(long address, long capacity);
+
+    /**
+     * Copy [begin, begin + length) elements to a java array with one memory copy.
+     *
+     * @param array vertex array.
+     * @param begin index of the first element.
+     * @param dst receive data.
+     * @param dstOff first index to put.
+     * @param length number of elements.
+     */
+    public static void copyTo(
+            GSVertexArray<Double> array, long begin, double[] dst, int dstOff, int length) {
+        checkCopyRange(array, begin, dst.length, dstOff, length);
+        JavaRuntime.UNSAFE.copyMemory(
+                null,
+                array.data() + (begin << 3),
+                dst,
+                JavaRuntime.UNSAFE.arrayBaseOffset(double[].class) + ((long) dstOff << 3),
+                (long) length << 3);
+    }
+
+    public static void copyTo(
+            GSVertexArray<Long> array, long begin, long[] dst, int dstOff, int length) {
+        checkCopyRange(array, begin, dst.length, dstOff, length);
+        JavaRuntime.UNSAFE.copyMemory(
+                null,
+                array.data() + (begin << 3),
+                dst,
+                JavaRuntime.UNSAFE.arrayBaseOffset(long[].class) + ((long) dstOff << 3),
+                (long) length << 3);
+    }
+
+    public static void copyTo(
+            GSVertexArray<Integer> array, long begin, int[] dst, int dstOff, int length) {
+        checkCopyRange(array, begin, dst.length, dstOff, length);
+        JavaRuntime.UNSAFE.copyMemory(
+                null,
+                array.data() + (begin << 2),
+                dst,
+                JavaRuntime.UNSAFE.arrayBaseOffset(int[].class) + ((long) dstOff << 2),
+                (long) length << 2);
+    }
+
+    private static void checkCopyRange(
+            GSVertexArray<?> array, long begin, int dstLength, int dstOff, int length) {
+        if (begin < 0
+                || length < 0
+                || begin + length > array.size()
+                || dstOff < 0
+                || length > dstLength - dstOff) {
+            throw new IndexOutOfBoundsException(
+                    "begin: "
+                            + begin
+                            + ", length: "
+                            + length
+                            + ", size: "
+                            + array.size()
+                            + ", dst offset: "
+                            + dstOff
+                            + ", dst length: "
+                            + dstLength);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.annotation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A local disk cache of the code generated by {@link GraphScopeAppScanner}, so that jobs with the
+ * same graph types skip the annotation processing.
+ *
+ * <p>Entries are directories named by a hash of the inputs of the generation, see {@link
+ * KeyBuilder}. An entry is populated in a staging directory and published with an atomic rename,
+ * so concurrent generators never see a partial entry, and the loser of a race just drops its copy.
+ * The least recently used entries are evicted when there are more than {@link #MAX_ENTRIES_KEY}.
+ *
+ * <p>Only the generated sources are cached, they are still compiled by the build of the app.
+ */
+public class CodegenCache {
+
+    public static final String ENABLE_KEY = "grape.codegen.cache.enable";
+    public static final String DIR_KEY = "grape.codegen.cache.dir";
+    public static final String MAX_ENTRIES_KEY = "grape.codegen.cache.maxEntries";
+
+    private static Logger logger = LoggerFactory.getLogger(CodegenCache.class.getName());
+    private static final String TEMP_PREFIX = ".tmp-";
+    private static final long STALE_TEMP_MILLIS = 3600 * 1000L;
+
+    private final Path cacheDir;
+    private final int maxEntries;
+
+    public CodegenCache(Path cacheDir, int maxEntries) {
+        this.cacheDir = cacheDir;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Create the cache from system properties, or null if disabled.
+     */
+    public static CodegenCache fromSystemProperties() {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLE_KEY, "true"))) {
+            return null;
+        }
+        String dir =
+                System.getProperty(
+                        DIR_KEY,
+                        Paths.get(System.getProperty("user.home"), ".graphscope", "codegen-cache")
+                                .toString());
+        int maxEntries = Integer.parseInt(System.getProperty(MAX_ENTRIES_KEY, "64"));
+        return new CodegenCache(Paths.get(dir), maxEntries);
+    }
+
+    /**
+     * Copy the cached files of key to outputDir, nothing is left in outputDir on a miss.
+     *
+     * @return true if hit.
+     */
+    public boolean lookup(String key, Path outputDir) {
+        Path entry = cacheDir.resolve(key);
+        if (!Files.isDirectory(entry)) {
+            return false;
+        }
+        List<Path> created = new ArrayList<>();
+        try {
+            copyTree(entry, outputDir, created);
+            entry.toFile().setLastModified(System.currentTimeMillis());
+            logger.info("Codegen cache hit {}", entry);
+            return true;
+        } catch (IOException e) {
+            // Probably evicted by others during copying, just generate again, without the partial
+            // copy mixed into the generated files.
+            logger.warn("Fail to copy codegen cache {}: {}", entry, e.getMessage());
+            for (int i = created.size() - 1; i >= 0; --i) {
+                deleteQuietly(created.get(i));
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Put the files under generatedDir to cache, failures are only logged since the cache is an
+     * optimization.
+     */
+    public void store(String key, Path generatedDir) {
+        Path entry = cacheDir.resolve(key);
+        Path staging = cacheDir.resolve(TEMP_PREFIX + key + "-" + UUID.randomUUID());
+        try {
+            Files.createDirectories(cacheDir);
+            copyTree(generatedDir, staging, new ArrayList<>());
+            Files.move(staging, entry, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Codegen cache stored {}", entry);
+        } catch (IOException e) {
+            // An atomic move onto an existing directory fails with different exceptions on
+            // different file systems.
+            if (Files.isDirectory(entry)) {
+                logger.info("Codegen cache {} already populated by others", entry);
+            } else {
+                logger.warn("Fail to store codegen cache {}: {}", entry, e.getMessage());
+            }
+        } finally {
+            deleteQuietly(staging);
+        }
+        evict();
+    }
+
+    void evict() {
+        File[] files = cacheDir.toFile().listFiles();
+        if (files == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<File> entries = new ArrayList<>();
+        for (File file : files) {
+            if (file.getName().startsWith(TEMP_PREFIX)) {
+                // left by crashed generators.
+                if (now - file.lastModified() > STALE_TEMP_MILLIS) {
+                    deleteQuietly(file.toPath());
+                }
+            } else if (file.isDirectory()) {
+                entries.add(file);
+            }
+        }
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < entries.size() - maxEntries; ++i) {
+            // Rename first so that readers never see a partially deleted entry.
+            Path victim =
+                    cacheDir.resolve(
+                            TEMP_PREFIX + entries.get(i).getName() + "-" + UUID.randomUUID());
+            try {
+                Files.move(entries.get(i).toPath(), victim, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                continue;
+            }
+            logger.info("Codegen cache evict {}", entries.get(i));
+            deleteQuietly(victim);
+        }
+    }
+
+    /**
+     * Copy the files under src to dst, the files and directories created are appended to created,
+     * parents before children.
+     */
+    private static void copyTree(Path src, Path dst, List<Path> created) throws IOException {
+        Files.walkFileTree(
+                src,
+                new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+                            throws IOException {
+                        Path target = dst.resolve(src.relativize(dir).toString());
+                        if (!Files.isDirectory(target)) {
+                            Files.createDirectories(target);
+                            created.add(target);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                            throws IOException {
+                        Path target = dst.resolve(src.relativize(file).toString());
+                        Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+                        created.add(target);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+    }
+
+    static void deleteQuietly(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(
+                    path,
+                    new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                                throws IOException {
+                            Files.delete(file);
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult postVisitDirectory(Path dir, IOException exc)
+                                throws IOException {
+                            Files.delete(dir);
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+        } catch (IOException e) {
+            logger.warn("Fail to delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Hash of everything the generated code depends on: the graph types, the FFIMirror classes and
+     * the jars providing the processors.
+     */
+    public static class KeyBuilder {
+        private final MessageDigest digest;
+
+        public KeyBuilder() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public KeyBuilder add(String value) {
+            // separate the values, so that ("ab", "c") and ("a", "bc") differ.
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return this;
+        }
+
+        public KeyBuilder add(InputStream inputStream) throws IOException {
+            byte[] buf = new byte[4096];
+            int length;
+            while ((length = inputStream.read(buf)) > 0) {
+                digest.update(buf, 0, length);
+            }
+            digest.update((byte) 0);
+            return this;
+        }
+
+        /**
+         * Identify the jar or directory a class is loaded from, by path, size and modification
+         * time.
+         */
+        public KeyBuilder addCodeSource(Class<?> clz) {
+            if (clz.getProtectionDomain().getCodeSource() == null) {
+                return add(clz.getName());
+            }
+            File file = new File(clz.getProtectionDomain().getCodeSource().getLocation().getPath());
+            return add(file.getAbsolutePath())
+                    .add(String.valueOf(file.length()))
+                    .add(String.valueOf(file.lastModified()));
+        }
+
+        public String build() {
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -306,6 +306,19 @@ public class GraphScopeAppScanner {
      * @return
      */
     private String generate() {
+        CodegenCache cache = CodegenCache.fromSystemProperties();
+        String cacheKey = null;
+        Path outputRootPath = Paths.get(this.outputDirectory).toAbsolutePath();
+        if (Objects.nonNull(cache)) {
+            try {
+                cacheKey = cacheKey();
+            } catch (IOException e) {
+                logger.warn("Fail to compute codegen cache key, skip cache", e);
+            }
+            if (Objects.nonNull(cacheKey) && cache.lookup(cacheKey, outputRootPath)) {
+                return outputRootPath.toString();
+            }
+        }
         Random random = new Random();
         String packageName = "grape" + random.nextInt(Integer.MAX_VALUE);
         String classSimpleName = "GraphType" + random.nextInt(Integer.MAX_VALUE);
@@ -347,7 +360,14 @@ public class GraphScopeAppScanner {
         Compilation.Status status = compilation.status();
         if (status == Compilation.Status.SUCCESS) {
             try {
-                return writeFiles(compilation);
+                String res = writeFiles(compilation);
+                if (Objects.nonNull(cacheKey)) {
+                    Path generated = Files.createTempDirectory("grape-ffi");
+                    writeFiles(compilation, generated);
+                    cache.store(cacheKey, generated);
+                    CodegenCache.deleteQuietly(generated);
+                }
+                return res;
             } catch (IOException e) {
                 throw new IllegalStateException("Oops, cannot write files ", e);
             }
@@ -359,14 +379,51 @@ public class GraphScopeAppScanner {
         }
     }
 
+    /**
+     * The generated code depends on the graph config, the FFIMirror classes found in user jars,
+     * and the processors shipped in sdk jars.
+     */
+    private String cacheKey() throws IOException {
+        CodegenCache.KeyBuilder builder =
+                new CodegenCache.KeyBuilder()
+                        .add(graphConfig.oidType)
+                        .add(graphConfig.vidType)
+                        .add(graphConfig.vdataType)
+                        .add(graphConfig.edataType)
+                        .add(graphConfig.messageTypes)
+                        .add(graphConfig.fragmentType)
+                        .add(graphConfig.cppOidType)
+                        .add(graphConfig.cppVidType)
+                        .add(graphConfig.cppVdataType)
+                        .add(graphConfig.cppEdataType)
+                        .add(graphConfig.vertexDataType);
+        List<String> ffiMirrorNames = new ArrayList<>(this.ffiMirrors.keySet());
+        Collections.sort(ffiMirrorNames);
+        for (String name : ffiMirrorNames) {
+            try (InputStream inputStream =
+                    appClassLoader.getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (inputStream == null) {
+                    throw new IOException("Cannot read class file of " + name);
+                }
+                builder.add(name).add(inputStream);
+            }
+        }
+        return builder.addCodeSource(GraphScopeAppScanner.class)
+                .addCodeSource(AnnotationProcessor.class)
+                .build();
+    }
+
     private String writeFiles(Compilation compilation) throws IOException {
         // Path outputRoot = Files.createTempDirectory("grape-ffi");
         File outputRootDir = new File(this.outputDirectory);
         if (!outputRootDir.exists()) {
             outputRootDir.mkdirs();
         }
-        Path outputRootPath = outputRootDir.toPath();
         // Path outputRoot = Files.createDirectories(Paths.get("grape-ffi"));
+        return writeFiles(compilation, outputRootDir.toPath());
+    }
+
+    private String writeFiles(Compilation compilation, Path outputRootPath) throws IOException {
         outputRootPath = outputRootPath.toAbsolutePath();
         for (JavaFileObject generatedFile : compilation.generatedFiles()) {
             String path = generatedFile.toUri().getPath();
@@ -0,0 +1,35 @@
+/** Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+#ifdef ENABLE_JAVA_SDK
+
+#include <jni.h>
+
+#ifdef __cplusplus
+extern "C" {
+#endif
+
+// Wraps the data of a vertex array in a java direct ByteBuffer without copying,
+// the buffer doesn't own the memory.
+JNIEXPORT
+jobject JNICALL
+Java_com_alibaba_graphscope_utils_VertexArrayUtils_nativeNewDirectByteBuffer(
+    JNIEnv* env, jclass, jlong address, jlong capacity) {
+  return env->NewDirectByteBuffer(reinterpret_cast<void*>(address), capacity);
+}
+
+#ifdef __cplusplus
+}
+#endif
+#endif
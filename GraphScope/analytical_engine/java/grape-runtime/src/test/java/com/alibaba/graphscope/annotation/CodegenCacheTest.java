@@ -0,0 +1,92 @@
+package com.alibaba.graphscope.annotation;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class CodegenCacheTest {
+
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testStoreAndLookup() throws IOException {
+        Path cacheDir = tempFolder.newFolder("codegen-cache").toPath();
+        CodegenCache cache = new CodegenCache(cacheDir, 2);
+        String key = new CodegenCache.KeyBuilder().add("int64_t").add("double").build();
+        Path output = tempFolder.newFolder("codegen-out").toPath();
+        Assert.assertFalse(cache.lookup(key, output));
+
+        Path generated = tempFolder.newFolder("codegen-gen").toPath();
+        Files.createDirectories(generated.resolve("grape1"));
+        Files.write(
+                generated.resolve("grape1/GraphType1.java"),
+                "class GraphType1 {}".getBytes(StandardCharsets.UTF_8));
+        cache.store(key, generated);
+        // the second store loses the race silently.
+        cache.store(key, generated);
+
+        Assert.assertTrue(cache.lookup(key, output));
+        Assert.assertEquals(
+                "class GraphType1 {}",
+                new String(
+                        Files.readAllBytes(output.resolve("grape1/GraphType1.java")),
+                        StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testFailedLookupLeavesNothing() throws IOException {
+        Path cacheDir = tempFolder.newFolder("codegen-cache").toPath();
+        CodegenCache cache = new CodegenCache(cacheDir, 2);
+        Path generated = tempFolder.newFolder("codegen-gen").toPath();
+        Files.createDirectories(generated.resolve("grape1"));
+        Files.write(generated.resolve("grape1/GraphType1.java"), new byte[] {1});
+        Files.write(generated.resolve("a.h"), new byte[] {1});
+        cache.store("key", generated);
+
+        // a non-empty directory in the way fails the copy of a.h
+        Path output = tempFolder.newFolder("codegen-out").toPath();
+        Files.createDirectories(output.resolve("a.h"));
+        Files.write(output.resolve("a.h/keep"), new byte[] {1});
+        Assert.assertFalse(cache.lookup("key", output));
+        Assert.assertFalse(Files.exists(output.resolve("grape1")));
+        Assert.assertTrue(Files.exists(output.resolve("a.h/keep")));
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws IOException {
+        Path cacheDir = tempFolder.newFolder("codegen-cache").toPath();
+        CodegenCache cache = new CodegenCache(cacheDir, 2);
+        Path generated = tempFolder.newFolder("codegen-gen").toPath();
+        Files.write(generated.resolve("a.h"), new byte[] {1});
+        for (int i = 0; i < 3; ++i) {
+            cache.store("key" + i, generated);
+            cacheDir.resolve("key" + i).toFile().setLastModified(1000L * (i + 1));
+        }
+        cache.evict();
+        Path output = tempFolder.newFolder("codegen-out").toPath();
+        Assert.assertFalse(cache.lookup("key0", output));
+        Assert.assertTrue(cache.lookup("key1", output));
+        Assert.assertTrue(cache.lookup("key2", output));
+    }
+
+    @Test
+    public void testKeySeparatesValues() throws IOException {
+        Assert.assertNotEquals(
+                new CodegenCache.KeyBuilder().add("ab").add("c").build(),
+                new CodegenCache.KeyBuilder().add("a").add("bc").build());
+        Assert.assertEquals(
+                new CodegenCache.KeyBuilder()
+                        .add(new ByteArrayInputStream(new byte[] {1, 2}))
+                        .build(),
+                new CodegenCache.KeyBuilder()
+                        .add(new ByteArrayInputStream(new byte[] {1, 2}))
+                        .build());
+    }
+}
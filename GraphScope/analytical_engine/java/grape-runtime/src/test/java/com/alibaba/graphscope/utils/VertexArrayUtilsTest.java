@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.utils;
+
+import com.alibaba.graphscope.ds.GSVertexArray;
+import com.alibaba.graphscope.ds.Vertex;
+import com.alibaba.graphscope.ds.VertexRange;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+public class VertexArrayUtilsTest {
+
+    @Test
+    public void testByteBufferView() {
+        VertexRange<Long> vertices = FFITypeFactoryhelper.newVertexRangeLong();
+        vertices.SetRange(0L, 100L);
+        GSVertexArray<Double> array = FFITypeFactoryhelper.newGSVertexArray(Double.class);
+        array.init(vertices, 1.0);
+
+        ByteBuffer buffer = VertexArrayUtils.asByteBuffer(array, 8);
+        Assert.assertTrue(buffer.isDirect());
+        Assert.assertEquals(800, buffer.capacity());
+        DoubleBuffer view = buffer.asDoubleBuffer();
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals(1.0, view.get(i), 0);
+            view.put(i, i);
+        }
+        // writes through the view are visible to the array
+        for (Vertex<Long> vertex : vertices.longIterable()) {
+            Assert.assertEquals(vertex.getValue().doubleValue(), array.get(vertex), 0);
+        }
+
+        DoubleBuffer range = VertexArrayUtils.asByteBuffer(array, 8, 10, 5).asDoubleBuffer();
+        Assert.assertEquals(5, range.capacity());
+        Assert.assertEquals(10.0, range.get(0), 0);
+        Assert.assertEquals(14.0, range.get(4), 0);
+
+        double[] dst = new double[5];
+        VertexArrayUtils.copyTo(array, 20, dst, 0, 5);
+        Assert.assertArrayEquals(new double[] {20, 21, 22, 23, 24}, dst, 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfRange() {
+        VertexRange<Long> vertices = FFITypeFactoryhelper.newVertexRangeLong();
+        vertices.SetRange(0L, 10L);
+        GSVertexArray<Double> array = FFITypeFactoryhelper.newGSVertexArray(Double.class);
+        array.init(vertices);
+        VertexArrayUtils.asByteBuffer(array, 8, 5, 6);
+    }
+}
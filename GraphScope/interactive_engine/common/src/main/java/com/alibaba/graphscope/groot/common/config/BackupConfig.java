@@ -30,4 +30,21 @@ public class BackupConfig {
 
     public static final Config<Integer> STORE_BACKUP_THREAD_COUNT =
             Config.intConfig("store.backup.thread.count", 1);
+
+    // back up checkpoints of partitions into a content addressed directory, the unchanged files
+    // are shared with previous backups instead of copied again
+    public static final Config<Boolean> STORE_BACKUP_INCREMENTAL =
+            Config.boolConfig("store.backup.incremental", false);
+
+    // the directory of incremental backups, `{store.data.path}/incremental_backups` if empty
+    public static final Config<String> STORE_BACKUP_PATH =
+            Config.stringConfig("store.backup.path", "");
+
+    // the io rate limit of incremental backups and restores in one store, no limit if <= 0
+    public static final Config<Integer> STORE_BACKUP_RATE_LIMIT_MB =
+            Config.intConfig("store.backup.rate.limit.mb", 0);
+
+    // the number of partitions restored in parallel, one thread per partition if <= 0
+    public static final Config<Integer> STORE_RESTORE_THREAD_COUNT =
+            Config.intConfig("store.restore.thread.count", 0);
 }
@@ -71,4 +71,11 @@ public class DataLoadConfig {
     public static final String ODPS_ENDPOINT = "odps.endpoint";
     /* end */
 
+    /** Download configurations **/
+    // files larger than one range are downloaded by concurrent ranged reads
+    public static final String DOWNLOAD_RANGE_SIZE = "download.range.size";
+
+    public static final String DOWNLOAD_RANGE_PARALLELISM = "download.range.parallelism";
+    /* end */
+
 }
@@ -49,4 +49,30 @@ public class StoreConfig {
 
     public static final Config<Integer> STORE_COMPACT_THREAD_NUM =
             Config.intConfig("store.compact.thread.num", 1);
+
+    // number of partitions garbage collected concurrently
+    public static final Config<Integer> STORE_GC_THREAD_COUNT =
+            Config.intConfig("store.gc.thread.count", 1);
+
+    // max partitions garbage collected per second, 0 means unlimited
+    public static final Config<Integer> STORE_GC_PARTITIONS_PER_SECOND =
+            Config.intConfig("store.gc.partitions.per.second", 0);
+
+    public static final Config<Boolean> STORE_COMPACT_AUTO_ENABLE =
+            Config.boolConfig("store.compact.auto.enable", false);
+
+    public static final Config<Long> STORE_COMPACT_AUTO_INTERVAL_MS =
+            Config.longConfig("store.compact.auto.interval.ms", 600000L);
+
+    // partitions with fewer writes since the last compaction are skipped
+    public static final Config<Long> STORE_COMPACT_AUTO_MIN_WRITES =
+            Config.longConfig("store.compact.auto.min.writes", 1000000L);
+
+    // max partitions compacted in each round
+    public static final Config<Integer> STORE_COMPACT_AUTO_MAX_PARTITIONS =
+            Config.intConfig("store.compact.auto.max.partitions", 1);
+
+    // compaction backs off if the average write latency exceeds this
+    public static final Config<Long> STORE_COMPACT_AUTO_MAX_WRITE_LATENCY_MS =
+            Config.longConfig("store.compact.auto.max.write.latency.ms", 50L);
 }
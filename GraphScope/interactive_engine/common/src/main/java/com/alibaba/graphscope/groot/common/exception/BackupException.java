@@ -19,4 +19,8 @@ public class BackupException extends GrootException {
     public BackupException(String msg) {
         super(msg);
     }
+
+    public BackupException(String msg, Throwable t) {
+        super(msg, t);
+    }
 }
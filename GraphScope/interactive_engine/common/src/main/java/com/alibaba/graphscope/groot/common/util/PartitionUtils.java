@@ -17,4 +17,24 @@ public class PartitionUtils {
     public static int getPartitionIdFromKey(long partitionKey, int partitionCount) {
         return (int) Math.floorMod(partitionKey, (long) partitionCount);
     }
+
+    /**
+     * Partitions are assigned to stores in contiguous ranges, the first `partitionCount %
+     * storeCount` stores get one more partition than the others.
+     */
+    public static int getStartPartition(int storeId, int partitionCount, int storeCount) {
+        int avg = partitionCount / storeCount;
+        int remainder = partitionCount % storeCount;
+        return avg * storeId + Math.min(storeId, remainder);
+    }
+
+    public static int getStoreIdFromPartition(int partitionId, int partitionCount, int storeCount) {
+        int avg = partitionCount / storeCount;
+        int remainder = partitionCount % storeCount;
+        int boundary = (avg + 1) * remainder;
+        if (partitionId < boundary) {
+            return partitionId / (avg + 1);
+        }
+        return remainder + (partitionId - boundary) / avg;
+    }
 }
@@ -4,6 +4,7 @@ import com.alibaba.graphscope.proto.groot.VertexRecordKeyPb;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 
 public class VertexRecordKey {
     private final String label;
@@ -39,4 +40,21 @@ public class VertexRecordKey {
         properties.forEach((k, v) -> builder.putPkProperties(k, v.toString()));
         return builder.build();
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        VertexRecordKey that = (VertexRecordKey) o;
+        return Objects.equals(label, that.label) && Objects.equals(properties, that.properties);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(label, properties);
+    }
 }
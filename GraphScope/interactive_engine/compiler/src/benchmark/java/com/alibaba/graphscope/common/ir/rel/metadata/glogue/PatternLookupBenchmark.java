@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.ir.rel.metadata.glogue;
+
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.Pattern;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternCode;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternEdge;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternVertex;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.SinglePatternVertex;
+import com.alibaba.graphscope.common.ir.rel.metadata.schema.EdgeTypeId;
+import com.alibaba.graphscope.common.ir.rel.metadata.schema.GlogueSchema;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.SimpleDirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lookup of a pattern in Glogue by its canonical code with the pairwise isomorphism
+ * checking Glogue used before, i.e., a linear scan of the patterns with the VF2 inspector.
+ *
+ * <p>The patterns are sampled from a schema with many vertex and edge labels. Half of the queries
+ * are isomorphic copies of stored patterns with the vertices and edges added in another order,
+ * the others are not stored, so the linear scan has to check all the candidates.
+ *
+ * <p>Build and run with the benchmark profile:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) org.openjdk.jmh.Main \
+ *     PatternLookupBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternLookupBenchmark {
+    private static final int VERTEX_TYPES = 32;
+    private static final int STORED_PATTERNS = 512;
+    private static final int QUERIES = 64;
+
+    private static final Comparator<PatternVertex> vertexComparator =
+            Comparator.comparing(o -> o.getIsomorphismChecker());
+    private static final Comparator<PatternEdge> edgeComparator =
+            Comparator.comparing(o -> o.getIsomorphismChecker());
+
+    @Param({"4", "5", "6"})
+    public int patternSize;
+
+    private List<Pattern> stored;
+    private Map<PatternCode, Pattern> index;
+    private Pattern[] queries;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(patternSize);
+        GlogueSchema schema = mockSchema();
+        stored = new ArrayList<>();
+        index = new HashMap<>();
+        while (stored.size() < STORED_PATTERNS) {
+            Pattern pattern = randomPattern(schema, random);
+            if (index.putIfAbsent(pattern.getCanonicalCode(), pattern) == null) {
+                stored.add(pattern);
+            }
+        }
+        queries = new Pattern[QUERIES];
+        for (int i = 0; i < QUERIES; ++i) {
+            if (i % 2 == 0) {
+                queries[i] = shuffle(stored.get(random.nextInt(stored.size())), random);
+            } else {
+                Pattern pattern = randomPattern(schema, random);
+                while (index.containsKey(pattern.getCanonicalCode())) {
+                    pattern = randomPattern(schema, random);
+                }
+                queries[i] = shuffle(pattern, random);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int canonicalCodeLookup() {
+        int found = 0;
+        for (Pattern query : queries) {
+            // the code is computed once for each new pattern in Glogue
+            Pattern copy = new Pattern(query);
+            if (index.get(copy.getCanonicalCode()) != null) {
+                ++found;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int pairwiseIsomorphismLookup() {
+        int found = 0;
+        for (Pattern query : queries) {
+            Pattern copy = new Pattern(query);
+            for (Pattern pattern : stored) {
+                if (pattern.isIsomorphicTo(copy, vertexComparator, edgeComparator)) {
+                    ++found;
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    // each vertex type has a self loop and edges to two other vertex types
+    private static GlogueSchema mockSchema() {
+        Map<Integer, Double> vertexTypeCardinality = new HashMap<>();
+        Map<EdgeTypeId, Double> edgeTypeCardinality = new HashMap<>();
+        for (int i = 0; i < VERTEX_TYPES; ++i) {
+            vertexTypeCardinality.put(i, 100.0);
+            edgeTypeCardinality.put(new EdgeTypeId(i, i, 3 * i), 100.0);
+            edgeTypeCardinality.put(new EdgeTypeId(i, (i + 1) % VERTEX_TYPES, 3 * i + 1), 100.0);
+            edgeTypeCardinality.put(new EdgeTypeId(i, (i + 7) % VERTEX_TYPES, 3 * i + 2), 100.0);
+        }
+        return new GlogueSchema(vertexTypeCardinality, edgeTypeCardinality);
+    }
+
+    private Pattern randomPattern(GlogueSchema schema, Random random) {
+        Pattern pattern = new Pattern(new SinglePatternVertex(random.nextInt(VERTEX_TYPES)));
+        while (pattern.getVertexNumber() < patternSize) {
+            List<ExtendStep> steps = pattern.getExtendSteps(schema);
+            pattern = pattern.extend(steps.get(random.nextInt(steps.size())));
+        }
+        return pattern;
+    }
+
+    // an isomorphic copy with the vertices and edges added in a random order
+    private static Pattern shuffle(Pattern pattern, Random random) {
+        List<PatternVertex> vertices = new ArrayList<>(pattern.getVertexSet());
+        List<PatternEdge> edges = new ArrayList<>(pattern.getEdgeSet());
+        Collections.shuffle(vertices, random);
+        Collections.shuffle(edges, random);
+        Graph<PatternVertex, PatternEdge> graph = new SimpleDirectedGraph<>(PatternEdge.class);
+        vertices.forEach(graph::addVertex);
+        edges.forEach(e -> graph.addEdge(e.getSrcVertex(), e.getDstVertex(), e));
+        return new Pattern(graph);
+    }
+}
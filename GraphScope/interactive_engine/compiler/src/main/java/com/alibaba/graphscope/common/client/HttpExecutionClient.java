@@ -17,6 +17,7 @@
 package com.alibaba.graphscope.common.client;
 
 import com.alibaba.graphscope.common.client.channel.ChannelFetcher;
+import com.alibaba.graphscope.common.client.channel.ReplicaSelector;
 import com.alibaba.graphscope.common.client.type.ExecutionRequest;
 import com.alibaba.graphscope.common.client.type.ExecutionResponseListener;
 import com.alibaba.graphscope.common.config.Configs;
@@ -24,7 +25,7 @@ import com.alibaba.graphscope.common.config.HiactorConfig;
 import com.alibaba.graphscope.common.config.QueryTimeoutConfig;
 import com.alibaba.graphscope.common.ir.tools.LogicalPlan;
 import com.alibaba.graphscope.gaia.proto.IrResult;
-import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.InvalidProtocolBufferException;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
@@ -33,13 +34,14 @@ import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
-import io.opentelemetry.context.Scope;
 import io.opentelemetry.context.propagation.TextMapSetter;
 import io.opentelemetry.semconv.SemanticAttributes;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.ConnectException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -47,10 +49,16 @@ import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * http client to send request to hqps engine service
+ * http client to send request to hqps engine service, each request is sent to one of the replicas
+ * chosen by {@link ReplicaSelector}, and optionally hedged to another replica if the response is
+ * not received in time
  */
 public class HttpExecutionClient extends ExecutionClient<URI> {
     private static final Logger logger = LoggerFactory.getLogger(HttpExecutionClient.class);
@@ -59,6 +67,9 @@ public class HttpExecutionClient extends ExecutionClient<URI> {
     private static final String INTERACTIVE_QUERY_PATH = "/v1/query";
     private static final String INTERACTIVE_ADHOC_QUERY_PATH = "/interactive/adhoc_query";
     private final HttpClient httpClient;
+    private final ReplicaSelector<URI> selector;
+    private final long hedgeDelayMs;
+    private final @Nullable ScheduledExecutorService hedgeScheduler;
 
     private final OpenTelemetry openTelemetry;
     private final Tracer tracer;
@@ -68,11 +79,32 @@ public class HttpExecutionClient extends ExecutionClient<URI> {
 
     public HttpExecutionClient(Configs graphConfig, ChannelFetcher<URI> channelFetcher) {
         super(channelFetcher);
+        // connections to each replica are kept alive and reused by the client, the number of them
+        // is bounded by the max concurrency of the replica
         this.httpClient =
                 HttpClient.newBuilder()
+                        .version(
+                                HttpClient.Version.valueOf(
+                                        HiactorConfig.HIACTOR_HTTP_VERSION.get(graphConfig)))
                         .connectTimeout(
                                 Duration.ofMillis(HiactorConfig.HIACTOR_TIMEOUT.get(graphConfig)))
                         .build();
+        this.selector =
+                new ReplicaSelector<>(
+                        ReplicaSelector.Policy.of(
+                                HiactorConfig.HIACTOR_LOAD_BALANCE.get(graphConfig)),
+                        HiactorConfig.HIACTOR_MAX_CONCURRENCY_PER_HOST.get(graphConfig),
+                        HiactorConfig.HIACTOR_EJECTION_FAILURES.get(graphConfig),
+                        HiactorConfig.HIACTOR_EJECTION_MS.get(graphConfig));
+        this.hedgeDelayMs = HiactorConfig.HIACTOR_HEDGE_DELAY_MS.get(graphConfig);
+        this.hedgeScheduler =
+                (hedgeDelayMs > 0)
+                        ? Executors.newSingleThreadScheduledExecutor(
+                                new ThreadFactoryBuilder()
+                                        .setNameFormat("hiactor-hedge-%d")
+                                        .setDaemon(true)
+                                        .build())
+                        : null;
         this.openTelemetry = GlobalOpenTelemetry.get();
         this.tracer = openTelemetry.getTracer(HttpExecutionClient.class.getName());
     }
@@ -83,92 +115,163 @@ public class HttpExecutionClient extends ExecutionClient<URI> {
             ExecutionResponseListener listener,
             QueryTimeoutConfig timeoutConfig)
             throws Exception {
-        List<CompletableFuture> responseFutures = Lists.newArrayList();
-        for (URI httpURI : channelFetcher.fetch()) {
-            Span outgoing =
-                    tracer.spanBuilder("/submit").setSpanKind(SpanKind.INTERNAL).startSpan();
-            try (Scope scope = outgoing.makeCurrent()) {
-                URI uri = resolvePath(httpURI, request);
-                outgoing.setAttribute(SemanticAttributes.HTTP_REQUEST_METHOD, "POST");
-                outgoing.setAttribute(SemanticAttributes.URL_FULL, uri.toString());
-
-                HttpRequest.Builder httpRequest =
-                        HttpRequest.newBuilder()
-                                .uri(uri)
-                                .headers(CONTENT_TYPE, TEXT_PLAIN)
-                                .POST(
-                                        HttpRequest.BodyPublishers.ofByteArray(
-                                                (byte[])
-                                                        request.getRequestPhysical().getContent()));
-                openTelemetry
-                        .getPropagators()
-                        .getTextMapPropagator()
-                        .inject(Context.current(), httpRequest, setter);
-
-                CompletableFuture<HttpResponse<byte[]>> responseFuture =
-                        httpClient
-                                .sendAsync(
-                                        httpRequest.build(),
-                                        HttpResponse.BodyHandlers.ofByteArray())
-                                .orTimeout(
-                                        timeoutConfig.getChannelTimeoutMS(), TimeUnit.MILLISECONDS)
-                                .whenComplete(
-                                        (response, exception) -> {
-                                            if (exception != null) {
-                                                listener.onError(exception);
-                                                outgoing.recordException(exception);
-                                            }
-                                            try {
-                                                // if response is not 200
-                                                if (response.statusCode() != 200) {
-                                                    // parse String from response.body()
-                                                    String errorMessage =
-                                                            new String(response.body());
-                                                    RuntimeException ex =
-                                                            new RuntimeException(
-                                                                    "Query execution failed:"
-                                                                        + " response status code is"
-                                                                        + " "
-                                                                            + response.statusCode()
-                                                                            + ", error message: "
-                                                                            + errorMessage);
-                                                    outgoing.recordException(ex);
-                                                    listener.onError(ex);
-                                                } else {
-                                                    outgoing.end();
-                                                }
-                                                IrResult.CollectiveResults results =
-                                                        IrResult.CollectiveResults.parseFrom(
-                                                                response.body());
-                                                for (IrResult.Results irResult :
-                                                        results.getResultsList()) {
-                                                    listener.onNext(irResult.getRecord());
-                                                }
-                                            } catch (InvalidProtocolBufferException e) {
-                                                listener.onError(e);
-                                            }
-                                        });
-                responseFutures.add(responseFuture);
+        List<URI> channels = channelFetcher.fetch();
+        long timeoutMs = timeoutConfig.getChannelTimeoutMS();
+        ReplicaSelector.Replica<URI> primary = selector.acquire(channels, timeoutMs);
+        if (primary == null) {
+            listener.onError(
+                    new RuntimeException(
+                            "Query execution failed: all replicas of " + channels + " are busy"));
+            return;
+        }
+        Span outgoing = tracer.spanBuilder("/submit").setSpanKind(SpanKind.INTERNAL).startSpan();
+        outgoing.setAttribute(SemanticAttributes.HTTP_REQUEST_METHOD, "POST");
+        outgoing.setAttribute(
+                SemanticAttributes.URL_FULL, resolvePath(primary.getChannel(), request).toString());
+        Attempts attempts =
+                new Attempts(
+                        request,
+                        // the body is shared by all attempts
+                        (byte[]) request.getRequestPhysical().getContent(),
+                        channels,
+                        timeoutMs,
+                        Context.current().with(outgoing));
+        attempts.result.whenComplete(
+                (response, exception) -> onResponse(response, exception, listener, outgoing));
+        attempts.send(primary);
+        // hedging is only for the read-only adhoc queries, procedures may have side effects
+        if (hedgeScheduler != null
+                && channels.size() > 1
+                && request.getRequestLogical().getRegularQuery() != null) {
+            hedgeScheduler.schedule(
+                    () -> {
+                        if (attempts.result.isDone()) {
+                            return;
+                        }
+                        // do not add load to the replicas which are already saturated
+                        ReplicaSelector.Replica<URI> hedge = selector.tryAcquire(channels, primary);
+                        if (hedge != null) {
+                            attempts.pending.incrementAndGet();
+                            attempts.send(hedge);
+                        }
+                    },
+                    hedgeDelayMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void onResponse(
+            HttpResponse<byte[]> response,
+            Throwable exception,
+            ExecutionResponseListener listener,
+            Span outgoing) {
+        try {
+            if (exception != null) {
+                outgoing.recordException(exception);
+                listener.onError(exception);
+                return;
             }
+            // if response is not 200
+            if (response.statusCode() != 200) {
+                // parse String from response.body()
+                String errorMessage = new String(response.body());
+                RuntimeException ex =
+                        new RuntimeException(
+                                "Query execution failed: response status code is "
+                                        + response.statusCode()
+                                        + ", error message: "
+                                        + errorMessage);
+                outgoing.recordException(ex);
+                listener.onError(ex);
+                return;
+            }
+            IrResult.CollectiveResults results =
+                    IrResult.CollectiveResults.parseFrom(response.body());
+            for (IrResult.Results irResult : results.getResultsList()) {
+                listener.onNext(irResult.getRecord());
+            }
+            listener.onCompleted();
+        } catch (InvalidProtocolBufferException e) {
+            listener.onError(e);
+        } finally {
+            outgoing.end();
+        }
+    }
+
+    /**
+     * attempts of one request, the first response wins
+     */
+    private class Attempts {
+        private final ExecutionRequest request;
+        private final byte[] body;
+        private final List<URI> channels;
+        private final long timeoutMs;
+        private final Context context;
+        private final CompletableFuture<HttpResponse<byte[]>> result;
+        // number of attempts in flight, the request fails if all of them fail
+        private final AtomicInteger pending;
+
+        private Attempts(
+                ExecutionRequest request,
+                byte[] body,
+                List<URI> channels,
+                long timeoutMs,
+                Context context) {
+            this.request = request;
+            this.body = body;
+            this.channels = channels;
+            this.timeoutMs = timeoutMs;
+            this.context = context;
+            this.result = new CompletableFuture<>();
+            this.pending = new AtomicInteger(1);
+        }
+
+        private void send(ReplicaSelector.Replica<URI> replica) {
+            HttpRequest.Builder httpRequest =
+                    HttpRequest.newBuilder()
+                            .uri(resolvePath(replica.getChannel(), request))
+                            .headers(CONTENT_TYPE, TEXT_PLAIN)
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+            openTelemetry
+                    .getPropagators()
+                    .getTextMapPropagator()
+                    .inject(context, httpRequest, setter);
+            httpClient
+                    .sendAsync(httpRequest.build(), HttpResponse.BodyHandlers.ofByteArray())
+                    .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                    .whenComplete(
+                            (response, exception) -> {
+                                selector.release(replica, exception == null);
+                                if (exception == null) {
+                                    result.complete(response);
+                                    return;
+                                }
+                                logger.warn(
+                                        "fail to send request to replica {}",
+                                        replica.getChannel(),
+                                        exception);
+                                // the request is not received by the replica, it is safe to send
+                                // it to another one
+                                if (isConnectFailure(exception) && !result.isDone()) {
+                                    ReplicaSelector.Replica<URI> other =
+                                            selector.tryAcquire(channels, replica);
+                                    if (other != null) {
+                                        send(other);
+                                        return;
+                                    }
+                                }
+                                if (pending.decrementAndGet() == 0) {
+                                    result.completeExceptionally(exception);
+                                }
+                            });
         }
-        CompletableFuture<Void> joinFuture =
-                CompletableFuture.runAsync(
-                        () -> {
-                            try {
-                                CompletableFuture.allOf(
-                                                responseFutures.toArray(new CompletableFuture[0]))
-                                        .get();
-                                listener.onCompleted();
-                            } catch (Exception e) {
-                                throw new RuntimeException(e);
-                            }
-                        });
-        joinFuture.whenComplete(
-                (aVoid, exception) -> {
-                    if (exception != null) {
-                        listener.onError(exception);
-                    }
-                });
+    }
+
+    private static boolean isConnectFailure(Throwable exception) {
+        while (exception instanceof CompletionException && exception.getCause() != null) {
+            exception = exception.getCause();
+        }
+        return exception instanceof ConnectException;
     }
 
     private URI resolvePath(URI original, ExecutionRequest request) {
@@ -183,5 +286,9 @@ public class HttpExecutionClient extends ExecutionClient<URI> {
     }
 
     @Override
-    public void close() throws Exception {}
+    public void close() throws Exception {
+        if (hedgeScheduler != null) {
+            hedgeScheduler.shutdownNow();
+        }
+    }
 }
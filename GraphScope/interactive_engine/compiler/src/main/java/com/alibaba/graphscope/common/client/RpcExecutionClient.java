@@ -22,6 +22,7 @@ import com.alibaba.graphscope.common.client.type.ExecutionResponseListener;
 import com.alibaba.graphscope.common.config.Configs;
 import com.alibaba.graphscope.common.config.PegasusConfig;
 import com.alibaba.graphscope.common.config.QueryTimeoutConfig;
+import com.alibaba.graphscope.common.ir.tools.PartitionPruner;
 import com.alibaba.graphscope.gaia.proto.IrResult;
 import com.alibaba.pegasus.RpcChannel;
 import com.alibaba.pegasus.RpcClient;
@@ -31,7 +32,9 @@ import com.google.protobuf.ByteString;
 
 import io.grpc.Status;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  * rpc client to send request to pegasus engine service
@@ -39,11 +42,13 @@ import java.util.concurrent.atomic.AtomicReference;
 public class RpcExecutionClient extends ExecutionClient<RpcChannel> {
     private final Configs graphConfig;
     private final AtomicReference<RpcClient> rpcClientRef;
+    private final PartitionPruner partitionPruner;
 
     public RpcExecutionClient(Configs graphConfig, ChannelFetcher<RpcChannel> channelFetcher) {
         super(channelFetcher);
         this.graphConfig = graphConfig;
         this.rpcClientRef = new AtomicReference<>();
+        this.partitionPruner = new PartitionPruner(graphConfig);
     }
 
     @Override
@@ -62,7 +67,7 @@ public class RpcExecutionClient extends ExecutionClient<RpcChannel> {
                                 ByteString.copyFrom(
                                         (byte[]) request.getRequestPhysical().getContent()))
                         .build();
-        PegasusClient.JobConfig jobConfig =
+        PegasusClient.JobConfig.Builder jobConfigBuilder =
                 PegasusClient.JobConfig.newBuilder()
                         .setJobId(request.getRequestId().longValue())
                         .setJobName(request.getRequestName())
@@ -70,13 +75,21 @@ public class RpcExecutionClient extends ExecutionClient<RpcChannel> {
                         .setBatchSize(PegasusConfig.PEGASUS_BATCH_SIZE.get(graphConfig))
                         .setMemoryLimit(PegasusConfig.PEGASUS_MEMORY_LIMIT.get(graphConfig))
                         .setBatchCapacity(PegasusConfig.PEGASUS_OUTPUT_CAPACITY.get(graphConfig))
-                        .setTimeLimit(timeoutConfig.getEngineTimeoutMS())
-                        .setAll(
-                                com.alibaba.pegasus.service.protocol.PegasusClient.Empty
-                                        .newBuilder()
-                                        .build())
-                        .build();
-        jobRequest = jobRequest.toBuilder().setConf(jobConfig).build();
+                        .setTimeLimit(timeoutConfig.getEngineTimeoutMS());
+        // point queries are only submitted to the servers owning the source vertices
+        List<Integer> serverIds =
+                partitionPruner.getServerIds(request.getRequestLogical(), rpcClient.getServerNum());
+        if (serverIds.isEmpty()) {
+            jobConfigBuilder.setAll(PegasusClient.Empty.newBuilder().build());
+        } else {
+            jobConfigBuilder.setPart(
+                    PegasusClient.ServerList.newBuilder()
+                            .addAllServers(
+                                    serverIds.stream()
+                                            .map(Integer::longValue)
+                                            .collect(Collectors.toList())));
+        }
+        jobRequest = jobRequest.toBuilder().setConf(jobConfigBuilder.build()).build();
         rpcClient.submit(
                 jobRequest,
                 new ResultProcessor() {
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.client.channel;
+
+import com.google.common.collect.Lists;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * choose one replica among the channels fetched by {@link ChannelFetcher} for each request, the
+ * in-flight requests to each replica are bounded, and a replica is ejected for a while after
+ * consecutive failures
+ * @param <C>
+ */
+public class ReplicaSelector<C> {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaSelector.class);
+
+    public enum Policy {
+        ROUND_ROBIN,
+        LEAST_OUTSTANDING;
+
+        public static Policy of(String name) {
+            return Policy.valueOf(name.trim().toUpperCase());
+        }
+    }
+
+    private final Policy policy;
+    private final int maxConcurrency;
+    private final int ejectionFailures;
+    private final long ejectionMs;
+    private final Map<C, Replica<C>> replicas;
+    private final AtomicInteger next;
+
+    public ReplicaSelector(
+            Policy policy, int maxConcurrency, int ejectionFailures, long ejectionMs) {
+        this.policy = policy;
+        this.maxConcurrency = maxConcurrency;
+        this.ejectionFailures = ejectionFailures;
+        this.ejectionMs = ejectionMs;
+        this.replicas = new ConcurrentHashMap<>();
+        this.next = new AtomicInteger(0);
+    }
+
+    /**
+     * choose a replica with free capacity, the healthy replicas are preferred
+     * @param channels all channels of the service
+     * @param exclude the replica which should not be chosen, i.e. the one already tried
+     * @return null if all replicas are busy
+     */
+    public @Nullable Replica<C> tryAcquire(List<C> channels, @Nullable Replica<C> exclude) {
+        for (Replica<C> replica : candidates(channels, exclude)) {
+            if (replica.permits.tryAcquire()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * choose a replica, wait for the preferred one if all replicas are busy
+     * @return null if no replica is available in the timeout
+     */
+    public @Nullable Replica<C> acquire(List<C> channels, long timeoutMs)
+            throws InterruptedException {
+        Replica<C> replica = tryAcquire(channels, null);
+        if (replica != null) {
+            return replica;
+        }
+        List<Replica<C>> candidates = candidates(channels, null);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        replica = candidates.get(0);
+        return replica.permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS) ? replica : null;
+    }
+
+    /**
+     * @param success false if the replica can not be connected or does not respond in time
+     */
+    public void release(Replica<C> replica, boolean success) {
+        replica.permits.release();
+        if (success) {
+            replica.failures.set(0);
+        } else if (replica.failures.incrementAndGet() >= ejectionFailures) {
+            replica.failures.set(0);
+            replica.ejectedUntil = System.currentTimeMillis() + ejectionMs;
+            logger.warn(
+                    "replica {} is ejected for {} ms after {} consecutive failures",
+                    replica.channel,
+                    ejectionMs,
+                    ejectionFailures);
+        }
+    }
+
+    private List<Replica<C>> candidates(List<C> channels, @Nullable Replica<C> exclude) {
+        long now = System.currentTimeMillis();
+        List<Replica<C>> healthy = Lists.newArrayListWithCapacity(channels.size());
+        List<Replica<C>> ejected = Lists.newArrayList();
+        int start = channels.isEmpty() ? 0 : Math.floorMod(next.getAndIncrement(), channels.size());
+        for (int i = 0; i < channels.size(); ++i) {
+            C channel = channels.get((start + i) % channels.size());
+            Replica<C> replica =
+                    replicas.computeIfAbsent(channel, k -> new Replica<>(k, maxConcurrency));
+            if (replica == exclude) {
+                continue;
+            }
+            (replica.ejectedUntil <= now ? healthy : ejected).add(replica);
+        }
+        // all replicas are ejected, try them anyway
+        List<Replica<C>> candidates = healthy.isEmpty() ? ejected : healthy;
+        if (policy == Policy.LEAST_OUTSTANDING) {
+            // stable sort, ties are broken by the round-robin order
+            candidates.sort(Comparator.comparingInt(Replica::getOutstanding));
+        }
+        return candidates;
+    }
+
+    public static class Replica<C> {
+        private final C channel;
+        private final int maxConcurrency;
+        private final Semaphore permits;
+        private final AtomicInteger failures;
+        private volatile long ejectedUntil;
+
+        private Replica(C channel, int maxConcurrency) {
+            this.channel = channel;
+            this.maxConcurrency = maxConcurrency;
+            this.permits = new Semaphore(maxConcurrency);
+            this.failures = new AtomicInteger(0);
+        }
+
+        public C getChannel() {
+            return channel;
+        }
+
+        public int getOutstanding() {
+            return maxConcurrency - permits.availablePermits();
+        }
+
+        public boolean isEjected() {
+            return ejectedUntil > System.currentTimeMillis();
+        }
+    }
+}
@@ -54,6 +54,10 @@ public class Config<T> {
         return new Config<>(key, String.valueOf(defaultVal), (s) -> Long.parseLong(s));
     }
 
+    public static Config<Double> doubleConfig(String key, double defaultVal) {
+        return new Config<>(key, String.valueOf(defaultVal), (s) -> Double.parseDouble(s));
+    }
+
     public static Config<String> stringConfig(String key, String defaultVal) {
         return new Config<>(key, defaultVal, Function.identity());
     }
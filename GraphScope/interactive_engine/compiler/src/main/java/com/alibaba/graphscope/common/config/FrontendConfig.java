@@ -46,9 +46,59 @@ public class FrontendConfig {
     public static final Config<Integer> QUERY_CACHE_SIZE =
             Config.intConfig("query.cache.size", 100);
 
+    // cache the complete results of read queries, disabled by default
+    public static final Config<Boolean> QUERY_CACHE_RESULT_ENABLED =
+            Config.boolConfig("query.cache.result.enabled", false);
+
+    // results with more records than the limit will not be cached
+    public static final Config<Integer> QUERY_CACHE_RESULT_MAX_RECORDS =
+            Config.intConfig("query.cache.result.max.records", 10000);
+
+    // max number of records kept by all cached results
+    public static final Config<Long> QUERY_CACHE_RESULT_TOTAL_RECORDS =
+            Config.longConfig("query.cache.result.total.records", 1000000L);
+
+    public static final Config<Long> QUERY_CACHE_RESULT_TTL_MS =
+            Config.longConfig("query.cache.result.ttl.ms", 60000L);
+
+    // a cached result is invalid if the snapshot of the store moves more than the bound
+    public static final Config<Long> QUERY_CACHE_RESULT_MAX_SNAPSHOT_LAG =
+            Config.longConfig("query.cache.result.max.snapshot.lag", 0L);
+
     public static final Config<Integer> QUERY_PER_SECOND_LIMIT =
             Config.intConfig("frontend.query.per.second.limit", 2147483647);
 
+    // upper bound of the adaptive limit of queries running concurrently
+    public static final Config<Integer> ADMISSION_MAX_CONCURRENCY =
+            Config.intConfig("frontend.admission.max.concurrency", 256);
+
+    // lower bound of the adaptive limit of queries running concurrently
+    public static final Config<Integer> ADMISSION_MIN_CONCURRENCY =
+            Config.intConfig("frontend.admission.min.concurrency", 8);
+
+    // max number of queries running concurrently for each authenticated user
+    public static final Config<Integer> ADMISSION_USER_MAX_CONCURRENCY =
+            Config.intConfig("frontend.admission.user.max.concurrency", 2147483647);
+
+    // max number of queries waiting for admission in each priority class
+    public static final Config<Integer> ADMISSION_QUEUE_SIZE =
+            Config.intConfig("frontend.admission.queue.size", 1024);
+
+    public static final Config<Long> ADMISSION_QUEUE_TIMEOUT_MS =
+            Config.longConfig("frontend.admission.queue.timeout.ms", 1000L);
+
+    // queries whose average latency is under the threshold are admitted with high priority
+    public static final Config<Long> ADMISSION_SHORT_QUERY_THRESHOLD_MS =
+            Config.longConfig("frontend.admission.short.query.threshold.ms", 100L);
+
+    // the concurrency limit decreases if a query is slower than its average latency by the ratio
+    public static final Config<Double> ADMISSION_LATENCY_TOLERANCE =
+            Config.doubleConfig("frontend.admission.latency.tolerance", 2.0d);
+
+    // run each query on its own virtual thread instead of the fixed gremlin pool, requires JDK 21
+    public static final Config<Boolean> VIRTUAL_THREAD_ENABLED =
+            Config.boolConfig("frontend.virtual.thread.enabled", false);
+
     public static final Config<Boolean> GRAPH_TYPE_INFERENCE_ENABLED =
             Config.boolConfig("graph.type.inference.enabled", true);
 
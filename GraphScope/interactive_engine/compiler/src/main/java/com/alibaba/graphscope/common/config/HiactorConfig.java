@@ -22,4 +22,28 @@ public class HiactorConfig {
 
     public static final Config<Long> HIACTOR_TIMEOUT =
             Config.longConfig("hiactor.timeout", 6000000L);
+
+    // how to choose one replica among 'hiactor.hosts' for each query, 'round_robin' or
+    // 'least_outstanding'
+    public static final Config<String> HIACTOR_LOAD_BALANCE =
+            Config.stringConfig("hiactor.load.balance", "least_outstanding");
+
+    // max in-flight requests to each replica, which also bounds the pooled connections per replica
+    public static final Config<Integer> HIACTOR_MAX_CONCURRENCY_PER_HOST =
+            Config.intConfig("hiactor.max.concurrency.per.host", 64);
+
+    // a replica is ejected after the number of consecutive connection failures
+    public static final Config<Integer> HIACTOR_EJECTION_FAILURES =
+            Config.intConfig("hiactor.ejection.failures", 3);
+
+    public static final Config<Long> HIACTOR_EJECTION_MS =
+            Config.longConfig("hiactor.ejection.ms", 10000L);
+
+    // send the query to another replica if no response is received after the delay, 0 to disable
+    public static final Config<Long> HIACTOR_HEDGE_DELAY_MS =
+            Config.longConfig("hiactor.hedge.delay.ms", 0L);
+
+    // 'HTTP_1_1' or 'HTTP_2'
+    public static final Config<String> HIACTOR_HTTP_VERSION =
+            Config.stringConfig("hiactor.http.version", "HTTP_1_1");
 }
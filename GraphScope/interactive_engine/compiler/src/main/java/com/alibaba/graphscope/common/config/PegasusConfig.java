@@ -34,4 +34,9 @@ public class PegasusConfig {
 
     public static final Config<Long> PEGASUS_GRPC_TIMEOUT =
             Config.longConfig("pegasus.grpc.timeout", 6000000L);
+
+    // number of graph partitions hashed by vertex id across the pegasus servers, queries starting
+    // from given vertex ids are only submitted to the servers owning them if it is set
+    public static final Config<Integer> PEGASUS_PARTITION_NUM =
+            Config.intConfig("pegasus.partition.num", 0);
 }
@@ -12,6 +12,9 @@ public class PlannerConfig {
             Config.stringConfig("graph.planner.rules", "");
     public static final Config<Integer> GRAPH_PLANNER_CBO_GLOGUE_SIZE =
             Config.intConfig("graph.planner.cbo.glogue.size", 3);
+    // directory to persist glogue, empty to build glogue from scratch each time
+    public static final Config<String> GRAPH_PLANNER_CBO_GLOGUE_STORE_DIR =
+            Config.stringConfig("graph.planner.cbo.glogue.store.dir", "");
     public static final Config<Integer> JOIN_MIN_PATTERN_SIZE =
             Config.intConfig("graph.planner.join.min.pattern.size", 5);
     public static final Config<Integer> JOIN_COST_FACTOR_1 =
@@ -48,6 +51,10 @@ public class PlannerConfig {
         return GRAPH_PLANNER_CBO_GLOGUE_SIZE.get(configs);
     }
 
+    public String getGlogueStoreDir() {
+        return GRAPH_PLANNER_CBO_GLOGUE_STORE_DIR.get(configs);
+    }
+
     public int getJoinMinPatternSize() {
         return JOIN_MIN_PATTERN_SIZE.get(configs);
     }
@@ -16,32 +16,172 @@
 
 package com.alibaba.graphscope.common.ir.meta.procedure;
 
+import com.alibaba.graphscope.common.config.Configs;
 import com.alibaba.graphscope.common.ir.meta.reader.MetaDataReader;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Map;
 
+/**
+ * Stored procedures indexed by name and content hash. The yaml of each procedure is only parsed on
+ * its first use, and {@link #refresh(MetaDataReader)} keeps the procedures whose content is not
+ * changed, so that they are neither indexed nor parsed again. The syntax of the added or changed
+ * procedures is checked on refresh, the other errors, e.g. unknown types, are reported on the first
+ * use.
+ */
 public class GraphStoredProcedures implements StoredProcedures {
     private static Logger logger = LoggerFactory.getLogger(GraphStoredProcedures.class);
-    private final Map<String, StoredProcedureMeta> storedProcedureMetaMap;
+    // replaced as a whole on refresh, reads are lock-free
+    private volatile Map<String, LazyProcedure> storedProcedureMetaMap;
 
     public GraphStoredProcedures(MetaDataReader reader) throws Exception {
-        this.storedProcedureMetaMap = Maps.newLinkedHashMap();
-        for (InputStream inputStream : reader.getStoredProcedures()) {
-            StoredProcedureMeta createdMeta = StoredProcedureMeta.Deserializer.perform(inputStream);
-            this.storedProcedureMetaMap.put(createdMeta.getName(), createdMeta);
-            logger.debug("Got stored procedure: {} from reader", createdMeta.getName());
-            inputStream.close();
-        }
+        this.storedProcedureMetaMap = ImmutableMap.of();
+        refresh(reader);
     }
 
     @Override
     public @Nullable StoredProcedureMeta getStoredProcedure(String procedureName) {
-        return this.storedProcedureMetaMap.get(procedureName);
+        LazyProcedure procedure = this.storedProcedureMetaMap.get(procedureName);
+        return (procedure == null) ? null : procedure.getMeta();
+    }
+
+    /**
+     * Reload stored procedures from the reader, only the added or changed procedures are indexed
+     * again. Fails without changing the procedures if any of them is not valid yaml.
+     */
+    public synchronized void refresh(MetaDataReader reader) throws Exception {
+        Map<HashCode, LazyProcedure> previous = Maps.newHashMap();
+        for (LazyProcedure procedure : this.storedProcedureMetaMap.values()) {
+            previous.put(procedure.hash, procedure);
+        }
+        Map<String, LazyProcedure> procedures = Maps.newLinkedHashMap();
+        int changed = 0;
+        for (InputStream inputStream : reader.getStoredProcedures()) {
+            byte[] content;
+            try (InputStream in = inputStream) {
+                content = ByteStreams.toByteArray(in);
+            }
+            HashCode hash = Hashing.sha256().hashBytes(content);
+            LazyProcedure procedure = previous.get(hash);
+            if (procedure == null) {
+                procedure = new LazyProcedure(scanName(content), hash, content);
+                ++changed;
+                logger.debug("Got stored procedure: {} from reader", procedure.name);
+            }
+            procedures.put(procedure.name, procedure);
+        }
+        this.storedProcedureMetaMap = Collections.unmodifiableMap(procedures);
+        logger.info(
+                "Refreshed stored procedures, total: {}, added or changed: {}",
+                procedures.size(),
+                changed);
+    }
+
+    /**
+     * Read the top-level 'name' of the procedure by yaml events, without constructing the whole
+     * document. All events are scanned, so that the syntax errors are found here rather than on
+     * the first use.
+     */
+    private static String scanName(byte[] content) {
+        Iterable<Event> events =
+                new Yaml()
+                        .parse(
+                                new InputStreamReader(
+                                        new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+        String nameKey = StoredProcedureMeta.Config.NAME.getKey();
+        String name = null;
+        int depth = 0;
+        boolean expectKey = true;
+        boolean isName = false;
+        try {
+            for (Event event : events) {
+                if (event instanceof CollectionStartEvent) {
+                    if (depth == 0 && !(event instanceof MappingStartEvent)) {
+                        throw new IllegalArgumentException(
+                                "stored procedure should be a yaml mapping, but is " + event);
+                    }
+                    ++depth;
+                } else if (event instanceof CollectionEndEvent) {
+                    --depth;
+                    if (depth == 1) {
+                        // a nested value of the top-level mapping is finished
+                        expectKey = true;
+                    }
+                } else if (depth == 1
+                        && (event instanceof ScalarEvent || event instanceof AliasEvent)) {
+                    if (expectKey) {
+                        isName =
+                                event instanceof ScalarEvent
+                                        && nameKey.equals(((ScalarEvent) event).getValue());
+                    } else if (isName && name == null && event instanceof ScalarEvent) {
+                        name = ((ScalarEvent) event).getValue();
+                    }
+                    expectKey = !expectKey;
+                }
+            }
+        } catch (YAMLException e) {
+            throw new IllegalArgumentException("invalid stored procedure yaml", e);
+        }
+        return (name != null)
+                ? name
+                : StoredProcedureMeta.Config.NAME.get(new Configs(ImmutableMap.of()));
+    }
+
+    private static class LazyProcedure {
+        private final String name;
+        private final HashCode hash;
+        // released once the meta is parsed
+        private byte[] content;
+        private volatile StoredProcedureMeta meta;
+
+        private LazyProcedure(String name, HashCode hash, byte[] content) {
+            this.name = name;
+            this.hash = hash;
+            this.content = content;
+        }
+
+        private StoredProcedureMeta getMeta() {
+            StoredProcedureMeta result = this.meta;
+            if (result == null) {
+                synchronized (this) {
+                    result = this.meta;
+                    if (result == null) {
+                        try {
+                            result =
+                                    StoredProcedureMeta.Deserializer.perform(
+                                            new ByteArrayInputStream(this.content));
+                        } catch (IOException | RuntimeException e) {
+                            throw new IllegalArgumentException(
+                                    "invalid stored procedure: " + this.name, e);
+                        }
+                        this.meta = result;
+                        this.content = null;
+                    }
+                }
+            }
+            return result;
+        }
     }
 }
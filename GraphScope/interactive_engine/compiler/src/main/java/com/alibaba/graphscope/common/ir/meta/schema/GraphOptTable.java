@@ -54,12 +54,14 @@ public class GraphOptTable implements RelOptTable {
     private RelOptSchema schema;
     private RelDataType dataType;
     private final List<ImmutableBitSet> uniqueKeys;
+    private final GraphElement element;
 
     protected GraphOptTable(RelOptSchema schema, List<String> tableName, GraphElement element) {
         this.schema = schema;
         this.tableName = tableName;
         this.dataType = deriveType(element);
         this.uniqueKeys = getUniqueKeys(element, dataType, schema);
+        this.element = element;
     }
 
     private RelDataType deriveType(GraphElement element) {
@@ -179,6 +181,10 @@ public class GraphOptTable implements RelOptTable {
         return this.schema;
     }
 
+    public GraphElement getGraphElement() {
+        return element;
+    }
+
     @Override
     public <C> @Nullable C unwrap(Class<C> clazz) {
         if (clazz.isInstance(this)) {
@@ -29,6 +29,7 @@ import com.alibaba.graphscope.common.ir.rel.graph.match.GraphLogicalMultiMatch;
 import com.alibaba.graphscope.common.ir.rel.graph.match.GraphLogicalSingleMatch;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.Glogue;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.GlogueQuery;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.GlogueStore;
 import com.alibaba.graphscope.common.ir.rel.metadata.schema.GlogueSchema;
 import com.alibaba.graphscope.common.ir.tools.GraphBuilderFactory;
 import com.alibaba.graphscope.common.ir.tools.config.GraphOpt;
@@ -55,6 +56,7 @@ import org.apache.calcite.rel.rules.FilterJoinRule;
 import org.apache.calcite.tools.RelBuilderFactory;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -91,7 +93,12 @@ public class GraphRelOptimizer {
     public @Nullable RelMetadataQuery createMetaDataQuery(IrMeta irMeta) {
         if (config.isOn() && config.getOpt() == PlannerConfig.Opt.CBO) {
             GlogueSchema g = GlogueSchema.fromMeta(irMeta);
-            Glogue gl = new Glogue(g, config.getGlogueSize());
+            String storeDir = config.getGlogueStoreDir();
+            Glogue gl =
+                    storeDir.isEmpty()
+                            ? new Glogue(g, config.getGlogueSize())
+                            : new GlogueStore(Paths.get(storeDir))
+                                    .loadOrCreate(g, config.getGlogueSize());
             GlogueQuery gq = new GlogueQuery(gl);
             return new GraphRelMetadataQuery(
                     new GraphMetadataHandlerProvider(this.matchPlanner, gq, this.config));
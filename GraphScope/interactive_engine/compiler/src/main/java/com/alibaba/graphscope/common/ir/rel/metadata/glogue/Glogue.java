@@ -17,8 +17,11 @@
 package com.alibaba.graphscope.common.ir.rel.metadata.glogue;
 
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.Pattern;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternCode;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternEdge;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternVertex;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.SinglePatternVertex;
+import com.alibaba.graphscope.common.ir.rel.metadata.schema.EdgeTypeId;
 import com.alibaba.graphscope.common.ir.rel.metadata.schema.GlogueSchema;
 
 import org.jgrapht.Graph;
@@ -27,6 +30,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public class Glogue {
     // the topology of GLogue graph
@@ -38,6 +42,11 @@ public class Glogue {
     // maxPatternId records the max pattern id in Glogue
     private int maxPatternId;
     private int maxPatternSize;
+    // the vertex and edge types of the schema which Glogue is built on
+    private Set<Integer> vertexTypes;
+    private Set<EdgeTypeId> edgeTypes;
+    // patterns in Glogue keyed by their canonical codes
+    private final Map<PatternCode, Pattern> patternIndex = new HashMap<>();
 
     private static Logger logger = LoggerFactory.getLogger(Glogue.class);
 
@@ -48,9 +57,38 @@ public class Glogue {
         create(schema, maxPatternSize);
     }
 
+    /**
+     * Construct Glogue from the one built on a previous version of the schema, patterns with
+     * removed types are dropped, and only the patterns touching the added vertex or edge types are
+     * enumerated, together with the patterns larger than the previous max pattern size.
+     * The cardinalities are recomputed from the statistics in the given schema.
+     * Notice that the patterns of the previous Glogue are reused, so it should not be used anymore.
+     * @param previous
+     * @param schema
+     * @param maxPatternSize
+     */
+    public Glogue(Glogue previous, GlogueSchema schema, int maxPatternSize) {
+        glogueGraph = new DirectedPseudograph<Pattern, GlogueEdge>(GlogueEdge.class);
+        roots = new ArrayList<>();
+        maxPatternId = 0;
+        extend(previous, schema, maxPatternSize);
+    }
+
+    // Construct an empty Glogue, the patterns and edges are added by GlogueStore
+    Glogue(Set<Integer> vertexTypes, Set<EdgeTypeId> edgeTypes, int maxPatternSize) {
+        glogueGraph = new DirectedPseudograph<Pattern, GlogueEdge>(GlogueEdge.class);
+        roots = new ArrayList<>();
+        maxPatternId = 0;
+        this.vertexTypes = vertexTypes;
+        this.edgeTypes = edgeTypes;
+        this.maxPatternSize = maxPatternSize;
+    }
+
     // Construct Glogue from a glogue schema with given max pattern size
     private Glogue create(GlogueSchema schema, int maxPatternSize) {
         this.maxPatternSize = maxPatternSize;
+        this.vertexTypes = new HashSet<>(schema.getVertexTypes());
+        this.edgeTypes = new HashSet<>(schema.getEdgeTypes());
         Deque<Pattern> patternQueue = new ArrayDeque<>();
         for (Integer vertexTypeId : schema.getVertexTypes()) {
             PatternVertex vertex = new SinglePatternVertex(vertexTypeId);
@@ -59,40 +97,133 @@ public class Glogue {
             this.addRoot(new_pattern);
             patternQueue.add(new_pattern);
         }
+        enumerate(schema, patternQueue, pattern -> true, step -> true);
+        // compute pattern cardinality
+        this.glogueCardinalityEstimation = new GlogueBasicCardinalityEstimationImpl(this, schema);
+        logger.debug("GlogueGraph\n" + this.toString());
+
+        return this;
+    }
+
+    private Glogue extend(Glogue previous, GlogueSchema schema, int maxPatternSize) {
+        this.maxPatternSize = maxPatternSize;
+        this.vertexTypes = new HashSet<>(schema.getVertexTypes());
+        this.edgeTypes = new HashSet<>(schema.getEdgeTypes());
+        // keep the previous patterns consisting of the remaining types
+        Set<Pattern> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Pattern pattern : previous.glogueGraph.vertexSet()) {
+            if (pattern.getVertexNumber() <= maxPatternSize && isCoveredBy(pattern, this)) {
+                this.addPattern(pattern);
+                kept.add(pattern);
+            }
+        }
+        for (Pattern root : previous.roots) {
+            if (kept.contains(root)) {
+                this.addRoot(root);
+            }
+        }
+        for (GlogueEdge edge : previous.glogueGraph.edgeSet()) {
+            if (kept.contains(edge.getSrcPattern()) && kept.contains(edge.getDstPattern())) {
+                this.glogueGraph.addEdge(edge.getSrcPattern(), edge.getDstPattern(), edge);
+            }
+        }
+        Deque<Pattern> patternQueue = new ArrayDeque<>(kept);
+        int addedTypes = 0;
+        for (Integer vertexTypeId : schema.getVertexTypes()) {
+            if (!previous.vertexTypes.contains(vertexTypeId)) {
+                Pattern new_pattern = new Pattern(new SinglePatternVertex(vertexTypeId));
+                this.addPattern(new_pattern);
+                this.addRoot(new_pattern);
+                patternQueue.add(new_pattern);
+                ++addedTypes;
+            }
+        }
+        // the extend steps of previous patterns with previous types have been enumerated, unless
+        // the pattern reaches the previous max pattern size.
+        enumerate(
+                schema,
+                patternQueue,
+                pattern ->
+                        !kept.contains(pattern)
+                                || pattern.getVertexNumber() >= previous.maxPatternSize,
+                step ->
+                        !previous.vertexTypes.contains(step.getTargetVertexType())
+                                || step.getExtendEdges().stream()
+                                        .anyMatch(
+                                                k ->
+                                                        !previous.edgeTypes.contains(
+                                                                k.getEdgeTypeId())));
+        logger.info(
+                "extend glogue from {} patterns to {} patterns, {} new vertex types, {} new"
+                        + " patterns",
+                previous.glogueGraph.vertexSet().size(),
+                this.glogueGraph.vertexSet().size(),
+                addedTypes,
+                this.glogueGraph.vertexSet().size() - kept.size() - addedTypes);
+        // compute pattern cardinality
+        this.glogueCardinalityEstimation = new GlogueBasicCardinalityEstimationImpl(this, schema);
+        return this;
+    }
+
+    /**
+     * Extend patterns in the queue until the max pattern size is reached.
+     * @param schema
+     * @param patternQueue patterns to extend
+     * @param isNewPattern whether all extend steps of the pattern should be considered
+     * @param isNewStep otherwise, whether the extend step should be considered
+     */
+    private void enumerate(
+            GlogueSchema schema,
+            Deque<Pattern> patternQueue,
+            Predicate<Pattern> isNewPattern,
+            Predicate<ExtendStep> isNewStep) {
         while (patternQueue.size() > 0) {
             Pattern pattern = patternQueue.pop();
             if (pattern.getVertexNumber() >= maxPatternSize) {
                 continue;
             }
+            boolean newPattern = isNewPattern.test(pattern);
             List<ExtendStep> extendSteps = pattern.getExtendSteps(schema);
             for (ExtendStep extendStep : extendSteps) {
+                if (!newPattern && !isNewStep.test(extendStep)) {
+                    continue;
+                }
                 logger.debug(extendStep.toString());
-                Pattern newPattern = pattern.extend(extendStep);
-                Optional<Pattern> existingPattern = this.getGlogueVertex(newPattern);
+                Pattern extendedPattern = pattern.extend(extendStep);
+                Optional<Pattern> existingPattern = this.getGlogueVertex(extendedPattern);
                 if (!existingPattern.isPresent()) {
-                    this.addPattern(newPattern);
+                    this.addPattern(extendedPattern);
                     Map<Integer, Integer> srcToDstPatternMapping =
-                            this.computePatternMapping(pattern, newPattern, extendStep);
-                    this.addEdge(pattern, newPattern, extendStep, srcToDstPatternMapping);
-                    patternQueue.add(newPattern);
+                            this.computePatternMapping(pattern, extendedPattern, extendStep);
+                    this.addEdge(pattern, extendedPattern, extendStep, srcToDstPatternMapping);
+                    patternQueue.add(extendedPattern);
                 } else {
                     if (!this.containsEdge(pattern, existingPattern.get())) {
                         // notice that the mapping should be computed based on pattern to
                         // newPattern,
                         // rather than pattern to existingPattern
                         Map<Integer, Integer> srcToDstPatternMapping =
-                                this.computePatternMapping(pattern, newPattern, extendStep);
+                                this.computePatternMapping(pattern, extendedPattern, extendStep);
                         this.addEdge(
                                 pattern, existingPattern.get(), extendStep, srcToDstPatternMapping);
                     }
                 }
             }
         }
-        // compute pattern cardinality
-        this.glogueCardinalityEstimation = new GlogueBasicCardinalityEstimationImpl(this, schema);
-        logger.debug("GlogueGraph\n" + this.toString());
+    }
 
-        return this;
+    private static boolean isCoveredBy(Pattern pattern, Glogue glogue) {
+        for (PatternVertex vertex : pattern.getVertexSet()) {
+            if (!glogue.vertexTypes.containsAll(vertex.getVertexTypeIds())) {
+                return false;
+            }
+        }
+        for (PatternEdge edge : pattern.getEdgeSet()) {
+            if (!glogue.edgeTypes.containsAll(edge.getEdgeTypeIds())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public Set<GlogueEdge> getOutEdges(Pattern pattern) {
@@ -131,7 +262,31 @@ public class Glogue {
         return glogueGraph.incomingEdgesOf(pattern);
     }
 
-    private void addRoot(Pattern pattern) {
+    public Set<Integer> getVertexTypes() {
+        return Collections.unmodifiableSet(vertexTypes);
+    }
+
+    public Set<EdgeTypeId> getEdgeTypes() {
+        return Collections.unmodifiableSet(edgeTypes);
+    }
+
+    Set<Pattern> getPatterns() {
+        return glogueGraph.vertexSet();
+    }
+
+    Set<GlogueEdge> getEdges() {
+        return glogueGraph.edgeSet();
+    }
+
+    GlogueCardinalityEstimation getCardinalityEstimation() {
+        return glogueCardinalityEstimation;
+    }
+
+    void setCardinalityEstimation(GlogueCardinalityEstimation glogueCardinalityEstimation) {
+        this.glogueCardinalityEstimation = glogueCardinalityEstimation;
+    }
+
+    void addRoot(Pattern pattern) {
         this.roots.add(pattern);
     }
 
@@ -140,12 +295,7 @@ public class Glogue {
     }
 
     private Optional<Pattern> getGlogueVertex(Pattern pattern) {
-        for (Pattern p : this.glogueGraph.vertexSet()) {
-            if (p.equals(pattern)) {
-                return Optional.of(p);
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable(this.patternIndex.get(pattern.getCanonicalCode()));
     }
 
     private boolean containsEdge(Pattern srcPattern, Pattern dstPattern) {
@@ -154,10 +304,18 @@ public class Glogue {
 
     private boolean addPattern(Pattern pattern) {
         pattern.setPatternId(this.maxPatternId++);
+        this.patternIndex.put(pattern.getCanonicalCode(), pattern);
+        return this.glogueGraph.addVertex(pattern);
+    }
+
+    // add a pattern with the id assigned previously
+    boolean addPatternWithId(Pattern pattern) {
+        this.maxPatternId = Math.max(this.maxPatternId, pattern.getPatternId() + 1);
+        this.patternIndex.put(pattern.getCanonicalCode(), pattern);
         return this.glogueGraph.addVertex(pattern);
     }
 
-    private boolean addEdge(
+    boolean addEdge(
             Pattern srcPattern,
             Pattern dstPattern,
             ExtendStep edge,
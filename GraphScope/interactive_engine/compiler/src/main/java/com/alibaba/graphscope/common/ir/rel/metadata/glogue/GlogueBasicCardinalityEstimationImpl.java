@@ -17,6 +17,7 @@
 package com.alibaba.graphscope.common.ir.rel.metadata.glogue;
 
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.Pattern;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternCode;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternDirection;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternVertex;
 import com.alibaba.graphscope.common.ir.rel.metadata.schema.GlogueSchema;
@@ -26,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -34,14 +36,28 @@ import java.util.Map;
 
 public class GlogueBasicCardinalityEstimationImpl implements GlogueCardinalityEstimation {
     private Map<Pattern, Double> patternCardinality;
+    // the cardinality keyed by the canonical code of the pattern, for lookups of query patterns
+    private Map<PatternCode, Double> codeCardinality;
     private static Logger logger =
             LoggerFactory.getLogger(GlogueBasicCardinalityEstimationImpl.class);
 
     public GlogueBasicCardinalityEstimationImpl(Glogue glogue, GlogueSchema schema) {
         this.patternCardinality = new HashMap<Pattern, Double>();
+        this.codeCardinality = new HashMap<PatternCode, Double>();
         create(glogue, schema);
     }
 
+    // restore the cardinality estimation computed previously
+    GlogueBasicCardinalityEstimationImpl(Map<Pattern, Double> patternCardinality) {
+        this.patternCardinality = patternCardinality;
+        this.codeCardinality = new HashMap<PatternCode, Double>();
+        patternCardinality.forEach((k, v) -> this.codeCardinality.put(k.getCanonicalCode(), v));
+    }
+
+    Map<Pattern, Double> getPatternCardinality() {
+        return Collections.unmodifiableMap(patternCardinality);
+    }
+
     private GlogueBasicCardinalityEstimationImpl create(Glogue glogue, GlogueSchema schema) {
         Deque<Pattern> patternQueue = new ArrayDeque<>();
         List<Pattern> roots = glogue.getRoots();
@@ -56,7 +72,7 @@ public class GlogueBasicCardinalityEstimationImpl implements GlogueCardinalityEs
             }
             Integer vertexTypeId = singleVertexPattern.getVertexTypeIds().get(0);
             Double singleVertexPatternCount = schema.getVertexTypeCardinality(vertexTypeId);
-            this.patternCardinality.put(pattern, singleVertexPatternCount);
+            this.putCardinality(pattern, singleVertexPatternCount);
             patternQueue.add(pattern);
         }
 
@@ -78,7 +94,7 @@ public class GlogueBasicCardinalityEstimationImpl implements GlogueCardinalityEs
                     // extension cost.
                     Pair<Double, Double> patternCountWithWeight =
                             estimatePatternCountWithExtendWeight(schema, patternCount, extendStep);
-                    this.patternCardinality.put(newPattern, patternCountWithWeight.getValue0());
+                    this.putCardinality(newPattern, patternCountWithWeight.getValue0());
                     extendStep.setWeight(patternCountWithWeight.getValue1());
                     patternQueue.add(newPattern);
                 }
@@ -150,18 +166,18 @@ public class GlogueBasicCardinalityEstimationImpl implements GlogueCardinalityEs
         extendStep.sortExtendEdges();
     }
 
+    private void putCardinality(Pattern pattern, Double cardinality) {
+        this.patternCardinality.put(pattern, cardinality);
+        this.codeCardinality.put(pattern.getCanonicalCode(), cardinality);
+    }
+
     private boolean containsPattern(Pattern pattern) {
         return this.patternCardinality.containsKey(pattern);
     }
 
     @Override
     public Double getCardinality(Pattern queryPattern) {
-        for (Pattern pattern : this.patternCardinality.keySet()) {
-            if (pattern.equals(queryPattern)) {
-                return this.patternCardinality.get(pattern);
-            }
-        }
-        return 0.0;
+        return this.codeCardinality.getOrDefault(queryPattern.getCanonicalCode(), 0.0);
     }
 
     @Override
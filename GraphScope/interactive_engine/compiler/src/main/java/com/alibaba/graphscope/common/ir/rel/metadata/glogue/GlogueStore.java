@@ -0,0 +1,392 @@
+/*
+ * Copyright 2024 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.ir.rel.metadata.glogue;
+
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.Pattern;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternDirection;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternEdge;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternVertex;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.SinglePatternEdge;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.SinglePatternVertex;
+import com.alibaba.graphscope.common.ir.rel.metadata.schema.EdgeTypeId;
+import com.alibaba.graphscope.common.ir.rel.metadata.schema.GlogueSchema;
+import com.google.common.collect.Lists;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persist {@link Glogue} in a directory, each file is keyed by the fingerprint of the schema
+ * (including the statistics) and the max pattern size. If no file matches the current schema, the
+ * latest file is extended incrementally to the current schema instead of building from scratch.
+ */
+public class GlogueStore {
+    private static final Logger logger = LoggerFactory.getLogger(GlogueStore.class);
+    private static final int MAGIC = 0x474c4f47; // "GLOG"
+    private static final int VERSION = 1;
+    private static final String PREFIX = "glogue-";
+    private static final String SUFFIX = ".bin";
+    // number of files kept in the directory, the least recently written ones are removed
+    private static final int MAX_FILES = 4;
+
+    private final Path dir;
+
+    public GlogueStore(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Load Glogue of the schema from the directory, or create it and persist it into the directory
+     * @param schema
+     * @param maxPatternSize
+     * @return
+     */
+    public Glogue loadOrCreate(GlogueSchema schema, int maxPatternSize) {
+        long startTime = System.currentTimeMillis();
+        Path file = dir.resolve(PREFIX + fingerprint(schema, maxPatternSize) + SUFFIX);
+        if (Files.isRegularFile(file)) {
+            try {
+                Glogue glogue = read(file);
+                logger.info(
+                        "load glogue from {} in {} ms",
+                        file,
+                        System.currentTimeMillis() - startTime);
+                return glogue;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("fail to load glogue from {}, rebuild it", file, e);
+            }
+        }
+        Glogue previous = readLatest();
+        Glogue glogue =
+                (previous == null)
+                        ? new Glogue(schema, maxPatternSize)
+                        : new Glogue(previous, schema, maxPatternSize);
+        logger.info(
+                "{} glogue in {} ms",
+                (previous == null) ? "build" : "extend",
+                System.currentTimeMillis() - startTime);
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, ".tmp-" + PREFIX, SUFFIX);
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    write(glogue, out);
+                }
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            evict();
+        } catch (IOException e) {
+            logger.warn("fail to persist glogue into {}", file, e);
+        }
+        return glogue;
+    }
+
+    /**
+     * fingerprint of the vertex and edge types with their cardinalities
+     * @param schema
+     * @param maxPatternSize
+     * @return
+     */
+    public static String fingerprint(GlogueSchema schema, int maxPatternSize) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(VERSION).append(';').append(maxPatternSize).append(';');
+        List<Integer> vertexTypes = new ArrayList<>(schema.getVertexTypes());
+        vertexTypes.sort(Comparator.naturalOrder());
+        for (Integer vertexType : vertexTypes) {
+            builder.append(vertexType)
+                    .append(':')
+                    .append(Double.doubleToLongBits(schema.getVertexTypeCardinality(vertexType)))
+                    .append(';');
+        }
+        List<EdgeTypeId> edgeTypes = new ArrayList<>(schema.getEdgeTypes());
+        edgeTypes.sort(EdgeTypeId::compareTo);
+        for (EdgeTypeId edgeType : edgeTypes) {
+            builder.append(edgeType)
+                    .append(':')
+                    .append(Double.doubleToLongBits(schema.getEdgeTypeCardinality(edgeType)))
+                    .append(';');
+        }
+        try {
+            byte[] digest =
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; ++i) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private @Nullable Glogue readLatest() {
+        List<Path> files = list();
+        for (int i = files.size() - 1; i >= 0; --i) {
+            try {
+                return read(files.get(i));
+            } catch (IOException | RuntimeException e) {
+                logger.warn("fail to load glogue from {}, skip it", files.get(i), e);
+            }
+        }
+        return null;
+    }
+
+    // remove the least recently written files beyond MAX_FILES
+    private void evict() throws IOException {
+        List<Path> files = list();
+        for (int i = 0; i < files.size() - MAX_FILES; ++i) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    // list the glogue files in the order of last modified time
+    private List<Path> list() {
+        List<Path> files = Lists.newArrayList();
+        if (!Files.isDirectory(dir)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            logger.warn("fail to list glogue files in {}", dir, e);
+            return files;
+        }
+        Map<Path, Long> modifiedTime = new HashMap<>();
+        for (Path file : files) {
+            modifiedTime.put(file, file.toFile().lastModified());
+        }
+        files.sort(Comparator.comparing(modifiedTime::get));
+        return files;
+    }
+
+    private Glogue read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * write Glogue in a compact binary format, i.e. the types of the schema, the patterns with
+     * cardinalities, and the glogue edges with the extend steps.
+     * @param glogue
+     * @param out
+     * @throws IOException
+     */
+    public static void write(Glogue glogue, OutputStream out) throws IOException {
+        if (!(glogue.getCardinalityEstimation() instanceof GlogueBasicCardinalityEstimationImpl)) {
+            throw new UnsupportedOperationException(
+                    "cannot persist cardinality estimation "
+                            + glogue.getCardinalityEstimation().getClass());
+        }
+        Map<Pattern, Double> cardinality =
+                ((GlogueBasicCardinalityEstimationImpl) glogue.getCardinalityEstimation())
+                        .getPatternCardinality();
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(glogue.getMaxPatternSize());
+        data.writeInt(glogue.getVertexTypes().size());
+        for (Integer vertexType : glogue.getVertexTypes()) {
+            data.writeInt(vertexType);
+        }
+        data.writeInt(glogue.getEdgeTypes().size());
+        for (EdgeTypeId edgeType : glogue.getEdgeTypes()) {
+            writeEdgeType(edgeType, data);
+        }
+        data.writeInt(glogue.getPatterns().size());
+        for (Pattern pattern : glogue.getPatterns()) {
+            data.writeInt(pattern.getPatternId());
+            data.writeInt(pattern.getVertexSet().size());
+            for (PatternVertex vertex : pattern.getVertexSet()) {
+                data.writeInt(vertex.getId());
+                data.writeInt(vertex.getVertexTypeIds().get(0));
+                data.writeInt(pattern.getVertexOrder(vertex));
+            }
+            data.writeInt(pattern.getEdgeSet().size());
+            for (PatternEdge edge : pattern.getEdgeSet()) {
+                data.writeInt(edge.getId());
+                data.writeInt(edge.getSrcVertex().getId());
+                data.writeInt(edge.getDstVertex().getId());
+                writeEdgeType(edge.getEdgeTypeIds().get(0), data);
+            }
+            writeDouble(cardinality.get(pattern), data);
+        }
+        data.writeInt(glogue.getEdges().size());
+        for (GlogueEdge edge : glogue.getEdges()) {
+            GlogueExtendIntersectEdge extendEdge = (GlogueExtendIntersectEdge) edge;
+            data.writeInt(extendEdge.getSrcPattern().getPatternId());
+            data.writeInt(extendEdge.getDstPattern().getPatternId());
+            data.writeInt(extendEdge.getSrcToTargetOrderMapping().size());
+            for (Map.Entry<Integer, Integer> entry :
+                    extendEdge.getSrcToTargetOrderMapping().entrySet()) {
+                data.writeInt(entry.getKey());
+                data.writeInt(entry.getValue());
+            }
+            ExtendStep step = extendEdge.getExtendStep();
+            data.writeInt(step.getTargetVertexType());
+            data.writeInt(step.getTargetVertexOrder());
+            writeDouble(step.getWeight(), data);
+            data.writeInt(step.getExtendEdges().size());
+            for (ExtendEdge e : step.getExtendEdges()) {
+                data.writeInt(e.getSrcVertexOrder());
+                writeEdgeType(e.getEdgeTypeId(), data);
+                data.writeByte(e.getDirection().ordinal());
+                writeDouble(e.getWeight(), data);
+            }
+        }
+        data.flush();
+    }
+
+    public static Glogue read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("not a glogue file");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported glogue version " + version);
+        }
+        int maxPatternSize = data.readInt();
+        Set<Integer> vertexTypes = new HashSet<>();
+        for (int i = data.readInt(); i > 0; --i) {
+            vertexTypes.add(data.readInt());
+        }
+        Set<EdgeTypeId> edgeTypes = new HashSet<>();
+        for (int i = data.readInt(); i > 0; --i) {
+            edgeTypes.add(readEdgeType(data));
+        }
+        Glogue glogue = new Glogue(vertexTypes, edgeTypes, maxPatternSize);
+        Map<Integer, Pattern> patterns = new HashMap<>();
+        // the vertex orders are recomputed when loading, translate the persisted ones if they
+        // are different
+        Map<Integer, int[]> orderMappings = new HashMap<>();
+        Map<Pattern, Double> cardinality = new HashMap<>();
+        for (int i = data.readInt(); i > 0; --i) {
+            int patternId = data.readInt();
+            Pattern pattern = new Pattern();
+            int vertexNum = data.readInt();
+            Map<Integer, PatternVertex> vertices = new HashMap<>();
+            int[] persistedOrders = new int[vertexNum];
+            for (int j = 0; j < vertexNum; ++j) {
+                int vertexId = data.readInt();
+                PatternVertex vertex = new SinglePatternVertex(data.readInt(), vertexId);
+                vertices.put(vertex.getId(), vertex);
+                pattern.addVertex(vertex);
+                persistedOrders[j] = data.readInt();
+            }
+            for (int j = data.readInt(); j > 0; --j) {
+                int edgeId = data.readInt();
+                PatternVertex src = vertices.get(data.readInt());
+                PatternVertex dst = vertices.get(data.readInt());
+                pattern.addEdge(
+                        src, dst, new SinglePatternEdge(src, dst, readEdgeType(data), edgeId));
+            }
+            pattern.reordering();
+            pattern.setPatternId(patternId);
+            int[] orderMapping = new int[vertexNum];
+            int j = 0;
+            for (PatternVertex vertex : pattern.getVertexSet()) {
+                orderMapping[persistedOrders[j++]] = pattern.getVertexOrder(vertex);
+            }
+            patterns.put(patternId, pattern);
+            orderMappings.put(patternId, orderMapping);
+            cardinality.put(pattern, readDouble(data));
+            glogue.addPatternWithId(pattern);
+            if (vertexNum == 1) {
+                glogue.addRoot(pattern);
+            }
+        }
+        for (int i = data.readInt(); i > 0; --i) {
+            int srcId = data.readInt();
+            int dstId = data.readInt();
+            int[] srcOrders = orderMappings.get(srcId);
+            int[] dstOrders = orderMappings.get(dstId);
+            Map<Integer, Integer> srcToDstOrderMapping = new HashMap<>();
+            for (int j = data.readInt(); j > 0; --j) {
+                srcToDstOrderMapping.put(srcOrders[data.readInt()], dstOrders[data.readInt()]);
+            }
+            List<Integer> targetVertexTypes = Lists.newArrayList(data.readInt());
+            int targetVertexOrder = dstOrders[data.readInt()];
+            Double weight = readDouble(data);
+            int extendEdgeNum = data.readInt();
+            List<ExtendEdge> extendEdges = new ArrayList<>(extendEdgeNum);
+            for (int j = 0; j < extendEdgeNum; ++j) {
+                int srcVertexOrder = srcOrders[data.readInt()];
+                EdgeTypeId edgeType = readEdgeType(data);
+                PatternDirection direction = PatternDirection.values()[data.readByte()];
+                extendEdges.add(
+                        new ExtendEdge(srcVertexOrder, edgeType, direction, readDouble(data)));
+            }
+            glogue.addEdge(
+                    patterns.get(srcId),
+                    patterns.get(dstId),
+                    new ExtendStep(targetVertexTypes, targetVertexOrder, extendEdges, weight),
+                    srcToDstOrderMapping);
+        }
+        glogue.setCardinalityEstimation(new GlogueBasicCardinalityEstimationImpl(cardinality));
+        return glogue;
+    }
+
+    private static void writeEdgeType(EdgeTypeId edgeType, DataOutputStream data)
+            throws IOException {
+        data.writeInt(edgeType.getSrcLabelId());
+        data.writeInt(edgeType.getDstLabelId());
+        data.writeInt(edgeType.getEdgeLabelId());
+    }
+
+    private static EdgeTypeId readEdgeType(DataInputStream data) throws IOException {
+        return new EdgeTypeId(data.readInt(), data.readInt(), data.readInt());
+    }
+
+    private static void writeDouble(@Nullable Double value, DataOutputStream data)
+            throws IOException {
+        data.writeBoolean(value != null);
+        if (value != null) {
+            data.writeDouble(value);
+        }
+    }
+
+    private static @Nullable Double readDouble(DataInputStream data) throws IOException {
+        return data.readBoolean() ? data.readDouble() : null;
+    }
+}
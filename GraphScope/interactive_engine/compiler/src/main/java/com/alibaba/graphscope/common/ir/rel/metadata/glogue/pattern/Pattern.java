@@ -44,6 +44,8 @@ public class Pattern {
     // Noticed that it is not an identifier of Pattern. i.e., two patterns with same
     // pattern ordering may not be isomorphic.
     private PatternOrder patternOrder;
+    // the canonical code of the pattern, computed lazily and reset when the pattern changes
+    private PatternCode code;
 
     private final ConnectivityInspector<PatternVertex, PatternEdge> connectivityInspector;
 
@@ -249,6 +251,18 @@ public class Pattern {
         PatternOrderCanonicalLabelingImpl patternOrder =
                 new PatternOrderCanonicalLabelingImpl(this.patternGraph);
         this.patternOrder = patternOrder;
+        this.code = null;
+    }
+
+    /**
+     * Get the canonical code of the pattern, isomorphic patterns have the same code
+     * @return the canonical code
+     */
+    public PatternCode getCanonicalCode() {
+        if (this.code == null) {
+            this.code = PatternCode.of(this.patternGraph);
+        }
+        return this.code;
     }
 
     public boolean addVertex(Integer type) {
@@ -265,6 +279,7 @@ public class Pattern {
         boolean added = this.patternGraph.addVertex(vertex);
         if (added) {
             this.maxVertexId++;
+            this.code = null;
         }
         return added;
     }
@@ -312,6 +327,7 @@ public class Pattern {
         boolean added = this.patternGraph.addEdge(srcVertex, dstVertex, edge);
         if (added) {
             this.maxEdgeId++;
+            this.code = null;
         }
         return added;
     }
@@ -396,7 +412,7 @@ public class Pattern {
     }
 
     public boolean isIsomorphicTo(Pattern other) {
-        return isIsomorphicTo(other, vertexTypeComparator, edgeTypeComparator);
+        return this == other || this.getCanonicalCode().equals(other.getCanonicalCode());
     }
 
     public boolean isIsomorphicTo(
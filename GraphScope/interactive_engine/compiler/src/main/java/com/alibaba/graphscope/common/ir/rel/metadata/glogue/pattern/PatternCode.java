@@ -0,0 +1,270 @@
+/*
+ * Copyright 2024 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern;
+
+import com.alibaba.graphscope.common.ir.rel.metadata.schema.EdgeTypeId;
+
+import org.jgrapht.Graph;
+
+import java.util.*;
+
+/// PatternCode is the canonical form of a pattern, i.e., two patterns are isomorphic if and only if
+/// they have the same code, under the same vertex and edge equivalence as the isomorphism checkers.
+/// The code consists of the sorted labels of the vertices and edges, and an integer array encoding
+/// the pattern under the canonical vertex order, which is computed by partition refinement with
+/// individualization.
+public final class PatternCode {
+    // the sorted distinct labels of vertices and edges in the pattern
+    private final List<String> labels;
+    // [vertexNum, edgeNum, vertex labels in canonical order, (src, dst, edge label) of sorted
+    // edges]
+    private final int[] code;
+    private final int hash;
+
+    private PatternCode(List<String> labels, int[] code) {
+        this.labels = labels;
+        this.code = code;
+        this.hash = 31 * labels.hashCode() + Arrays.hashCode(code);
+    }
+
+    public static PatternCode of(Graph<PatternVertex, PatternEdge> patternGraph) {
+        return new Encoder(patternGraph).encode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PatternCode)) return false;
+        PatternCode that = (PatternCode) o;
+        return hash == that.hash && Arrays.equals(code, that.code) && labels.equals(that.labels);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "PatternCode{labels=" + labels + ", code=" + Arrays.toString(code) + '}';
+    }
+
+    private static String vertexLabel(PatternVertex vertex) {
+        List<Integer> typeIds = new ArrayList<>(vertex.getVertexTypeIds());
+        typeIds.sort(Comparator.naturalOrder());
+        return "V" + typeIds + detailsLabel(vertex.getElementDetails());
+    }
+
+    private static String edgeLabel(PatternEdge edge) {
+        List<EdgeTypeId> typeIds = new ArrayList<>(edge.getEdgeTypeIds());
+        typeIds.sort(EdgeTypeId::compareTo);
+        return "E" + typeIds + (edge.isBoth() ? "B" : "") + detailsLabel(edge.getElementDetails());
+    }
+
+    private static String detailsLabel(ElementDetails details) {
+        PathExpandRange range = details.getRange();
+        return "|"
+                + Long.toHexString(Double.doubleToLongBits(details.getSelectivity()))
+                + "|"
+                + details.isOptional()
+                + "|"
+                + (range == null ? "" : range.getOffset() + ".." + range.getFetch())
+                + "|"
+                + details.getPxdInnerGetVTypes();
+    }
+
+    /// Encode the pattern over primitive adjacency arrays.
+    private static class Encoder {
+        private final int vertexNum;
+        private final int edgeNum;
+        private final List<String> labels;
+        private final int[] vertexLabels;
+        private final int[] edgeSrc;
+        private final int[] edgeDst;
+        private final int[] edgeLabels;
+        // the edges adjacent to each vertex
+        private final int[][] adjEdges;
+
+        private Encoder(Graph<PatternVertex, PatternEdge> patternGraph) {
+            List<PatternVertex> vertices = new ArrayList<>(patternGraph.vertexSet());
+            List<PatternEdge> edges = new ArrayList<>(patternGraph.edgeSet());
+            this.vertexNum = vertices.size();
+            this.edgeNum = edges.size();
+            Map<PatternVertex, Integer> vertexIndex = new HashMap<>();
+            String[] vertexLabelNames = new String[vertexNum];
+            String[] edgeLabelNames = new String[edgeNum];
+            TreeSet<String> labelSet = new TreeSet<>();
+            for (int i = 0; i < vertexNum; ++i) {
+                vertexIndex.put(vertices.get(i), i);
+                vertexLabelNames[i] = vertexLabel(vertices.get(i));
+                labelSet.add(vertexLabelNames[i]);
+            }
+            for (int i = 0; i < edgeNum; ++i) {
+                edgeLabelNames[i] = edgeLabel(edges.get(i));
+                labelSet.add(edgeLabelNames[i]);
+            }
+            this.labels = new ArrayList<>(labelSet);
+            Map<String, Integer> labelIds = new HashMap<>();
+            for (String label : labels) {
+                labelIds.put(label, labelIds.size());
+            }
+            this.vertexLabels = new int[vertexNum];
+            for (int i = 0; i < vertexNum; ++i) {
+                vertexLabels[i] = labelIds.get(vertexLabelNames[i]);
+            }
+            this.edgeSrc = new int[edgeNum];
+            this.edgeDst = new int[edgeNum];
+            this.edgeLabels = new int[edgeNum];
+            int[] degrees = new int[vertexNum];
+            for (int i = 0; i < edgeNum; ++i) {
+                PatternEdge edge = edges.get(i);
+                edgeSrc[i] = vertexIndex.get(edge.getSrcVertex());
+                edgeDst[i] = vertexIndex.get(edge.getDstVertex());
+                edgeLabels[i] = labelIds.get(edgeLabelNames[i]);
+                degrees[edgeSrc[i]]++;
+                degrees[edgeDst[i]]++;
+            }
+            this.adjEdges = new int[vertexNum][];
+            for (int i = 0; i < vertexNum; ++i) {
+                adjEdges[i] = new int[degrees[i]];
+                degrees[i] = 0;
+            }
+            for (int i = 0; i < edgeNum; ++i) {
+                adjEdges[edgeSrc[i]][degrees[edgeSrc[i]]++] = i;
+                adjEdges[edgeDst[i]][degrees[edgeDst[i]]++] = i;
+            }
+        }
+
+        private PatternCode encode() {
+            return new PatternCode(labels, search(vertexLabels.clone()));
+        }
+
+        /// Refine the coloring, and individualize each vertex in the first non-singleton cell if
+        /// the coloring is not discrete, the minimal code among all branches is the canonical one.
+        private int[] search(int[] colors) {
+            int colorNum = refine(colors);
+            if (colorNum == vertexNum) {
+                return toCode(colors);
+            }
+            int[] counts = new int[colorNum];
+            for (int color : colors) {
+                counts[color]++;
+            }
+            int target = 0;
+            while (counts[target] == 1) {
+                ++target;
+            }
+            int[] best = null;
+            for (int v = 0; v < vertexNum; ++v) {
+                if (colors[v] != target) {
+                    continue;
+                }
+                int[] individualized = new int[vertexNum];
+                for (int u = 0; u < vertexNum; ++u) {
+                    individualized[u] = colors[u] * 2 + 1;
+                }
+                individualized[v] = colors[v] * 2;
+                int[] code = search(individualized);
+                if (best == null || Arrays.compare(code, best) < 0) {
+                    best = code;
+                }
+            }
+            return best;
+        }
+
+        /// Refine the coloring until it is stable, the colors are re-ranked into [0, colorNum), and
+        /// the relative order of the previous colors is preserved.
+        /// @return the number of colors
+        private int refine(int[] colors) {
+            int colorNum = rank(colors, new long[vertexNum][0]);
+            while (colorNum < vertexNum) {
+                long[][] signatures = new long[vertexNum][];
+                for (int v = 0; v < vertexNum; ++v) {
+                    long[] signature = new long[adjEdges[v].length];
+                    for (int i = 0; i < adjEdges[v].length; ++i) {
+                        int e = adjEdges[v][i];
+                        boolean out = edgeSrc[e] == v;
+                        int neighbor = out ? edgeDst[e] : edgeSrc[e];
+                        signature[i] =
+                                ((long) edgeLabels[e] << 33)
+                                        | ((out ? 1L : 0L) << 32)
+                                        | colors[neighbor];
+                    }
+                    Arrays.sort(signature);
+                    signatures[v] = signature;
+                }
+                int newColorNum = rank(colors, signatures);
+                if (newColorNum == colorNum) {
+                    break;
+                }
+                colorNum = newColorNum;
+            }
+            return colorNum;
+        }
+
+        // re-rank vertices by (color, signature)
+        private int rank(int[] colors, long[][] signatures) {
+            Integer[] order = new Integer[vertexNum];
+            for (int v = 0; v < vertexNum; ++v) {
+                order[v] = v;
+            }
+            Comparator<Integer> comparator =
+                    (a, b) -> {
+                        int compare = Integer.compare(colors[a], colors[b]);
+                        return (compare != 0)
+                                ? compare
+                                : Arrays.compare(signatures[a], signatures[b]);
+                    };
+            Arrays.sort(order, comparator);
+            int[] newColors = new int[vertexNum];
+            int colorNum = 0;
+            for (int i = 0; i < vertexNum; ++i) {
+                if (i > 0 && comparator.compare(order[i - 1], order[i]) != 0) {
+                    ++colorNum;
+                }
+                newColors[order[i]] = colorNum;
+            }
+            System.arraycopy(newColors, 0, colors, 0, vertexNum);
+            return vertexNum == 0 ? 0 : colorNum + 1;
+        }
+
+        // encode the pattern under the discrete coloring, i.e., a permutation of vertices
+        private int[] toCode(int[] colors) {
+            int[] code = new int[2 + vertexNum + 3 * edgeNum];
+            code[0] = vertexNum;
+            code[1] = edgeNum;
+            for (int v = 0; v < vertexNum; ++v) {
+                code[2 + colors[v]] = vertexLabels[v];
+            }
+            long[] edges = new long[edgeNum];
+            for (int e = 0; e < edgeNum; ++e) {
+                edges[e] =
+                        ((long) colors[edgeSrc[e]] << 42)
+                                | ((long) colors[edgeDst[e]] << 21)
+                                | edgeLabels[e];
+            }
+            Arrays.sort(edges);
+            int offset = 2 + vertexNum;
+            for (long edge : edges) {
+                code[offset++] = (int) (edge >>> 42);
+                code[offset++] = (int) ((edge >>> 21) & 0x1fffff);
+                code[offset++] = (int) (edge & 0x1fffff);
+            }
+            return code;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.jgrapht.graph.*;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class GlogueSchema {
@@ -84,6 +85,25 @@ public class GlogueSchema {
         }
     }
 
+    /**
+     * Construct GlogueSchema from the vertex and edge types with their cardinalities directly
+     * @param vertexTypeCardinality
+     * @param edgeTypeCardinality
+     */
+    public GlogueSchema(
+            Map<Integer, Double> vertexTypeCardinality,
+            Map<EdgeTypeId, Double> edgeTypeCardinality) {
+        this.schemaGraph = new DirectedPseudograph<Integer, EdgeTypeId>(EdgeTypeId.class);
+        for (Integer vertexType : vertexTypeCardinality.keySet()) {
+            this.schemaGraph.addVertex(vertexType);
+        }
+        for (EdgeTypeId edgeType : edgeTypeCardinality.keySet()) {
+            this.schemaGraph.addEdge(edgeType.getSrcLabelId(), edgeType.getDstLabelId(), edgeType);
+        }
+        this.vertexTypeCardinality = new HashMap<>(vertexTypeCardinality);
+        this.edgeTypeCardinality = new HashMap<>(edgeTypeCardinality);
+    }
+
     public static GlogueSchema fromMeta(IrMeta irMeta) {
         return new GlogueSchema(irMeta.getSchema(), irMeta.getStatistics());
     }
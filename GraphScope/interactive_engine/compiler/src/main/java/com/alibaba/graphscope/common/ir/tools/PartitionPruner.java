@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.ir.tools;
+
+import com.alibaba.graphscope.common.config.Configs;
+import com.alibaba.graphscope.common.config.PegasusConfig;
+import com.alibaba.graphscope.common.ir.meta.schema.GraphOptTable;
+import com.alibaba.graphscope.common.ir.rel.GraphLogicalAggregate;
+import com.alibaba.graphscope.common.ir.rel.GraphLogicalDedupBy;
+import com.alibaba.graphscope.common.ir.rel.GraphLogicalProject;
+import com.alibaba.graphscope.common.ir.rel.GraphLogicalSort;
+import com.alibaba.graphscope.common.ir.rel.graph.GraphLogicalSource;
+import com.alibaba.graphscope.common.ir.rex.RexGraphVariable;
+import com.alibaba.graphscope.common.ir.tools.config.GraphOpt;
+import com.alibaba.graphscope.groot.common.schema.api.GraphElement;
+import com.alibaba.graphscope.groot.common.schema.api.GraphProperty;
+import com.alibaba.graphscope.groot.common.schema.wrapper.DataType;
+import com.alibaba.graphscope.groot.common.schema.wrapper.PropertyValue;
+import com.alibaba.graphscope.groot.common.util.PartitionUtils;
+import com.alibaba.graphscope.groot.common.util.PkHashUtils;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.logical.LogicalFilter;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.util.NlsString;
+import org.apache.calcite.util.Sarg;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * infer the servers owning the source vertices of a point query, i.e. g.V().has('id', x).values('name'),
+ * the query can be submitted to these servers only if all the data it accesses are located in the partitions of the
+ * source vertices, which requires the vertices to be partitioned by their ids (the hash of primary keys in groot).
+ */
+public class PartitionPruner {
+    private final int partitionNum;
+
+    public PartitionPruner(Configs configs) {
+        this.partitionNum = PegasusConfig.PEGASUS_PARTITION_NUM.get(configs);
+    }
+
+    /**
+     * @param plan
+     * @param serverNum
+     * @return ids of the servers to submit the query, or empty if the query should be submitted to all servers
+     */
+    public List<Integer> getServerIds(LogicalPlan plan, int serverNum) {
+        if (partitionNum <= 0 || serverNum <= 1 || plan.getRegularQuery() == null) {
+            return ImmutableList.of();
+        }
+        GraphLogicalSource source = getPointSource(plan.getRegularQuery());
+        if (source == null) {
+            return ImmutableList.of();
+        }
+        List<Long> vertexIds = getVertexIds(source);
+        return vertexIds.stream()
+                .map(
+                        k ->
+                                PartitionUtils.getStoreIdFromPartition(
+                                        PartitionUtils.getPartitionIdFromKey(k, partitionNum),
+                                        partitionNum,
+                                        serverNum))
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    // neighbors may be located in other partitions, so the plan should only consist of operators
+    // accessing the source vertices
+    private @Nullable GraphLogicalSource getPointSource(RelNode node) {
+        if (node instanceof GraphLogicalSource) {
+            GraphLogicalSource source = (GraphLogicalSource) node;
+            return (source.getOpt() == GraphOpt.Source.VERTEX
+                            && source.getUniqueKeyFilters() != null)
+                    ? source
+                    : null;
+        }
+        if ((node instanceof GraphLogicalProject
+                        && !RexUtil.SubQueryFinder.containsSubQuery((GraphLogicalProject) node))
+                || (node instanceof LogicalFilter
+                        && !RexUtil.SubQueryFinder.containsSubQuery((LogicalFilter) node))
+                || node instanceof GraphLogicalAggregate
+                || node instanceof GraphLogicalSort
+                || node instanceof GraphLogicalDedupBy) {
+            return node.getInputs().size() == 1 ? getPointSource(node.getInput(0)) : null;
+        }
+        return null;
+    }
+
+    private List<Long> getVertexIds(GraphLogicalSource source) {
+        RexNode filter = source.getUniqueKeyFilters();
+        if (!(filter instanceof RexCall)
+                || !filter.isA(ImmutableList.of(SqlKind.EQUALS, SqlKind.SEARCH))) {
+            return ImmutableList.of();
+        }
+        List<RexNode> operands = ((RexCall) filter).getOperands();
+        RexGraphVariable variable = null;
+        RexLiteral literal = null;
+        for (RexNode operand : operands) {
+            if (operand instanceof RexGraphVariable) {
+                variable = (RexGraphVariable) operand;
+            } else if (operand instanceof RexLiteral) {
+                literal = (RexLiteral) operand;
+            }
+        }
+        if (variable == null || literal == null || variable.getProperty() == null) {
+            return ImmutableList.of();
+        }
+        List<Comparable> values = getValues(literal);
+        List<Long> vertexIds = Lists.newArrayList();
+        switch (variable.getProperty().getOpt()) {
+            case ID:
+                for (Comparable value : values) {
+                    if (!(value instanceof BigDecimal)) {
+                        return ImmutableList.of();
+                    }
+                    vertexIds.add(((BigDecimal) value).longValue());
+                }
+                return vertexIds;
+            case KEY:
+                List<RelOptTable> tables = source.getTableConfig().getTables();
+                if (tables.size() != 1 || !(tables.get(0) instanceof GraphOptTable)) {
+                    return ImmutableList.of();
+                }
+                GraphElement element = ((GraphOptTable) tables.get(0)).getGraphElement();
+                List<GraphProperty> primaryKeys = element.getPrimaryKeyList();
+                if (primaryKeys == null || primaryKeys.size() != 1) {
+                    return ImmutableList.of();
+                }
+                DataType dataType = primaryKeys.get(0).getDataType();
+                for (Comparable value : values) {
+                    Object pkValue = getPkValue(value, dataType);
+                    if (pkValue == null) {
+                        return ImmutableList.of();
+                    }
+                    byte[] pkBytes = new PropertyValue(dataType, pkValue).getValBytes();
+                    vertexIds.add(
+                            PkHashUtils.hash(element.getLabelId(), ImmutableList.of(pkBytes)));
+                }
+                return vertexIds;
+            default:
+                return ImmutableList.of();
+        }
+    }
+
+    private List<Comparable> getValues(RexLiteral literal) {
+        Comparable value = literal.getValue();
+        if (!(value instanceof Sarg)) {
+            return ImmutableList.of(value);
+        }
+        Sarg<?> sarg = (Sarg) value;
+        if (!sarg.isPoints()) {
+            return ImmutableList.of();
+        }
+        List<Comparable> values = Lists.newArrayList();
+        for (Range<?> range : sarg.rangeSet.asRanges()) {
+            values.add(range.lowerEndpoint());
+        }
+        return values;
+    }
+
+    // convert the literal value to the java object of the primary key type, null if unsupported
+    private @Nullable Object getPkValue(Comparable value, DataType dataType) {
+        switch (dataType) {
+            case STRING:
+                return (value instanceof NlsString) ? ((NlsString) value).getValue() : null;
+            case INT:
+                return (value instanceof BigDecimal) ? ((BigDecimal) value).intValue() : null;
+            case LONG:
+                return (value instanceof BigDecimal) ? ((BigDecimal) value).longValue() : null;
+            default:
+                return null;
+        }
+    }
+}
@@ -16,27 +16,53 @@
 
 package com.alibaba.graphscope.common.ir.tools;
 
+import com.alibaba.graphscope.common.client.type.ExecutionResponseListener;
 import com.alibaba.graphscope.common.config.Configs;
 import com.alibaba.graphscope.common.config.FrontendConfig;
 import com.alibaba.graphscope.common.ir.runtime.PhysicalPlan;
 import com.alibaba.graphscope.common.store.IrMeta;
+import com.alibaba.graphscope.common.store.SnapshotId;
+import com.alibaba.graphscope.gaia.proto.IrResult;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class QueryCache {
     private final LoadingCache<Key, Value> cache;
     private final GraphPlanner graphPlanner;
+    // complete results of read queries, keyed by the logical plan (including the parameters)
+    private final @Nullable Cache<LogicalPlan, SnapshotResult> resultCache;
+    private final int maxResultRecords;
+    private final long maxSnapshotLag;
 
     public QueryCache(Configs configs, GraphPlanner graphPlanner) {
         this.graphPlanner = graphPlanner;
         int cacheSize = FrontendConfig.QUERY_CACHE_SIZE.get(configs);
+        this.maxResultRecords = FrontendConfig.QUERY_CACHE_RESULT_MAX_RECORDS.get(configs);
+        this.maxSnapshotLag = FrontendConfig.QUERY_CACHE_RESULT_MAX_SNAPSHOT_LAG.get(configs);
+        this.resultCache =
+                FrontendConfig.QUERY_CACHE_RESULT_ENABLED.get(configs)
+                        ? CacheBuilder.newBuilder()
+                                .maximumWeight(
+                                        FrontendConfig.QUERY_CACHE_RESULT_TOTAL_RECORDS.get(
+                                                configs))
+                                .weigher(
+                                        (LogicalPlan k, SnapshotResult v) ->
+                                                v.result.records.size())
+                                .expireAfterWrite(
+                                        FrontendConfig.QUERY_CACHE_RESULT_TTL_MS.get(configs),
+                                        TimeUnit.MILLISECONDS)
+                                .build()
+                        : null;
         this.cache =
                 CacheBuilder.newBuilder()
                         .maximumSize(cacheSize)
@@ -56,10 +82,13 @@ public class QueryCache {
     public class Key {
         public final GraphPlanner.PlannerInstance plannerInstance;
         public final LogicalPlan logicalPlan;
+        // snapshot the query reads from, not a part of the key identity
+        public final SnapshotId snapshotId;
 
         public Key(String query, IrMeta irMeta) {
             this.plannerInstance = Objects.requireNonNull(graphPlanner.instance(query, irMeta));
             this.logicalPlan = Objects.requireNonNull(this.plannerInstance.planLogical());
+            this.snapshotId = irMeta.getSnapshotId();
         }
 
         @Override
@@ -102,7 +131,128 @@ public class QueryCache {
         }
     }
 
+    /**
+     * get the cached plan of the key, if result cache is enabled, the returned value also carries the complete
+     * result of the plan which is still fresh under the snapshot of the key
+     * @param key
+     * @return
+     * @throws ExecutionException
+     */
     public Value get(Key key) throws ExecutionException {
-        return cache.get(key);
+        Value value = cache.get(key);
+        if (resultCache == null) {
+            return value;
+        }
+        SnapshotResult cached = resultCache.getIfPresent(key.logicalPlan);
+        if (cached != null && !cached.isFresh(key.snapshotId)) {
+            // keep the result for the readers of newer snapshots
+            if (cached.isExpired(key.snapshotId)) {
+                resultCache.invalidate(key.logicalPlan);
+            }
+            cached = null;
+        }
+        return new Value(value.summary, cached == null ? null : cached.result);
+    }
+
+    /**
+     * wrap the listener to collect the records returned by the engine, the records are put into the result cache
+     * once the query is completed successfully and the size of them is under the limit
+     * @param value the cached plan which is being executed
+     * @param queryId the id of the query which produces the records
+     * @param irMeta the meta the query reads from
+     * @param listener
+     * @return
+     */
+    public ExecutionResponseListener collectResult(
+            Value value, long queryId, IrMeta irMeta, ExecutionResponseListener listener) {
+        // procedure calls may have side effects, only cache the results of regular queries
+        if (resultCache == null || value.summary.getLogicalPlan().getRegularQuery() == null) {
+            return listener;
+        }
+        return new ResultCollector(
+                value.summary.getLogicalPlan(), queryId, irMeta.getSnapshotId(), listener);
+    }
+
+    private class SnapshotResult {
+        private final Result<IrResult.Results> result;
+        private final SnapshotId snapshotId;
+
+        public SnapshotResult(Result<IrResult.Results> result, SnapshotId snapshotId) {
+            this.result = result;
+            this.snapshotId = snapshotId;
+        }
+
+        // the freshness can only be judged by ttl if the snapshot has not been acquired, a result
+        // computed on a newer snapshot is never served to the readers of an older one
+        public boolean isFresh(SnapshotId current) {
+            if (!current.isAcquired() || !snapshotId.isAcquired()) {
+                return true;
+            }
+            long lag = current.getId() - snapshotId.getId();
+            return lag >= 0 && lag <= maxSnapshotLag;
+        }
+
+        // the result is too old for the current snapshot and all the later ones
+        public boolean isExpired(SnapshotId current) {
+            return current.isAcquired()
+                    && snapshotId.isAcquired()
+                    && current.getId() - snapshotId.getId() > maxSnapshotLag;
+        }
+    }
+
+    private class ResultCollector implements ExecutionResponseListener {
+        private final LogicalPlan logicalPlan;
+        private final long queryId;
+        private final SnapshotId snapshotId;
+        private final ExecutionResponseListener delegate;
+        // set to null if the size of records exceeds the limit
+        private @Nullable List<IrResult.Results> records;
+
+        public ResultCollector(
+                LogicalPlan logicalPlan,
+                long queryId,
+                SnapshotId snapshotId,
+                ExecutionResponseListener delegate) {
+            this.logicalPlan = logicalPlan;
+            this.queryId = queryId;
+            this.snapshotId = snapshotId;
+            this.delegate = delegate;
+            this.records = new ArrayList<>();
+        }
+
+        @Override
+        public void onNext(IrResult.Record record) {
+            synchronized (this) {
+                if (records != null) {
+                    if (records.size() < maxResultRecords) {
+                        records.add(IrResult.Results.newBuilder().setRecord(record).build());
+                    } else {
+                        records = null;
+                    }
+                }
+            }
+            delegate.onNext(record);
+        }
+
+        @Override
+        public void onCompleted() {
+            synchronized (this) {
+                if (records != null) {
+                    resultCache.put(
+                            logicalPlan,
+                            new SnapshotResult(new Result<>(queryId, records, true), snapshotId));
+                    records = null;
+                }
+            }
+            delegate.onCompleted();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                records = null;
+            }
+            delegate.onError(t);
+        }
     }
 }
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.manager;
+
+import com.alibaba.graphscope.common.config.Configs;
+import com.alibaba.graphscope.common.config.FrontendConfig;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * admit queries to run under a concurrency limit, which consists of:
+ * 1. a global limit adjusted by AIMD, decreased multiplicatively if a query runs slower than the average latency of
+ * its template by {@link FrontendConfig#ADMISSION_LATENCY_TOLERANCE}, at most once within the average latency, and
+ * increased additively otherwise;
+ * 2. a fixed limit for each authenticated user.
+ * Queries exceeding the limit wait in the queue of their priority class for a bounded time, queries of short templates
+ * are given high priority to keep their latency while heavy queries are running.
+ */
+public class AdmissionController implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionController.class);
+    private static final double BACKOFF_RATIO = 0.9d;
+    private static final double SMOOTHING_FACTOR = 0.2d;
+    private static final int MAX_TEMPLATE_SIZE = 10000;
+    private static final Pattern STRING_LITERAL =
+            Pattern.compile("'(?:[^'\\\\]|\\\\.)*'|\"(?:[^\"\\\\]|\\\\.)*\"");
+    // numbers not being a part of identifiers, with optional fraction, exponent and type suffix
+    private static final Pattern NUMERIC_LITERAL =
+            Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?:[eE][+-]?\\d+)?[lLfFdD]?\\b");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    public enum Priority {
+        HIGH,
+        NORMAL
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int userLimit;
+    private final int queueSize;
+    private final long queueTimeoutMS;
+    private final long shortQueryThresholdMS;
+    private final double latencyTolerance;
+    private final RateLimiter rateLimiter;
+
+    // average latency in milliseconds of each query template
+    private final Cache<String, Double> templateLatencies;
+    private final ArrayDeque<Pending>[] queues;
+    private final Map<String, Integer> userInFlights;
+    private final ScheduledExecutorService timeoutScheduler;
+    private int limit;
+    private int inFlight;
+    // the slow queries completing within one average latency after a decrease belong to the same
+    // congestion, the limit is not decreased again for them
+    private long lastBackoffMillis;
+
+    private final LongHistogram queueHistogram;
+    private final LongCounter rejectCounter;
+
+    public AdmissionController(Configs configs) {
+        this.minLimit = FrontendConfig.ADMISSION_MIN_CONCURRENCY.get(configs);
+        this.maxLimit = FrontendConfig.ADMISSION_MAX_CONCURRENCY.get(configs);
+        Preconditions.checkArgument(
+                minLimit > 0 && minLimit <= maxLimit,
+                "invalid admission concurrency range [%s, %s]",
+                minLimit,
+                maxLimit);
+        this.userLimit = FrontendConfig.ADMISSION_USER_MAX_CONCURRENCY.get(configs);
+        this.queueSize = FrontendConfig.ADMISSION_QUEUE_SIZE.get(configs);
+        this.queueTimeoutMS = FrontendConfig.ADMISSION_QUEUE_TIMEOUT_MS.get(configs);
+        this.shortQueryThresholdMS = FrontendConfig.ADMISSION_SHORT_QUERY_THRESHOLD_MS.get(configs);
+        this.latencyTolerance = FrontendConfig.ADMISSION_LATENCY_TOLERANCE.get(configs);
+        this.rateLimiter = RateLimiter.create(FrontendConfig.QUERY_PER_SECOND_LIMIT.get(configs));
+        this.templateLatencies = CacheBuilder.newBuilder().maximumSize(MAX_TEMPLATE_SIZE).build();
+        this.queues = new ArrayDeque[Priority.values().length];
+        for (int i = 0; i < queues.length; ++i) {
+            queues[i] = new ArrayDeque<>();
+        }
+        this.userInFlights = Maps.newHashMap();
+        this.timeoutScheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("admission-timeout")
+                                .setDaemon(true)
+                                .build());
+        this.limit = maxLimit;
+        this.inFlight = 0;
+        Meter meter = GlobalOpenTelemetry.getMeter("default");
+        this.queueHistogram =
+                meter.histogramBuilder("groot.frontend.admission.queue.duration")
+                        .setDescription("Duration of queries waiting for admission.")
+                        .setUnit("ms")
+                        .ofLongs()
+                        .build();
+        this.rejectCounter =
+                meter.counterBuilder("groot.frontend.admission.rejected")
+                        .setDescription("Number of queries rejected by admission control.")
+                        .build();
+        meter.gaugeBuilder("groot.frontend.admission.limit")
+                .setDescription("Current concurrency limit of queries.")
+                .ofLongs()
+                .buildWithCallback(m -> m.record(getLimit()));
+    }
+
+    /**
+     * create a ticket for the query, the queries differing only in literals share the same template
+     * @param user
+     * @param query
+     * @return
+     */
+    public Ticket newTicket(String user, String query) {
+        String template = toTemplate(query);
+        Double latency = templateLatencies.getIfPresent(template);
+        Priority priority =
+                (latency != null && latency < shortQueryThresholdMS)
+                        ? Priority.HIGH
+                        : Priority.NORMAL;
+        return new Ticket(user, template, priority);
+    }
+
+    /**
+     * admit the query of the ticket, {@code onAdmitted} is invoked immediately if the limit is not reached, or by the
+     * thread releasing the last permit if the query has been queued, otherwise {@code onRejected} is invoked
+     * @param ticket
+     * @param onAdmitted
+     * @param onRejected
+     */
+    public void admit(
+            Ticket ticket, Runnable onAdmitted, Consumer<RejectedExecutionException> onRejected) {
+        if (!rateLimiter.tryAcquire()) {
+            reject(
+                    ticket,
+                    onRejected,
+                    "rate limit exceeded, current limit is "
+                            + rateLimiter.getRate()
+                            + " per second. Please increase the QPS limit by the config"
+                            + " 'frontend.query.per.second.limit' or slow down the query sending"
+                            + " speed");
+            return;
+        }
+        Pending pending = new Pending(ticket, onAdmitted, onRejected);
+        synchronized (this) {
+            if (!canStart(ticket)) {
+                ArrayDeque<Pending> queue = queues[ticket.priority.ordinal()];
+                if (queue.size() >= queueSize) {
+                    pending = null;
+                } else {
+                    queue.addLast(pending);
+                    Pending queued = pending;
+                    timeoutScheduler.schedule(
+                            () -> expire(queued), queueTimeoutMS, TimeUnit.MILLISECONDS);
+                    return;
+                }
+            } else {
+                start(ticket);
+            }
+        }
+        if (pending == null) {
+            reject(
+                    ticket,
+                    onRejected,
+                    "admission queue of "
+                            + ticket.priority
+                            + " priority is full, max size is "
+                            + queueSize);
+        } else {
+            run(pending);
+        }
+    }
+
+    /**
+     * release the permit held by the admitted ticket, and admit the queued queries if possible
+     * @param ticket
+     */
+    public void release(Ticket ticket) {
+        List<Pending> admitted = Lists.newArrayList();
+        synchronized (this) {
+            Preconditions.checkArgument(ticket.admitMillis > 0, "ticket has not been admitted");
+            --inFlight;
+            userInFlights.computeIfPresent(ticket.user, (k, v) -> v > 1 ? v - 1 : null);
+            long now = System.currentTimeMillis();
+            long latency = now - ticket.admitMillis;
+            Double average = templateLatencies.getIfPresent(ticket.template);
+            if (average != null && latency > average * latencyTolerance) {
+                if (now - lastBackoffMillis >= average) {
+                    limit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+                    lastBackoffMillis = now;
+                }
+            } else if ((inFlight + 1) * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            templateLatencies.put(
+                    ticket.template,
+                    average == null
+                            ? latency
+                            : average * (1 - SMOOTHING_FACTOR) + latency * SMOOTHING_FACTOR);
+            for (ArrayDeque<Pending> queue : queues) {
+                Iterator<Pending> iterator = queue.iterator();
+                while (iterator.hasNext() && inFlight < limit) {
+                    Pending next = iterator.next();
+                    if (getUserInFlight(next.ticket.user) < userLimit) {
+                        iterator.remove();
+                        start(next.ticket);
+                        admitted.add(next);
+                    }
+                }
+            }
+        }
+        for (Pending pending : admitted) {
+            try {
+                run(pending);
+            } catch (Throwable t) {
+                // the failure of one query should not affect the others admitted by the same
+                // release
+                logger.error("fail to run the admitted query of user {}", pending.ticket.user, t);
+            }
+        }
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    // the query cannot jump over the queued ones with the same or higher priority, except those
+    // whose users have
+    // reached the user limit, which cannot start anyway
+    private boolean canStart(Ticket ticket) {
+        if (inFlight >= limit || getUserInFlight(ticket.user) >= userLimit) {
+            return false;
+        }
+        for (int i = 0; i <= ticket.priority.ordinal(); ++i) {
+            for (Pending queued : queues[i]) {
+                if (getUserInFlight(queued.ticket.user) < userLimit) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * strip string and numeric literals from the query and collapse whitespaces, i.e. point lookups
+     * with different ids are of the same template
+     * @param query
+     * @return
+     */
+    static String toTemplate(String query) {
+        String template = STRING_LITERAL.matcher(query).replaceAll("?");
+        template = NUMERIC_LITERAL.matcher(template).replaceAll("?");
+        return WHITESPACES.matcher(template).replaceAll(" ").trim();
+    }
+
+    private void start(Ticket ticket) {
+        ++inFlight;
+        userInFlights.merge(ticket.user, 1, Integer::sum);
+        ticket.admitMillis = System.currentTimeMillis();
+    }
+
+    private int getUserInFlight(String user) {
+        return userInFlights.getOrDefault(user, 0);
+    }
+
+    private void expire(Pending pending) {
+        synchronized (this) {
+            if (!queues[pending.ticket.priority.ordinal()].remove(pending)) {
+                return;
+            }
+        }
+        reject(
+                pending.ticket,
+                pending.onRejected,
+                "query has waited for admission more than "
+                        + queueTimeoutMS
+                        + " ms, current concurrency limit is "
+                        + getLimit());
+    }
+
+    private void run(Pending pending) {
+        queueHistogram.record(
+                pending.ticket.admitMillis - pending.ticket.createMillis,
+                Attributes.builder().put("priority", pending.ticket.priority.name()).build());
+        pending.onAdmitted.run();
+    }
+
+    private void reject(
+            Ticket ticket, Consumer<RejectedExecutionException> onRejected, String message) {
+        logger.warn("reject query of user {}: {}", ticket.user, message);
+        rejectCounter.add(1, Attributes.builder().put("priority", ticket.priority.name()).build());
+        onRejected.accept(new RejectedExecutionException(message));
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.timeoutScheduler.shutdownNow();
+    }
+
+    public static class Ticket {
+        private final String user;
+        private final String template;
+        private final Priority priority;
+        private final long createMillis;
+        private long admitMillis;
+
+        private Ticket(String user, String template, Priority priority) {
+            this.user = user;
+            this.template = template;
+            this.priority = priority;
+            this.createMillis = System.currentTimeMillis();
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+    }
+
+    private static class Pending {
+        private final Ticket ticket;
+        private final Runnable onAdmitted;
+        private final Consumer<RejectedExecutionException> onRejected;
+
+        private Pending(
+                Ticket ticket,
+                Runnable onAdmitted,
+                Consumer<RejectedExecutionException> onRejected) {
+            this.ticket = ticket;
+            this.onAdmitted = onAdmitted;
+            this.onRejected = onRejected;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.utils;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+public class ThreadUtils {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadUtils.class);
+
+    /**
+     * create an executor starting a new virtual thread for each task, the api is invoked reflectively since it is only
+     * available since JDK 21 while the project targets java 8
+     * @param namePrefix
+     * @return the executor, or null if virtual threads are unsupported by the running JVM
+     */
+    public static @Nullable ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder =
+                    builderClass
+                            .getMethod("name", String.class, long.class)
+                            .invoke(builder, namePrefix, 0L);
+            ThreadFactory factory =
+                    (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newExecutor =
+                    Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            logger.warn(
+                    "virtual threads are unsupported by the jvm {}: {}",
+                    System.getProperty("java.version"),
+                    e.toString());
+            return null;
+        }
+    }
+}
@@ -136,6 +136,7 @@ public class GraphQueryExecutor extends FabricExecutor {
                     statement,
                     jobName,
                     planSummary.getPhysicalPlan().explain());
+            IrMeta meta = irMeta;
             StatementResults.SubscribableExecution execution;
             if (cacheValue.result != null && cacheValue.result.isCompleted) {
                 execution =
@@ -160,7 +161,11 @@ public class GraphQueryExecutor extends FabricExecutor {
                                                 planSummary.getLogicalPlan(),
                                                 planSummary.getPhysicalPlan());
                                 QueryTimeoutConfig timeoutConfig = getQueryTimeoutConfig();
-                                client.submit(request, listener, timeoutConfig);
+                                client.submit(
+                                        request,
+                                        queryCache.collectResult(
+                                                cacheValue, jobId.longValue(), meta, listener),
+                                        timeoutConfig);
                             }
                         };
             }
@@ -25,9 +25,9 @@ import com.alibaba.graphscope.common.config.QueryTimeoutConfig;
 import com.alibaba.graphscope.common.ir.tools.GraphPlanner;
 import com.alibaba.graphscope.common.ir.tools.QueryCache;
 import com.alibaba.graphscope.common.ir.tools.QueryIdGenerator;
+import com.alibaba.graphscope.common.manager.AdmissionController;
 import com.alibaba.graphscope.common.manager.IrMetaQueryCallback;
 import com.alibaba.graphscope.common.store.IrMeta;
-import com.alibaba.graphscope.gaia.proto.IrResult;
 import com.alibaba.graphscope.gremlin.integration.result.GraphProperties;
 import com.alibaba.graphscope.gremlin.integration.resultx.GremlinTestRecordParser;
 import com.alibaba.graphscope.gremlin.integration.resultx.GremlinTestResultProcessor;
@@ -75,6 +75,7 @@ public class IrTestOpProcessor extends IrStandardOpProcessor {
             ExecutionClient executionClient,
             ChannelFetcher fetcher,
             IrMetaQueryCallback metaQueryCallback,
+            AdmissionController admissionController,
             Graph graph,
             GraphTraversalSource g,
             GraphProperties testGraph) {
@@ -85,6 +86,7 @@ public class IrTestOpProcessor extends IrStandardOpProcessor {
                 executionClient,
                 fetcher,
                 metaQueryCallback,
+                admissionController,
                 graph,
                 g);
         this.context = new SimpleScriptContext();
@@ -164,9 +166,7 @@ public class IrTestOpProcessor extends IrStandardOpProcessor {
                                                     statusCallback,
                                                     timeoutConfig);
                                     if (value.result != null && value.result.isCompleted) {
-                                        List<IrResult.Results> records = value.result.records;
-                                        records.forEach(k -> listener.onNext(k.getRecord()));
-                                        listener.onCompleted();
+                                        listener.request(value.result.records);
                                     } else {
                                         executionClient.submit(
                                                 new ExecutionRequest(
@@ -174,11 +174,15 @@ public class IrTestOpProcessor extends IrStandardOpProcessor {
                                                         queryName,
                                                         summary.getLogicalPlan(),
                                                         summary.getPhysicalPlan()),
-                                                listener,
+                                                queryCache.collectResult(
+                                                        value,
+                                                        queryId.longValue(),
+                                                        irMeta,
+                                                        listener),
                                                 timeoutConfig);
+                                        // request results from remote engine in a blocking way
+                                        listener.request();
                                     }
-                                    // request results from remote engine in a blocking way
-                                    listener.request();
                                     break;
                                 default:
                                     throw new IllegalArgumentException(
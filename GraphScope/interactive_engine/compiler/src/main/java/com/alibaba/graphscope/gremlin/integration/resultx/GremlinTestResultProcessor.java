@@ -19,21 +19,13 @@ package com.alibaba.graphscope.gremlin.integration.resultx;
 import com.alibaba.graphscope.common.config.Configs;
 import com.alibaba.graphscope.common.config.QueryTimeoutConfig;
 import com.alibaba.graphscope.common.result.RecordParser;
-import com.alibaba.graphscope.gaia.proto.IrResult;
 import com.alibaba.graphscope.gremlin.plugin.QueryStatusCallback;
 import com.alibaba.graphscope.gremlin.resultx.GremlinResultProcessor;
 import com.alibaba.graphscope.gremlin.resultx.ResultSchema;
-import com.google.common.collect.Lists;
 
-import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
-import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
 import org.apache.tinkerpop.gremlin.server.Context;
 
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
 public class GremlinTestResultProcessor extends GremlinResultProcessor {
     public GremlinTestResultProcessor(
             Configs configs,
@@ -46,38 +38,7 @@ public class GremlinTestResultProcessor extends GremlinResultProcessor {
     }
 
     @Override
-    protected void processRecord(IrResult.Record record) {
-        List<Object> results = recordParser.parseFrom(record);
-        if (resultSchema.isGroupBy && !results.isEmpty()) {
-            if (results.stream().anyMatch(k -> !(k instanceof Map))) {
-                throw new IllegalArgumentException(
-                        "cannot reduce results " + results + " into a single map");
-            }
-            for (Object result : results) {
-                reducer.putAll((Map) result);
-            }
-        } else if (!resultSchema.isGroupBy) {
-            ctx.writeAndFlush(
-                    ResponseMessage.build(ctx.getRequestMessage())
-                            .code(ResponseStatusCode.PARTIAL_CONTENT)
-                            .result(
-                                    results.stream()
-                                            .map(k -> new DefaultRemoteTraverser(k, 1L))
-                                            .collect(Collectors.toList()))
-                            .create());
-        }
-    }
-
-    @Override
-    protected void finishRecord() {
-        List<Object> results = Lists.newArrayList();
-        if (resultSchema.isGroupBy) {
-            results.add(new DefaultRemoteTraverser(reducer, 1L));
-        }
-        ctx.writeAndFlush(
-                ResponseMessage.build(ctx.getRequestMessage())
-                        .code(ResponseStatusCode.SUCCESS)
-                        .result(results)
-                        .create());
+    protected Object formatResult(Object result) {
+        return new DefaultRemoteTraverser(result, 1L);
     }
 }
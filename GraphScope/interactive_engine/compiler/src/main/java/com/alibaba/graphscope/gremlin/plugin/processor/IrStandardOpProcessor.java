@@ -35,6 +35,7 @@ import com.alibaba.graphscope.common.config.QueryTimeoutConfig;
 import com.alibaba.graphscope.common.intermediate.InterOpCollection;
 import com.alibaba.graphscope.common.ir.tools.QueryCache;
 import com.alibaba.graphscope.common.ir.tools.QueryIdGenerator;
+import com.alibaba.graphscope.common.manager.AdmissionController;
 import com.alibaba.graphscope.common.manager.IrMetaQueryCallback;
 import com.alibaba.graphscope.common.store.IrMeta;
 import com.alibaba.graphscope.gremlin.InterOpCollectionBuilder;
@@ -79,11 +80,15 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.InlineFilterStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
 import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
 import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.codehaus.groovy.control.MultipleCompilationErrorsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.math.BigInteger;
@@ -99,6 +104,8 @@ import java.util.function.Supplier;
 import javax.script.SimpleBindings;
 
 public class IrStandardOpProcessor extends StandardOpProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(IrStandardOpProcessor.class);
+
     protected final Graph graph;
     protected final GraphTraversalSource g;
     protected final Configs configs;
@@ -111,6 +118,7 @@ public class IrStandardOpProcessor extends StandardOpProcessor {
     protected final QueryIdGenerator idGenerator;
     protected final QueryCache queryCache;
     protected final ExecutionClient executionClient;
+    protected final AdmissionController admissionController;
     Tracer tracer;
     LongHistogram queryHistogram;
 
@@ -121,6 +129,7 @@ public class IrStandardOpProcessor extends StandardOpProcessor {
             ExecutionClient executionClient,
             ChannelFetcher fetcher,
             IrMetaQueryCallback metaQueryCallback,
+            AdmissionController admissionController,
             Graph graph,
             GraphTraversalSource g) {
         this.graph = graph;
@@ -141,6 +150,7 @@ public class IrStandardOpProcessor extends StandardOpProcessor {
         this.idGenerator = idGenerator;
         this.queryCache = queryCache;
         this.executionClient = executionClient;
+        this.admissionController = admissionController;
         initTracer();
         initMetrics();
     }
@@ -161,9 +171,61 @@ public class IrStandardOpProcessor extends StandardOpProcessor {
             ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SUCCESS).create());
             return;
         }
+        AdmissionController.Ticket ticket = admissionController.newTicket(getUserName(ctx), script);
+        admissionController.admit(
+                ticket,
+                () -> evalScript(ctx, gremlinExecutor, bindingsSupplier, script, ticket),
+                e ->
+                        ctx.writeAndFlush(
+                                ResponseMessage.build(msg)
+                                        .code(ResponseStatusCode.TOO_MANY_REQUESTS)
+                                        .statusMessage(e.getMessage())
+                                        .create()));
+    }
+
+    private String getUserName(Context ctx) {
+        AuthenticatedUser user =
+                ctx.getChannelHandlerContext().channel().attr(StateKey.AUTHENTICATED_USER).get();
+        return user == null ? AuthenticatedUser.ANONYMOUS_USERNAME : user.getName();
+    }
+
+    // evaluate the script after the query is admitted, the ticket should be released once the
+    // evaluation is finished, or if any error occurs before the evaluation is submitted
+    private void evalScript(
+            Context ctx,
+            GremlinExecutor gremlinExecutor,
+            AbstractEvalOpProcessor.BindingSupplier bindingsSupplier,
+            String script,
+            AdmissionController.Ticket ticket) {
+        IrMeta irMeta = null;
+        try {
+            irMeta = metaQueryCallback.beforeExec();
+            evalScript(ctx, gremlinExecutor, bindingsSupplier, script, ticket, irMeta);
+        } catch (Throwable t) {
+            if (irMeta != null) {
+                metaQueryCallback.afterExec(irMeta);
+            }
+            admissionController.release(ticket);
+            logger.error("fail to evaluate script: {}", script, t);
+            ctx.writeAndFlush(
+                    ResponseMessage.build(ctx.getRequestMessage())
+                            .code(ResponseStatusCode.SERVER_ERROR)
+                            .statusMessage(t.getMessage() == null ? t.toString() : t.getMessage())
+                            .statusAttributeException(t)
+                            .create());
+        }
+    }
+
+    private void evalScript(
+            Context ctx,
+            GremlinExecutor gremlinExecutor,
+            AbstractEvalOpProcessor.BindingSupplier bindingsSupplier,
+            String script,
+            AdmissionController.Ticket ticket,
+            IrMeta irMeta) {
+        RequestMessage msg = ctx.getRequestMessage();
         BigInteger jobId = idGenerator.generateId();
         String jobName = idGenerator.generateName(jobId);
-        IrMeta irMeta = metaQueryCallback.beforeExec();
         QueryStatusCallback statusCallback = createQueryStatusCallback(script, jobId);
         QueryTimeoutConfig timeoutConfig = new QueryTimeoutConfig(ctx.getRequestTimeout());
         String language = FrontendConfig.GREMLIN_SCRIPT_LANGUAGE_NAME.get(configs);
@@ -173,7 +235,7 @@ public class IrStandardOpProcessor extends StandardOpProcessor {
                 lifeCycle =
                         createLifeCycle(
                                 ctx,
-                                gremlinExecutorSupplier,
+                                () -> gremlinExecutor,
                                 bindingsSupplier,
                                 irMeta,
                                 statusCallback,
@@ -202,6 +264,7 @@ public class IrStandardOpProcessor extends StandardOpProcessor {
             evalFuture.handle(
                     (v, t) -> {
                         metaQueryCallback.afterExec(irMeta);
+                        admissionController.release(ticket);
                         // TimeoutException has been handled in ResultProcessor, skip it here
                         if (t != null && !(t instanceof TimeoutException)) {
                             statusCallback.onEnd(false, t.getMessage());
@@ -289,6 +352,8 @@ public class IrStandardOpProcessor extends StandardOpProcessor {
                         return null;
                     });
         } catch (RejectedExecutionException var17) {
+            metaQueryCallback.afterExec(irMeta);
+            admissionController.release(ticket);
             statusCallback.getQueryLogger().error(var17.getMessage());
             ctx.writeAndFlush(
                     ResponseMessage.build(msg)
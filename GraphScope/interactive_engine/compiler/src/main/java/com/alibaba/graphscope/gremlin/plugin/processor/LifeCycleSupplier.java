@@ -23,7 +23,6 @@ import com.alibaba.graphscope.common.config.QueryTimeoutConfig;
 import com.alibaba.graphscope.common.ir.tools.GraphPlanner;
 import com.alibaba.graphscope.common.ir.tools.QueryCache;
 import com.alibaba.graphscope.common.store.IrMeta;
-import com.alibaba.graphscope.gaia.proto.IrResult;
 import com.alibaba.graphscope.gremlin.plugin.QueryStatusCallback;
 import com.alibaba.graphscope.gremlin.resultx.GremlinRecordParser;
 import com.alibaba.graphscope.gremlin.resultx.GremlinResultProcessor;
@@ -34,7 +33,6 @@ import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.server.Context;
 
 import java.math.BigInteger;
-import java.util.List;
 import java.util.function.Supplier;
 
 public class LifeCycleSupplier implements Supplier<GremlinExecutor.LifeCycle> {
@@ -103,9 +101,7 @@ public class LifeCycleSupplier implements Supplier<GremlinExecutor.LifeCycle> {
                                                 statusCallback,
                                                 timeoutConfig);
                                 if (value.result != null && value.result.isCompleted) {
-                                    List<IrResult.Results> records = value.result.records;
-                                    records.forEach(k -> listener.onNext(k.getRecord()));
-                                    listener.onCompleted();
+                                    listener.request(value.result.records);
                                 } else {
                                     this.client.submit(
                                             new ExecutionRequest(
@@ -113,11 +109,12 @@ public class LifeCycleSupplier implements Supplier<GremlinExecutor.LifeCycle> {
                                                     queryName,
                                                     summary.getLogicalPlan(),
                                                     summary.getPhysicalPlan()),
-                                            listener,
+                                            queryCache.collectResult(
+                                                    value, queryId.longValue(), meta, listener),
                                             timeoutConfig);
+                                    // request results from remote engine in a blocking way
+                                    listener.request();
                                 }
-                                // request results from remote engine in a blocking way
-                                listener.request();
                             } catch (Exception e) {
                                 throw new RuntimeException(e);
                             }
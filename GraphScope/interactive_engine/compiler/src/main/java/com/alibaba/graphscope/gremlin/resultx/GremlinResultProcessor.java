@@ -24,19 +24,32 @@ import com.alibaba.graphscope.common.result.RecordParser;
 import com.alibaba.graphscope.gaia.proto.IrResult;
 import com.alibaba.graphscope.gremlin.plugin.QueryStatusCallback;
 import com.alibaba.pegasus.common.StreamIterator;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import io.grpc.Status;
+import io.netty.channel.Channel;
 
+import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.server.Context;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * stream the results of non-groupBy queries to the client in batches of {@code resultIterationBatchSize} as soon as
+ * they arrive, the records of groupBy queries are reduced into a single map which is sent back when the query finishes.
+ * The results are only written when the channel is writable, so that a slow client pauses the consumption of
+ * {@code recordStreamIterator} and in turn the engine, instead of accumulating the results in frontend memory.
+ */
 public class GremlinResultProcessor implements ExecutionResponseListener {
+    private static final long WRITE_PAUSE_MS = 10L;
+
     protected final Context ctx;
     protected final QueryStatusCallback statusCallback;
     protected final RecordParser<Object> recordParser;
@@ -44,6 +57,8 @@ public class GremlinResultProcessor implements ExecutionResponseListener {
     protected final Map<Object, Object> reducer;
     protected final StreamIterator<IrResult.Record> recordStreamIterator;
     protected final QueryTimeoutConfig timeoutConfig;
+    protected final List<Object> resultCollectors;
+    protected final int resultCollectorsBatchSize;
 
     public GremlinResultProcessor(
             Configs configs,
@@ -58,6 +73,14 @@ public class GremlinResultProcessor implements ExecutionResponseListener {
         this.statusCallback = statusCallback;
         this.timeoutConfig = timeoutConfig;
         this.reducer = Maps.newLinkedHashMap();
+        // init batch size from resultIterationBatchSize in conf/gremlin-server.yaml,
+        // or args in RequestMessage which is originated from gremlin client
+        this.resultCollectorsBatchSize =
+                (Integer)
+                        ctx.getRequestMessage()
+                                .optionalArgs(Tokens.ARGS_BATCH_SIZE)
+                                .orElse(ctx.getSettings().resultIterationBatchSize);
+        this.resultCollectors = Lists.newArrayListWithCapacity(resultCollectorsBatchSize);
         this.recordStreamIterator =
                 new StreamIterator<>(
                         FrontendConfig.PER_QUERY_STREAM_BUFFER_MAX_CAPACITY.get(configs));
@@ -87,16 +110,29 @@ public class GremlinResultProcessor implements ExecutionResponseListener {
     }
 
     public void request() {
+        process(recordStreamIterator);
+    }
+
+    /**
+     * process the records of a completed query directly, i.e. the results fetched from the query cache, which may
+     * exceed the capacity of {@code recordStreamIterator}
+     * @param records
+     */
+    public void request(List<IrResult.Results> records) {
+        process(Iterators.transform(records.iterator(), IrResult.Results::getRecord));
+    }
+
+    private void process(Iterator<IrResult.Record> iterator) {
         try {
-            while (recordStreamIterator.hasNext()) {
-                processRecord(recordStreamIterator.next());
+            while (iterator.hasNext()) {
+                processRecord(iterator.next());
             }
             finishRecord();
         } catch (Throwable t) {
             Status status;
             // if the exception is caused by InterruptedException, it means a timeout exception has
             // been thrown by gremlin executor
-            if (t != null && t.getCause() instanceof InterruptedException) {
+            if (t instanceof InterruptedException || t.getCause() instanceof InterruptedException) {
                 status =
                         Status.DEADLINE_EXCEEDED.withDescription(
                                 "Timeout has been detected by gremlin executor");
@@ -133,9 +169,9 @@ public class GremlinResultProcessor implements ExecutionResponseListener {
         }
     }
 
-    protected void processRecord(IrResult.Record record) {
+    protected void processRecord(IrResult.Record record) throws InterruptedException {
         List<Object> results = recordParser.parseFrom(record);
-        if (resultSchema.isGroupBy && !results.isEmpty()) {
+        if (resultSchema.isGroupBy) {
             if (results.stream().anyMatch(k -> !(k instanceof Map))) {
                 throw new IllegalArgumentException(
                         "cannot reduce results " + results + " into a single map");
@@ -143,24 +179,47 @@ public class GremlinResultProcessor implements ExecutionResponseListener {
             for (Object result : results) {
                 reducer.putAll((Map) result);
             }
-        } else if (!resultSchema.isGroupBy) {
-            ctx.writeAndFlush(
-                    ResponseMessage.build(ctx.getRequestMessage())
-                            .code(ResponseStatusCode.PARTIAL_CONTENT)
-                            .result(results)
-                            .create());
+        } else {
+            for (Object result : results) {
+                resultCollectors.add(formatResult(result));
+            }
+            // send back a page of results if batch size is met and then reset the
+            // resultCollectors
+            if (resultCollectors.size() >= resultCollectorsBatchSize) {
+                awaitWritable();
+                ctx.writeAndFlush(
+                        ResponseMessage.build(ctx.getRequestMessage())
+                                .code(ResponseStatusCode.PARTIAL_CONTENT)
+                                .result(Lists.newArrayList(resultCollectors))
+                                .create());
+                resultCollectors.clear();
+            }
         }
     }
 
-    protected void finishRecord() {
-        List<Object> results = Lists.newArrayList();
+    protected void finishRecord() throws InterruptedException {
         if (resultSchema.isGroupBy) {
-            results.add(reducer);
+            resultCollectors.add(formatResult(reducer));
         }
+        awaitWritable();
         ctx.writeAndFlush(
                 ResponseMessage.build(ctx.getRequestMessage())
                         .code(ResponseStatusCode.SUCCESS)
-                        .result(results)
+                        .result(Lists.newArrayList(resultCollectors))
                         .create());
+        resultCollectors.clear();
+    }
+
+    // convert the parsed result to the object sent back to the client
+    protected Object formatResult(Object result) {
+        return result;
+    }
+
+    // the thread is interrupted by gremlin executor if the query times out during waiting
+    private void awaitWritable() throws InterruptedException {
+        Channel channel = ctx.getChannelHandlerContext().channel();
+        while (channel.isActive() && !channel.isWritable()) {
+            TimeUnit.MILLISECONDS.sleep(WRITE_PAUSE_MS);
+        }
     }
 }
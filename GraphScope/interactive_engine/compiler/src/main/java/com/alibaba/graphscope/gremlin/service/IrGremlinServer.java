@@ -22,8 +22,9 @@ import com.alibaba.graphscope.common.config.Configs;
 import com.alibaba.graphscope.common.config.FrontendConfig;
 import com.alibaba.graphscope.common.ir.tools.QueryCache;
 import com.alibaba.graphscope.common.ir.tools.QueryIdGenerator;
+import com.alibaba.graphscope.common.manager.AdmissionController;
 import com.alibaba.graphscope.common.manager.IrMetaQueryCallback;
-import com.alibaba.graphscope.common.manager.RateLimitExecutor;
+import com.alibaba.graphscope.common.utils.ThreadUtils;
 import com.alibaba.graphscope.gremlin.Utils;
 import com.alibaba.graphscope.gremlin.auth.AuthManager;
 import com.alibaba.graphscope.gremlin.auth.AuthManagerReference;
@@ -42,17 +43,22 @@ import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
 import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
 import java.util.concurrent.*;
 
 public class IrGremlinServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(IrGremlinServer.class);
+
     private final Configs configs;
     private final QueryCache queryCache;
     private final ExecutionClient executionClient;
     private final ChannelFetcher channelFetcher;
     private final IrMetaQueryCallback metaQueryCallback;
     private final GraphProperties testGraph;
+    private final AdmissionController admissionController;
 
     private GremlinServer gremlinServer;
     private final Settings settings;
@@ -76,6 +82,7 @@ public class IrGremlinServer implements AutoCloseable {
         this.channelFetcher = channelFetcher;
         this.metaQueryCallback = metaQueryCallback;
         this.testGraph = testGraph;
+        this.admissionController = new AdmissionController(configs);
         InputStream input =
                 getClass().getClassLoader().getResourceAsStream("conf/gremlin-server.yaml");
         this.settings = Settings.read(input);
@@ -98,6 +105,7 @@ public class IrGremlinServer implements AutoCloseable {
                         executionClient,
                         channelFetcher,
                         metaQueryCallback,
+                        admissionController,
                         graph,
                         g);
         IrOpLoader.addProcessor(standardProcessor.getName(), standardProcessor);
@@ -109,6 +117,7 @@ public class IrGremlinServer implements AutoCloseable {
                         executionClient,
                         channelFetcher,
                         metaQueryCallback,
+                        admissionController,
                         graph,
                         g,
                         testGraph);
@@ -117,7 +126,7 @@ public class IrGremlinServer implements AutoCloseable {
         AuthManager authManager = new DefaultAuthManager(configs);
         AuthManagerReference.setAuthManager(authManager);
 
-        this.gremlinServer = new GremlinServer(settings, createRateLimitExecutor());
+        this.gremlinServer = new GremlinServer(settings, createExecutor());
         ServerGremlinExecutor serverGremlinExecutor =
                 Utils.getFieldValue(
                         GremlinServer.class, this.gremlinServer, "serverGremlinExecutor");
@@ -127,14 +136,23 @@ public class IrGremlinServer implements AutoCloseable {
         this.gremlinServer.start().join();
     }
 
-    private ExecutorService createRateLimitExecutor() {
+    // queries have been admitted by the admission controller before submitted to the executor,
+    // each query blocks its thread until all results are sent back, so the number of queries in
+    // flight is bounded by the pool size unless virtual threads are used
+    private ExecutorService createExecutor() {
+        if (FrontendConfig.VIRTUAL_THREAD_ENABLED.get(configs)) {
+            ExecutorService executor = ThreadUtils.newVirtualThreadPerTaskExecutor("exec-");
+            if (executor != null) {
+                logger.info("gremlin queries are executed by virtual threads");
+                return executor;
+            }
+        }
         if (settings.gremlinPool == 0) {
             settings.gremlinPool = Runtime.getRuntime().availableProcessors();
         }
         ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
         BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(settings.maxWorkQueueSize);
-        return new RateLimitExecutor(
-                configs,
+        return new ThreadPoolExecutor(
                 settings.gremlinPool,
                 settings.gremlinPool,
                 0L,
@@ -149,5 +167,6 @@ public class IrGremlinServer implements AutoCloseable {
         if (this.gremlinServer != null) {
             this.gremlinServer.stop();
         }
+        this.admissionController.close();
     }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.client;
+
+import com.alibaba.graphscope.common.client.channel.HostURIChannelFetcher;
+import com.alibaba.graphscope.common.client.type.ExecutionRequest;
+import com.alibaba.graphscope.common.client.type.ExecutionResponseListener;
+import com.alibaba.graphscope.common.config.Configs;
+import com.alibaba.graphscope.common.config.QueryTimeoutConfig;
+import com.alibaba.graphscope.common.ir.Utils;
+import com.alibaba.graphscope.common.ir.runtime.PhysicalPlan;
+import com.alibaba.graphscope.common.ir.tools.LogicalPlan;
+import com.alibaba.graphscope.common.ir.tools.config.GraphOpt;
+import com.alibaba.graphscope.common.ir.tools.config.LabelConfig;
+import com.alibaba.graphscope.common.ir.tools.config.SourceConfig;
+import com.alibaba.graphscope.gaia.proto.IrResult;
+import com.google.common.collect.ImmutableMap;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HttpExecutionClientTest {
+    private final List<HttpServer> servers = new CopyOnWriteArrayList<>();
+
+    @After
+    public void tearDown() {
+        servers.forEach(k -> k.stop(0));
+    }
+
+    // test each query is sent to exactly one replica in round-robin order
+    @Test
+    public void single_target_test() throws Exception {
+        AtomicInteger hits1 = new AtomicInteger(0);
+        AtomicInteger hits2 = new AtomicInteger(0);
+        int port1 = startServer(hits1, 1, 0);
+        int port2 = startServer(hits2, 1, 0);
+        HttpExecutionClient client =
+                createClient(
+                        "127.0.0.1:" + port1 + ",127.0.0.1:" + port2,
+                        ImmutableMap.of("hiactor.load.balance", "round_robin"));
+        for (int i = 0; i < 10; ++i) {
+            Collector collector = submit(client);
+            Assert.assertNull(collector.error);
+            Assert.assertEquals(1, collector.records.get());
+        }
+        Assert.assertEquals(5, hits1.get());
+        Assert.assertEquals(5, hits2.get());
+        client.close();
+    }
+
+    // test queries to a dead replica are redirected and the replica is ejected
+    @Test
+    public void ejection_test() throws Exception {
+        AtomicInteger hits = new AtomicInteger(0);
+        int port = startServer(hits, 1, 0);
+        int deadPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            deadPort = socket.getLocalPort();
+        }
+        HttpExecutionClient client =
+                createClient(
+                        "127.0.0.1:" + deadPort + ",127.0.0.1:" + port,
+                        ImmutableMap.of(
+                                "hiactor.load.balance", "round_robin",
+                                "hiactor.ejection.failures", "1"));
+        for (int i = 0; i < 10; ++i) {
+            Collector collector = submit(client);
+            Assert.assertNull(collector.error);
+            Assert.assertEquals(1, collector.records.get());
+        }
+        Assert.assertEquals(10, hits.get());
+        client.close();
+    }
+
+    // test the query is hedged to another replica if the first one is slow
+    @Test
+    public void hedge_test() throws Exception {
+        AtomicInteger slowHits = new AtomicInteger(0);
+        AtomicInteger fastHits = new AtomicInteger(0);
+        int slowPort = startServer(slowHits, 1, 5000);
+        int fastPort = startServer(fastHits, 2, 0);
+        HttpExecutionClient client =
+                createClient(
+                        "127.0.0.1:" + slowPort + ",127.0.0.1:" + fastPort,
+                        ImmutableMap.of(
+                                "hiactor.load.balance", "round_robin",
+                                "hiactor.hedge.delay.ms", "50"));
+        long startTime = System.currentTimeMillis();
+        // the first query goes to the slow replica in round-robin order
+        Collector collector = submit(client);
+        Assert.assertTrue(System.currentTimeMillis() - startTime < 5000);
+        Assert.assertNull(collector.error);
+        Assert.assertEquals(2, collector.records.get());
+        Assert.assertEquals(1, slowHits.get());
+        Assert.assertEquals(1, fastHits.get());
+        client.close();
+    }
+
+    private int startServer(AtomicInteger hits, int records, long delayMs) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        IrResult.CollectiveResults.Builder results = IrResult.CollectiveResults.newBuilder();
+        for (int i = 0; i < records; ++i) {
+            results.addResults(
+                    IrResult.Results.newBuilder().setRecord(IrResult.Record.getDefaultInstance()));
+        }
+        byte[] response = results.build().toByteArray();
+        server.createContext(
+                "/",
+                exchange -> {
+                    hits.incrementAndGet();
+                    exchange.getRequestBody().readAllBytes();
+                    try {
+                        Thread.sleep(delayMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    exchange.sendResponseHeaders(200, response.length);
+                    try (OutputStream os = exchange.getResponseBody()) {
+                        os.write(response);
+                    }
+                });
+        // serve the slow and fast requests concurrently
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        servers.add(server);
+        return server.getAddress().getPort();
+    }
+
+    private HttpExecutionClient createClient(String hosts, ImmutableMap<String, String> options) {
+        Configs configs =
+                new Configs(
+                        ImmutableMap.<String, String>builder()
+                                .put("hiactor.hosts", hosts)
+                                .putAll(options)
+                                .build());
+        return new HttpExecutionClient(configs, new HostURIChannelFetcher(configs));
+    }
+
+    private Collector submit(HttpExecutionClient client) throws Exception {
+        SourceConfig sourceConfig =
+                new SourceConfig(GraphOpt.Source.VERTEX, new LabelConfig(false).addLabel("person"));
+        LogicalPlan logicalPlan =
+                new LogicalPlan(Utils.mockGraphBuilder().source(sourceConfig).build());
+        ExecutionRequest request =
+                new ExecutionRequest(
+                        BigInteger.ONE,
+                        "test",
+                        logicalPlan,
+                        new PhysicalPlan<>(new byte[] {1, 2, 3}, "test"));
+        Collector collector = new Collector();
+        client.submit(request, collector, new QueryTimeoutConfig(10000));
+        Assert.assertTrue(collector.done.await(10, TimeUnit.SECONDS));
+        return collector;
+    }
+
+    private static class Collector implements ExecutionResponseListener {
+        private final AtomicInteger records = new AtomicInteger(0);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Throwable error;
+
+        @Override
+        public void onNext(IrResult.Record record) {
+            records.incrementAndGet();
+        }
+
+        @Override
+        public void onCompleted() {
+            done.countDown();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.ir;
+
+import com.alibaba.graphscope.common.config.Configs;
+import com.alibaba.graphscope.common.ir.tools.LogicalPlan;
+import com.alibaba.graphscope.common.ir.tools.PartitionPruner;
+import com.alibaba.graphscope.gremlin.antlr4x.GraphBuilderTest;
+import com.alibaba.graphscope.groot.common.schema.wrapper.DataType;
+import com.alibaba.graphscope.groot.common.schema.wrapper.PropertyValue;
+import com.alibaba.graphscope.groot.common.util.PartitionUtils;
+import com.alibaba.graphscope.groot.common.util.PkHashUtils;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class PartitionPrunerTest {
+    private static final int PARTITION_NUM = 16;
+    private static final int SERVER_NUM = 3;
+
+    private final PartitionPruner pruner =
+            new PartitionPruner(
+                    new Configs(
+                            ImmutableMap.of(
+                                    "pegasus.partition.num", String.valueOf(PARTITION_NUM))));
+
+    // vertices are looked up by ids
+    @Test
+    public void id_test() {
+        Assert.assertEquals(getServerIds(5L), prune("g.V(5).values('name')"));
+        Assert.assertEquals(
+                getServerIds(5L), prune("g.V().as('a').where(expr(elementId(a) = 5)).count()"));
+    }
+
+    // vertices are looked up by an IN-list of ids, which is converted to a Sarg
+    @Test
+    public void id_in_list_test() {
+        // the partitions 1, 7 and 12 are owned by different servers
+        List<Integer> serverIds = getServerIds(1L, 7L, 12L);
+        Assert.assertEquals(ImmutableList.of(0, 1, 2), serverIds);
+        Assert.assertEquals(serverIds, prune("g.V(1, 7, 12)"));
+        Assert.assertEquals(getServerIds(1L, 2L), prune("g.V(1, 2)"));
+    }
+
+    // vertices are looked up by the single primary key of 'person'
+    @Test
+    public void primary_key_test() throws Exception {
+        int labelId = Utils.schemaMeta.getSchema().getElement("person").getLabelId();
+        long vertexId =
+                PkHashUtils.hash(
+                        labelId,
+                        ImmutableList.of(new PropertyValue(DataType.LONG, 1L).getValBytes()));
+        Assert.assertEquals(
+                getServerIds(vertexId), prune("g.V().has('person', 'id', 1).values('name')"));
+    }
+
+    // the queries accessing neighbors or not looking up vertices by points are sent to all servers
+    @Test
+    public void unpruned_test() {
+        // neighbors may be located in other partitions
+        Assert.assertEquals(ImmutableList.of(), prune("g.V(1).out()"));
+        // full scan
+        Assert.assertEquals(ImmutableList.of(), prune("g.V().values('name')"));
+        // 'id' is not the primary key of 'software'
+        Assert.assertEquals(ImmutableList.of(), prune("g.V().has('software', 'id', 1)"));
+        // the primary key of multiple labels
+        Assert.assertEquals(ImmutableList.of(), prune("g.V().has('id', 1)"));
+        // a range of ids
+        Assert.assertEquals(
+                ImmutableList.of(), prune("g.V().as('a').where(expr(elementId(a) > 5))"));
+    }
+
+    private List<Integer> prune(String query) {
+        return pruner.getServerIds(new LogicalPlan(GraphBuilderTest.eval(query)), SERVER_NUM);
+    }
+
+    private static List<Integer> getServerIds(Long... vertexIds) {
+        return Stream.of(vertexIds)
+                .map(
+                        k ->
+                                PartitionUtils.getStoreIdFromPartition(
+                                        PartitionUtils.getPartitionIdFromKey(k, PARTITION_NUM),
+                                        PARTITION_NUM,
+                                        SERVER_NUM))
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
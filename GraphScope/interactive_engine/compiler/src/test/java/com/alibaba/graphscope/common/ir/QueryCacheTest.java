@@ -16,13 +16,16 @@
 
 package com.alibaba.graphscope.common.ir;
 
+import com.alibaba.graphscope.common.client.type.ExecutionResponseListener;
 import com.alibaba.graphscope.common.config.Configs;
 import com.alibaba.graphscope.common.ir.tools.GraphBuilder;
 import com.alibaba.graphscope.common.ir.tools.GraphPlanner;
 import com.alibaba.graphscope.common.ir.tools.QueryCache;
 import com.alibaba.graphscope.common.store.IrMeta;
+import com.alibaba.graphscope.common.store.SnapshotId;
 import com.alibaba.graphscope.cypher.antlr4.parser.CypherAntlr4Parser;
 import com.alibaba.graphscope.cypher.antlr4.visitor.LogicalPlanVisitor;
+import com.alibaba.graphscope.gaia.proto.IrResult;
 import com.google.common.collect.ImmutableMap;
 
 import org.junit.Assert;
@@ -72,4 +75,86 @@ public class QueryCacheTest {
         // value1 should have been evicted due to max size is 1
         Assert.assertTrue(value1 != value3);
     }
+
+    // test result cache is filled after completion and invalidated by snapshot
+    @Test
+    public void query_cache_3_test() throws Exception {
+        Configs configs =
+                new Configs(
+                        ImmutableMap.of(
+                                "query.cache.size", "10",
+                                "query.cache.result.enabled", "true",
+                                "query.cache.result.max.snapshot.lag", "1"));
+        GraphPlanner graphPlanner =
+                new GraphPlanner(
+                        configs,
+                        (GraphBuilder builder, IrMeta irMeta, String q) ->
+                                new LogicalPlanVisitor(builder, irMeta)
+                                        .visit(new CypherAntlr4Parser().parse(q)));
+        QueryCache cache = new QueryCache(configs, graphPlanner);
+        String query = "Match (n {name: 'ma'}) Return count(n)";
+        IrMeta meta1 = new IrMeta(new SnapshotId(true, 1), Utils.schemaMeta.getSchema());
+        QueryCache.Value value1 = cache.get(cache.createKey(query, meta1));
+        Assert.assertNull(value1.result);
+        ExecutionResponseListener listener =
+                cache.collectResult(value1, 1L, meta1, new NoopListener());
+        listener.onNext(IrResult.Record.getDefaultInstance());
+        listener.onCompleted();
+
+        IrMeta meta2 = new IrMeta(new SnapshotId(true, 2), Utils.schemaMeta.getSchema());
+        QueryCache.Value value2 = cache.get(cache.createKey(query, meta2));
+        Assert.assertTrue(value2.result != null && value2.result.isCompleted);
+        Assert.assertEquals(1, value2.result.records.size());
+        Assert.assertEquals(1L, value2.result.queryId);
+
+        // the snapshot has moved past the staleness bound
+        IrMeta meta3 = new IrMeta(new SnapshotId(true, 3), Utils.schemaMeta.getSchema());
+        QueryCache.Value value3 = cache.get(cache.createKey(query, meta3));
+        Assert.assertNull(value3.result);
+    }
+
+    // test result computed on a newer snapshot is not served to readers of an older one
+    @Test
+    public void query_cache_4_test() throws Exception {
+        Configs configs =
+                new Configs(
+                        ImmutableMap.of(
+                                "query.cache.size", "10",
+                                "query.cache.result.enabled", "true",
+                                "query.cache.result.max.snapshot.lag", "1"));
+        GraphPlanner graphPlanner =
+                new GraphPlanner(
+                        configs,
+                        (GraphBuilder builder, IrMeta irMeta, String q) ->
+                                new LogicalPlanVisitor(builder, irMeta)
+                                        .visit(new CypherAntlr4Parser().parse(q)));
+        QueryCache cache = new QueryCache(configs, graphPlanner);
+        String query = "Match (n {name: 'ma'}) Return count(n)";
+        IrMeta meta5 = new IrMeta(new SnapshotId(true, 5), Utils.schemaMeta.getSchema());
+        QueryCache.Value value5 = cache.get(cache.createKey(query, meta5));
+        ExecutionResponseListener listener =
+                cache.collectResult(value5, 1L, meta5, new NoopListener());
+        listener.onNext(IrResult.Record.getDefaultInstance());
+        listener.onCompleted();
+
+        IrMeta meta4 = new IrMeta(new SnapshotId(true, 4), Utils.schemaMeta.getSchema());
+        QueryCache.Value value4 = cache.get(cache.createKey(query, meta4));
+        Assert.assertNull(value4.result);
+
+        // the result is still served to the readers of the same snapshot
+        QueryCache.Value value6 = cache.get(cache.createKey(query, meta5));
+        Assert.assertTrue(value6.result != null && value6.result.isCompleted);
+        Assert.assertEquals(1L, value6.result.queryId);
+    }
+
+    private static class NoopListener implements ExecutionResponseListener {
+        @Override
+        public void onNext(IrResult.Record record) {}
+
+        @Override
+        public void onCompleted() {}
+
+        @Override
+        public void onError(Throwable t) {}
+    }
 }
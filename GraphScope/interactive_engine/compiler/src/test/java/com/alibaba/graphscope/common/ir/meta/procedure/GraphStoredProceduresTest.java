@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.ir.meta.procedure;
+
+import com.alibaba.graphscope.common.ir.meta.reader.MetaDataReader;
+import com.alibaba.graphscope.common.ir.meta.reader.SchemaInputStream;
+import com.google.common.collect.Lists;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class GraphStoredProceduresTest {
+    @Test
+    public void refresh_procedures_test() throws Exception {
+        ProcedureReader reader = new ProcedureReader();
+        reader.procedures =
+                Lists.newArrayList(
+                        procedure("ic1", "MATCH (n) RETURN n;"),
+                        procedure("ic2", "MATCH (n)-[]->(m) RETURN m;"),
+                        procedure("ic3", "MATCH (n) RETURN count(n);"));
+        GraphStoredProcedures procedures = new GraphStoredProcedures(reader);
+        StoredProcedureMeta ic1 = procedures.getStoredProcedure("ic1");
+        StoredProcedureMeta ic2 = procedures.getStoredProcedure("ic2");
+        Assert.assertEquals("ic1", ic1.getName());
+        Assert.assertEquals("MATCH (n)-[]->(m) RETURN m;", ic2.getOption("query"));
+        Assert.assertNull(procedures.getStoredProcedure("ic4"));
+
+        // ic2 is changed, ic3 is removed and ic4 is added
+        reader.procedures =
+                Lists.newArrayList(
+                        procedure("ic1", "MATCH (n) RETURN n;"),
+                        procedure("ic2", "MATCH (n)-[]->(m) RETURN n, m;"),
+                        procedure("ic4", "MATCH (n) RETURN n LIMIT 1;"));
+        procedures.refresh(reader);
+        // the unchanged procedure is not parsed again
+        Assert.assertSame(ic1, procedures.getStoredProcedure("ic1"));
+        Assert.assertEquals(
+                "MATCH (n)-[]->(m) RETURN n, m;",
+                procedures.getStoredProcedure("ic2").getOption("query"));
+        Assert.assertNull(procedures.getStoredProcedure("ic3"));
+        Assert.assertEquals("ic4", procedures.getStoredProcedure("ic4").getName());
+    }
+
+    @Test
+    public void invalid_procedure_test() throws Exception {
+        ProcedureReader reader = new ProcedureReader();
+        reader.procedures =
+                Lists.newArrayList(procedure("ic1", "MATCH (n) RETURN n;"), "name: [ic3\n");
+        // the syntax errors fail the loading
+        Assert.assertThrows(
+                IllegalArgumentException.class, () -> new GraphStoredProcedures(reader));
+
+        reader.procedures =
+                Lists.newArrayList(
+                        procedure("ic1", "MATCH (n) RETURN n;"),
+                        // params should be a list
+                        "name: ic2\nparams: 1\nquery: 'MATCH (n) RETURN n;'\n");
+        GraphStoredProcedures procedures = new GraphStoredProcedures(reader);
+        Assert.assertEquals("ic1", procedures.getStoredProcedure("ic1").getName());
+        // the other errors are reported on the first use
+        Assert.assertThrows(
+                IllegalArgumentException.class, () -> procedures.getStoredProcedure("ic2"));
+
+        // a failed refresh keeps the previous procedures
+        reader.procedures = Lists.newArrayList("name: [ic3\n");
+        Assert.assertThrows(IllegalArgumentException.class, () -> procedures.refresh(reader));
+        Assert.assertEquals("ic1", procedures.getStoredProcedure("ic1").getName());
+    }
+
+    private static String procedure(String name, String query) {
+        return "description: a procedure\n"
+                + "params:\n"
+                + "  - name: id\n"
+                + "    type:\n"
+                + "      primitive_type: DT_SIGNED_INT64\n"
+                + "name: "
+                + name
+                + "\n"
+                + "type: x_cypher\n"
+                + "query: '"
+                + query
+                + "'\n";
+    }
+
+    private static class ProcedureReader implements MetaDataReader {
+        private List<String> procedures;
+
+        @Override
+        public List<InputStream> getStoredProcedures() {
+            return procedures.stream()
+                    .map(k -> new ByteArrayInputStream(k.getBytes(StandardCharsets.UTF_8)))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public SchemaInputStream getGraphSchema() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SchemaInputStream getStatistics() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
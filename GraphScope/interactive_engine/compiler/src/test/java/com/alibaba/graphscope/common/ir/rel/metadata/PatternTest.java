@@ -20,6 +20,7 @@ import com.alibaba.graphscope.common.ir.rel.metadata.glogue.ExtendEdge;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.ExtendStep;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.Pattern;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternDirection;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternEdge;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternVertex;
 import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.SinglePatternVertex;
 import com.alibaba.graphscope.common.ir.rel.metadata.schema.EdgeTypeId;
@@ -30,6 +31,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 public class PatternTest {
@@ -232,4 +234,63 @@ public class PatternTest {
         p6.addEdge(v1, v2222, creates);
         Assert.assertFalse(p5.equals(p6));
     }
+
+    @Test
+    public void pattern_canonical_code_test() {
+        // p1: a cycle of 4 persons, p2: the same cycle with vertices added in another order
+        PatternVertex[] vertices = new PatternVertex[4];
+        for (int i = 0; i < 4; ++i) {
+            vertices[i] = new SinglePatternVertex(person, i);
+        }
+        Pattern p1 = new Pattern();
+        Pattern p2 = new Pattern();
+        for (int i = 0; i < 4; ++i) {
+            p1.addVertex(vertices[i]);
+            p2.addVertex(vertices[3 - i]);
+        }
+        for (int i = 0; i < 4; ++i) {
+            p1.addEdge(vertices[i], vertices[(i + 1) % 4], knows);
+            // rotate the cycle by one vertex
+            p2.addEdge(vertices[(i + 1) % 4], vertices[(i + 2) % 4], knows);
+        }
+        p1.reordering();
+        p2.reordering();
+        Assert.assertEquals(p1.getCanonicalCode(), p2.getCanonicalCode());
+        Assert.assertEquals(p1, p2);
+
+        // p3: reverse one edge of the cycle
+        Pattern p3 = new Pattern();
+        for (int i = 0; i < 4; ++i) {
+            p3.addVertex(vertices[i]);
+        }
+        for (int i = 0; i < 3; ++i) {
+            p3.addEdge(vertices[i], vertices[i + 1], knows);
+        }
+        p3.addEdge(vertices[0], vertices[3], knows);
+        p3.reordering();
+        Assert.assertNotEquals(p1, p3);
+
+        // the canonical code agrees with the isomorphism checking on all extended patterns
+        Comparator<PatternVertex> vertexComparator =
+                (a, b) -> a.getIsomorphismChecker().compareTo(b.getIsomorphismChecker());
+        Comparator<PatternEdge> edgeComparator =
+                (a, b) -> a.getIsomorphismChecker().compareTo(b.getIsomorphismChecker());
+        List<Pattern> patterns = new ArrayList<>();
+        patterns.add(new Pattern(new SinglePatternVertex(person)));
+        patterns.add(new Pattern(new SinglePatternVertex(software)));
+        for (int i = 0; i < patterns.size(); ++i) {
+            if (patterns.get(i).getVertexNumber() < 3) {
+                for (ExtendStep step : patterns.get(i).getExtendSteps(g)) {
+                    patterns.add(patterns.get(i).extend(step));
+                }
+            }
+        }
+        for (Pattern a : patterns) {
+            for (Pattern b : patterns) {
+                Assert.assertEquals(
+                        a.isIsomorphicTo(b, vertexComparator, edgeComparator),
+                        a.getCanonicalCode().equals(b.getCanonicalCode()));
+            }
+        }
+    }
 }
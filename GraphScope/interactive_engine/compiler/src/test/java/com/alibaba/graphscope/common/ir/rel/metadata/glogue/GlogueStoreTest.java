@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.ir.rel.metadata.glogue;
+
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.Pattern;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.PatternVertex;
+import com.alibaba.graphscope.common.ir.rel.metadata.glogue.pattern.SinglePatternVertex;
+import com.alibaba.graphscope.common.ir.rel.metadata.schema.EdgeTypeId;
+import com.alibaba.graphscope.common.ir.rel.metadata.schema.GlogueSchema;
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public class GlogueStoreTest {
+    static Double delta = 0.00001;
+    static Integer person = 0;
+    static Integer software = 1;
+    static EdgeTypeId knows = new EdgeTypeId(0, 0, 0);
+    static EdgeTypeId creates = new EdgeTypeId(0, 1, 1);
+
+    // modern graph: person 4, software 2, person-knows->person 2, person-created->software 4
+    static GlogueSchema modern =
+            new GlogueSchema(
+                    ImmutableMap.of(person, 4.0, software, 2.0),
+                    ImmutableMap.of(knows, 2.0, creates, 4.0));
+
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void glogue_serialize_test() throws Exception {
+        Glogue gl = new Glogue(modern, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GlogueStore.write(gl, out);
+        Glogue loaded = GlogueStore.read(new ByteArrayInputStream(out.toByteArray()));
+        assertSameGlogue(gl, loaded);
+    }
+
+    @Test
+    public void glogue_load_or_create_test() throws Exception {
+        Path dir = tempFolder.newFolder("glogue").toPath();
+        GlogueStore store = new GlogueStore(dir);
+        Glogue created = store.loadOrCreate(modern, 3);
+        Glogue loaded = store.loadOrCreate(modern, 3);
+        assertSameGlogue(created, loaded);
+        try (Stream<Path> files = Files.list(dir)) {
+            Assert.assertEquals(1, files.count());
+        }
+    }
+
+    // test glogue extended from a smaller schema is the same as the one built from scratch
+    @Test
+    public void glogue_incremental_test() throws Exception {
+        GlogueSchema persons =
+                new GlogueSchema(ImmutableMap.of(person, 4.0), ImmutableMap.of(knows, 2.0));
+        Glogue previous = new Glogue(persons, 2);
+        Glogue extended = new Glogue(previous, modern, 3);
+        assertSameGlogue(new Glogue(modern, 3), extended);
+
+        // the created edges are removed
+        GlogueSchema noCreates =
+                new GlogueSchema(
+                        ImmutableMap.of(person, 4.0, software, 2.0), ImmutableMap.of(knows, 2.0));
+        assertSameGlogue(new Glogue(noCreates, 3), new Glogue(extended, noCreates, 3));
+    }
+
+    private void assertSameGlogue(Glogue expected, Glogue actual) {
+        Assert.assertEquals(expected.getMaxPatternSize(), actual.getMaxPatternSize());
+        Assert.assertEquals(expected.getPatterns().size(), actual.getPatterns().size());
+        Assert.assertEquals(expected.getEdges().size(), actual.getEdges().size());
+        Assert.assertEquals(expected.getRoots().size(), actual.getRoots().size());
+        for (Pattern pattern : expected.getPatterns()) {
+            Assert.assertEquals(expected.getRowCount(pattern), actual.getRowCount(pattern), delta);
+            Assert.assertEquals(
+                    expected.getOutEdges(pattern).size(), actual.getOutEdges(pattern).size());
+            Assert.assertEquals(
+                    expected.getInEdges(pattern).size(), actual.getInEdges(pattern).size());
+        }
+        // person2 <- person1 -> software, extended from person1 -> software
+        PatternVertex v0 = new SinglePatternVertex(software, 0);
+        PatternVertex v1 = new SinglePatternVertex(person, 1);
+        PatternVertex v2 = new SinglePatternVertex(person, 2);
+        Pattern pattern = new Pattern();
+        pattern.addVertex(v0);
+        pattern.addVertex(v1);
+        pattern.addVertex(v2);
+        pattern.addEdge(v1, v0, creates);
+        pattern.addEdge(v1, v2, knows);
+        pattern.reordering();
+        for (GlogueEdge edge : actual.getInEdges(pattern)) {
+            ExtendStep step = ((GlogueExtendIntersectEdge) edge).getExtendStep();
+            if (step.getTargetVertexType() == person) {
+                Assert.assertEquals(0.5, step.getWeight(), delta);
+                Assert.assertEquals(
+                        person,
+                        edge.getDstPattern()
+                                .getVertexByOrder(step.getTargetVertexOrder())
+                                .getVertexTypeIds()
+                                .get(0));
+            }
+        }
+    }
+}
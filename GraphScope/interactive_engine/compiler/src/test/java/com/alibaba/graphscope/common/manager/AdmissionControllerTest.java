@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.graphscope.common.manager;
+
+import com.alibaba.graphscope.common.config.Configs;
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdmissionControllerTest {
+    // test queries of the same user are queued if the user limit is reached
+    @Test
+    public void user_limit_test() throws Exception {
+        Configs configs =
+                new Configs(
+                        ImmutableMap.of(
+                                "frontend.admission.user.max.concurrency", "1",
+                                "frontend.admission.queue.timeout.ms", "60000"));
+        try (AdmissionController controller = new AdmissionController(configs)) {
+            AtomicInteger admitted = new AtomicInteger(0);
+            AtomicInteger rejected = new AtomicInteger(0);
+            AdmissionController.Ticket ticket1 = controller.newTicket("user1", "g.V()");
+            AdmissionController.Ticket ticket2 = controller.newTicket("user1", "g.V()");
+            AdmissionController.Ticket ticket3 = controller.newTicket("user2", "g.V()");
+            controller.admit(ticket1, admitted::incrementAndGet, e -> rejected.incrementAndGet());
+            controller.admit(ticket2, admitted::incrementAndGet, e -> rejected.incrementAndGet());
+            Assert.assertEquals(1, admitted.get());
+            // ticket3 is not blocked by ticket2, whose user has reached the limit
+            controller.admit(ticket3, admitted::incrementAndGet, e -> rejected.incrementAndGet());
+            Assert.assertEquals(2, admitted.get());
+            controller.release(ticket1);
+            Assert.assertEquals(3, admitted.get());
+            Assert.assertEquals(0, rejected.get());
+        }
+    }
+
+    // test queries are rejected if they wait for admission too long
+    @Test
+    public void queue_timeout_test() throws Exception {
+        Configs configs =
+                new Configs(
+                        ImmutableMap.of(
+                                "frontend.admission.min.concurrency", "1",
+                                "frontend.admission.max.concurrency", "1",
+                                "frontend.admission.queue.timeout.ms", "10"));
+        try (AdmissionController controller = new AdmissionController(configs)) {
+            AtomicInteger rejected = new AtomicInteger(0);
+            AdmissionController.Ticket ticket1 = controller.newTicket("user1", "g.V()");
+            AdmissionController.Ticket ticket2 = controller.newTicket("user2", "g.V()");
+            controller.admit(ticket1, () -> {}, e -> rejected.incrementAndGet());
+            controller.admit(ticket2, () -> {}, e -> rejected.incrementAndGet());
+            Thread.sleep(200);
+            Assert.assertEquals(1, rejected.get());
+            Assert.assertEquals(1, controller.getInFlight());
+        }
+    }
+
+    // test templates with low latency are given high priority
+    @Test
+    public void priority_test() throws Exception {
+        Configs configs =
+                new Configs(ImmutableMap.of("frontend.admission.short.query.threshold.ms", "1000"));
+        try (AdmissionController controller = new AdmissionController(configs)) {
+            AdmissionController.Ticket ticket1 = controller.newTicket("user1", "g.V().count()");
+            Assert.assertEquals(AdmissionController.Priority.NORMAL, ticket1.getPriority());
+            controller.admit(ticket1, () -> {}, e -> {});
+            controller.release(ticket1);
+            AdmissionController.Ticket ticket2 = controller.newTicket("user1", "g.V().count()");
+            Assert.assertEquals(AdmissionController.Priority.HIGH, ticket2.getPriority());
+        }
+    }
+
+    // test a burst of slow queries decreases the limit only once
+    @Test
+    public void backoff_test() throws Exception {
+        Configs configs =
+                new Configs(
+                        ImmutableMap.of(
+                                "frontend.admission.min.concurrency", "8",
+                                "frontend.admission.max.concurrency", "100"));
+        try (AdmissionController controller = new AdmissionController(configs)) {
+            // the average latency of the template is about 100ms
+            AdmissionController.Ticket ticket = controller.newTicket("user1", "g.V().count()");
+            controller.admit(ticket, () -> {}, e -> {});
+            Thread.sleep(100);
+            controller.release(ticket);
+            Assert.assertEquals(100, controller.getLimit());
+
+            AdmissionController.Ticket[] burst = new AdmissionController.Ticket[10];
+            for (int i = 0; i < burst.length; ++i) {
+                burst[i] = controller.newTicket("user1", "g.V().count()");
+                controller.admit(burst[i], () -> {}, e -> {});
+            }
+            Thread.sleep(500);
+            for (AdmissionController.Ticket slow : burst) {
+                controller.release(slow);
+            }
+            Assert.assertEquals(90, controller.getLimit());
+        }
+    }
+
+    // test queries differing only in literals share the latency of the same template
+    @Test
+    public void template_test() throws Exception {
+        Assert.assertEquals(
+                "g.V(?).has(?, ?).out(?).limit(?)",
+                AdmissionController.toTemplate(
+                        "g.V(123L).has('name', 'marko').out(\"knows\").limit(10)"));
+        Assert.assertEquals(
+                AdmissionController.toTemplate("Match (n:PERSON {id: 1}) Return n"),
+                AdmissionController.toTemplate("Match (n:PERSON  {id: 42})\nReturn n"));
+        Configs configs =
+                new Configs(ImmutableMap.of("frontend.admission.short.query.threshold.ms", "1000"));
+        try (AdmissionController controller = new AdmissionController(configs)) {
+            AdmissionController.Ticket ticket1 = controller.newTicket("user1", "g.V(1)");
+            controller.admit(ticket1, () -> {}, e -> {});
+            controller.release(ticket1);
+            AdmissionController.Ticket ticket2 = controller.newTicket("user1", "g.V(2)");
+            Assert.assertEquals(AdmissionController.Priority.HIGH, ticket2.getPriority());
+        }
+    }
+}
@@ -51,6 +51,25 @@ pub extern "C" fn closeGraphBackupEngine(handle: GraphBackupHandle) {
     }
 }
 
+#[no_mangle]
+pub extern "C" fn createCheckpoint(
+    handle: GraphHandle, checkpoint_path: *const c_char,
+) -> Box<JnaResponse> {
+    trace!("createCheckpoint");
+    unsafe {
+        let graph_store = &*(handle as *const GraphStore);
+        let slice = CStr::from_ptr(checkpoint_path).to_bytes();
+        let checkpoint_path_str = str::from_utf8(slice).unwrap();
+        match graph_store.create_checkpoint(checkpoint_path_str) {
+            Ok(_) => JnaResponse::new_success(),
+            Err(e) => {
+                let msg = format!("{:?}", e);
+                JnaResponse::new_error(&msg)
+            }
+        }
+    }
+}
+
 #[no_mangle]
 pub extern "C" fn createNewBackup(handle: GraphBackupHandle) -> Box<JnaResponse> {
     trace!("createNewBackup");
@@ -19,6 +19,7 @@ package com.alibaba.pegasus;
 import com.alibaba.pegasus.intf.ResultProcessor;
 import com.alibaba.pegasus.service.protocol.JobServiceGrpc;
 import com.alibaba.pegasus.service.protocol.JobServiceGrpc.JobServiceStub;
+import com.alibaba.pegasus.service.protocol.PegasusClient.JobConfig;
 import com.alibaba.pegasus.service.protocol.PegasusClient.JobRequest;
 import com.alibaba.pegasus.service.protocol.PegasusClient.JobResponse;
 
@@ -28,6 +29,7 @@ import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
@@ -49,9 +51,10 @@ public class RpcClient {
     }
 
     public void submit(JobRequest jobRequest, ResultProcessor processor, long rpcTimeoutMS) {
-        AtomicInteger counter = new AtomicInteger(this.channels.size());
+        List<JobServiceStub> targetStubs = getTargetStubs(jobRequest.getConf());
+        AtomicInteger counter = new AtomicInteger(targetStubs.size());
         AtomicBoolean finished = new AtomicBoolean(false);
-        serviceStubs.forEach(
+        targetStubs.forEach(
                 asyncStub -> {
                     asyncStub
                             .withDeadlineAfter(rpcTimeoutMS, TimeUnit.MILLISECONDS)
@@ -61,6 +64,26 @@ public class RpcClient {
                 });
     }
 
+    public int getServerNum() {
+        return this.channels.size();
+    }
+
+    // submit to the servers in the list only if the job is bounded to a part of servers
+    private List<JobServiceStub> getTargetStubs(JobConfig jobConfig) {
+        if (jobConfig.getServersCase() != JobConfig.ServersCase.PART) {
+            return this.serviceStubs;
+        }
+        List<JobServiceStub> targetStubs = new ArrayList<>();
+        for (long serverId : jobConfig.getPart().getServersList()) {
+            if (serverId < 0 || serverId >= this.serviceStubs.size()) {
+                throw new IllegalArgumentException(
+                        "invalid server id " + serverId + ", server num is " + getServerNum());
+            }
+            targetStubs.add(this.serviceStubs.get((int) serverId));
+        }
+        return targetStubs;
+    }
+
     public void shutdown() throws InterruptedException {
         for (RpcChannel rpcChannel : channels) {
             rpcChannel.shutdown();
@@ -687,6 +687,10 @@ impl GraphStore {
         self.storage.compact()
     }
 
+    pub fn create_checkpoint(&self, checkpoint_path: &str) -> GraphResult<()> {
+        self.storage.create_checkpoint(checkpoint_path)
+    }
+
     pub fn reopen(&self, wait_sec: u64) -> GraphResult<()> {
         self.storage.reopen(wait_sec)
     }
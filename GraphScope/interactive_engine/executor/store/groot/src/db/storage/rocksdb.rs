@@ -5,6 +5,7 @@ use std::sync::Arc;
 use std::time::Duration;
 
 use ::rocksdb::backup::{BackupEngine, BackupEngineOptions, RestoreOptions};
+use ::rocksdb::checkpoint::Checkpoint;
 use ::rocksdb::{DBRawIterator, Env, IngestExternalFileOptions, Options, ReadOptions, DB};
 use crossbeam_epoch::{self as epoch, Atomic, Guard, Owned, Shared};
 use rocksdb::WriteBatch;
@@ -244,6 +245,33 @@ impl RocksDB {
         }
     }
 
+    /// Create a consistent view of the db at `checkpoint_path`, sst files are hard linked if the
+    /// path is in the same filesystem.
+    pub fn create_checkpoint(&self, checkpoint_path: &str) -> GraphResult<()> {
+        let guard = epoch::pin();
+        let db_shared = self.get_db(&guard);
+        if let Some(db) = unsafe { db_shared.as_ref() } {
+            let checkpoint = Checkpoint::new(db.as_ref()).map_err(|e| {
+                let msg = format!("create rocksdb checkpoint object failed, because {}", e.into_string());
+                gen_graph_err!(GraphErrorCode::ExternalStorageError, msg)
+            })?;
+            checkpoint
+                .create_checkpoint(checkpoint_path)
+                .map_err(|e| {
+                    let msg = format!(
+                        "create rocksdb checkpoint at {} failed, because {}",
+                        checkpoint_path,
+                        e.into_string()
+                    );
+                    gen_graph_err!(GraphErrorCode::ExternalStorageError, msg)
+                })
+        } else {
+            let msg = format!("rocksdb.create_checkpoint failed because the acquired db is `None`");
+            let err = gen_graph_err!(GraphErrorCode::ExternalStorageError, msg);
+            Err(err)
+        }
+    }
+
     pub fn load(&self, files: &[&str]) -> GraphResult<()> {
         if self.is_secondary {
             info!("Cannot ingest in secondary instance");
@@ -90,6 +90,9 @@ public class GraphWriter {
             CompletionCallback<Long> callback) {
         GraphSchema schema = snapshotCache.getSnapshotWithSchema().getGraphDef();
         OperationBatch.Builder batchBuilder = OperationBatch.newBuilder();
+        // ids of the edge endpoints in the batch, popular vertices are usually the endpoints of
+        // many edges, whose primary keys need to be parsed and hashed only once
+        Map<VertexRecordKey, Long> vertexIds = new HashMap<>();
         for (WriteRequest writeRequest : writeRequests) {
             OperationType operationType = writeRequest.getOperationType();
             DataRecord dataRecord = writeRequest.getDataRecord();
@@ -104,19 +107,19 @@ public class GraphWriter {
                     addDeleteVertexOperation(batchBuilder, schema, dataRecord);
                     break;
                 case OVERWRITE_EDGE:
-                    addOverwriteEdgeOperation(batchBuilder, schema, dataRecord);
+                    addOverwriteEdgeOperation(batchBuilder, schema, dataRecord, vertexIds);
                     break;
                 case UPDATE_EDGE:
-                    addUpdateEdgeOperation(batchBuilder, schema, dataRecord);
+                    addUpdateEdgeOperation(batchBuilder, schema, dataRecord, vertexIds);
                     break;
                 case DELETE_EDGE:
-                    addDeleteEdgeOperation(batchBuilder, schema, dataRecord);
+                    addDeleteEdgeOperation(batchBuilder, schema, dataRecord, vertexIds);
                     break;
                 case CLEAR_VERTEX_PROPERTIES:
                     addClearVertexPropertiesOperation(batchBuilder, schema, dataRecord);
                     break;
                 case CLEAR_EDGE_PROPERTIES:
-                    addClearEdgePropertiesOperation(batchBuilder, schema, dataRecord);
+                    addClearEdgePropertiesOperation(batchBuilder, schema, dataRecord, vertexIds);
                     break;
                 default:
                     throw new IllegalArgumentException(
@@ -167,8 +170,11 @@ public class GraphWriter {
     }
 
     private void addDeleteEdgeOperation(
-            OperationBatch.Builder batchBuilder, GraphSchema schema, DataRecord dataRecord) {
-        EdgeId edgeId = getEdgeId(schema, dataRecord, false);
+            OperationBatch.Builder batchBuilder,
+            GraphSchema schema,
+            DataRecord dataRecord,
+            Map<VertexRecordKey, Long> vertexIds) {
+        EdgeId edgeId = getEdgeId(schema, dataRecord, false, vertexIds);
         EdgeKind edgeKind = getEdgeKind(schema, dataRecord);
 
         batchBuilder.addOperation(new DeleteEdgeOperation(edgeId, edgeKind, true));
@@ -176,8 +182,11 @@ public class GraphWriter {
     }
 
     private void addUpdateEdgeOperation(
-            OperationBatch.Builder batchBuilder, GraphSchema schema, DataRecord dataRecord) {
-        EdgeId edgeId = getEdgeId(schema, dataRecord, false);
+            OperationBatch.Builder batchBuilder,
+            GraphSchema schema,
+            DataRecord dataRecord,
+            Map<VertexRecordKey, Long> vertexIds) {
+        EdgeId edgeId = getEdgeId(schema, dataRecord, false, vertexIds);
         if (edgeId.id == 0) {
             // This is for update edge, if edgeInnerId is 0, generate new id, incase there isn't
             // such a edge
@@ -194,8 +203,11 @@ public class GraphWriter {
     }
 
     private void addClearEdgePropertiesOperation(
-            OperationBatch.Builder batchBuilder, GraphSchema schema, DataRecord dataRecord) {
-        EdgeId edgeId = getEdgeId(schema, dataRecord, false);
+            OperationBatch.Builder batchBuilder,
+            GraphSchema schema,
+            DataRecord dataRecord,
+            Map<VertexRecordKey, Long> vertexIds) {
+        EdgeId edgeId = getEdgeId(schema, dataRecord, false, vertexIds);
         EdgeKind edgeKind = getEdgeKind(schema, dataRecord);
         GraphElement edgeDef = schema.getElement(edgeKind.getEdgeLabelId().getId());
         List<Integer> propertyIds = getNonPrimaryKeyIds(edgeDef, dataRecord.getProperties());
@@ -206,8 +218,11 @@ public class GraphWriter {
     }
 
     private void addOverwriteEdgeOperation(
-            OperationBatch.Builder batchBuilder, GraphSchema schema, DataRecord dataRecord) {
-        EdgeId edgeId = getEdgeId(schema, dataRecord, true);
+            OperationBatch.Builder batchBuilder,
+            GraphSchema schema,
+            DataRecord dataRecord,
+            Map<VertexRecordKey, Long> vertexIds) {
+        EdgeId edgeId = getEdgeId(schema, dataRecord, true, vertexIds);
         EdgeKind edgeKind = getEdgeKind(schema, dataRecord);
         GraphElement edgeDef = schema.getElement(edgeKind.getEdgeLabelId().getId());
 
@@ -312,7 +327,11 @@ public class GraphWriter {
         return res;
     }
 
-    private EdgeId getEdgeId(GraphSchema schema, DataRecord dataRecord, boolean overwrite) {
+    private EdgeId getEdgeId(
+            GraphSchema schema,
+            DataRecord dataRecord,
+            boolean overwrite,
+            Map<VertexRecordKey, Long> vertexIds) {
         EdgeTarget edgeTarget = dataRecord.getEdgeTarget();
         if (edgeTarget != null) {
             return edgeTarget.getEdgeId();
@@ -322,16 +341,8 @@ public class GraphWriter {
             VertexRecordKey srcVertexRecordKey = edgeRecordKey.getSrcVertexRecordKey();
             VertexRecordKey dstVertexRecordKey = edgeRecordKey.getDstVertexRecordKey();
 
-            GraphElement srcVertexDef = schema.getElement(srcVertexRecordKey.getLabel());
-            GraphElement dstVertexDef = schema.getElement(dstVertexRecordKey.getLabel());
-            Map<Integer, PropertyValue> srcVertexPkVals =
-                    parseRawProperties(srcVertexDef, srcVertexRecordKey.getProperties());
-            long srcVertexHashId =
-                    getPrimaryKeysHashId(srcVertexDef.getLabelId(), srcVertexPkVals, srcVertexDef);
-            Map<Integer, PropertyValue> dstVertexPkVals =
-                    parseRawProperties(dstVertexDef, dstVertexRecordKey.getProperties());
-            long dstVertexHashId =
-                    getPrimaryKeysHashId(dstVertexDef.getLabelId(), dstVertexPkVals, dstVertexDef);
+            long srcVertexHashId = getVertexHashId(schema, srcVertexRecordKey, vertexIds);
+            long dstVertexHashId = getVertexHashId(schema, dstVertexRecordKey, vertexIds);
             //            long edgeInnerId =
             //                    overwrite ? edgeIdGenerator.getNextId() :
             // edgeRecordKey.getEdgeInnerId();
@@ -348,6 +359,21 @@ public class GraphWriter {
         }
     }
 
+    private long getVertexHashId(
+            GraphSchema schema,
+            VertexRecordKey vertexRecordKey,
+            Map<VertexRecordKey, Long> vertexIds) {
+        Long hashId = vertexIds.get(vertexRecordKey);
+        if (hashId == null) {
+            GraphElement vertexDef = schema.getElement(vertexRecordKey.getLabel());
+            Map<Integer, PropertyValue> pkVals =
+                    parseRawProperties(vertexDef, vertexRecordKey.getProperties());
+            hashId = getPrimaryKeysHashId(vertexDef.getLabelId(), pkVals, vertexDef);
+            vertexIds.put(vertexRecordKey, hashId);
+        }
+        return hashId;
+    }
+
     /**
      * if enableHashEid == true: when eid == 0(client input none eid), return hash eid as final eid
      * if enableHashEid == false: when eid == 0(client input none eid), return 0
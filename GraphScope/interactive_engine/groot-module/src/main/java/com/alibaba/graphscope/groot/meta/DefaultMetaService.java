@@ -16,6 +16,7 @@ package com.alibaba.graphscope.groot.meta;
 import com.alibaba.graphscope.groot.common.config.CommonConfig;
 import com.alibaba.graphscope.groot.common.config.Configs;
 import com.alibaba.graphscope.groot.common.config.KafkaConfig;
+import com.alibaba.graphscope.groot.common.util.PartitionUtils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -53,12 +54,11 @@ public class DefaultMetaService implements MetaService {
     private void loadPartitions() {
         this.storeToPartitionIds = new HashMap<>();
         this.partitionToStore = new HashMap<>();
-        int avg = this.partitionCount / this.storeCount;
-        int remainder = this.partitionCount % storeCount;
-
         for (int i = 0; i < storeCount; i++) {
-            int startPartitionId = getStartPartition(avg, i, remainder);
-            int nextStartPartitionId = getStartPartition(avg, i + 1, remainder);
+            int startPartitionId =
+                    PartitionUtils.getStartPartition(i, this.partitionCount, this.storeCount);
+            int nextStartPartitionId =
+                    PartitionUtils.getStartPartition(i + 1, this.partitionCount, this.storeCount);
             List<Integer> partitionIds = new ArrayList<>();
             for (int pid = startPartitionId; pid < nextStartPartitionId; pid++) {
                 partitionIds.add(pid);
@@ -68,10 +68,6 @@ public class DefaultMetaService implements MetaService {
         }
     }
 
-    private static int getStartPartition(int avg, int storeId, int remainder) {
-        return avg * storeId + Math.min(storeId, remainder);
-    }
-
     @Override
     public void stop() {}
 
@@ -0,0 +1,209 @@
+/**
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.groot.store;
+
+import com.alibaba.graphscope.groot.common.config.Configs;
+import com.alibaba.graphscope.groot.common.config.StoreConfig;
+import com.alibaba.graphscope.groot.common.util.ThreadFactoryUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Compact partitions in background, one at a time, instead of compacting all of them at once.
+ * Partitions are ranked by the writes since their last compaction, with deletes counted twice
+ * since tombstones slow down reads until they are compacted away. The scheduler backs off
+ * exponentially while the average write latency exceeds {@link
+ * StoreConfig#STORE_COMPACT_AUTO_MAX_WRITE_LATENCY_MS}, so that compaction never competes with a
+ * write burst.
+ */
+public class CompactionScheduler implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(CompactionScheduler.class);
+    private static final double SMOOTHING_FACTOR = 0.1d;
+    private static final int MAX_BACKOFF = 16;
+    private static final long CLOSE_TIMEOUT_MS = 30000L;
+
+    private final Supplier<Map<Integer, GraphPartition>> partitionsSupplier;
+    private final long intervalMs;
+    private final long minWrites;
+    private final int maxPartitions;
+    private final long maxWriteLatencyMs;
+    private final Map<Integer, PartitionStats> partitionStats;
+    private ScheduledExecutorService scheduler;
+    private double writeLatencyMs;
+    private long lastWriteMillis;
+    private int backoff;
+
+    public CompactionScheduler(
+            Configs configs, Supplier<Map<Integer, GraphPartition>> partitionsSupplier) {
+        this.partitionsSupplier = partitionsSupplier;
+        this.intervalMs = StoreConfig.STORE_COMPACT_AUTO_INTERVAL_MS.get(configs);
+        this.minWrites = StoreConfig.STORE_COMPACT_AUTO_MIN_WRITES.get(configs);
+        this.maxPartitions = StoreConfig.STORE_COMPACT_AUTO_MAX_PARTITIONS.get(configs);
+        this.maxWriteLatencyMs = StoreConfig.STORE_COMPACT_AUTO_MAX_WRITE_LATENCY_MS.get(configs);
+        this.partitionStats = new ConcurrentHashMap<>();
+        this.writeLatencyMs = 0.0d;
+        this.backoff = 1;
+    }
+
+    public void start() {
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        ThreadFactoryUtils.daemonThreadFactoryWithLogExceptionHandler(
+                                "store-compact-scheduler", logger));
+        scheduleNext();
+        logger.info("CompactionScheduler started, interval [" + intervalMs + "] ms");
+    }
+
+    @Override
+    public void close() {
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (scheduler != null) {
+            this.scheduler = null;
+            scheduler.shutdownNow();
+            // a running compaction can't be interrupted, wait for it before partitions are closed
+            try {
+                if (!scheduler.awaitTermination(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    logger.warn(
+                            "auto compaction not finished, waited [" + CLOSE_TIMEOUT_MS + "] ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * record a batch written to the partition
+     * @param partitionId
+     * @param operationCount
+     * @param deleteCount number of delete operations in the batch
+     * @param latencyMs
+     */
+    public void recordWrite(
+            int partitionId, long operationCount, long deleteCount, long latencyMs) {
+        PartitionStats stats =
+                this.partitionStats.computeIfAbsent(partitionId, k -> new PartitionStats());
+        stats.writes.addAndGet(operationCount);
+        stats.deletes.addAndGet(deleteCount);
+        synchronized (this) {
+            writeLatencyMs = writeLatencyMs * (1 - SMOOTHING_FACTOR) + latencyMs * SMOOTHING_FACTOR;
+            lastWriteMillis = System.currentTimeMillis();
+        }
+    }
+
+    // the latency of a past burst doesn't count if there are no writes in the last interval
+    public synchronized boolean isOverloaded() {
+        return writeLatencyMs > maxWriteLatencyMs
+                && System.currentTimeMillis() - lastWriteMillis < intervalMs;
+    }
+
+    /**
+     * compact at most {@link StoreConfig#STORE_COMPACT_AUTO_MAX_PARTITIONS} partitions of the
+     * highest scores, stop early if the write latency rises
+     * @return number of partitions compacted
+     */
+    public int compactRound() {
+        Map<Integer, GraphPartition> partitions = this.partitionsSupplier.get();
+        if (partitions == null) {
+            return 0;
+        }
+        List<Map.Entry<Integer, PartitionStats>> candidates = new ArrayList<>();
+        for (Map.Entry<Integer, PartitionStats> entry : this.partitionStats.entrySet()) {
+            if (entry.getValue().writes.get() >= minWrites) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort(
+                Comparator.comparingLong(
+                                (Map.Entry<Integer, PartitionStats> e) -> e.getValue().score())
+                        .reversed());
+        int compacted = 0;
+        for (Map.Entry<Integer, PartitionStats> entry : candidates) {
+            if (compacted >= maxPartitions || isOverloaded()) {
+                break;
+            }
+            GraphPartition partition = partitions.get(entry.getKey());
+            if (partition == null) {
+                continue;
+            }
+            PartitionStats stats = entry.getValue();
+            long writes = stats.writes.get();
+            long deletes = stats.deletes.get();
+            long start = System.currentTimeMillis();
+            try {
+                partition.compact();
+            } catch (Exception e) {
+                logger.error("auto compaction of partition [{}] failed", entry.getKey(), e);
+                continue;
+            }
+            // writes during the compaction are kept for the next round
+            stats.writes.addAndGet(-writes);
+            stats.deletes.addAndGet(-deletes);
+            ++compacted;
+            logger.info(
+                    "auto compacted partition [{}] with [{}] writes, [{}] deletes in [{}] ms",
+                    entry.getKey(),
+                    writes,
+                    deletes,
+                    System.currentTimeMillis() - start);
+        }
+        return compacted;
+    }
+
+    private void scheduleNext() {
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (scheduler == null || scheduler.isShutdown()) {
+            return;
+        }
+        scheduler.schedule(
+                () -> {
+                    try {
+                        if (isOverloaded()) {
+                            backoff = Math.min(backoff * 2, MAX_BACKOFF);
+                            logger.info(
+                                    "write latency is high, delay auto compaction by [{}] ms",
+                                    intervalMs * backoff);
+                        } else {
+                            backoff = 1;
+                            compactRound();
+                        }
+                    } finally {
+                        scheduleNext();
+                    }
+                },
+                intervalMs * backoff,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private static class PartitionStats {
+        private final AtomicLong writes = new AtomicLong(0L);
+        private final AtomicLong deletes = new AtomicLong(0L);
+
+        private long score() {
+            return writes.get() + deletes.get();
+        }
+    }
+}
@@ -37,6 +37,13 @@ public interface GraphPartition extends Closeable {
 
     GraphPartitionBackup openBackupEngine();
 
+    /**
+     * Create a consistent copy of the partition, files are hard linked if possible
+     * @param checkpointPath should not exist
+     * @throws IOException
+     */
+    void createCheckpoint(String checkpointPath) throws IOException;
+
     int getId();
 
     void garbageCollect(long snapshotId) throws IOException;
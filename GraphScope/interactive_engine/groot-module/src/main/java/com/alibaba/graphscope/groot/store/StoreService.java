@@ -21,10 +21,13 @@ import com.alibaba.graphscope.groot.common.exception.GrootException;
 import com.alibaba.graphscope.groot.common.util.ThreadFactoryUtils;
 import com.alibaba.graphscope.groot.meta.MetaService;
 import com.alibaba.graphscope.groot.operation.OperationBatch;
+import com.alibaba.graphscope.groot.operation.OperationBlob;
+import com.alibaba.graphscope.groot.operation.OperationType;
 import com.alibaba.graphscope.groot.operation.StoreDataBatch;
 import com.alibaba.graphscope.groot.store.external.ExternalStorage;
 import com.alibaba.graphscope.groot.store.jna.JnaGraphStore;
 import com.alibaba.graphscope.proto.groot.GraphDefPb;
+import com.google.common.util.concurrent.RateLimiter;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.common.Attributes;
@@ -51,6 +54,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -68,6 +72,9 @@ public class StoreService {
     private ExecutorService writeExecutor;
     private ExecutorService ingestExecutor;
     private ExecutorService garbageCollectExecutor;
+    private ExecutorService garbageCollectPartitionExecutor;
+    private RateLimiter garbageCollectRateLimiter;
+    private CompactionScheduler compactionScheduler;
     private ExecutorService compactExecutor;
 
     private ThreadPoolExecutor downloadExecutor;
@@ -143,6 +150,26 @@ public class StoreService {
                         new LinkedBlockingQueue<>(),
                         ThreadFactoryUtils.daemonThreadFactoryWithLogExceptionHandler(
                                 "store-garbage-collect", logger));
+        int gcThreadCount = StoreConfig.STORE_GC_THREAD_COUNT.get(storeConfigs);
+        this.garbageCollectPartitionExecutor =
+                new ThreadPoolExecutor(
+                        gcThreadCount,
+                        gcThreadCount,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(),
+                        ThreadFactoryUtils.daemonThreadFactoryWithLogExceptionHandler(
+                                "store-garbage-collect-partition", logger));
+        // throttles the number of partitions, not bytes, as the store reports no gc io stats
+        int gcPartitionsPerSecond = StoreConfig.STORE_GC_PARTITIONS_PER_SECOND.get(storeConfigs);
+        if (gcPartitionsPerSecond > 0) {
+            this.garbageCollectRateLimiter = RateLimiter.create(gcPartitionsPerSecond);
+        }
+        if (!isSecondary && StoreConfig.STORE_COMPACT_AUTO_ENABLE.get(storeConfigs)) {
+            this.compactionScheduler =
+                    new CompactionScheduler(storeConfigs, () -> this.idToPartition);
+            this.compactionScheduler.start();
+        }
         logger.info("StoreService started. storeId [" + this.storeId + "]");
         this.downloadExecutor =
                 new ThreadPoolExecutor(
@@ -171,6 +198,22 @@ public class StoreService {
 
     public void stop() {
         this.shouldStop = true;
+        if (this.compactionScheduler != null) {
+            this.compactionScheduler.close();
+            this.compactionScheduler = null;
+        }
+        // stop garbage collection before the partitions are closed, the executors are kept so
+        // that later gc requests are rejected
+        if (this.garbageCollectExecutor != null) {
+            this.garbageCollectExecutor.shutdown();
+            this.garbageCollectPartitionExecutor.shutdown();
+            try {
+                this.garbageCollectExecutor.awaitTermination(3000L, TimeUnit.MILLISECONDS);
+                this.garbageCollectPartitionExecutor.awaitTermination(3000L, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Ignore
+            }
+        }
         if (this.idToPartition != null) {
             CountDownLatch latch = new CountDownLatch(this.idToPartition.size());
             for (GraphPartition partition : this.idToPartition.values()) {
@@ -253,9 +296,17 @@ public class StoreService {
                                     hasDdl.set(true);
                                 }
                                 attrs.put("success", true).put("message", "");
-                                this.writeHistogram.record(
-                                        System.currentTimeMillis() - start, attrs.build());
+                                long latency = System.currentTimeMillis() - start;
+                                this.writeHistogram.record(latency, attrs.build());
                                 this.writeCounter.add(batch.getOperationCount(), attrs.build());
+                                CompactionScheduler scheduler = this.compactionScheduler;
+                                if (scheduler != null) {
+                                    scheduler.recordWrite(
+                                            partitionId,
+                                            batch.getOperationCount(),
+                                            countDeletes(batch),
+                                            latency);
+                                }
                             }
                         } catch (Exception ex) {
                             logger.error(
@@ -292,6 +343,17 @@ public class StoreService {
         return batchNeedRetry;
     }
 
+    private static long countDeletes(OperationBatch batch) {
+        long count = 0;
+        for (OperationBlob blob : batch) {
+            OperationType type = blob.getOperationType();
+            if (type == OperationType.DELETE_VERTEX || type == OperationType.DELETE_EDGE) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
     public GraphDefPb getGraphDefBlob() throws IOException {
         GraphPartition graphPartition = this.idToPartition.get(0);
         return graphPartition.getGraphDefBlob();
@@ -394,26 +456,58 @@ public class StoreService {
             callback.onError(new GrootException("store gc is not enabled"));
             return;
         }
-        this.garbageCollectExecutor.execute(
-                () -> {
-                    try {
-                        // logger.debug("Garbage collecting, snapshot [{}]", snapshotId);
-                        garbageCollectInternal(snapshotId);
-                        callback.onCompleted(null);
-                    } catch (Exception e) {
-                        logger.error("garbage collect failed. snapshot [{}]", snapshotId, e);
-                        callback.onError(e);
-                    }
-                });
+        try {
+            this.garbageCollectExecutor.execute(
+                    () -> {
+                        try {
+                            // logger.debug("Garbage collecting, snapshot [{}]", snapshotId);
+                            garbageCollectInternal(snapshotId);
+                            callback.onCompleted(null);
+                        } catch (Exception e) {
+                            logger.error("garbage collect failed. snapshot [{}]", snapshotId, e);
+                            callback.onError(e);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            callback.onError(new GrootException("store is stopped", e));
+        }
     }
 
+    // partitions are collected concurrently by the partition executor, throttled by the rate
+    // limiter if configured
     private void garbageCollectInternal(long snapshotId) throws IOException {
-        for (Map.Entry<Integer, GraphPartition> entry : this.idToPartition.entrySet()) {
-            Attributes attrs = Attributes.builder().put("partition.id", entry.getKey()).build();
-            GraphPartition partition = entry.getValue();
-            long start = System.currentTimeMillis();
-            partition.garbageCollect(snapshotId);
-            this.gcHistogram.record(System.currentTimeMillis() - start, attrs);
+        Set<Map.Entry<Integer, GraphPartition>> entries = this.idToPartition.entrySet();
+        CountDownLatch latch = new CountDownLatch(entries.size());
+        Map<Integer, Exception> errors = new ConcurrentHashMap<>();
+        for (Map.Entry<Integer, GraphPartition> entry : entries) {
+            if (this.garbageCollectRateLimiter != null) {
+                this.garbageCollectRateLimiter.acquire();
+            }
+            this.garbageCollectPartitionExecutor.execute(
+                    () -> {
+                        Attributes attrs =
+                                Attributes.builder().put("partition.id", entry.getKey()).build();
+                        long start = System.currentTimeMillis();
+                        try {
+                            entry.getValue().garbageCollect(snapshotId);
+                            this.gcHistogram.record(System.currentTimeMillis() - start, attrs);
+                        } catch (Exception e) {
+                            errors.put(entry.getKey(), e);
+                        } finally {
+                            latch.countDown();
+                        }
+                    });
+        }
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        if (!errors.isEmpty()) {
+            Map.Entry<Integer, Exception> error = errors.entrySet().iterator().next();
+            throw new IOException(
+                    "garbage collect failed in partitions " + errors.keySet(), error.getValue());
         }
     }
 
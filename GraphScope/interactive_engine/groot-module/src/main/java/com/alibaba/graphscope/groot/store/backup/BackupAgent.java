@@ -17,10 +17,12 @@ import com.alibaba.graphscope.groot.CompletionCallback;
 import com.alibaba.graphscope.groot.common.config.BackupConfig;
 import com.alibaba.graphscope.groot.common.config.CommonConfig;
 import com.alibaba.graphscope.groot.common.config.Configs;
+import com.alibaba.graphscope.groot.common.config.StoreConfig;
 import com.alibaba.graphscope.groot.common.exception.BackupException;
 import com.alibaba.graphscope.groot.common.util.ThreadFactoryUtils;
 import com.alibaba.graphscope.groot.store.GraphPartition;
 import com.alibaba.graphscope.groot.store.StoreService;
+import com.google.common.util.concurrent.RateLimiter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,14 +44,28 @@ public class BackupAgent {
     private int storeId;
     private boolean backupEnable;
     private int backupThreadCount;
+    private int restoreThreadCount;
+    private boolean incremental;
+    private String dataRoot;
+    private String incrementalBackupRoot;
+    private int rateLimitMb;
     private StoreService storeService;
     private Map<Integer, GraphPartitionBackup> idToPartitionBackup;
     private ExecutorService backupExecutor;
+    private ExecutorService restoreExecutor;
 
     public BackupAgent(Configs configs, StoreService storeService) {
         this.storeId = CommonConfig.NODE_IDX.get(configs);
         this.backupEnable = BackupConfig.BACKUP_ENABLE.get(configs);
         this.backupThreadCount = BackupConfig.STORE_BACKUP_THREAD_COUNT.get(configs);
+        this.restoreThreadCount = BackupConfig.STORE_RESTORE_THREAD_COUNT.get(configs);
+        this.incremental = BackupConfig.STORE_BACKUP_INCREMENTAL.get(configs);
+        this.dataRoot = StoreConfig.STORE_DATA_PATH.get(configs);
+        this.incrementalBackupRoot = BackupConfig.STORE_BACKUP_PATH.get(configs);
+        if (this.incrementalBackupRoot.isEmpty()) {
+            this.incrementalBackupRoot = Paths.get(this.dataRoot, "incremental_backups").toString();
+        }
+        this.rateLimitMb = BackupConfig.STORE_BACKUP_RATE_LIMIT_MB.get(configs);
         this.storeService = storeService;
     }
 
@@ -68,9 +84,48 @@ public class BackupAgent {
                         ThreadFactoryUtils.daemonThreadFactoryWithLogExceptionHandler(
                                 "store-backup", logger));
         Map<Integer, GraphPartition> idToPartition = storeService.getIdToPartition();
+        // restore partitions in parallel
+        int restoreThreads =
+                this.restoreThreadCount > 0
+                        ? this.restoreThreadCount
+                        : Math.max(idToPartition.size(), 1);
+        this.restoreExecutor =
+                new ThreadPoolExecutor(
+                        restoreThreads,
+                        restoreThreads,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(),
+                        ThreadFactoryUtils.daemonThreadFactoryWithLogExceptionHandler(
+                                "store-restore", logger));
+        // shared by all partitions, to bound the io of the store
+        RateLimiter rateLimiter =
+                this.rateLimitMb > 0
+                        ? RateLimiter.create(this.rateLimitMb * 1024.0 * 1024.0)
+                        : null;
         this.idToPartitionBackup = new HashMap<>(idToPartition.size());
         for (Map.Entry<Integer, GraphPartition> entry : idToPartition.entrySet()) {
-            this.idToPartitionBackup.put(entry.getKey(), entry.getValue().openBackupEngine());
+            GraphPartitionBackup partitionBackup;
+            if (this.incremental) {
+                int partitionId = entry.getKey();
+                try {
+                    BackupFileStore fileStore =
+                            new BackupFileStore(
+                                    Paths.get(this.incrementalBackupRoot, "" + partitionId),
+                                    rateLimiter);
+                    partitionBackup =
+                            new IncrementalPartitionBackup(
+                                    entry.getValue(),
+                                    Paths.get(this.dataRoot, "checkpoints", "" + partitionId),
+                                    fileStore);
+                } catch (IOException e) {
+                    throw new BackupException(
+                            "open incremental backup of partition [" + partitionId + "] failed", e);
+                }
+            } else {
+                partitionBackup = entry.getValue().openBackupEngine();
+            }
+            this.idToPartitionBackup.put(entry.getKey(), partitionBackup);
         }
         logger.info("Store backup agent started. storeId [" + this.storeId + "]");
     }
@@ -120,6 +175,15 @@ public class BackupAgent {
             }
             this.backupExecutor = null;
         }
+        if (this.restoreExecutor != null) {
+            this.restoreExecutor.shutdown();
+            try {
+                this.restoreExecutor.awaitTermination(3000L, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Ignore
+            }
+            this.restoreExecutor = null;
+        }
     }
 
     public void createNewStoreBackup(
@@ -267,7 +331,7 @@ public class BackupAgent {
         AtomicInteger counter = new AtomicInteger(this.idToPartitionBackup.size());
         AtomicBoolean finished = new AtomicBoolean(false);
         for (Map.Entry<Integer, GraphPartitionBackup> entry : this.idToPartitionBackup.entrySet()) {
-            this.backupExecutor.execute(
+            this.restoreExecutor.execute(
                     () -> {
                         if (finished.get()) {
                             return;
@@ -0,0 +1,382 @@
+/**
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.groot.store.backup;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * A content addressed store of backups in a local directory. Each backup is a manifest listing the
+ * files of the backed up directory with their sha256, and the file contents are stored once per
+ * hash under `files/`, so the files unchanged between backups are shared by reference. Immutable
+ * files, i.e. sst and blob files of rocksdb, are not read again if a previous backup already has a
+ * file with the same name, size and modified time.
+ *
+ * <pre>
+ * root/
+ *   files/{sha256}    file contents
+ *   backups/{id}      manifests, one line per file: {sha256} {size} {modified time} {path}
+ *   tmp/              files being written
+ * </pre>
+ */
+public class BackupFileStore {
+    private static final Logger logger = LoggerFactory.getLogger(BackupFileStore.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path filesDir;
+    private final Path backupsDir;
+    private final Path tmpDir;
+    private final RateLimiter rateLimiter;
+
+    private final Map<Integer, List<Entry>> manifests;
+    // immutable files of existing backups, to skip reading them again
+    private final Map<String, Entry> immutableFiles;
+    // held for reading while restoring or verifying backups, and for writing while deleting
+    // files, so the files of a backup being read are not deleted by gc. Always acquired before
+    // the monitor of the store.
+    private final ReadWriteLock filesLock = new ReentrantReadWriteLock();
+
+    /**
+     * @param root the directory of the store
+     * @param rateLimiter bytes per second of copying files into or out of the store, null if no
+     *     limit
+     */
+    public BackupFileStore(Path root, RateLimiter rateLimiter) throws IOException {
+        this.filesDir = root.resolve("files");
+        this.backupsDir = root.resolve("backups");
+        this.tmpDir = root.resolve("tmp");
+        this.rateLimiter = rateLimiter;
+        Files.createDirectories(this.filesDir);
+        Files.createDirectories(this.backupsDir);
+        // files left by unfinished backups
+        if (Files.isDirectory(this.tmpDir)) {
+            FileUtils.forceDelete(this.tmpDir.toFile());
+        }
+        Files.createDirectories(this.tmpDir);
+        this.manifests = new HashMap<>();
+        try (Stream<Path> paths = Files.list(this.backupsDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                this.manifests.put(
+                        Integer.parseInt(path.getFileName().toString()), readManifest(path));
+            }
+        }
+        this.immutableFiles = new HashMap<>();
+        refreshImmutableFiles();
+    }
+
+    /**
+     * Back up all files under the directory, which should not change during the backup.
+     *
+     * @return the new backup id
+     */
+    public synchronized int createBackup(Path sourceDir) throws IOException {
+        int backupId = this.manifests.isEmpty() ? 1 : Collections.max(this.manifests.keySet()) + 1;
+        List<Entry> entries = new ArrayList<>();
+        long copiedBytes = 0L;
+        long sharedBytes = 0L;
+        List<Path> sources;
+        try (Stream<Path> paths = Files.walk(sourceDir)) {
+            sources = new ArrayList<>();
+            paths.filter(Files::isRegularFile).forEach(sources::add);
+        }
+        for (Path source : sources) {
+            String relativePath = sourceDir.relativize(source).toString();
+            long size = Files.size(source);
+            long modifiedTime = Files.getLastModifiedTime(source).toMillis();
+            Entry previous = this.immutableFiles.get(relativePath);
+            if (previous != null
+                    && previous.size == size
+                    && previous.modifiedTime == modifiedTime) {
+                entries.add(previous);
+                sharedBytes += size;
+                continue;
+            }
+            Entry entry = copyIn(source, relativePath, modifiedTime);
+            entries.add(entry);
+            copiedBytes += entry.size;
+        }
+        writeManifest(backupId, entries);
+        this.manifests.put(backupId, entries);
+        refreshImmutableFiles();
+        logger.info(
+                "created backup ["
+                        + backupId
+                        + "] of ["
+                        + sourceDir
+                        + "], files ["
+                        + entries.size()
+                        + "], copied bytes ["
+                        + copiedBytes
+                        + "], shared bytes ["
+                        + sharedBytes
+                        + "]");
+        return backupId;
+    }
+
+    /** Restore the files of the backup into the directory, the contents are verified. */
+    public void restoreBackup(int backupId, Path targetDir) throws IOException {
+        this.filesLock.readLock().lock();
+        try {
+            for (Entry entry : getManifest(backupId)) {
+                Path target = targetDir.resolve(entry.path);
+                Files.createDirectories(target.getParent());
+                String hash = copy(this.filesDir.resolve(entry.hash), target);
+                if (!hash.equals(entry.hash)) {
+                    throw new IOException(
+                            "file [" + entry.path + "] of backup [" + backupId + "] is corrupted");
+                }
+            }
+        } finally {
+            this.filesLock.readLock().unlock();
+        }
+    }
+
+    public void verifyBackup(int backupId) throws IOException {
+        this.filesLock.readLock().lock();
+        try {
+            for (Entry entry : getManifest(backupId)) {
+                Path file = this.filesDir.resolve(entry.hash);
+                if (!Files.isRegularFile(file) || Files.size(file) != entry.size) {
+                    throw new IOException(
+                            "file [" + entry.path + "] of backup [" + backupId + "] is missing");
+                }
+                if (!hash(file).equals(entry.hash)) {
+                    throw new IOException(
+                            "file [" + entry.path + "] of backup [" + backupId + "] is corrupted");
+                }
+            }
+        } finally {
+            this.filesLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Delete the backups not in the list, and the files no longer referenced by any backup. Waits
+     * for the running restores and verifications to finish.
+     *
+     * @param readyBackupIds the backups to keep
+     */
+    public void garbageCollect(List<Integer> readyBackupIds) throws IOException {
+        this.filesLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                deleteUnusedBackups(readyBackupIds);
+            }
+        } finally {
+            this.filesLock.writeLock().unlock();
+        }
+    }
+
+    private void deleteUnusedBackups(List<Integer> readyBackupIds) throws IOException {
+        for (Integer backupId : new ArrayList<>(this.manifests.keySet())) {
+            if (!readyBackupIds.contains(backupId)) {
+                Files.deleteIfExists(this.backupsDir.resolve(String.valueOf(backupId)));
+                this.manifests.remove(backupId);
+                logger.info("deleted backup [" + backupId + "]");
+            }
+        }
+        refreshImmutableFiles();
+        Set<String> referenced = new HashSet<>();
+        for (List<Entry> entries : this.manifests.values()) {
+            for (Entry entry : entries) {
+                referenced.add(entry.hash);
+            }
+        }
+        int deleted = 0;
+        try (Stream<Path> paths = Files.list(this.filesDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (!referenced.contains(path.getFileName().toString())) {
+                    Files.deleteIfExists(path);
+                    deleted++;
+                }
+            }
+        }
+        logger.info("deleted [" + deleted + "] unreferenced backup files");
+    }
+
+    public synchronized List<Integer> getBackupIds() {
+        List<Integer> backupIds = new ArrayList<>(this.manifests.keySet());
+        Collections.sort(backupIds);
+        return backupIds;
+    }
+
+    private synchronized List<Entry> getManifest(int backupId) throws IOException {
+        List<Entry> entries = this.manifests.get(backupId);
+        if (entries == null) {
+            throw new IOException("backup [" + backupId + "] not exists");
+        }
+        return entries;
+    }
+
+    private void refreshImmutableFiles() {
+        this.immutableFiles.clear();
+        for (List<Entry> entries : this.manifests.values()) {
+            for (Entry entry : entries) {
+                if (isImmutable(entry.path)) {
+                    this.immutableFiles.put(entry.path, entry);
+                }
+            }
+        }
+    }
+
+    private Entry copyIn(Path source, String relativePath, long modifiedTime) throws IOException {
+        Path tmp = Files.createTempFile(this.tmpDir, "file", ".tmp");
+        try {
+            String hash = copy(source, tmp);
+            long size = Files.size(tmp);
+            Path file = this.filesDir.resolve(hash);
+            if (Files.exists(file)) {
+                Files.delete(tmp);
+            } else {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new Entry(hash, size, modifiedTime, relativePath);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Copy the file under the rate limit.
+     *
+     * @return the sha256 of the content
+     */
+    private String copy(Path source, Path target) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(source);
+                OutputStream out = Files.newOutputStream(target)) {
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                if (this.rateLimiter != null) {
+                    this.rateLimiter.acquire(length);
+                }
+                digest.update(buffer, 0, length);
+                out.write(buffer, 0, length);
+            }
+        }
+        return new String(Hex.encodeHex(digest.digest()));
+    }
+
+    private String hash(Path file) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, length);
+            }
+        }
+        return new String(Hex.encodeHex(digest.digest()));
+    }
+
+    private void writeManifest(int backupId, List<Entry> entries) throws IOException {
+        Path tmp = Files.createTempFile(this.tmpDir, "backup", ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Entry entry : entries) {
+                writer.write(
+                        entry.hash
+                                + " "
+                                + entry.size
+                                + " "
+                                + entry.modifiedTime
+                                + " "
+                                + entry.path);
+                writer.newLine();
+            }
+        }
+        Files.move(
+                tmp,
+                this.backupsDir.resolve(String.valueOf(backupId)),
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<Entry> readManifest(Path path) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                // the path is the last field and may contain spaces
+                String[] items = line.split(" ", 4);
+                if (items.length != 4) {
+                    throw new IOException("invalid backup manifest [" + path + "]: " + line);
+                }
+                entries.add(
+                        new Entry(
+                                items[0],
+                                Long.parseLong(items[1]),
+                                Long.parseLong(items[2]),
+                                items[3]));
+            }
+        }
+        return entries;
+    }
+
+    // sst and blob files of rocksdb are never modified once written
+    private static boolean isImmutable(String path) {
+        return path.endsWith(".sst") || path.endsWith(".blob");
+    }
+
+    private static MessageDigest newSha256() throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static class Entry {
+        private final String hash;
+        private final long size;
+        private final long modifiedTime;
+        private final String path;
+
+        private Entry(String hash, long size, long modifiedTime, String path) {
+            this.hash = hash;
+            this.size = size;
+            this.modifiedTime = modifiedTime;
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.groot.store.backup;
+
+import com.alibaba.graphscope.groot.store.GraphPartition;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Back up checkpoints of the partition into a {@link BackupFileStore}, only the files changed since
+ * previous backups are copied.
+ */
+public class IncrementalPartitionBackup implements GraphPartitionBackup {
+
+    private final GraphPartition partition;
+    private final Path checkpointPath;
+    private final BackupFileStore fileStore;
+
+    /**
+     * @param checkpointPath where the checkpoint is created temporarily, should be in the same
+     *     filesystem with the partition data so that the files are hard linked
+     */
+    public IncrementalPartitionBackup(
+            GraphPartition partition, Path checkpointPath, BackupFileStore fileStore) {
+        this.partition = partition;
+        this.checkpointPath = checkpointPath;
+        this.fileStore = fileStore;
+    }
+
+    @Override
+    public synchronized int createNewPartitionBackup() throws IOException {
+        if (Files.exists(this.checkpointPath)) {
+            FileUtils.forceDelete(this.checkpointPath.toFile());
+        }
+        Files.createDirectories(this.checkpointPath.getParent());
+        try {
+            this.partition.createCheckpoint(this.checkpointPath.toString());
+            return this.fileStore.createBackup(this.checkpointPath);
+        } finally {
+            FileUtils.deleteQuietly(this.checkpointPath.toFile());
+        }
+    }
+
+    @Override
+    public void restoreFromPartitionBackup(int partitionBackupId, String PartitionRestorePath)
+            throws IOException {
+        this.fileStore.restoreBackup(partitionBackupId, Paths.get(PartitionRestorePath));
+    }
+
+    @Override
+    public void verifyPartitionBackup(int partitionBackupId) throws IOException {
+        this.fileStore.verifyBackup(partitionBackupId);
+    }
+
+    @Override
+    public void partitionBackupGc(List<Integer> readyPartitionBackupIds) throws IOException {
+        if (readyPartitionBackupIds.isEmpty()) {
+            return;
+        }
+        this.fileStore.garbageCollect(readyPartitionBackupIds);
+    }
+
+    @Override
+    public int getId() {
+        return this.partition.getId();
+    }
+
+    @Override
+    public void close() throws IOException {}
+}
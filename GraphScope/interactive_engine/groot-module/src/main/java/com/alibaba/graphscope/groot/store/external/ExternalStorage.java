@@ -1,34 +1,70 @@
 package com.alibaba.graphscope.groot.store.external;
 
+import com.alibaba.graphscope.groot.common.config.DataLoadConfig;
+import com.alibaba.graphscope.groot.common.util.ThreadFactoryUtils;
+import com.google.common.util.concurrent.Uninterruptibles;
+
 import org.apache.commons.codec.binary.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 public abstract class ExternalStorage {
     private static final Logger logger = LoggerFactory.getLogger(ExternalStorage.class);
     private static final String CHARACTERS =
             "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final long rangeSize;
+    private final int rangeParallelism;
+    private ThreadPoolExecutor rangeExecutor;
+
+    protected ExternalStorage(Map<String, String> config) {
+        this.rangeSize =
+                Long.parseLong(
+                        config.getOrDefault(
+                                DataLoadConfig.DOWNLOAD_RANGE_SIZE,
+                                String.valueOf(64 * 1024 * 1024)));
+        this.rangeParallelism =
+                Integer.parseInt(
+                        config.getOrDefault(DataLoadConfig.DOWNLOAD_RANGE_PARALLELISM, "8"));
+    }
 
     public static ExternalStorage getStorage(String path, Map<String, String> config)
             throws IOException {
         URI uri = URI.create(path);
         String scheme = uri.getScheme();
         switch (scheme) {
+            case "file":
+                return new LocalStorage(path, config);
             case "hdfs":
-                return new HdfsStorage(path);
+                return new HdfsStorage(path, config);
             case "oss":
                 return new OssStorage(path, config);
             case "volume":
@@ -41,6 +77,25 @@ public abstract class ExternalStorage {
 
     public abstract void downloadDataSimple(String srcPath, String dstPath) throws IOException;
 
+    /**
+     * Storages supporting ranged reads override this and {@link #openRange(String, long, long)},
+     * so that large files are downloaded by concurrent ranges.
+     *
+     * @return size of the file in bytes, or -1 if ranged reads are not supported
+     */
+    protected long getFileSize(String srcPath) throws IOException {
+        return -1L;
+    }
+
+    protected InputStream openRange(String srcPath, long offset, long length) throws IOException {
+        throw new UnsupportedOperationException(
+                "ranged read is not supported by " + getClass().getSimpleName());
+    }
+
+    protected boolean shouldDownloadInRanges(long fileSize) {
+        return rangeParallelism > 1 && fileSize > rangeSize;
+    }
+
     public static String generateRandomString(int length) {
         Random random = new Random();
         StringBuilder sb = new StringBuilder(length);
@@ -101,8 +156,7 @@ public abstract class ExternalStorage {
                     "Checksum format error: content: [" + chkArray + "]; path: " + chkPath);
         }
         String chkMD5Value = chkArray[1];
-        downloadDataWithMove(srcPath, dstPath);
-        String sstMD5Value = getFileMD5(dstPath);
+        String sstMD5Value = downloadDataWithDigest(srcPath, dstPath);
         if (!chkMD5Value.equals(sstMD5Value)) {
             logger.error("Checksum failed for " + chkLocalPath + " versus " + dstPath);
             logger.error("Expect [" + chkMD5Value + "], got [" + sstMD5Value + "]");
@@ -113,6 +167,183 @@ public abstract class ExternalStorage {
         }
     }
 
+    /**
+     * Download the file like {@link #downloadDataWithMove(String, String)}, and return its MD5.
+     * Large files are downloaded by concurrent ranges if supported, and the digest is computed
+     * range by range as soon as each one arrives, while the rest are still downloading.
+     */
+    public String downloadDataWithDigest(String srcPath, String dstPath) throws IOException {
+        Path tmpPath = Path.of(dstPath + "." + generateRandomString(6));
+        boolean moved = false;
+        try {
+            String md5;
+            long fileSize = getFileSize(srcPath);
+            if (shouldDownloadInRanges(fileSize)) {
+                md5 = downloadDataInRanges(srcPath, tmpPath.toString(), fileSize, true);
+            } else {
+                downloadDataSimple(srcPath, tmpPath.toString());
+                md5 = getFileMD5(tmpPath.toString());
+            }
+            Files.move(tmpPath, Path.of(dstPath), StandardCopyOption.REPLACE_EXISTING);
+            moved = true;
+            return md5;
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(tmpPath);
+            }
+        }
+    }
+
+    /**
+     * Download the file by concurrent ranged reads, each range is written to its position of the
+     * destination file directly.
+     *
+     * @return MD5 of the file if digest is true, otherwise null
+     */
+    protected String downloadDataInRanges(
+            String srcPath, String dstPath, long fileSize, boolean digest) throws IOException {
+        long start = System.currentTimeMillis();
+        ThreadPoolExecutor executor = getRangeExecutor();
+        int rangeCount = (int) ((fileSize + rangeSize - 1) / rangeSize);
+        List<Future<?>> futures = new ArrayList<>(rangeCount);
+        // a range is claimed either by its task when it starts, or by the caller to skip it
+        AtomicIntegerArray claimed = new AtomicIntegerArray(rangeCount);
+        CountDownLatch finished = new CountDownLatch(rangeCount);
+        MessageDigest md5 = digest ? newMD5() : null;
+        try (FileChannel channel =
+                FileChannel.open(
+                        Path.of(dstPath),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            try {
+                for (int i = 0; i < rangeCount; ++i) {
+                    int range = i;
+                    long offset = i * rangeSize;
+                    long length = Math.min(rangeSize, fileSize - offset);
+                    futures.add(
+                            executor.submit(
+                                    () -> {
+                                        if (!claimed.compareAndSet(range, 0, 1)) {
+                                            return null;
+                                        }
+                                        try {
+                                            downloadRange(srcPath, channel, offset, length);
+                                        } finally {
+                                            finished.countDown();
+                                        }
+                                        return null;
+                                    }));
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                for (int i = 0; i < rangeCount; ++i) {
+                    waitFor(futures.get(i));
+                    if (md5 != null) {
+                        long offset = i * rangeSize;
+                        digestRange(channel, md5, buffer, offset, offset + rangeSize);
+                    }
+                }
+            } finally {
+                // skip the ranges not started yet, the channel is shared by all ranges, so wait
+                // for the running ones before closing it
+                for (int i = 0; i < rangeCount; ++i) {
+                    if (claimed.compareAndSet(i, 0, 1)) {
+                        finished.countDown();
+                        if (i < futures.size()) {
+                            futures.get(i).cancel(false);
+                        }
+                    }
+                }
+                Uninterruptibles.awaitUninterruptibly(finished);
+            }
+        }
+        logger.info(
+                "Downloaded "
+                        + srcPath
+                        + " in "
+                        + rangeCount
+                        + " ranges, "
+                        + (System.currentTimeMillis() - start)
+                        + " ms.");
+        return md5 == null ? null : new String(Hex.encodeHex(md5.digest()));
+    }
+
+    private void downloadRange(String srcPath, FileChannel channel, long offset, long length)
+            throws IOException {
+        byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, length)];
+        long position = offset;
+        long end = offset + length;
+        try (InputStream inputStream = openRange(srcPath, offset, length)) {
+            while (position < end) {
+                int bytesRead =
+                        inputStream.read(buffer, 0, (int) Math.min(buffer.length, end - position));
+                if (bytesRead < 0) {
+                    throw new EOFException(
+                            "Unexpected end of " + srcPath + " at position " + position);
+                }
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, bytesRead);
+                while (byteBuffer.hasRemaining()) {
+                    position += channel.write(byteBuffer, position);
+                }
+            }
+        }
+    }
+
+    private void digestRange(
+            FileChannel channel, MessageDigest md5, ByteBuffer buffer, long offset, long end)
+            throws IOException {
+        long position = offset;
+        while (true) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int bytesRead = channel.read(buffer, position);
+            if (bytesRead <= 0) {
+                return;
+            }
+            buffer.flip();
+            md5.update(buffer);
+            position += bytesRead;
+        }
+    }
+
+    private void waitFor(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    private synchronized ThreadPoolExecutor getRangeExecutor() {
+        if (rangeExecutor == null) {
+            // threads time out when idle, so the executor needs no explicit shutdown
+            rangeExecutor =
+                    new ThreadPoolExecutor(
+                            rangeParallelism,
+                            rangeParallelism,
+                            1000L,
+                            TimeUnit.MILLISECONDS,
+                            new LinkedBlockingQueue<>(),
+                            ThreadFactoryUtils.daemonThreadFactoryWithLogExceptionHandler(
+                                    "store-download-range", logger));
+            rangeExecutor.allowCoreThreadTimeOut(true);
+        }
+        return rangeExecutor;
+    }
+
+    private static MessageDigest newMD5() throws IOException {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
     public String getFileMD5(String fileName) throws IOException {
         FileInputStream fis = null;
         try {
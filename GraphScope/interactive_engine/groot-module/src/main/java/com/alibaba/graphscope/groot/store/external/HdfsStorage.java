@@ -1,19 +1,23 @@
 package com.alibaba.graphscope.groot.store.external;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
 
 public class HdfsStorage extends ExternalStorage {
     private static final Logger logger = LoggerFactory.getLogger(HdfsStorage.class);
 
     private FileSystem fs;
 
-    public HdfsStorage(String path) throws IOException {
+    public HdfsStorage(String path, Map<String, String> config) throws IOException {
+        super(config);
         Path dataDir = new Path(path);
         Configuration conf = new Configuration();
         this.fs = dataDir.getFileSystem(conf);
@@ -22,12 +26,29 @@ public class HdfsStorage extends ExternalStorage {
     @Override
     public void downloadDataSimple(String srcPath, String dstPath) throws IOException {
         if (fs.exists(new Path(srcPath))) {
-            fs.copyToLocalFile(new Path(srcPath), new Path(dstPath));
+            long fileSize = getFileSize(srcPath);
+            if (shouldDownloadInRanges(fileSize)) {
+                downloadDataInRanges(srcPath, dstPath, fileSize, false);
+            } else {
+                fs.copyToLocalFile(new Path(srcPath), new Path(dstPath));
+            }
         } else {
             logger.warn("Path doesn't exists: " + srcPath);
         }
     }
 
+    @Override
+    protected long getFileSize(String srcPath) throws IOException {
+        return fs.getFileStatus(new Path(srcPath)).getLen();
+    }
+
+    @Override
+    protected InputStream openRange(String srcPath, long offset, long length) throws IOException {
+        FSDataInputStream inputStream = fs.open(new Path(srcPath));
+        inputStream.seek(offset);
+        return inputStream;
+    }
+
     public void downloadData(String srcPath, String dstPath) throws IOException {
         downloadDataSimple(srcPath, dstPath);
     }
@@ -0,0 +1,37 @@
+package com.alibaba.graphscope.groot.store.external;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * Storage of files on the local file system or a shared mount, i.e. file:///path/to/data. Files
+ * are hard linked into the download directory without copying the data, and copied only if they
+ * are located on a different file system.
+ */
+public class LocalStorage extends ExternalStorage {
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorage.class);
+
+    public LocalStorage(String path, Map<String, String> config) {
+        super(config);
+    }
+
+    @Override
+    public void downloadDataSimple(String srcPath, String dstPath) throws IOException {
+        Path src = Paths.get(URI.create(srcPath));
+        Path dst = Paths.get(dstPath);
+        try {
+            Files.createLink(dst, src);
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.info("Cannot link " + srcPath + " to " + dstPath + ", copying instead. " + e);
+            Files.copy(src, dst, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -17,11 +17,13 @@ import com.alibaba.graphscope.groot.common.config.DataLoadConfig;
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSClientBuilder;
 import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.OSSObject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.InputStream;
 import java.nio.file.Paths;
 import java.util.Map;
 
@@ -32,6 +34,7 @@ public class OssStorage extends ExternalStorage {
     private String rootPath;
 
     public OssStorage(String path, Map<String, String> config) {
+        super(config);
         String endpoint = config.get(DataLoadConfig.OSS_ENDPOINT);
         String accessID = config.get(DataLoadConfig.OSS_ACCESS_ID);
         String accessKey = config.get(DataLoadConfig.ODPS_ACCESS_KEY);
@@ -43,8 +46,26 @@ public class OssStorage extends ExternalStorage {
     @Override
     public void downloadDataSimple(String srcPath, String dstPath) {
         logger.info("Downloading " + srcPath + " to " + dstPath);
+        ossClient.getObject(
+                new GetObjectRequest(bucket, getObjectName(srcPath)), new File(dstPath));
+    }
+
+    @Override
+    protected long getFileSize(String srcPath) {
+        return ossClient.getObjectMetadata(bucket, getObjectName(srcPath)).getContentLength();
+    }
+
+    @Override
+    protected InputStream openRange(String srcPath, long offset, long length) {
+        GetObjectRequest request = new GetObjectRequest(bucket, getObjectName(srcPath));
+        // the end of range is inclusive
+        request.setRange(offset, offset + length - 1);
+        OSSObject object = ossClient.getObject(request);
+        return object.getObjectContent();
+    }
+
+    private String getObjectName(String srcPath) {
         String[] pathItems = srcPath.split("://");
-        String objectFullName = Paths.get(rootPath, pathItems[1]).toString();
-        ossClient.getObject(new GetObjectRequest(bucket, objectFullName), new File(dstPath));
+        return Paths.get(rootPath, pathItems[1]).toString();
     }
 }
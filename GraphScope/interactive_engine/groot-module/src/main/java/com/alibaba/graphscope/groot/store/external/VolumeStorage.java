@@ -22,6 +22,7 @@ public class VolumeStorage extends ExternalStorage {
     String partSpec;
 
     public VolumeStorage(String path, Map<String, String> config) {
+        super(config);
         String endpoint = config.get(DataLoadConfig.ODPS_ENDPOINT);
         String accessID = config.get(DataLoadConfig.ODPS_ACCESS_ID);
         String accessKey = config.get(DataLoadConfig.ODPS_ACCESS_KEY);
@@ -62,4 +63,27 @@ public class VolumeStorage extends ExternalStorage {
         long timeElapsed = finish - start;
         logger.info("Downloaded " + srcPath + " in " + timeElapsed + " ms.");
     }
+
+    @Override
+    protected long getFileSize(String srcPath) throws IOException {
+        return createDownloadSession(srcPath).getFileLength();
+    }
+
+    @Override
+    protected InputStream openRange(String srcPath, long offset, long length) throws IOException {
+        try {
+            return createDownloadSession(srcPath).openInputStream(offset, length);
+        } catch (TunnelException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private VolumeTunnel.DownloadSession createDownloadSession(String srcPath) throws IOException {
+        String fileName = srcPath.split("://")[1];
+        try {
+            return tunnel.createDownloadSession(projectName, volumeName, partSpec, fileName);
+        } catch (TunnelException e) {
+            throw new IOException(e);
+        }
+    }
 }
@@ -34,6 +34,8 @@ public interface GraphLibrary extends Library {
 
     JnaResponse createNewBackup(Pointer bePointer);
 
+    JnaResponse createCheckpoint(Pointer storePointer, String checkpointPath);
+
     JnaResponse deleteBackup(Pointer bePointer, int backupId);
 
     JnaResponse restoreFromBackup(Pointer bePointer, String restorePath, int backupId);
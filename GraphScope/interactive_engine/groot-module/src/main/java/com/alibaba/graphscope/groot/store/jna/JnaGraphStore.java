@@ -133,6 +133,18 @@ public class JnaGraphStore implements GraphPartition {
         return new JnaGraphBackupEngine(this.pointer, this.partitionId, this.backupPath.toString());
     }
 
+    @Override
+    public void createCheckpoint(String checkpointPath) throws IOException {
+        ensurePointer();
+        try (JnaResponse response =
+                GraphLibrary.INSTANCE.createCheckpoint(this.pointer, checkpointPath)) {
+            if (!response.success()) {
+                String errMsg = response.getErrMsg();
+                throw new IOException(errMsg);
+            }
+        }
+    }
+
     @Override
     public int getId() {
         return this.partitionId;
@@ -104,6 +104,10 @@ public class IrServiceProducer {
         addToConfigMapIfExist(PegasusConfig.PEGASUS_BATCH_SIZE.getKey(), configMap);
         addToConfigMapIfExist(PegasusConfig.PEGASUS_OUTPUT_CAPACITY.getKey(), configMap);
         addToConfigMapIfExist(PegasusConfig.PEGASUS_MEMORY_LIMIT.getKey(), configMap);
+        // vertices are partitioned by the hash of primary keys in groot
+        configMap.put(
+                PegasusConfig.PEGASUS_PARTITION_NUM.getKey(),
+                String.valueOf(CommonConfig.PARTITION_COUNT.get(configs)));
         // add authentication
         addToConfigMapIfExist(AuthConfig.AUTH_USERNAME.getKey(), configMap);
         addToConfigMapIfExist(AuthConfig.AUTH_PASSWORD.getKey(), configMap);
@@ -16,6 +16,7 @@ package com.alibaba.graphscope.groot.tests.common;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.alibaba.graphscope.groot.common.config.Configs;
+import com.alibaba.graphscope.groot.common.util.PartitionUtils;
 import com.alibaba.graphscope.groot.meta.DefaultMetaService;
 import com.alibaba.graphscope.groot.meta.MetaService;
 
@@ -51,4 +52,21 @@ public class DefaultMetaServiceTest {
                 () -> assertEquals(metaService.getQueueCount(), 4));
         metaService.stop();
     }
+
+    @Test
+    void testStoreIdFromPartition() {
+        Configs configs =
+                Configs.newBuilder()
+                        .put("partition.count", "10")
+                        .put("store.node.count", "4")
+                        .build();
+        MetaService metaService = new DefaultMetaService(configs);
+        metaService.start();
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(
+                    metaService.getStoreIdByPartition(i),
+                    PartitionUtils.getStoreIdFromPartition(i, 10, 4));
+        }
+        metaService.stop();
+    }
 }
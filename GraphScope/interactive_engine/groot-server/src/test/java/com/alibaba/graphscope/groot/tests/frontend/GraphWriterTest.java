@@ -0,0 +1,148 @@
+/**
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.groot.tests.frontend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.alibaba.graphscope.groot.SnapshotCache;
+import com.alibaba.graphscope.groot.common.config.Configs;
+import com.alibaba.graphscope.groot.common.schema.wrapper.DataType;
+import com.alibaba.graphscope.groot.common.schema.wrapper.GraphDef;
+import com.alibaba.graphscope.groot.common.schema.wrapper.LabelId;
+import com.alibaba.graphscope.groot.common.schema.wrapper.PropertyDef;
+import com.alibaba.graphscope.groot.common.schema.wrapper.PropertyValue;
+import com.alibaba.graphscope.groot.common.schema.wrapper.TypeDef;
+import com.alibaba.graphscope.groot.common.schema.wrapper.TypeEnum;
+import com.alibaba.graphscope.groot.common.util.EdgeRecordKey;
+import com.alibaba.graphscope.groot.common.util.PkHashUtils;
+import com.alibaba.graphscope.groot.common.util.VertexRecordKey;
+import com.alibaba.graphscope.groot.frontend.write.DataRecord;
+import com.alibaba.graphscope.groot.frontend.write.EdgeIdGenerator;
+import com.alibaba.graphscope.groot.frontend.write.GraphWriter;
+import com.alibaba.graphscope.groot.frontend.write.KafkaAppender;
+import com.alibaba.graphscope.groot.frontend.write.WriteRequest;
+import com.alibaba.graphscope.groot.operation.OperationBatch;
+import com.alibaba.graphscope.groot.operation.OperationBlob;
+import com.alibaba.graphscope.groot.operation.OperationType;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class GraphWriterTest {
+
+    private static final int PERSON = 0;
+    private static final int KNOWS = 1;
+
+    @Test
+    void testRepeatedEndpointsInBatch() {
+        GraphDef graphDef =
+                GraphDef.newBuilder()
+                        .addTypeDef(
+                                TypeDef.newBuilder()
+                                        .setLabel("person")
+                                        .setLabelId(new LabelId(PERSON))
+                                        .addPropertyDef(
+                                                new PropertyDef(
+                                                        1, 1, "id", DataType.LONG, null, true, ""))
+                                        .setTypeEnum(TypeEnum.VERTEX)
+                                        .build())
+                        .addTypeDef(
+                                TypeDef.newBuilder()
+                                        .setLabel("knows")
+                                        .setLabelId(new LabelId(KNOWS))
+                                        .setTypeEnum(TypeEnum.EDGE)
+                                        .build())
+                        .putVertexTableId(new LabelId(PERSON), 1L)
+                        .setVersion(1L)
+                        .build();
+        SnapshotCache snapshotCache = new SnapshotCache();
+        snapshotCache.advanceQuerySnapshotId(1L, graphDef);
+        KafkaAppender appender = mock(KafkaAppender.class);
+        GraphWriter writer =
+                new GraphWriter(
+                        snapshotCache,
+                        mock(EdgeIdGenerator.class),
+                        appender,
+                        Configs.newBuilder().build());
+
+        // the same vertices are given with primary keys of different types
+        List<WriteRequest> requests =
+                Arrays.asList(
+                        deleteEdge(1L, 2L),
+                        deleteEdge("1", 2L),
+                        deleteEdge(1, "2"),
+                        deleteEdge("1", "2"),
+                        deleteEdge(2L, "1"),
+                        deleteEdge(1L, 2L));
+        assertNotEquals(person("1"), person(1L));
+        assertEquals(person(1L), person(1L));
+        assertEquals(person(1L).hashCode(), person(1L).hashCode());
+
+        ArgumentCaptor<OperationBatch> captor = ArgumentCaptor.forClass(OperationBatch.class);
+        writer.writeBatch("batch", "session", requests, null);
+        // every endpoint is resolved from scratch when it is the only one of its batch
+        for (WriteRequest request : requests) {
+            writer.writeBatch("single", "session", Collections.singletonList(request), null);
+        }
+        verify(appender, times(requests.size() + 1))
+                .ingestBatch(anyString(), captor.capture(), any());
+        List<OperationBatch> batches = captor.getAllValues();
+        List<OperationBlob> memoized = blobs(batches.get(0));
+        List<OperationBlob> unmemoized = new ArrayList<>();
+        for (OperationBatch batch : batches.subList(1, batches.size())) {
+            unmemoized.addAll(blobs(batch));
+        }
+        assertEquals(unmemoized, memoized);
+
+        long id1 = hashId(1L);
+        long id2 = hashId(2L);
+        long[] expected = {id1, id2, id1, id2, id1, id2, id1, id2, id2, id1, id1, id2};
+        assertEquals(expected.length, memoized.size());
+        for (int i = 0; i < expected.length; ++i) {
+            // partitioned by the source vertex for the forward edge, by the destination otherwise
+            assertEquals(expected[i], memoized.get(i).getPartitionKey());
+        }
+    }
+
+    private static WriteRequest deleteEdge(Object src, Object dst) {
+        EdgeRecordKey key = new EdgeRecordKey("knows", person(src), person(dst), 10L);
+        return new WriteRequest(
+                OperationType.DELETE_EDGE, new DataRecord(key, Collections.emptyMap()));
+    }
+
+    private static VertexRecordKey person(Object id) {
+        return new VertexRecordKey("person", Collections.singletonMap("id", id));
+    }
+
+    private static long hashId(long id) {
+        return PkHashUtils.hash(
+                PERSON,
+                Collections.singletonList(new PropertyValue(DataType.LONG, id).getValBytes()));
+    }
+
+    private static List<OperationBlob> blobs(OperationBatch batch) {
+        List<OperationBlob> res = new ArrayList<>();
+        batch.forEach(res::add);
+        return res;
+    }
+}
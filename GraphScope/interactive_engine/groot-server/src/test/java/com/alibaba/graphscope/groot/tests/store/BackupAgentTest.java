@@ -13,12 +13,14 @@
  */
 package com.alibaba.graphscope.groot.tests.store;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 import com.alibaba.graphscope.groot.CompletionCallback;
 import com.alibaba.graphscope.groot.common.config.BackupConfig;
 import com.alibaba.graphscope.groot.common.config.CommonConfig;
 import com.alibaba.graphscope.groot.common.config.Configs;
+import com.alibaba.graphscope.groot.common.config.StoreConfig;
 import com.alibaba.graphscope.groot.store.GraphPartition;
 import com.alibaba.graphscope.groot.store.StoreService;
 import com.alibaba.graphscope.groot.store.backup.BackupAgent;
@@ -27,10 +29,15 @@ import com.alibaba.graphscope.groot.store.jna.JnaGraphBackupEngine;
 import com.alibaba.graphscope.groot.store.jna.JnaGraphStore;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -95,4 +102,70 @@ public class BackupAgentTest {
 
         backupAgent.stop();
     }
+
+    @Test
+    void testIncrementalBackupAgent(@TempDir Path tmp) throws IOException {
+        Configs configs =
+                Configs.newBuilder()
+                        .put(CommonConfig.NODE_IDX.getKey(), "0")
+                        .put(BackupConfig.BACKUP_ENABLE.getKey(), "true")
+                        .put(BackupConfig.STORE_BACKUP_INCREMENTAL.getKey(), "true")
+                        .put(BackupConfig.STORE_BACKUP_RATE_LIMIT_MB.getKey(), "10")
+                        .put(StoreConfig.STORE_DATA_PATH.getKey(), tmp.resolve("data").toString())
+                        .build();
+        StoreService mockStoreService = mock(StoreService.class);
+        Map<Integer, GraphPartition> idToPartition = new HashMap<>();
+        for (int partitionId = 0; partitionId < 2; partitionId++) {
+            GraphPartition mockPartition = mock(GraphPartition.class);
+            when(mockPartition.getId()).thenReturn(partitionId);
+            String content = "sst" + partitionId;
+            // the checkpoint of each partition has a single sst file
+            doAnswer(
+                            invocation -> {
+                                Path checkpoint = Paths.get((String) invocation.getArgument(0));
+                                Files.createDirectories(checkpoint);
+                                Files.write(
+                                        checkpoint.resolve("000001.sst"),
+                                        content.getBytes(StandardCharsets.UTF_8));
+                                return null;
+                            })
+                    .when(mockPartition)
+                    .createCheckpoint(anyString());
+            idToPartition.put(partitionId, mockPartition);
+        }
+        when(mockStoreService.getIdToPartition()).thenReturn(idToPartition);
+
+        BackupAgent backupAgent = new BackupAgent(configs, mockStoreService);
+        backupAgent.start();
+
+        StoreBackupId storeBackupId = new StoreBackupId(1);
+        storeBackupId.addPartitionBackupId(0, 1);
+        storeBackupId.addPartitionBackupId(1, 1);
+        CompletionCallback<StoreBackupId> createCallback = mock(CompletionCallback.class);
+        backupAgent.createNewStoreBackup(1, createCallback);
+        verify(createCallback, timeout(5000L)).onCompleted(storeBackupId);
+
+        CompletionCallback<Void> verifyCallback = mock(CompletionCallback.class);
+        backupAgent.verifyStoreBackup(storeBackupId, verifyCallback);
+        verify(verifyCallback, timeout(5000L)).onCompleted(null);
+
+        CompletionCallback<Void> clearCallback = mock(CompletionCallback.class);
+        Map<Integer, List<Integer>> readyPartitionBackupIds = new HashMap<>();
+        readyPartitionBackupIds.put(0, Collections.singletonList(1));
+        readyPartitionBackupIds.put(1, Collections.singletonList(1));
+        backupAgent.clearUnavailableStoreBackups(readyPartitionBackupIds, clearCallback);
+        verify(clearCallback, timeout(5000L)).onCompleted(null);
+
+        CompletionCallback<Void> restoreCallback = mock(CompletionCallback.class);
+        Path restoreRoot = tmp.resolve("restore");
+        backupAgent.restoreFromStoreBackup(storeBackupId, restoreRoot.toString(), restoreCallback);
+        verify(restoreCallback, timeout(5000L)).onCompleted(null);
+        for (int partitionId = 0; partitionId < 2; partitionId++) {
+            byte[] content =
+                    Files.readAllBytes(restoreRoot.resolve("" + partitionId).resolve("000001.sst"));
+            assertEquals("sst" + partitionId, new String(content, StandardCharsets.UTF_8));
+        }
+
+        backupAgent.stop();
+    }
 }
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.groot.tests.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alibaba.graphscope.groot.store.backup.BackupFileStore;
+import com.google.common.util.concurrent.RateLimiter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+public class BackupFileStoreTest {
+
+    @Test
+    void testIncrementalBackup(@TempDir Path tmp) throws IOException {
+        Path source = tmp.resolve("source");
+        Files.createDirectories(source);
+        write(source.resolve("000001.sst"), "sst1");
+        write(source.resolve("000002.sst"), "sst2");
+        write(source.resolve("MANIFEST-000003"), "manifest1");
+
+        BackupFileStore store = new BackupFileStore(tmp.resolve("backup"), null);
+        int backup1 = store.createBackup(source);
+        assertEquals(3, countFiles(tmp.resolve("backup")));
+
+        // one sst is compacted into a new one, and the manifest is changed
+        Files.delete(source.resolve("000001.sst"));
+        write(source.resolve("000004.sst"), "sst4");
+        write(source.resolve("MANIFEST-000003"), "manifest2");
+        int backup2 = store.createBackup(source);
+        assertEquals(5, countFiles(tmp.resolve("backup")));
+        assertEquals(Arrays.asList(backup1, backup2), store.getBackupIds());
+
+        store.verifyBackup(backup1);
+        store.verifyBackup(backup2);
+        Path restore1 = tmp.resolve("restore1");
+        store.restoreBackup(backup1, restore1);
+        assertEquals("sst1", read(restore1.resolve("000001.sst")));
+        assertEquals("manifest1", read(restore1.resolve("MANIFEST-000003")));
+
+        // the files only referenced by the first backup are deleted
+        store.garbageCollect(Collections.singletonList(backup2));
+        assertEquals(3, countFiles(tmp.resolve("backup")));
+        assertEquals(Collections.singletonList(backup2), store.getBackupIds());
+        assertThrows(IOException.class, () -> store.verifyBackup(backup1));
+
+        // reopen the store from the directory
+        BackupFileStore reopened = new BackupFileStore(tmp.resolve("backup"), null);
+        assertEquals(Collections.singletonList(backup2), reopened.getBackupIds());
+        Path restore2 = tmp.resolve("restore2");
+        reopened.restoreBackup(backup2, restore2);
+        assertFalse(Files.exists(restore2.resolve("000001.sst")));
+        assertEquals("sst2", read(restore2.resolve("000002.sst")));
+        assertEquals("sst4", read(restore2.resolve("000004.sst")));
+        assertEquals("manifest2", read(restore2.resolve("MANIFEST-000003")));
+    }
+
+    @Test
+    void testCorruptedBackup(@TempDir Path tmp) throws IOException {
+        Path source = tmp.resolve("source");
+        Files.createDirectories(source);
+        write(source.resolve("000001.sst"), "sst1");
+        BackupFileStore store = new BackupFileStore(tmp.resolve("backup"), null);
+        int backupId = store.createBackup(source);
+        try (Stream<Path> files = Files.list(tmp.resolve("backup").resolve("files"))) {
+            write(files.findFirst().get(), "sst0");
+        }
+        assertThrows(IOException.class, () -> store.verifyBackup(backupId));
+        assertThrows(
+                IOException.class, () -> store.restoreBackup(backupId, tmp.resolve("restore")));
+    }
+
+    @Test
+    void testGcWaitsForRestore(@TempDir Path tmp) throws Exception {
+        Path source = tmp.resolve("source");
+        Files.createDirectories(source);
+        for (int i = 1; i <= 4; ++i) {
+            byte[] content = new byte[64 * 1024];
+            Arrays.fill(content, (byte) i);
+            Files.write(source.resolve("00000" + i + ".sst"), content);
+        }
+        int backupId = new BackupFileStore(tmp.resolve("backup"), null).createBackup(source);
+
+        // reopen with a rate limit, so gc runs while the files are being restored
+        BackupFileStore store =
+                new BackupFileStore(tmp.resolve("backup"), RateLimiter.create(128 * 1024));
+        CountDownLatch started = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> restore =
+                    executor.submit(
+                            () -> {
+                                started.countDown();
+                                store.restoreBackup(backupId, tmp.resolve("restore"));
+                                return null;
+                            });
+            started.await();
+            Thread.sleep(200);
+            store.garbageCollect(Collections.emptyList());
+            // fails if gc deleted the files not restored yet
+            restore.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = 1; i <= 4; ++i) {
+            assertEquals(
+                    64 * 1024, Files.size(tmp.resolve("restore").resolve("00000" + i + ".sst")));
+        }
+        assertEquals(0, countFiles(tmp.resolve("backup")));
+        assertEquals(Collections.emptyList(), store.getBackupIds());
+    }
+
+    private static long countFiles(Path root) throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve("files"))) {
+            return files.count();
+        }
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.groot.tests.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+import com.alibaba.graphscope.groot.common.config.Configs;
+import com.alibaba.graphscope.groot.store.CompactionScheduler;
+import com.alibaba.graphscope.groot.store.GraphPartition;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class CompactionSchedulerTest {
+
+    @Test
+    void testCompactRound() throws IOException {
+        Configs configs =
+                Configs.newBuilder()
+                        .put("store.compact.auto.min.writes", "100")
+                        .put("store.compact.auto.max.partitions", "1")
+                        .put("store.compact.auto.max.write.latency.ms", "50")
+                        .build();
+        GraphPartition partition0 = mock(GraphPartition.class);
+        GraphPartition partition1 = mock(GraphPartition.class);
+        GraphPartition partition2 = mock(GraphPartition.class);
+        CompactionScheduler scheduler =
+                new CompactionScheduler(
+                        configs, () -> Map.of(0, partition0, 1, partition1, 2, partition2));
+        scheduler.recordWrite(0, 200, 0, 1);
+        // deletes weigh more than the other writes
+        scheduler.recordWrite(1, 150, 100, 1);
+        scheduler.recordWrite(2, 50, 50, 1);
+
+        assertEquals(1, scheduler.compactRound());
+        verify(partition1, times(1)).compact();
+        assertEquals(1, scheduler.compactRound());
+        verify(partition0, times(1)).compact();
+        // partition 2 has too few writes
+        assertEquals(0, scheduler.compactRound());
+        verify(partition2, never()).compact();
+    }
+
+    @Test
+    void testBackoffOnHighLatency() throws IOException {
+        Configs configs =
+                Configs.newBuilder()
+                        .put("store.compact.auto.min.writes", "1")
+                        .put("store.compact.auto.max.write.latency.ms", "50")
+                        .build();
+        GraphPartition partition = mock(GraphPartition.class);
+        CompactionScheduler scheduler =
+                new CompactionScheduler(configs, () -> Map.of(0, partition));
+        for (int i = 0; i < 50; ++i) {
+            scheduler.recordWrite(0, 10, 0, 1000);
+        }
+        assertEquals(0, scheduler.compactRound());
+        verify(partition, never()).compact();
+    }
+
+    @Test
+    void testCloseWaitsForRunningCompaction() throws Exception {
+        Configs configs =
+                Configs.newBuilder()
+                        .put("store.compact.auto.interval.ms", "10")
+                        .put("store.compact.auto.min.writes", "1")
+                        .build();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean(false);
+        GraphPartition partition = mock(GraphPartition.class);
+        doAnswer(
+                        invocation -> {
+                            started.countDown();
+                            // compaction in the native store ignores interrupts
+                            long deadline = System.currentTimeMillis() + 200L;
+                            while (System.currentTimeMillis() < deadline) {
+                                Thread.onSpinWait();
+                            }
+                            finished.set(true);
+                            return null;
+                        })
+                .when(partition)
+                .compact();
+        CompactionScheduler scheduler =
+                new CompactionScheduler(configs, () -> Map.of(0, partition));
+        scheduler.recordWrite(0, 10, 0, 1);
+        scheduler.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        scheduler.close();
+        assertTrue(finished.get());
+    }
+}
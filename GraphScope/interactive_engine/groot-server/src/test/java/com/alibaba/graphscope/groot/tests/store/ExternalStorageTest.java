@@ -0,0 +1,165 @@
+/**
+ * Copyright 2020 Alibaba Group Holding Limited.
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.graphscope.groot.tests.store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.alibaba.graphscope.groot.common.config.DataLoadConfig;
+import com.alibaba.graphscope.groot.store.external.ExternalStorage;
+import com.alibaba.graphscope.groot.store.external.LocalStorage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public class ExternalStorageTest {
+
+    @TempDir Path tempDir;
+
+    @Test
+    void testLocalStorage() throws IOException {
+        Path srcDir = Files.createDirectories(tempDir.resolve("src"));
+        Path dstDir = Files.createDirectories(tempDir.resolve("dst"));
+        byte[] data = randomBytes(1000);
+        Path sst = Files.write(srcDir.resolve("part-r-00000.sst"), data);
+        ExternalStorage storage =
+                ExternalStorage.getStorage(srcDir.toUri().toString(), Collections.emptyMap());
+        Files.write(
+                srcDir.resolve("part-r-00000.chk"),
+                ("1," + storage.getFileMD5(sst.toString())).getBytes());
+
+        Path dst = dstDir.resolve("part-r-00000.sst");
+        storage.downloadData(sst.toUri().toString(), dst.toString());
+        assertArrayEquals(data, Files.readAllBytes(dst));
+        // the sst file is linked rather than copied
+        assertEquals(fileKey(sst), fileKey(dst));
+        assertFalse(Files.exists(dstDir.resolve("part-r-00000.chk")));
+    }
+
+    @Test
+    void testRangedDownload() throws IOException {
+        byte[] data = randomBytes(10000);
+        Path src = Files.write(tempDir.resolve("src.sst"), data);
+        Map<String, String> config =
+                Map.of(
+                        DataLoadConfig.DOWNLOAD_RANGE_SIZE, "1024",
+                        DataLoadConfig.DOWNLOAD_RANGE_PARALLELISM, "4");
+        ExternalStorage storage = new RangedLocalStorage(config);
+        Path dst = tempDir.resolve("dst.sst");
+        String md5 = storage.downloadDataWithDigest(src.toUri().toString(), dst.toString());
+        assertArrayEquals(data, Files.readAllBytes(dst));
+        assertEquals(storage.getFileMD5(src.toString()), md5);
+    }
+
+    @Test
+    void testFailedRangedDownload() throws IOException {
+        byte[] data = randomBytes(10000);
+        Path src = Files.write(tempDir.resolve("src.sst"), data);
+        Path dstDir = Files.createDirectories(tempDir.resolve("dst"));
+        Map<String, String> config =
+                Map.of(
+                        DataLoadConfig.DOWNLOAD_RANGE_SIZE, "1024",
+                        DataLoadConfig.DOWNLOAD_RANGE_PARALLELISM, "4");
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger opened = new AtomicInteger();
+        ExternalStorage storage =
+                new RangedLocalStorage(config) {
+                    @Override
+                    protected InputStream openRange(String srcPath, long offset, long length)
+                            throws IOException {
+                        opened.incrementAndGet();
+                        if (offset == 0) {
+                            sleep(100);
+                            throw new IOException("mock failure");
+                        }
+                        running.incrementAndGet();
+                        sleep(300);
+                        return new FilterInputStream(super.openRange(srcPath, offset, length)) {
+                            @Override
+                            public void close() throws IOException {
+                                super.close();
+                                running.decrementAndGet();
+                            }
+                        };
+                    }
+                };
+        Path dst = dstDir.resolve("dst.sst");
+        assertThrows(
+                IOException.class,
+                () -> storage.downloadDataWithDigest(src.toUri().toString(), dst.toString()));
+        // the running ranges are finished before returning, the queued ones are skipped
+        assertEquals(0, running.get());
+        assertTrue(opened.get() < 10);
+        // the tmp file is deleted
+        try (Stream<Path> files = Files.list(dstDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(7).nextBytes(data);
+        return data;
+    }
+
+    private static Object fileKey(Path path) throws IOException {
+        return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+    }
+
+    // serve ranged reads from local files to mock a remote storage
+    private static class RangedLocalStorage extends LocalStorage {
+        RangedLocalStorage(Map<String, String> config) {
+            super("file:///", config);
+        }
+
+        @Override
+        protected long getFileSize(String srcPath) throws IOException {
+            return Files.size(Path.of(URI.create(srcPath)));
+        }
+
+        @Override
+        protected InputStream openRange(String srcPath, long offset, long length)
+                throws IOException {
+            FileChannel channel = FileChannel.open(Path.of(URI.create(srcPath)));
+            channel.position(offset);
+            return Channels.newInputStream(channel);
+        }
+    }
+}
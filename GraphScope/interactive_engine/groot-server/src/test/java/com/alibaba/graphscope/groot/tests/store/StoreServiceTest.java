@@ -15,8 +15,10 @@ package com.alibaba.graphscope.groot.tests.store;
 
 import static org.mockito.Mockito.*;
 
+import com.alibaba.graphscope.groot.CompletionCallback;
 import com.alibaba.graphscope.groot.common.config.CommonConfig;
 import com.alibaba.graphscope.groot.common.config.Configs;
+import com.alibaba.graphscope.groot.common.exception.GrootException;
 import com.alibaba.graphscope.groot.meta.MetaService;
 import com.alibaba.graphscope.groot.operation.OperationBatch;
 import com.alibaba.graphscope.groot.operation.OperationBlob;
@@ -60,5 +62,11 @@ public class StoreServiceTest {
                                 .build());
         spyStoreService.stop();
         verify(mockGraphPartition).close();
+
+        // gc requests after stop are rejected
+        CompletionCallback<Void> callback = mock(CompletionCallback.class);
+        spyStoreService.garbageCollect(30L, callback);
+        verify(callback).onError(any(GrootException.class));
+        verify(mockGraphPartition, never()).garbageCollect(anyLong());
     }
 }